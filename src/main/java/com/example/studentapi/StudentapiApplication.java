@@ -2,8 +2,13 @@ package com.example.studentapi;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.r2dbc.R2dbcAutoConfiguration;
+import org.springframework.context.annotation.ImportRuntimeHints;
 
-@SpringBootApplication
+// A ConnectionFactory bean would make Spring Boot back off the JDBC DataSource that JPA and Flyway
+// use; the reactive stack builds its own pool instead (see ReactiveStudentConfig)
+@SpringBootApplication(exclude = R2dbcAutoConfiguration.class)
+@ImportRuntimeHints(StudentapiRuntimeHints.class)
 public class StudentapiApplication {
 
 	public static void main(String[] args) {
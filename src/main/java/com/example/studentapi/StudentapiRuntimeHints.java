@@ -0,0 +1,40 @@
+package com.example.studentapi;
+
+import com.example.studentapi.commons.ApiError;
+import com.example.studentapi.student.StudentChange;
+import com.example.studentapi.student.StudentChangeFeed;
+import com.example.studentapi.student.StudentIdGenerator;
+import com.example.studentapi.student.StudentReadModel;
+import org.springframework.aot.hint.BindingReflectionHintsRegistrar;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.List;
+
+/**
+ * Reflection a native image cannot discover on its own: types that are serialized outside of
+ * controller signatures (filters, the change feed, actuator endpoints), the id generator that
+ * Hibernate instantiates from {@code @GenericGenerator}, and the JDBC proxies of
+ * {@code DeadlineDataSource} and {@code SqlStatisticsDataSource}.
+ */
+class StudentapiRuntimeHints implements RuntimeHintsRegistrar {
+
+    private final BindingReflectionHintsRegistrar bindingRegistrar = new BindingReflectionHintsRegistrar();
+
+    @Override
+    public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+        bindingRegistrar.registerReflectionHints(hints.reflection(), ApiError.class, StudentChange.class,
+                StudentChangeFeed.Batch.class, StudentReadModel.ConsistencyReport.class);
+        hints.reflection().registerType(StudentIdGenerator.class, MemberCategory.INVOKE_DECLARED_CONSTRUCTORS);
+        for (Class<?> jdbcType : List.of(Connection.class, Statement.class, PreparedStatement.class,
+                CallableStatement.class, ResultSet.class)) {
+            hints.proxies().registerJdkProxy(jdbcType);
+        }
+    }
+}
@@ -0,0 +1,163 @@
+package com.example.studentapi.commons;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+/**
+ * Concurrency limit that adapts to observed latency, in the style of a gradient limiter.
+ * <p>
+ * Latencies are collected in windows of {@code windowSize} requests. At the end of each window
+ * its median is compared with a slowly moving long-term median: while the two stay within
+ * {@link #TOLERANCE} the limit grows by about {@code sqrt(limit)}, and when the window median
+ * rises above that it shrinks proportionally (at most halving). Growth is skipped while fewer
+ * than half the permits were in use, so the limit cannot creep up while the service is idle.
+ * <p>
+ * Requests beyond the limit wait in a short queue and give up after {@code maxWait}.
+ */
+class AdaptiveConcurrencyLimiter {
+
+    private static final double TOLERANCE = 1.5;
+
+    private static final double SMOOTHING = 0.2;
+
+    // Number of windows the long-term median averages over
+    private static final int LONG_WINDOWS = 20;
+
+    private final int minLimit;
+
+    private final int maxLimit;
+
+    private final int maxQueue;
+
+    private final LongSupplier nanoTime;
+
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private final Condition permitReleased = lock.newCondition();
+
+    // Guarded by lock
+    private final long[] window;
+    private int samples;
+    private int maxInFlightInWindow;
+    private double estimatedLimit;
+    private double longLatency;
+    private int inFlight;
+    private int queued;
+
+    private volatile int limit;
+
+    AdaptiveConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit, int maxQueue, int windowSize) {
+        this(initialLimit, minLimit, maxLimit, maxQueue, windowSize, System::nanoTime);
+    }
+
+    AdaptiveConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit, int maxQueue, int windowSize,
+                               LongSupplier nanoTime) {
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.maxQueue = maxQueue;
+        this.nanoTime = nanoTime;
+        this.window = new long[windowSize];
+        this.estimatedLimit = initialLimit;
+        this.limit = initialLimit;
+    }
+
+    /**
+     * @return a permit to pass to {@link #release(Permit)}, or {@code null} when the queue is full
+     * or no permit became free within {@code maxWait}
+     */
+    Permit tryAcquire(Duration maxWait) throws InterruptedException {
+        long requestedAt = nanoTime.getAsLong();
+        lock.lock();
+        try {
+            if (inFlight >= limit) {
+                if (queued >= maxQueue) {
+                    return null;
+                }
+                queued++;
+                try {
+                    long remaining = maxWait.toNanos();
+                    while (inFlight >= limit) {
+                        if (remaining <= 0) {
+                            return null;
+                        }
+                        remaining = permitReleased.awaitNanos(remaining);
+                    }
+                } finally {
+                    queued--;
+                }
+            }
+            inFlight++;
+            maxInFlightInWindow = Math.max(maxInFlightInWindow, inFlight);
+            return new Permit(requestedAt, nanoTime.getAsLong());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    void release(Permit permit) {
+        long latency = nanoTime.getAsLong() - permit.startedAt();
+        lock.lock();
+        try {
+            inFlight--;
+            window[samples++] = latency;
+            if (samples == window.length) {
+                samples = 0;
+                updateLimit();
+            }
+            permitReleased.signal();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    int getLimit() {
+        return limit;
+    }
+
+    int getInFlight() {
+        lock.lock();
+        try {
+            return inFlight;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void updateLimit() {
+        Arrays.sort(window);
+        double shortLatency = Math.max(1, window[window.length / 2]);
+        if (longLatency == 0) {
+            longLatency = shortLatency;
+        } else {
+            longLatency += (shortLatency - longLatency) / LONG_WINDOWS;
+        }
+        // Once latency has recovered well below the long-term median, let the median catch up faster
+        if (longLatency / shortLatency > 2) {
+            longLatency *= 0.95;
+        }
+        boolean appLimited = maxInFlightInWindow < estimatedLimit / 2;
+        maxInFlightInWindow = inFlight;
+
+        double gradient = Math.max(0.5, Math.min(1.0, TOLERANCE * longLatency / shortLatency));
+        double newLimit = estimatedLimit * gradient + Math.sqrt(estimatedLimit);
+        if (appLimited && newLimit > estimatedLimit) {
+            return;
+        }
+        newLimit = estimatedLimit * (1 - SMOOTHING) + newLimit * SMOOTHING;
+        estimatedLimit = Math.max(minLimit, Math.min(maxLimit, newLimit));
+        int previous = limit;
+        limit = (int) estimatedLimit;
+        if (limit > previous) {
+            permitReleased.signalAll();
+        }
+    }
+
+    record Permit(long requestedAt, long startedAt) {
+        long queuedNanos() {
+            return startedAt - requestedAt;
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.example.studentapi.commons;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.exc.UnrecognizedPropertyException;
+import org.springframework.boot.jackson.JsonComponent;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Streaming (de)serialization of {@link ApiError}, replacing Jackson's reflective bean serializer.
+ */
+@JsonComponent
+public class ApiErrorJsonComponent {
+
+    private static final String FIELD = "field";
+    private static final String MESSAGE = "message";
+
+    private static final SerializableString FIELD_NAME = new SerializedString(FIELD);
+    private static final SerializableString MESSAGE_NAME = new SerializedString(MESSAGE);
+
+    private static final List<Object> KNOWN_FIELDS = List.of(FIELD, MESSAGE);
+
+    public static class Serializer extends JsonSerializer<ApiError> {
+
+        @Override
+        public void serialize(ApiError error, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            gen.writeStartObject(error);
+            gen.writeFieldName(FIELD_NAME);
+            gen.writeString(error.getField());
+            gen.writeFieldName(MESSAGE_NAME);
+            gen.writeString(error.getMessage());
+            gen.writeEndObject();
+        }
+    }
+
+    public static class Deserializer extends JsonDeserializer<ApiError> {
+
+        @Override
+        public ApiError deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+            JsonToken token = p.currentToken();
+            if (token == JsonToken.START_OBJECT) {
+                token = p.nextToken();
+            } else if (token != JsonToken.FIELD_NAME && token != JsonToken.END_OBJECT) {
+                return (ApiError) ctxt.handleUnexpectedToken(ApiError.class, p);
+            }
+            ApiError error = new ApiError();
+            for (; token == JsonToken.FIELD_NAME; token = p.nextToken()) {
+                String name = p.currentName();
+                p.nextToken();
+                switch (name) {
+                    case FIELD -> error.setField(readString(p, ctxt));
+                    case MESSAGE -> error.setMessage(readString(p, ctxt));
+                    default -> throw UnrecognizedPropertyException.from(p, ApiError.class, name, KNOWN_FIELDS);
+                }
+            }
+            return error;
+        }
+    }
+
+    /**
+     * Reads the current value as a string field would be by Jackson: {@code null} stays null and
+     * other scalars are coerced. Shared with the other streaming deserializers.
+     */
+    public static String readString(JsonParser p, DeserializationContext ctxt) throws IOException {
+        JsonToken token = p.currentToken();
+        if (token == JsonToken.VALUE_NULL) {
+            return null;
+        }
+        if (token.isScalarValue()) {
+            return p.getValueAsString();
+        }
+        return (String) ctxt.handleUnexpectedToken(String.class, p);
+    }
+}
@@ -0,0 +1,107 @@
+package com.example.studentapi.commons;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+
+import java.time.Duration;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Permit pool for one {@link WorkloadClass}: at most {@code maxConcurrent} callers run at once,
+ * at most {@code maxQueue} more wait, and none waits longer than {@code maxWait} or past its
+ * {@link Deadline}.
+ */
+public class Bulkhead {
+
+    private final WorkloadClass workloadClass;
+
+    private final int maxConcurrent;
+
+    private final int maxQueue;
+
+    private final Duration maxWait;
+
+    private final Semaphore permits;
+
+    private final AtomicInteger queued = new AtomicInteger();
+
+    private final Counter rejectedCounter;
+
+    private final Timer waitTimer;
+
+    Bulkhead(WorkloadClass workloadClass, int maxConcurrent, int maxQueue, Duration maxWait, MeterRegistry meterRegistry) {
+        this.workloadClass = workloadClass;
+        this.maxConcurrent = maxConcurrent;
+        this.maxQueue = maxQueue;
+        this.maxWait = maxWait;
+        this.permits = new Semaphore(maxConcurrent, true);
+        Tags tags = Tags.of("class", workloadClass.getPropertyName());
+        this.rejectedCounter = meterRegistry.counter("students.bulkhead.rejected", tags);
+        this.waitTimer = meterRegistry.timer("students.bulkhead.wait", tags);
+        Gauge.builder("students.bulkhead.active", this, Bulkhead::active).tags(tags).register(meterRegistry);
+        Gauge.builder("students.bulkhead.queued", queued, AtomicInteger::get).tags(tags).register(meterRegistry);
+    }
+
+    /**
+     * @return {@code true} when a permit was taken; it must be given back with {@link #release()}
+     */
+    public boolean tryAcquire() throws InterruptedException {
+        if (permits.tryAcquire()) {
+            return true;
+        }
+        if (queued.incrementAndGet() > maxQueue) {
+            queued.decrementAndGet();
+            rejectedCounter.increment();
+            return false;
+        }
+        long start = System.nanoTime();
+        try {
+            boolean acquired = permits.tryAcquire(Deadline.bound(maxWait).toNanos(), TimeUnit.NANOSECONDS);
+            if (!acquired) {
+                rejectedCounter.increment();
+            }
+            return acquired;
+        } finally {
+            queued.decrementAndGet();
+            waitTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    public void release() {
+        permits.release();
+    }
+
+    /**
+     * Runs {@code task} inside the bulkhead.
+     *
+     * @throws BulkheadFullException when no permit could be taken
+     */
+    public <T> T call(Callable<T> task) throws Exception {
+        if (!tryAcquire()) {
+            throw new BulkheadFullException("Bulkhead " + workloadClass.getPropertyName() + " is full");
+        }
+        try {
+            return task.call();
+        } finally {
+            release();
+        }
+    }
+
+    public WorkloadClass getWorkloadClass() {
+        return workloadClass;
+    }
+
+    public int getMaxConcurrent() {
+        return maxConcurrent;
+    }
+
+    int active() {
+        return maxConcurrent - permits.availablePermits();
+    }
+}
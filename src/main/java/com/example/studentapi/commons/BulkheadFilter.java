@@ -0,0 +1,86 @@
+package com.example.studentapi.commons;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Runs each student request inside the {@link Bulkhead} of its {@link WorkloadClass}, so that a
+ * burst of list scans cannot take the threads and connections that single reads and writes need.
+ * A request whose bulkhead stays full is answered with 503.
+ */
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@Order(Ordered.HIGHEST_PRECEDENCE + 300)
+@ConditionalOnProperty(prefix = "studentapi.bulkhead", name = "enabled", havingValue = "true")
+public class BulkheadFilter extends OncePerRequestFilter {
+
+    private static final String STUDENTS = "/api/students";
+
+    // Served from files and memory, without a database connection
+    private static final Set<String> EXCLUDED = Set.of(STUDENTS + "/snapshot", STUDENTS + "/changes");
+
+    private final Bulkheads bulkheads;
+
+    private final ObjectMapper objectMapper;
+
+    public BulkheadFilter(Bulkheads bulkheads, ObjectMapper objectMapper) {
+        this.bulkheads = bulkheads;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String path = request.getRequestURI();
+        return !path.startsWith(STUDENTS) || EXCLUDED.contains(path);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        Bulkhead bulkhead = bulkheads.get(classify(request));
+        boolean acquired;
+        try {
+            acquired = bulkhead.tryAcquire();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            acquired = false;
+        }
+        if (!acquired) {
+            response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+            response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            objectMapper.writeValue(response.getOutputStream(), List.of(new ApiError(null,
+                    "Too many " + bulkhead.getWorkloadClass().getPropertyName() + " requests, retry later")));
+            return;
+        }
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            bulkhead.release();
+        }
+    }
+
+    static WorkloadClass classify(HttpServletRequest request) {
+        if (!HttpMethod.GET.matches(request.getMethod()) && !HttpMethod.HEAD.matches(request.getMethod())) {
+            return WorkloadClass.WRITE;
+        }
+        return request.getRequestURI().equals(STUDENTS) ? WorkloadClass.LIST : WorkloadClass.SINGLE_READ;
+    }
+}
@@ -0,0 +1,7 @@
+package com.example.studentapi.commons;
+
+public class BulkheadFullException extends RuntimeException {
+    public BulkheadFullException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,50 @@
+package com.example.studentapi.commons;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * One {@link Bulkhead} per {@link WorkloadClass}, configured with
+ * {@code studentapi.bulkhead.<class>.max-concurrent}, {@code .max-queue} and {@code .max-wait}.
+ * <p>
+ * With open-in-view a request keeps its connection until it completes, so the permits are also
+ * the connection budget of each class. A warning is logged when they add up to more than the
+ * Hikari pool, because a class could then still starve the others of connections.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "studentapi.bulkhead", name = "enabled", havingValue = "true")
+public class Bulkheads {
+
+    private final Map<WorkloadClass, Bulkhead> bulkheads = new EnumMap<>(WorkloadClass.class);
+
+    public Bulkheads(Environment environment, MeterRegistry meterRegistry) {
+        int totalPermits = 0;
+        for (WorkloadClass workloadClass : WorkloadClass.values()) {
+            String prefix = "studentapi.bulkhead." + workloadClass.getPropertyName();
+            int maxConcurrent = environment.getProperty(prefix + ".max-concurrent", Integer.class,
+                    workloadClass.getDefaultMaxConcurrent());
+            int maxQueue = environment.getProperty(prefix + ".max-queue", Integer.class,
+                    workloadClass.getDefaultMaxQueue());
+            Duration maxWait = environment.getProperty(prefix + ".max-wait", Duration.class, Duration.ofMillis(100));
+            bulkheads.put(workloadClass, new Bulkhead(workloadClass, maxConcurrent, maxQueue, maxWait, meterRegistry));
+            totalPermits += maxConcurrent;
+        }
+        int poolSize = environment.getProperty("spring.datasource.hikari.maximum-pool-size", Integer.class, 10);
+        if (totalPermits > poolSize) {
+            log.warn("Bulkhead permits ({}) exceed the connection pool size ({}); classes can still starve each other",
+                    totalPermits, poolSize);
+        }
+    }
+
+    public Bulkhead get(WorkloadClass workloadClass) {
+        return bulkheads.get(workloadClass);
+    }
+}
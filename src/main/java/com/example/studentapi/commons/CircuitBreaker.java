@@ -0,0 +1,150 @@
+package com.example.studentapi.commons;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+
+import java.time.Duration;
+import java.util.function.LongSupplier;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Stops calling a dependency that keeps failing. After {@code failureThreshold} consecutive
+ * failures (exceptions matching {@code isFailure}, or calls slower than {@code slowCallThreshold})
+ * the circuit opens and calls fail fast with {@link CircuitOpenException}. Once
+ * {@code openDuration} has passed, a single trial call is let through; its outcome closes the
+ * circuit or opens it again.
+ * <p>
+ * Metrics, tagged with the breaker's name: {@code students.circuit.state} (0 closed, 1 half
+ * open, 2 open) and {@code students.circuit.rejected}.
+ */
+public class CircuitBreaker {
+
+    public enum State {
+        CLOSED,
+        HALF_OPEN,
+        OPEN
+    }
+
+    private final String name;
+
+    private final int failureThreshold;
+
+    private final long openNanos;
+
+    private final long slowCallNanos;
+
+    private final Predicate<Throwable> isFailure;
+
+    private final LongSupplier nanoTime;
+
+    private final Counter rejectedCounter;
+
+    private State state = State.CLOSED;
+
+    private int consecutiveFailures;
+
+    private long openedAt;
+
+    private boolean trialInFlight;
+
+    public CircuitBreaker(String name, int failureThreshold, Duration openDuration, Duration slowCallThreshold,
+                          Predicate<Throwable> isFailure, MeterRegistry meterRegistry) {
+        this(name, failureThreshold, openDuration, slowCallThreshold, isFailure, meterRegistry, System::nanoTime);
+    }
+
+    CircuitBreaker(String name, int failureThreshold, Duration openDuration, Duration slowCallThreshold,
+                   Predicate<Throwable> isFailure, MeterRegistry meterRegistry, LongSupplier nanoTime) {
+        this.name = name;
+        this.failureThreshold = failureThreshold;
+        this.openNanos = openDuration.toNanos();
+        this.slowCallNanos = slowCallThreshold.toNanos();
+        this.isFailure = isFailure;
+        this.nanoTime = nanoTime;
+        Tags tags = Tags.of("name", name);
+        this.rejectedCounter = meterRegistry.counter("students.circuit.rejected", tags);
+        Gauge.builder("students.circuit.state", this, breaker -> breaker.state().ordinal()).tags(tags)
+                .register(meterRegistry);
+    }
+
+    public <T> T call(Supplier<T> action) {
+        if (!tryAcquire()) {
+            rejectedCounter.increment();
+            throw new CircuitOpenException("Circuit " + name + " is open", retryAfter());
+        }
+        long start = nanoTime.getAsLong();
+        try {
+            T result = action.get();
+            onComplete(nanoTime.getAsLong() - start > slowCallNanos);
+            return result;
+        } catch (RuntimeException | Error ex) {
+            onComplete(isFailure(ex));
+            throw ex;
+        }
+    }
+
+    /**
+     * Whether {@code ex} says something about the dependency's health, as opposed to e.g. a
+     * not-found or validation error that a healthy dependency produces as well.
+     */
+    public boolean isFailure(Throwable ex) {
+        return isFailure.test(ex);
+    }
+
+    public synchronized State state() {
+        return state;
+    }
+
+    synchronized Duration retryAfter() {
+        if (state != State.OPEN) {
+            return Duration.ZERO;
+        }
+        return Duration.ofNanos(Math.max(0, openedAt + openNanos - nanoTime.getAsLong()));
+    }
+
+    private synchronized boolean tryAcquire() {
+        switch (state) {
+            case CLOSED:
+                return true;
+            case OPEN:
+                if (nanoTime.getAsLong() - openedAt < openNanos) {
+                    return false;
+                }
+                state = State.HALF_OPEN;
+                trialInFlight = true;
+                return true;
+            default:
+                if (trialInFlight) {
+                    return false;
+                }
+                trialInFlight = true;
+                return true;
+        }
+    }
+
+    private synchronized void onComplete(boolean failed) {
+        if (state == State.HALF_OPEN) {
+            trialInFlight = false;
+            if (failed) {
+                open();
+            } else {
+                state = State.CLOSED;
+                consecutiveFailures = 0;
+            }
+            return;
+        }
+        if (!failed) {
+            consecutiveFailures = 0;
+        } else if (++consecutiveFailures >= failureThreshold && state == State.CLOSED) {
+            open();
+        }
+    }
+
+    private void open() {
+        state = State.OPEN;
+        openedAt = nanoTime.getAsLong();
+        consecutiveFailures = 0;
+    }
+}
@@ -0,0 +1,19 @@
+package com.example.studentapi.commons;
+
+import lombok.Getter;
+
+import java.time.Duration;
+
+@Getter
+public class CircuitOpenException extends RuntimeException {
+
+    /**
+     * Time until the circuit lets a trial call through.
+     */
+    private final Duration retryAfter;
+
+    public CircuitOpenException(String message, Duration retryAfter) {
+        super(message);
+        this.retryAfter = retryAfter;
+    }
+}
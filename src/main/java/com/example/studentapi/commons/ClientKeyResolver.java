@@ -0,0 +1,34 @@
+package com.example.studentapi.commons;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.Set;
+
+/**
+ * Identifies the calling client for per-client policies: the {@code X-API-Key} header when it
+ * carries one of the keys in {@code studentapi.api-keys}, otherwise the remote address. Unknown
+ * keys are ignored, so a client cannot get a fresh identity by sending a new one. Behind a
+ * proxy, set {@code server.forward-headers-strategy} so that the remote address is the client's.
+ */
+@Component
+public class ClientKeyResolver {
+
+    public static final String API_KEY_HEADER = "X-API-Key";
+
+    private final Set<String> apiKeys;
+
+    public ClientKeyResolver(@Value("${studentapi.api-keys:}") Collection<String> apiKeys) {
+        this.apiKeys = Set.copyOf(apiKeys);
+    }
+
+    public String resolve(HttpServletRequest request) {
+        String apiKey = request.getHeader(API_KEY_HEADER);
+        if (apiKey != null && apiKeys.contains(apiKey)) {
+            return "key:" + apiKey;
+        }
+        return "ip:" + request.getRemoteAddr();
+    }
+}
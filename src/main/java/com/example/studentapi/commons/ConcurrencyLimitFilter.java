@@ -0,0 +1,107 @@
+package com.example.studentapi.commons;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Caps the number of student requests executing at once with an {@link AdaptiveConcurrencyLimiter},
+ * so that bursts are answered with a quick 503 instead of queueing up on the connection pool.
+ * <p>
+ * The snapshot download and the change feed are not limited: they do not call the student
+ * service, and their latency would only distort the limit.
+ */
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@Order(Ordered.HIGHEST_PRECEDENCE + 200)
+@ConditionalOnProperty(prefix = "studentapi.concurrency-limit", name = "enabled", havingValue = "true")
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+
+    private static final String STUDENTS = "/api/students";
+
+    private static final Set<String> EXCLUDED = Set.of(STUDENTS + "/snapshot", STUDENTS + "/changes");
+
+    private final AdaptiveConcurrencyLimiter limiter;
+
+    private final ObjectMapper objectMapper;
+
+    private final Duration maxQueueWait;
+
+    private final Counter rejectedCounter;
+
+    private final Timer queueTimer;
+
+    public ConcurrencyLimitFilter(ObjectMapper objectMapper,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${studentapi.concurrency-limit.initial-limit:10}") int initialLimit,
+                                  @Value("${studentapi.concurrency-limit.min-limit:2}") int minLimit,
+                                  @Value("${studentapi.concurrency-limit.max-limit:200}") int maxLimit,
+                                  @Value("${studentapi.concurrency-limit.max-queue:50}") int maxQueue,
+                                  @Value("${studentapi.concurrency-limit.max-queue-wait:50ms}") Duration maxQueueWait,
+                                  @Value("${studentapi.concurrency-limit.window-size:50}") int windowSize) {
+        this.limiter = new AdaptiveConcurrencyLimiter(initialLimit, minLimit, maxLimit, maxQueue, windowSize);
+        this.objectMapper = objectMapper;
+        this.maxQueueWait = maxQueueWait;
+        this.rejectedCounter = meterRegistry.counter("students.concurrency.rejected");
+        this.queueTimer = meterRegistry.timer("students.concurrency.queue-time");
+        Gauge.builder("students.concurrency.limit", limiter, AdaptiveConcurrencyLimiter::getLimit)
+                .register(meterRegistry);
+        Gauge.builder("students.concurrency.in-flight", limiter, AdaptiveConcurrencyLimiter::getInFlight)
+                .register(meterRegistry);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String path = request.getRequestURI();
+        return !path.startsWith(STUDENTS) || EXCLUDED.contains(path);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        AdaptiveConcurrencyLimiter.Permit permit;
+        try {
+            permit = limiter.tryAcquire(maxQueueWait);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            permit = null;
+        }
+        if (permit == null) {
+            rejectedCounter.increment();
+            response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+            response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            objectMapper.writeValue(response.getOutputStream(),
+                    List.of(new ApiError(null, "Too many concurrent requests, retry later")));
+            return;
+        }
+        queueTimer.record(permit.queuedNanos(), TimeUnit.NANOSECONDS);
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            limiter.release(permit);
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package com.example.studentapi.commons;
+
+import java.time.Duration;
+import java.util.function.Supplier;
+
+/**
+ * Point in time after which nobody waits for the current request's result any more. Set for the
+ * whole request by {@link DeadlineFilter}; queue waits, JDBC statements and the stages of
+ * {@code StudentServiceImpl} check it, so that work for a client that has given up is abandoned
+ * instead of competing with requests that can still succeed.
+ */
+public final class Deadline {
+
+    private static final ThreadLocal<Deadline> currentDeadline = new ThreadLocal<>();
+
+    private final long expiresAt;
+
+    private volatile String cancelledAt;
+
+    private Deadline(long expiresAt) {
+        this.expiresAt = expiresAt;
+    }
+
+    public static Deadline after(Duration timeout) {
+        return new Deadline(System.nanoTime() + timeout.toNanos());
+    }
+
+    public Duration remaining() {
+        return Duration.ofNanos(expiresAt - System.nanoTime());
+    }
+
+    public boolean isExpired() {
+        return expiresAt - System.nanoTime() <= 0;
+    }
+
+    /**
+     * @return the stage at which work was abandoned because of this deadline, or {@code null}
+     */
+    public String cancelledAt() {
+        return cancelledAt;
+    }
+
+    /**
+     * @return the current deadline, or {@code null} when the work is not bounded by one
+     */
+    public static Deadline current() {
+        return currentDeadline.get();
+    }
+
+    /**
+     * Abandons the current work if its deadline has passed.
+     *
+     * @param stage names the work that is about to start, for the cancelled-work metric
+     * @throws DeadlineExceededException when the deadline has passed
+     */
+    public static void check(String stage) {
+        Deadline deadline = currentDeadline.get();
+        if (deadline != null && deadline.isExpired()) {
+            if (deadline.cancelledAt == null) {
+                deadline.cancelledAt = stage;
+            }
+            throw new DeadlineExceededException(stage);
+        }
+    }
+
+    /**
+     * {@code wait}, shortened to the time left before the current deadline.
+     */
+    public static Duration bound(Duration wait) {
+        Deadline deadline = currentDeadline.get();
+        if (deadline == null) {
+            return wait;
+        }
+        Duration remaining = deadline.remaining();
+        return remaining.isNegative() ? Duration.ZERO : (remaining.compareTo(wait) < 0 ? remaining : wait);
+    }
+
+    /**
+     * Runs {@code action} under {@code deadline}, e.g. on another thread; without one when it is
+     * {@code null}.
+     */
+    public static <T> T call(Deadline deadline, Supplier<T> action) {
+        try (Scope ignored = enter(deadline)) {
+            return action.get();
+        }
+    }
+
+    public static Scope enter(Deadline deadline) {
+        Deadline previous = currentDeadline.get();
+        currentDeadline.set(deadline);
+        return () -> {
+            if (previous == null) {
+                currentDeadline.remove();
+            } else {
+                currentDeadline.set(previous);
+            }
+        };
+    }
+
+    public interface Scope extends AutoCloseable {
+        @Override
+        void close();
+    }
+}
@@ -0,0 +1,17 @@
+package com.example.studentapi.commons;
+
+import lombok.Getter;
+
+@Getter
+public class DeadlineExceededException extends RuntimeException {
+
+    /**
+     * The work that was abandoned, e.g. {@code query}.
+     */
+    private final String stage;
+
+    public DeadlineExceededException(String stage) {
+        super("Request deadline exceeded before " + stage);
+        this.stage = stage;
+    }
+}
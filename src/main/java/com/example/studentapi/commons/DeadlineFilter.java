@@ -0,0 +1,123 @@
+package com.example.studentapi.commons;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Bounds every student request by a {@link Deadline}: the timeout the client sends in the
+ * deadline header ({@code 2000} or {@code 2s}), capped at the default of its
+ * {@link WorkloadClass}, which also applies when the header is missing. Runs first, so time spent
+ * in the rate limiter and bulkhead queues counts as well.
+ * <p>
+ * Metrics: {@code students.deadline.cancelled}, tagged with the class and the stage at which the
+ * work was abandoned, and {@code students.deadline.exceeded} for requests that finished after
+ * their deadline anyway.
+ */
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@Order(Ordered.HIGHEST_PRECEDENCE + 25)
+@ConditionalOnProperty(prefix = "studentapi.deadline", name = "enabled", havingValue = "true")
+public class DeadlineFilter extends OncePerRequestFilter {
+
+    static final String ADMISSION_STAGE = "admission";
+
+    private static final String STUDENTS = "/api/students";
+
+    // Long-lived by design: streamed from files, or long polls with their own timeout
+    private static final Set<String> EXCLUDED = Set.of(STUDENTS + "/snapshot", STUDENTS + "/changes");
+
+    private final String header;
+
+    private final Map<WorkloadClass, Duration> defaults;
+
+    private final ObjectMapper objectMapper;
+
+    private final MeterRegistry meterRegistry;
+
+    public DeadlineFilter(@Value("${studentapi.deadline.header:X-Request-Timeout}") String header,
+                          @Value("${studentapi.deadline.single-read:2s}") Duration singleRead,
+                          @Value("${studentapi.deadline.list:10s}") Duration list,
+                          @Value("${studentapi.deadline.write:5s}") Duration write,
+                          ObjectMapper objectMapper,
+                          MeterRegistry meterRegistry) {
+        this.header = header;
+        this.defaults = Map.of(WorkloadClass.SINGLE_READ, singleRead, WorkloadClass.LIST, list,
+                WorkloadClass.WRITE, write);
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String path = request.getRequestURI();
+        return !path.startsWith(STUDENTS) || EXCLUDED.contains(path);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        WorkloadClass workloadClass = BulkheadFilter.classify(request);
+        Duration timeout = defaults.get(workloadClass);
+        String requested = request.getHeader(header);
+        if (requested != null) {
+            Duration parsed;
+            try {
+                parsed = DurationStyle.detectAndParse(requested.trim());
+            } catch (IllegalArgumentException ex) {
+                writeError(response, HttpStatus.BAD_REQUEST, new ApiError(header, "Invalid timeout: " + requested));
+                return;
+            }
+            if (parsed.compareTo(timeout) < 0) {
+                timeout = parsed;
+            }
+        }
+        String className = workloadClass.getPropertyName();
+        if (timeout.isNegative() || timeout.isZero()) {
+            cancelled(className, ADMISSION_STAGE);
+            writeError(response, HttpStatus.GATEWAY_TIMEOUT,
+                    new ApiError(null, new DeadlineExceededException(ADMISSION_STAGE).getMessage()));
+            return;
+        }
+
+        Deadline deadline = Deadline.after(timeout);
+        try (Deadline.Scope ignored = Deadline.enter(deadline)) {
+            filterChain.doFilter(request, response);
+        } finally {
+            if (deadline.cancelledAt() != null) {
+                cancelled(className, deadline.cancelledAt());
+            } else if (deadline.isExpired()) {
+                meterRegistry.counter("students.deadline.exceeded", "class", className).increment();
+            }
+        }
+    }
+
+    private void cancelled(String className, String stage) {
+        meterRegistry.counter("students.deadline.cancelled", "class", className, "stage", stage).increment();
+    }
+
+    private void writeError(HttpServletResponse response, HttpStatus status, ApiError error) throws IOException {
+        response.setStatus(status.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), List.of(error));
+    }
+}
@@ -1,10 +1,14 @@
 package com.example.studentapi.commons;
 
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 
+import java.util.List;
+
 @ControllerAdvice
 public class GlobalExceptionHandler {
 
@@ -17,4 +21,28 @@ public class GlobalExceptionHandler {
     public ResponseEntity<?> handleResourceNotFoundException(ResourceNotFoundException ex) {
         return ResponseEntity.status(HttpStatus.NOT_FOUND).body(ex.getMessage());
     }
+
+    /**
+     * A write broke a database constraint, such as the unique student email. The details name
+     * tables and constraints, so they are logged by the framework rather than returned.
+     */
+    @ExceptionHandler(DataIntegrityViolationException.class)
+    public ResponseEntity<?> handleDataIntegrityViolationException(DataIntegrityViolationException ex) {
+        return ResponseEntity.status(HttpStatus.CONFLICT)
+                .body(List.of(new ApiError(null, "Request conflicts with existing data")));
+    }
+
+    @ExceptionHandler(CircuitOpenException.class)
+    public ResponseEntity<?> handleCircuitOpenException(CircuitOpenException ex) {
+        // Rounded up, so clients do not retry just before the circuit lets a trial through
+        long retryAfterSeconds = (ex.getRetryAfter().toMillis() + 999) / 1000;
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1, retryAfterSeconds)))
+                .body(List.of(new ApiError(null, ex.getMessage())));
+    }
+
+    @ExceptionHandler(DeadlineExceededException.class)
+    public ResponseEntity<?> handleDeadlineExceededException(DeadlineExceededException ex) {
+        return ResponseEntity.status(HttpStatus.GATEWAY_TIMEOUT).body(List.of(new ApiError(null, ex.getMessage())));
+    }
 }
\ No newline at end of file
@@ -0,0 +1,250 @@
+package com.example.studentapi.commons;
+
+import com.example.studentapi.datasource.TenantContext;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StreamUtils;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Makes {@code POST} requests that carry an {@code Idempotency-Key} header safe to retry.
+ * <p>
+ * The first request with a key executes normally; a successful (2xx) response is stored and
+ * replayed byte for byte to every later request with the same key and body, marked with
+ * {@code Idempotent-Replayed: true}. Duplicates that arrive while the first request is still
+ * running wait for its outcome instead of executing in parallel. Failed responses are not
+ * stored, so the client can retry them. Reusing a key with a different body is rejected
+ * with 422.
+ * <p>
+ * Responses are kept in memory per instance; see {@link IdempotencyStore} for the bounds. When
+ * the store is full of requests still running, a new key is answered with 503 and
+ * {@code Retry-After}.
+ */
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class IdempotencyFilter extends OncePerRequestFilter {
+
+    public static final String IDEMPOTENCY_KEY = "Idempotency-Key";
+
+    static final String IDEMPOTENT_REPLAYED = "Idempotent-Replayed";
+
+    private static final int MAX_KEY_LENGTH = 255;
+
+    private final IdempotencyStore store;
+
+    private final ObjectMapper objectMapper;
+
+    private final Duration waitTimeout;
+
+    public IdempotencyFilter(ObjectMapper objectMapper,
+                             @Value("${studentapi.idempotency.max-entries:10000}") int maxEntries,
+                             @Value("${studentapi.idempotency.ttl:24h}") Duration ttl,
+                             @Value("${studentapi.idempotency.wait-timeout:10s}") Duration waitTimeout) {
+        this.store = new IdempotencyStore(maxEntries, ttl);
+        this.objectMapper = objectMapper;
+        this.waitTimeout = waitTimeout;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !HttpMethod.POST.matches(request.getMethod()) || request.getHeader(IDEMPOTENCY_KEY) == null;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String key = request.getHeader(IDEMPOTENCY_KEY);
+        if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+            writeError(response, HttpStatus.BAD_REQUEST,
+                    "Idempotency key must be between 1 and " + MAX_KEY_LENGTH + " characters");
+            return;
+        }
+        byte[] body = StreamUtils.copyToByteArray(request.getInputStream());
+        String fingerprint = fingerprint(body);
+        // Keys are chosen by clients, so two tenants may well pick the same one
+        String tenant = TenantContext.current();
+        String storeKey = (tenant != null ? tenant + " " : "") + request.getRequestURI() + " " + key;
+        long deadline = System.nanoTime() + waitTimeout.toNanos();
+
+        while (true) {
+            IdempotencyStore.Claim claim = store.claim(storeKey, fingerprint);
+            if (claim == null) {
+                response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+                writeError(response, HttpStatus.SERVICE_UNAVAILABLE,
+                        "Too many requests with an idempotency key are in progress");
+                return;
+            }
+            IdempotencyStore.Entry entry = claim.entry();
+            if (claim.owner()) {
+                execute(new CachedBodyRequest(request, body), response, filterChain, storeKey, entry);
+                return;
+            }
+            if (!entry.getFingerprint().equals(fingerprint)) {
+                writeError(response, HttpStatus.UNPROCESSABLE_ENTITY,
+                        "Idempotency key was already used with a different request body");
+                return;
+            }
+            IdempotencyStore.StoredResponse stored;
+            try {
+                stored = entry.getResponse().get(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+            } catch (TimeoutException | ExecutionException ex) {
+                writeError(response, HttpStatus.CONFLICT, "A request with this idempotency key is still in progress");
+                return;
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                writeError(response, HttpStatus.CONFLICT, "A request with this idempotency key is still in progress");
+                return;
+            }
+            if (stored != null) {
+                replay(stored, response);
+                return;
+            }
+            // The first request failed and released the key: try to execute this one instead
+        }
+    }
+
+    private void execute(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain,
+                         String storeKey, IdempotencyStore.Entry entry) throws ServletException, IOException {
+        ContentCachingResponseWrapper wrapper = new ContentCachingResponseWrapper(response);
+        boolean stored = false;
+        try {
+            filterChain.doFilter(request, wrapper);
+            if (HttpStatusCode.valueOf(wrapper.getStatus()).is2xxSuccessful()) {
+                store.complete(entry, new IdempotencyStore.StoredResponse(wrapper.getStatus(),
+                        wrapper.getContentType(), wrapper.getHeader(HttpHeaders.LOCATION),
+                        wrapper.getContentAsByteArray()));
+                stored = true;
+            }
+        } finally {
+            if (!stored) {
+                store.release(storeKey, entry);
+            }
+            wrapper.copyBodyToResponse();
+        }
+    }
+
+    private static void replay(IdempotencyStore.StoredResponse stored, HttpServletResponse response) throws IOException {
+        response.setStatus(stored.status());
+        if (stored.contentType() != null) {
+            response.setContentType(stored.contentType());
+        }
+        if (stored.location() != null) {
+            response.setHeader(HttpHeaders.LOCATION, stored.location());
+        }
+        response.setHeader(IDEMPOTENT_REPLAYED, "true");
+        response.setContentLength(stored.body().length);
+        response.getOutputStream().write(stored.body());
+    }
+
+    private void writeError(HttpServletResponse response, HttpStatus status, String message) throws IOException {
+        response.setStatus(status.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), List.of(new ApiError(IDEMPOTENCY_KEY, message)));
+    }
+
+    private static String fingerprint(byte[] body) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(body));
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    /**
+     * Replays a request body that has already been read for fingerprinting.
+     */
+    private static final class CachedBodyRequest extends HttpServletRequestWrapper {
+        private final byte[] body;
+
+        CachedBodyRequest(HttpServletRequest request, byte[] body) {
+            super(request);
+            this.body = body;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream in = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                @Override
+                public boolean isFinished() {
+                    return in.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                // The body is fully buffered, so it is available at once and then read completely
+                @Override
+                public void setReadListener(ReadListener readListener) {
+                    try {
+                        if (!isFinished()) {
+                            readListener.onDataAvailable();
+                        }
+                        readListener.onAllDataRead();
+                    } catch (IOException ex) {
+                        readListener.onError(ex);
+                    }
+                }
+
+                @Override
+                public int read() {
+                    return in.read();
+                }
+
+                @Override
+                public int read(byte[] b, int off, int len) {
+                    return in.read(b, off, len);
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            String encoding = getCharacterEncoding();
+            return new BufferedReader(new InputStreamReader(new ByteArrayInputStream(body),
+                    encoding != null ? Charset.forName(encoding) : StandardCharsets.UTF_8));
+        }
+
+        @Override
+        public int getContentLength() {
+            return body.length;
+        }
+
+        @Override
+        public long getContentLengthLong() {
+            return body.length;
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package com.example.studentapi.commons;
+
+import lombok.Getter;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.LongSupplier;
+
+/**
+ * Bounded, TTL-evicted store behind {@link IdempotencyFilter}.
+ * <p>
+ * An entry is created when the first request with a key is admitted, and its future completes
+ * with the stored response or with {@code null} when that request did not succeed. Entries are
+ * kept in insertion order and completed ones dropped oldest-first once {@code maxEntries} is
+ * reached, so key churn can never grow the store past its bound. An in-flight entry is never
+ * dropped, as a retry would then execute its request a second time; when only in-flight entries
+ * are left, new keys are refused until one completes.
+ */
+class IdempotencyStore {
+
+    private final int maxEntries;
+
+    private final long ttlNanos;
+
+    private final LongSupplier nanoTime;
+
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>();
+
+    IdempotencyStore(int maxEntries, Duration ttl) {
+        this(maxEntries, ttl, System::nanoTime);
+    }
+
+    IdempotencyStore(int maxEntries, Duration ttl, LongSupplier nanoTime) {
+        this.maxEntries = maxEntries;
+        this.ttlNanos = ttl.toNanos();
+        this.nanoTime = nanoTime;
+    }
+
+    /**
+     * The live entry for {@code key}, or a new in-flight entry owned by the caller, or
+     * {@code null} when the store is full of in-flight entries.
+     */
+    synchronized Claim claim(String key, String fingerprint) {
+        long now = nanoTime.getAsLong();
+        purgeExpired(now);
+        Entry existing = entries.get(key);
+        if (existing != null && !existing.isExpired(now)) {
+            return new Claim(existing, false);
+        }
+        entries.remove(key);
+        if (entries.size() >= maxEntries && !evictEldestCompleted()) {
+            return null;
+        }
+        Entry entry = new Entry(fingerprint);
+        entries.put(key, entry);
+        return new Claim(entry, true);
+    }
+
+    synchronized void complete(Entry entry, StoredResponse response) {
+        entry.expiresAt = nanoTime.getAsLong() + ttlNanos;
+        entry.completed = true;
+        entry.response.complete(response);
+    }
+
+    /**
+     * Forgets an entry whose request failed, so that a retry executes again.
+     */
+    synchronized void release(String key, Entry entry) {
+        entries.remove(key, entry);
+        entry.response.complete(null);
+    }
+
+    synchronized int size() {
+        return entries.size();
+    }
+
+    private boolean evictEldestCompleted() {
+        Iterator<Entry> iterator = entries.values().iterator();
+        while (iterator.hasNext()) {
+            if (iterator.next().completed) {
+                iterator.remove();
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void purgeExpired(long now) {
+        Iterator<Map.Entry<String, Entry>> iterator = entries.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Entry entry = iterator.next().getValue();
+            if (!entry.completed) {
+                continue;
+            }
+            if (!entry.isExpired(now)) {
+                return;
+            }
+            iterator.remove();
+        }
+    }
+
+    record Claim(Entry entry, boolean owner) {
+    }
+
+    record StoredResponse(int status, String contentType, String location, byte[] body) {
+    }
+
+    static final class Entry {
+        @Getter
+        private final String fingerprint;
+
+        @Getter
+        private final CompletableFuture<StoredResponse> response = new CompletableFuture<>();
+
+        // Guarded by the store
+        private boolean completed;
+        private long expiresAt;
+
+        private Entry(String fingerprint) {
+            this.fingerprint = fingerprint;
+        }
+
+        private boolean isExpired(long now) {
+            return completed && now - expiresAt >= 0;
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package com.example.studentapi.commons;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-client rate limiting of {@code /api/**}, answering 429 with {@code Retry-After} once a
+ * client has used up its bucket (see {@link RateLimiter}).
+ * <p>
+ * Requests are weighted by cost: listing all students, or downloading the snapshot, costs
+ * {@code list-cost} tokens, every other request one, so {@code list-cost} must not exceed
+ * {@code burst}. Runs ahead of the other filters so that rejected requests are turned away
+ * before any work is done for them. Refilled buckets are swept on a timer.
+ */
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@Order(Ordered.HIGHEST_PRECEDENCE + 100)
+@ConditionalOnProperty(prefix = "studentapi.rate-limit", name = "enabled", havingValue = "true")
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private static final String STUDENTS = "/api/students";
+
+    private final RateLimiter rateLimiter;
+
+    private final ClientKeyResolver clientKeyResolver;
+
+    private final ObjectMapper objectMapper;
+
+    private final int listCost;
+
+    private final Counter rejectedCounter;
+
+    private final ScheduledExecutorService sweeper = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "rate-limit-sweeper");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public RateLimitFilter(ClientKeyResolver clientKeyResolver,
+                           ObjectMapper objectMapper,
+                           MeterRegistry meterRegistry,
+                           @Value("${studentapi.rate-limit.tokens-per-second:50}") double tokensPerSecond,
+                           @Value("${studentapi.rate-limit.burst:100}") int burst,
+                           @Value("${studentapi.rate-limit.list-cost:20}") int listCost,
+                           @Value("${studentapi.rate-limit.max-clients:100000}") int maxClients) {
+        if (listCost > burst) {
+            throw new IllegalStateException("studentapi.rate-limit.list-cost (" + listCost
+                    + ") exceeds studentapi.rate-limit.burst (" + burst + "), so full lists could never be served");
+        }
+        this.rateLimiter = new RateLimiter(tokensPerSecond, burst, maxClients);
+        this.clientKeyResolver = clientKeyResolver;
+        this.objectMapper = objectMapper;
+        this.listCost = listCost;
+        this.rejectedCounter = meterRegistry.counter("students.rate-limit.rejected");
+        long interval = Math.max(1000, rateLimiter.refillTime().toMillis());
+        sweeper.scheduleWithFixedDelay(rateLimiter::sweep, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void destroy() {
+        sweeper.shutdownNow();
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !request.getRequestURI().startsWith("/api/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        Duration retryAfter = rateLimiter.tryAcquire(clientKeyResolver.resolve(request), costOf(request));
+        if (retryAfter.isZero()) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        rejectedCounter.increment();
+        long seconds = Math.max(1, (retryAfter.toMillis() + 999) / 1000);
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(seconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(),
+                List.of(new ApiError(null, "Rate limit exceeded, retry after " + seconds + " seconds")));
+    }
+
+    int costOf(HttpServletRequest request) {
+        if (!HttpMethod.GET.matches(request.getMethod())) {
+            return 1;
+        }
+        String path = request.getRequestURI();
+        boolean fullList = path.equals(STUDENTS) && request.getParameter("changedSince") == null;
+        return fullList || path.equals(STUDENTS + "/snapshot") ? listCost : 1;
+    }
+}
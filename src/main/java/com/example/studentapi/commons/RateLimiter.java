@@ -0,0 +1,92 @@
+package com.example.studentapi.commons;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Per-client token buckets, implemented with the generic cell rate algorithm (GCRA).
+ * <p>
+ * A bucket is a single {@link AtomicLong} holding the client's theoretical arrival time, so
+ * admitting a request is one compare-and-set and never takes a lock. A request of cost
+ * {@code c} moves that time forward by {@code c} emission intervals and is rejected when it
+ * would run more than {@code burst} tokens ahead of the clock.
+ * <p>
+ * Buckets whose arrival time has passed are indistinguishable from new ones, so {@link #sweep}
+ * drops them and idle clients cost no memory. Between sweeps at most {@code maxClients}
+ * clients get a bucket of their own; any further new clients share a single overflow bucket.
+ */
+class RateLimiter {
+
+    private final long emissionIntervalNanos;
+
+    private final long toleranceNanos;
+
+    private final int maxClients;
+
+    private final LongSupplier nanoTime;
+
+    private final ConcurrentHashMap<String, AtomicLong> buckets = new ConcurrentHashMap<>();
+
+    private final AtomicLong overflow;
+
+    RateLimiter(double tokensPerSecond, int burst, int maxClients) {
+        this(tokensPerSecond, burst, maxClients, System::nanoTime);
+    }
+
+    RateLimiter(double tokensPerSecond, int burst, int maxClients, LongSupplier nanoTime) {
+        this.emissionIntervalNanos = (long) (1_000_000_000L / tokensPerSecond);
+        this.toleranceNanos = emissionIntervalNanos * burst;
+        this.maxClients = maxClients;
+        this.nanoTime = nanoTime;
+        this.overflow = new AtomicLong(nanoTime.getAsLong());
+    }
+
+    /**
+     * Takes {@code cost} tokens from the client's bucket.
+     *
+     * @return {@link Duration#ZERO} when admitted, otherwise how long until the request would be
+     */
+    Duration tryAcquire(String client, int cost) {
+        long now = nanoTime.getAsLong();
+        AtomicLong bucket = buckets.get(client);
+        if (bucket == null) {
+            // The size check races with other new clients, so the cap may be exceeded by a few
+            bucket = buckets.size() < maxClients
+                    ? buckets.computeIfAbsent(client, key -> new AtomicLong(now))
+                    : overflow;
+        }
+        long increment = emissionIntervalNanos * cost;
+        while (true) {
+            long arrival = bucket.get();
+            long next = Math.max(arrival, now) + increment;
+            long allowedAt = next - toleranceNanos;
+            if (allowedAt - now > 0) {
+                return Duration.ofNanos(allowedAt - now);
+            }
+            if (bucket.compareAndSet(arrival, next)) {
+                return Duration.ZERO;
+            }
+        }
+    }
+
+    int clients() {
+        return buckets.size();
+    }
+
+    /**
+     * Drops the buckets that have fully refilled.
+     */
+    void sweep() {
+        long now = nanoTime.getAsLong();
+        buckets.values().removeIf(bucket -> bucket.get() - now <= 0);
+    }
+
+    /**
+     * How long an emptied bucket takes to refill completely, a sensible interval for {@link #sweep}.
+     */
+    Duration refillTime() {
+        return Duration.ofNanos(toleranceNanos);
+    }
+}
@@ -0,0 +1,134 @@
+package com.example.studentapi.commons;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * JDBC work done on behalf of the current request: statements executed, by kind, the time spent
+ * executing them, and the rows read from their results. Set for the whole request by
+ * {@link SqlStatisticsFilter} and filled in by {@code SqlStatisticsDataSource}; safe to share with
+ * threads working for the same request, as the shard scatter does.
+ */
+public final class SqlStatistics {
+
+    public enum Kind {
+        SELECT, INSERT, UPDATE, DELETE, OTHER;
+
+        /**
+         * @return the kind of {@code sql} by its first keyword, after any leading comments
+         */
+        public static Kind of(String sql) {
+            if (sql == null) {
+                return OTHER;
+            }
+            int start = 0;
+            while (true) {
+                while (start < sql.length() && Character.isWhitespace(sql.charAt(start))) {
+                    start++;
+                }
+                if (!sql.startsWith("/*", start)) {
+                    break;
+                }
+                int end = sql.indexOf("*/", start + 2);
+                if (end < 0) {
+                    return OTHER;
+                }
+                start = end + 2;
+            }
+            int end = start;
+            while (end < sql.length() && Character.isLetter(sql.charAt(end))) {
+                end++;
+            }
+            return switch (sql.substring(start, end).toUpperCase(Locale.ROOT)) {
+                case "SELECT", "WITH" -> SELECT;
+                case "INSERT" -> INSERT;
+                case "UPDATE" -> UPDATE;
+                case "DELETE" -> DELETE;
+                default -> OTHER;
+            };
+        }
+    }
+
+    private static final ThreadLocal<SqlStatistics> currentStatistics = new ThreadLocal<>();
+
+    private final Map<Kind, LongAdder> statements = new EnumMap<>(Kind.class);
+
+    private final LongAdder executionNanos = new LongAdder();
+
+    private final LongAdder rows = new LongAdder();
+
+    public SqlStatistics() {
+        for (Kind kind : Kind.values()) {
+            statements.put(kind, new LongAdder());
+        }
+    }
+
+    /**
+     * @return the statistics of the current request, or {@code null} when nothing is recorded
+     */
+    public static SqlStatistics current() {
+        return currentStatistics.get();
+    }
+
+    public void recordStatement(Kind kind, long nanos) {
+        statements.get(kind).increment();
+        executionNanos.add(nanos);
+    }
+
+    public void recordRow() {
+        rows.increment();
+    }
+
+    /**
+     * @return statements executed, a batch counting once as it is one round trip
+     */
+    public long statements() {
+        return statements.values().stream().mapToLong(LongAdder::sum).sum();
+    }
+
+    public long statements(Kind kind) {
+        return statements.get(kind).sum();
+    }
+
+    /**
+     * @return time spent in statement execution, excluding reading the results
+     */
+    public Duration executionTime() {
+        return Duration.ofNanos(executionNanos.sum());
+    }
+
+    public long rows() {
+        return rows.sum();
+    }
+
+    /**
+     * Runs {@code action} recording into {@code statistics}, e.g. on another thread; without
+     * recording when it is {@code null}.
+     */
+    public static <T> T call(SqlStatistics statistics, Supplier<T> action) {
+        try (Scope ignored = enter(statistics)) {
+            return action.get();
+        }
+    }
+
+    public static Scope enter(SqlStatistics statistics) {
+        SqlStatistics previous = currentStatistics.get();
+        currentStatistics.set(statistics);
+        return () -> {
+            if (previous == null) {
+                currentStatistics.remove();
+            } else {
+                currentStatistics.set(previous);
+            }
+        };
+    }
+
+    public interface Scope extends AutoCloseable {
+        @Override
+        void close();
+    }
+}
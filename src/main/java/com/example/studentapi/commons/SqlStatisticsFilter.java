@@ -0,0 +1,91 @@
+package com.example.studentapi.commons;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.IOException;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Collects the {@link SqlStatistics} of every student request and records them per
+ * {@link WorkloadClass}: {@code students.sql.statements}, {@code students.sql.time} and
+ * {@code students.sql.rows}. A replacement for {@code spring.jpa.show-sql}, which logs every
+ * statement but says nothing about how many a request needs.
+ * <p>
+ * With {@code studentapi.sql-statistics.debug-header} the figures are also returned in a
+ * {@code Server-Timing} header, e.g. {@code sql;dur=1.250;desc="3 statements, 1 rows"}, which
+ * buffers the response body so the header can follow it; meant for debugging only.
+ */
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@Order(Ordered.HIGHEST_PRECEDENCE + 20)
+@ConditionalOnProperty(prefix = "studentapi.sql-statistics", name = "enabled", havingValue = "true")
+public class SqlStatisticsFilter extends OncePerRequestFilter {
+
+    static final String SERVER_TIMING = "Server-Timing";
+
+    private static final String STUDENTS = "/api/students";
+
+    // Long-lived by design: streamed from files, or long polls with their own timeout
+    private static final Set<String> EXCLUDED = Set.of(STUDENTS + "/snapshot", STUDENTS + "/changes");
+
+    private final boolean debugHeader;
+
+    private final MeterRegistry meterRegistry;
+
+    public SqlStatisticsFilter(@Value("${studentapi.sql-statistics.debug-header:false}") boolean debugHeader,
+                               MeterRegistry meterRegistry) {
+        this.debugHeader = debugHeader;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String path = request.getRequestURI();
+        return !path.startsWith(STUDENTS) || EXCLUDED.contains(path);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        SqlStatistics statistics = new SqlStatistics();
+        ContentCachingResponseWrapper buffered = debugHeader ? new ContentCachingResponseWrapper(response) : null;
+        try (SqlStatistics.Scope ignored = SqlStatistics.enter(statistics)) {
+            filterChain.doFilter(request, buffered != null ? buffered : response);
+        } finally {
+            record(BulkheadFilter.classify(request).getPropertyName(), statistics);
+            if (buffered != null) {
+                buffered.setHeader(SERVER_TIMING, serverTiming(statistics));
+                buffered.copyBodyToResponse();
+            }
+        }
+    }
+
+    private void record(String className, SqlStatistics statistics) {
+        DistributionSummary.builder("students.sql.statements").baseUnit("statements").tag("class", className)
+                .register(meterRegistry).record(statistics.statements());
+        Timer.builder("students.sql.time").tag("class", className)
+                .register(meterRegistry).record(statistics.executionTime());
+        DistributionSummary.builder("students.sql.rows").baseUnit("rows").tag("class", className)
+                .register(meterRegistry).record(statistics.rows());
+    }
+
+    static String serverTiming(SqlStatistics statistics) {
+        return String.format(Locale.ROOT, "sql;dur=%.3f;desc=\"%d statements, %d rows\"",
+                statistics.executionTime().toNanos() / 1_000_000.0, statistics.statements(), statistics.rows());
+    }
+}
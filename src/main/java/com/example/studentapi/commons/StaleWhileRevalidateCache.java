@@ -0,0 +1,220 @@
+package com.example.studentapi.commons;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Read-through cache that keeps latency flat while its source is slow or failing.
+ * <ul>
+ *     <li>Entries younger than {@code softTtl} are served as they are.</li>
+ *     <li>Up to {@code staleWhileRevalidate} past that, they are served immediately while one
+ *     background refresh per key reloads them.</li>
+ *     <li>Older entries are reloaded by the caller. If the load fails with a
+ *     {@linkplain CircuitBreaker#isFailure failure of the source}, or the circuit is open,
+ *     entries up to {@code staleIfError} old are served instead of the error.</li>
+ * </ul>
+ * Loads go through the {@link CircuitBreaker}. A refresh only stores its result if the entry was
+ * not replaced meanwhile, so it cannot overwrite a newer value {@link #put} by a write. Puts carry
+ * the version of their write, and never replace a value of a later version.
+ * <p>
+ * Metric: {@code students.swr.reads}, tagged with the cache name and the {@link Freshness}, or
+ * {@code miss}.
+ */
+@Slf4j
+public class StaleWhileRevalidateCache<K, V> {
+
+    /**
+     * Version of a value whose write is not known; it is stored regardless.
+     */
+    public static final long UNKNOWN_VERSION = -1;
+
+    public enum Freshness {
+        FRESH,
+        STALE,
+        STALE_ON_ERROR
+    }
+
+    private final long softTtlNanos;
+
+    private final long revalidateNanos;
+
+    private final long staleIfErrorNanos;
+
+    private final int maxEntries;
+
+    private final Executor refreshExecutor;
+
+    private final CircuitBreaker circuitBreaker;
+
+    private final LongSupplier nanoTime;
+
+    private final Map<K, Entry<V>> entries = new ConcurrentHashMap<>();
+
+    private final Set<K> refreshing = ConcurrentHashMap.newKeySet();
+
+    private final Map<Freshness, Counter> readCounters = new ConcurrentHashMap<>();
+
+    private final Counter missCounter;
+
+    public StaleWhileRevalidateCache(String name, Duration softTtl, Duration staleWhileRevalidate, Duration staleIfError,
+                                     int maxEntries, Executor refreshExecutor, CircuitBreaker circuitBreaker,
+                                     MeterRegistry meterRegistry) {
+        this(name, softTtl, staleWhileRevalidate, staleIfError, maxEntries, refreshExecutor, circuitBreaker,
+                meterRegistry, System::nanoTime);
+    }
+
+    StaleWhileRevalidateCache(String name, Duration softTtl, Duration staleWhileRevalidate, Duration staleIfError,
+                              int maxEntries, Executor refreshExecutor, CircuitBreaker circuitBreaker,
+                              MeterRegistry meterRegistry, LongSupplier nanoTime) {
+        this.softTtlNanos = softTtl.toNanos();
+        this.revalidateNanos = softTtlNanos + staleWhileRevalidate.toNanos();
+        this.staleIfErrorNanos = Math.max(revalidateNanos, softTtlNanos + staleIfError.toNanos());
+        this.maxEntries = maxEntries;
+        this.refreshExecutor = refreshExecutor;
+        this.circuitBreaker = circuitBreaker;
+        this.nanoTime = nanoTime;
+        for (Freshness freshness : Freshness.values()) {
+            readCounters.put(freshness, meterRegistry.counter("students.swr.reads",
+                    Tags.of("cache", name, "freshness", freshness.name().toLowerCase().replace('_', '-'))));
+        }
+        this.missCounter = meterRegistry.counter("students.swr.reads", Tags.of("cache", name, "freshness", "miss"));
+    }
+
+    /**
+     * @param loader reads the value from the source; also used for the background refresh, so
+     *               it must not depend on the calling thread
+     */
+    public Result<V> get(K key, Supplier<V> loader) {
+        long now = nanoTime.getAsLong();
+        Entry<V> cached = entries.get(key);
+        long age = cached != null ? now - cached.storedAt : 0;
+        if (cached != null && age <= softTtlNanos) {
+            return served(cached.value, Freshness.FRESH, age);
+        }
+        if (cached != null && age <= revalidateNanos) {
+            refreshInBackground(key, cached, loader);
+            return served(cached.value, Freshness.STALE, age);
+        }
+
+        try {
+            V value = circuitBreaker.call(loader);
+            store(key, cached, value);
+            missCounter.increment();
+            return new Result<>(value, Freshness.FRESH, Duration.ZERO);
+        } catch (RuntimeException ex) {
+            boolean sourceDown = ex instanceof CircuitOpenException || circuitBreaker.isFailure(ex);
+            if (cached != null && sourceDown && age <= staleIfErrorNanos) {
+                return served(cached.value, Freshness.STALE_ON_ERROR, age);
+            }
+            throw ex;
+        }
+    }
+
+    /**
+     * Stores the current value, e.g. after a write committed, unless the cached value is of the
+     * same or a later version: listeners of two writes may run in either order.
+     *
+     * @param version increasing with every write of {@code key}, or {@link #UNKNOWN_VERSION}
+     */
+    public void put(K key, V value, long version) {
+        if (entries.size() >= maxEntries && !entries.containsKey(key)) {
+            evictOne();
+        }
+        Entry<V> written = new Entry<>(value, nanoTime.getAsLong(), version);
+        entries.merge(key, written, (existing, ignored) ->
+                version == UNKNOWN_VERSION || version > existing.version ? written : existing);
+    }
+
+    public void evict(K key) {
+        entries.remove(key);
+    }
+
+    public void clear() {
+        entries.clear();
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    private Result<V> served(V value, Freshness freshness, long ageNanos) {
+        readCounters.get(freshness).increment();
+        return new Result<>(value, freshness, Duration.ofNanos(ageNanos));
+    }
+
+    private void refreshInBackground(K key, Entry<V> cached, Supplier<V> loader) {
+        if (!refreshing.add(key)) {
+            return;
+        }
+        try {
+            refreshExecutor.execute(() -> {
+                try {
+                    store(key, cached, circuitBreaker.call(loader));
+                } catch (RuntimeException ex) {
+                    if (!(ex instanceof CircuitOpenException) && !circuitBreaker.isFailure(ex)) {
+                        // The source answered, e.g. that the entry no longer exists
+                        entries.remove(key, cached);
+                    } else {
+                        log.debug("Refreshing {} failed, serving the cached value meanwhile", key, ex);
+                    }
+                } finally {
+                    refreshing.remove(key);
+                }
+            });
+        } catch (RejectedExecutionException ex) {
+            refreshing.remove(key);
+        }
+    }
+
+    /**
+     * Stores a loaded value unless the entry it replaces has changed since the load started. The
+     * load read at least the state of that entry, so it keeps its version.
+     */
+    private void store(K key, Entry<V> replaced, V value) {
+        Entry<V> loaded = new Entry<>(value, nanoTime.getAsLong(), replaced == null ? UNKNOWN_VERSION : replaced.version);
+        if (replaced == null) {
+            if (entries.size() >= maxEntries) {
+                evictOne();
+            }
+            entries.putIfAbsent(key, loaded);
+        } else {
+            entries.replace(key, replaced, loaded);
+        }
+    }
+
+    private void evictOne() {
+        Iterator<K> keys = entries.keySet().iterator();
+        if (keys.hasNext()) {
+            keys.next();
+            keys.remove();
+        }
+    }
+
+    public record Result<V>(V value, Freshness freshness, Duration age) {
+    }
+
+    // Compared by identity, so a refresh only replaces the very entry it started from
+    private static final class Entry<V> {
+        private final V value;
+        private final long storedAt;
+        private final long version;
+
+        Entry(V value, long storedAt, long version) {
+            this.value = value;
+            this.storedAt = storedAt;
+            this.version = version;
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.example.studentapi.commons;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Build-time run of the application for the {@code fast-start} Maven profile: once started it
+ * serves one list request, so the classes of the first request are loaded too, optionally writes
+ * the OpenAPI document to {@code studentapi.startup.openapi-output}, and exits. Run under
+ * {@code -XX:ArchiveClassesAtExit} it records the class data sharing archive.
+ * <p>
+ * Not conditional on the property, so it survives AOT processing, which fixes the bean set at
+ * build time.
+ */
+@Slf4j
+@Component
+public class StartupTrainingRun implements ApplicationListener<ApplicationReadyEvent> {
+
+    private final boolean enabled;
+
+    private final String openApiOutput;
+
+    public StartupTrainingRun(@Value("${studentapi.startup.training-run:false}") boolean enabled,
+                              @Value("${studentapi.startup.openapi-output:}") String openApiOutput) {
+        this.enabled = enabled;
+        this.openApiOutput = openApiOutput;
+    }
+
+    @Override
+    public void onApplicationEvent(ApplicationReadyEvent event) {
+        if (!enabled) {
+            return;
+        }
+        ConfigurableApplicationContext context = event.getApplicationContext();
+        int exitCode = 0;
+        try {
+            String baseUrl = "http://localhost:" + ((WebServerApplicationContext) context).getWebServer().getPort();
+            HttpClient client = HttpClient.newHttpClient();
+            get(client, baseUrl + "/api/students");
+            if (!openApiOutput.isEmpty()) {
+                Path output = Path.of(openApiOutput);
+                Files.createDirectories(output.toAbsolutePath().getParent());
+                Files.writeString(output, get(client, baseUrl + "/v3/api-docs"));
+                log.info("Wrote the OpenAPI document to {}", output.toAbsolutePath());
+            }
+        } catch (IOException | RuntimeException ex) {
+            log.error("Startup training run failed", ex);
+            exitCode = 1;
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            exitCode = 1;
+        }
+        int finalExitCode = exitCode;
+        System.exit(SpringApplication.exit(context, () -> finalExitCode));
+    }
+
+    private static String get(HttpClient client, String url) throws IOException, InterruptedException {
+        HttpResponse<String> response = client.send(HttpRequest.newBuilder(URI.create(url)).build(),
+                HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            throw new IOException("GET " + url + " answered " + response.statusCode());
+        }
+        return response.body();
+    }
+}
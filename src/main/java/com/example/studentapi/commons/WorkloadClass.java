@@ -0,0 +1,36 @@
+package com.example.studentapi.commons;
+
+/**
+ * Kinds of work that get a separate {@link Bulkhead}, with their default permit and queue sizes.
+ * The default permits add up to Hikari's default pool of 10 connections.
+ */
+public enum WorkloadClass {
+    SINGLE_READ("single-read", 4, 20),
+    LIST("list", 2, 4),
+    WRITE("write", 3, 10),
+    BULK("bulk", 1, 1);
+
+    private final String propertyName;
+
+    private final int defaultMaxConcurrent;
+
+    private final int defaultMaxQueue;
+
+    WorkloadClass(String propertyName, int defaultMaxConcurrent, int defaultMaxQueue) {
+        this.propertyName = propertyName;
+        this.defaultMaxConcurrent = defaultMaxConcurrent;
+        this.defaultMaxQueue = defaultMaxQueue;
+    }
+
+    public String getPropertyName() {
+        return propertyName;
+    }
+
+    int getDefaultMaxConcurrent() {
+        return defaultMaxConcurrent;
+    }
+
+    int getDefaultMaxQueue() {
+        return defaultMaxQueue;
+    }
+}
@@ -0,0 +1,111 @@
+package com.example.studentapi.datasource;
+
+import com.example.studentapi.commons.Deadline;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Applies the current {@link Deadline} to JDBC: no connection is handed out and no statement
+ * is created once it has passed, and every statement gets a query timeout of the time left, so
+ * the database itself cancels a query the client no longer waits for. JDBC timeouts are whole
+ * seconds, so a query may outlive the deadline by up to a second.
+ */
+public class DeadlineDataSource extends DelegatingDataSource implements AutoCloseable {
+
+    static final String CONNECTION_STAGE = "connection";
+
+    static final String QUERY_STAGE = "query";
+
+    public DeadlineDataSource(DataSource targetDataSource) {
+        super(targetDataSource);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        Deadline.check(CONNECTION_STAGE);
+        return withDeadline(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        Deadline.check(CONNECTION_STAGE);
+        return withDeadline(super.getConnection(username, password));
+    }
+
+    /**
+     * Closes the target, since Spring infers the destroy method from the wrapper.
+     */
+    @Override
+    public void close() throws Exception {
+        if (getTargetDataSource() instanceof AutoCloseable closeable) {
+            closeable.close();
+        }
+    }
+
+    private static Connection withDeadline(Connection connection) {
+        return (Connection) Proxy.newProxyInstance(DeadlineDataSource.class.getClassLoader(),
+                new Class<?>[]{Connection.class}, new DeadlineConnectionHandler(connection));
+    }
+
+    static void applyDeadline(Statement statement) throws SQLException {
+        Deadline deadline = Deadline.current();
+        if (deadline == null) {
+            return;
+        }
+        try {
+            Deadline.check(QUERY_STAGE);
+        } catch (RuntimeException ex) {
+            statement.close();
+            throw ex;
+        }
+        // Rounded up: a timeout of 0 would mean no timeout at all
+        int seconds = (int) Math.max(1, (deadline.remaining().toMillis() + 999) / 1000);
+        int current = statement.getQueryTimeout();
+        if (current == 0 || current > seconds) {
+            statement.setQueryTimeout(seconds);
+        }
+    }
+
+    private record DeadlineConnectionHandler(Connection target) implements InvocationHandler {
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "unwrap":
+                    if (((Class<?>) args[0]).isInstance(proxy)) {
+                        return proxy;
+                    }
+                    break;
+                case "isWrapperFor":
+                    if (((Class<?>) args[0]).isInstance(proxy)) {
+                        return true;
+                    }
+                    break;
+                default:
+                    break;
+            }
+            Object result;
+            try {
+                result = method.invoke(target, args);
+            } catch (InvocationTargetException ex) {
+                throw ex.getTargetException();
+            }
+            if (result instanceof Statement statement) {
+                applyDeadline(statement);
+            }
+            return result;
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.example.studentapi.datasource;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+/**
+ * Wraps the application's {@link DataSource}, whichever configuration defines it, in a
+ * {@link DeadlineDataSource}.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "studentapi.deadline", name = "enabled", havingValue = "true")
+public class DeadlineDataSourceConfig {
+
+    @Bean
+    public static BeanPostProcessor deadlineDataSourcePostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof DeadlineDataSource)) {
+                    return new DeadlineDataSource(dataSource);
+                }
+                return bean;
+            }
+        };
+    }
+}
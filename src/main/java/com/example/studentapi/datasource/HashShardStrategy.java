@@ -0,0 +1,34 @@
+package com.example.studentapi.datasource;
+
+/**
+ * Spreads ids evenly over the shards. The id is mixed first because the low bits of
+ * time-ordered ids are mostly a per-millisecond sequence that starts at zero.
+ */
+public class HashShardStrategy implements ShardStrategy {
+
+    private final int shards;
+
+    public HashShardStrategy(int shards) {
+        this.shards = shards;
+    }
+
+    @Override
+    public int shardFor(long id) {
+        return Math.floorMod(mix(id), shards);
+    }
+
+    @Override
+    public int shardCount() {
+        return shards;
+    }
+
+    // MurmurHash3 64-bit finalizer
+    private static long mix(long value) {
+        value ^= value >>> 33;
+        value *= 0xff51afd7ed558ccdL;
+        value ^= value >>> 33;
+        value *= 0xc4ceb9fe1a85ec53L;
+        value ^= value >>> 33;
+        return value;
+    }
+}
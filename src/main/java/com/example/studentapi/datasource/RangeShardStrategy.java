@@ -0,0 +1,37 @@
+package com.example.studentapi.datasource;
+
+import java.util.Arrays;
+
+/**
+ * Assigns consecutive id ranges to the shards: shard {@code i} holds ids below
+ * {@code upperBounds[i]}, the last shard everything above. Because ids are time-ordered, the
+ * ranges are creation periods and new students always go to the last shard.
+ */
+public class RangeShardStrategy implements ShardStrategy {
+
+    private final long[] upperBounds;
+
+    /**
+     * @param upperBounds exclusive upper bound of every shard but the last, ascending
+     */
+    public RangeShardStrategy(long[] upperBounds) {
+        for (int i = 1; i < upperBounds.length; i++) {
+            if (upperBounds[i] <= upperBounds[i - 1]) {
+                throw new IllegalArgumentException("Shard ranges must be ascending: " + Arrays.toString(upperBounds));
+            }
+        }
+        this.upperBounds = upperBounds.clone();
+    }
+
+    @Override
+    public int shardFor(long id) {
+        int index = Arrays.binarySearch(upperBounds, id);
+        // An id equal to a bound belongs to the next shard
+        return index >= 0 ? index + 1 : -index - 1;
+    }
+
+    @Override
+    public int shardCount() {
+        return upperBounds.length + 1;
+    }
+}
@@ -0,0 +1,44 @@
+package com.example.studentapi.datasource;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+/**
+ * Remembers which clients wrote recently, so that their reads can be kept on the primary until
+ * the replicas have caught up. Entries older than the window are swept once the map grows past
+ * {@code maxClients}.
+ */
+class ReadYourWritesTracker {
+
+    private final long windowNanos;
+
+    private final int maxClients;
+
+    private final LongSupplier nanoTime;
+
+    private final ConcurrentHashMap<String, Long> lastWrites = new ConcurrentHashMap<>();
+
+    ReadYourWritesTracker(Duration window, int maxClients) {
+        this(window, maxClients, System::nanoTime);
+    }
+
+    ReadYourWritesTracker(Duration window, int maxClients, LongSupplier nanoTime) {
+        this.windowNanos = window.toNanos();
+        this.maxClients = maxClients;
+        this.nanoTime = nanoTime;
+    }
+
+    void recordWrite(String client) {
+        long now = nanoTime.getAsLong();
+        if (lastWrites.size() >= maxClients) {
+            lastWrites.values().removeIf(writtenAt -> now - writtenAt >= windowNanos);
+        }
+        lastWrites.put(client, now);
+    }
+
+    boolean wroteRecently(String client) {
+        Long writtenAt = lastWrites.get(client);
+        return writtenAt != null && nanoTime.getAsLong() - writtenAt < windowNanos;
+    }
+}
@@ -0,0 +1,78 @@
+package com.example.studentapi.datasource;
+
+import com.example.studentapi.commons.ClientKeyResolver;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Replaces Boot's single {@link DataSource} with a {@link ReplicaRoutingDataSource} over the
+ * {@code spring.datasource.*} primary and the {@code studentapi.replicas.nodes} replicas.
+ * Replica pools are read-only and health-checked in the background.
+ */
+@Configuration
+@EnableConfigurationProperties(ReplicaProperties.class)
+@ConditionalOnProperty(prefix = "studentapi.replicas", name = "enabled", havingValue = "true")
+public class ReplicaDataSourceConfig implements DisposableBean {
+
+    private final List<HikariDataSource> pools = new ArrayList<>();
+
+    private final ScheduledExecutorService healthChecker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "replica-health-check");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    @Bean
+    public DataSource dataSource(DataSourceProperties primaryProperties,
+                                 ReplicaProperties replicaProperties,
+                                 ClientKeyResolver clientKeyResolver,
+                                 MeterRegistry meterRegistry) {
+        HikariDataSource primary = primaryProperties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .build();
+        primary.setPoolName("primary");
+        pools.add(primary);
+
+        List<DataSource> replicas = new ArrayList<>();
+        for (ReplicaProperties.Node node : replicaProperties.getNodes()) {
+            HikariDataSource replica = new HikariDataSource();
+            replica.setPoolName("replica-" + replicas.size());
+            replica.setJdbcUrl(node.getUrl());
+            replica.setUsername(node.getUsername() != null ? node.getUsername() : primaryProperties.determineUsername());
+            replica.setPassword(node.getPassword() != null ? node.getPassword() : primaryProperties.determinePassword());
+            replica.setReadOnly(true);
+            pools.add(replica);
+            replicas.add(replica);
+        }
+
+        ReplicaRoutingDataSource routing = new ReplicaRoutingDataSource(primary, replicas,
+                new ReadYourWritesTracker(replicaProperties.getReadYourWritesWindow(), 100_000),
+                clientKeyResolver, replicaProperties.getLagQuery(), replicaProperties.getMaxLag());
+        routing.afterPropertiesSet();
+        routing.checkReplicas();
+        routing.registerMetrics(meterRegistry);
+        long interval = replicaProperties.getHealthCheckInterval().toMillis();
+        healthChecker.scheduleWithFixedDelay(routing::checkReplicas, interval, interval, TimeUnit.MILLISECONDS);
+        return new LazyConnectionDataSourceProxy(routing);
+    }
+
+    @Override
+    public void destroy() {
+        healthChecker.shutdownNow();
+        pools.forEach(HikariDataSource::close);
+    }
+}
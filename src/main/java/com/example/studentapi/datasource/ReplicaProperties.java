@@ -0,0 +1,55 @@
+package com.example.studentapi.datasource;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Read replicas behind {@link ReplicaRoutingDataSource}; the primary stays {@code spring.datasource.*}.
+ */
+@Data
+@ConfigurationProperties(prefix = "studentapi.replicas")
+public class ReplicaProperties {
+
+    private boolean enabled;
+
+    private List<Node> nodes = new ArrayList<>();
+
+    private Duration healthCheckInterval = Duration.ofSeconds(5);
+
+    /**
+     * How long reads from a client stay on the primary after that client committed a write.
+     * Should be longer than the replication lag that is tolerated.
+     */
+    private Duration readYourWritesWindow = Duration.ofSeconds(5);
+
+    /**
+     * Query returning the replica's lag in seconds, e.g. for MySQL a query on
+     * {@code performance_schema.replication_applier_status_by_worker}. Without it only
+     * connectivity is checked.
+     */
+    private String lagQuery;
+
+    /**
+     * Replicas lagging further behind are taken out of rotation until they catch up.
+     */
+    private Duration maxLag = Duration.ofSeconds(10);
+
+    @Data
+    public static class Node {
+        private String url;
+
+        /**
+         * Defaults to {@code spring.datasource.username}.
+         */
+        private String username;
+
+        /**
+         * Defaults to {@code spring.datasource.password}.
+         */
+        private String password;
+    }
+}
@@ -0,0 +1,154 @@
+package com.example.studentapi.datasource;
+
+import com.example.studentapi.commons.ClientKeyResolver;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Sends read-only transactions to a healthy replica, round-robin, and everything else to the
+ * primary. A client that has just committed a write keeps reading from the primary for the
+ * read-your-writes window, so it never sees a replica that is behind its own write.
+ * <p>
+ * Must be wrapped in a {@code LazyConnectionDataSourceProxy}: the target is chosen when the
+ * first statement runs, after the transaction's read-only flag has been set.
+ */
+@Slf4j
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    static final String PRIMARY = "primary";
+
+    private final List<Replica> replicas;
+
+    private final ReadYourWritesTracker readYourWrites;
+
+    private final ClientKeyResolver clientKeyResolver;
+
+    private final String lagQuery;
+
+    private final long maxLagSeconds;
+
+    private final AtomicInteger nextReplica = new AtomicInteger();
+
+    ReplicaRoutingDataSource(DataSource primary, List<DataSource> replicaDataSources,
+                             ReadYourWritesTracker readYourWrites, ClientKeyResolver clientKeyResolver,
+                             String lagQuery, Duration maxLag) {
+        this.readYourWrites = readYourWrites;
+        this.clientKeyResolver = clientKeyResolver;
+        this.lagQuery = lagQuery;
+        this.maxLagSeconds = maxLag.toSeconds();
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(PRIMARY, primary);
+        this.replicas = replicaDataSources.stream()
+                .map(dataSource -> new Replica("replica-" + targets.size(), dataSource))
+                .peek(replica -> targets.put(replica.key, replica.dataSource))
+                .toList();
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+    }
+
+    void registerMetrics(MeterRegistry meterRegistry) {
+        Gauge.builder("students.datasource.healthy-replicas", this, ReplicaRoutingDataSource::healthyReplicas)
+                .register(meterRegistry);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        String client = currentClient();
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            if (client != null && TransactionSynchronizationManager.isSynchronizationActive()) {
+                TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                    @Override
+                    public void afterCommit() {
+                        readYourWrites.recordWrite(client);
+                    }
+                });
+            }
+            return PRIMARY;
+        }
+        if (client != null && readYourWrites.wroteRecently(client)) {
+            return PRIMARY;
+        }
+        int size = replicas.size();
+        int start = Math.floorMod(nextReplica.getAndIncrement(), Math.max(size, 1));
+        for (int i = 0; i < size; i++) {
+            Replica replica = replicas.get((start + i) % size);
+            if (replica.healthy) {
+                return replica.key;
+            }
+        }
+        return PRIMARY;
+    }
+
+    /**
+     * Probes every replica and takes the unreachable or lagging ones out of rotation.
+     */
+    public void checkReplicas() {
+        for (Replica replica : replicas) {
+            boolean healthy = isHealthy(replica);
+            if (healthy != replica.healthy) {
+                log.warn("Replica {} is now {}", replica.key, healthy ? "healthy" : "out of rotation");
+            }
+            replica.healthy = healthy;
+        }
+    }
+
+    int healthyReplicas() {
+        return (int) replicas.stream().filter(replica -> replica.healthy).count();
+    }
+
+    private boolean isHealthy(Replica replica) {
+        try (Connection connection = replica.dataSource.getConnection()) {
+            if (lagQuery == null) {
+                return connection.isValid(2);
+            }
+            try (Statement statement = connection.createStatement();
+                 ResultSet resultSet = statement.executeQuery(lagQuery)) {
+                if (!resultSet.next()) {
+                    return false;
+                }
+                long lagSeconds = resultSet.getLong(1);
+                return !resultSet.wasNull() && lagSeconds <= maxLagSeconds;
+            }
+        } catch (SQLException ex) {
+            log.debug("Health check of replica {} failed", replica.key, ex);
+            return false;
+        }
+    }
+
+    private String currentClient() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes instanceof ServletRequestAttributes servletAttributes) {
+            return clientKeyResolver.resolve(servletAttributes.getRequest());
+        }
+        return null;
+    }
+
+    private static final class Replica {
+        private final String key;
+        private final DataSource dataSource;
+        private volatile boolean healthy = true;
+
+        private Replica(String key, DataSource dataSource) {
+            this.key = key;
+            this.dataSource = dataSource;
+        }
+    }
+}
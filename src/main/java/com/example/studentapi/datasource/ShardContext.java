@@ -0,0 +1,43 @@
+package com.example.studentapi.datasource;
+
+import java.util.function.Supplier;
+
+/**
+ * The shard that connections obtained on the current thread are routed to by
+ * {@link ShardRoutingDataSource}. Must be set before the transaction starts, since the
+ * connection is bound to the transaction when it begins.
+ */
+public final class ShardContext {
+
+    private static final ThreadLocal<Integer> currentShard = new ThreadLocal<>();
+
+    private ShardContext() {}
+
+    public static <T> T call(int shard, Supplier<T> action) {
+        Integer previous = currentShard.get();
+        currentShard.set(shard);
+        try {
+            return action.get();
+        } finally {
+            if (previous == null) {
+                currentShard.remove();
+            } else {
+                currentShard.set(previous);
+            }
+        }
+    }
+
+    public static void run(int shard, Runnable action) {
+        call(shard, () -> {
+            action.run();
+            return null;
+        });
+    }
+
+    /**
+     * @return the current shard, or {@code null} outside {@link #call}
+     */
+    public static Integer current() {
+        return currentShard.get();
+    }
+}
@@ -0,0 +1,30 @@
+package com.example.studentapi.datasource;
+
+import org.flywaydb.core.Flyway;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+
+/**
+ * Brings shards 1..n to the schema of shard 0: runs the Flyway migrations on them, or, without
+ * Flyway, exports the mapped schema as {@code ddl-auto} did on shard 0. Runs when the bean is
+ * created, before any component starts using the shards.
+ */
+public class ShardSchemaInitializer {
+
+    ShardSchemaInitializer(SessionFactoryImplementor sessionFactory, Flyway flyway, int shards, String ddlAuto) {
+        if (flyway != null) {
+            for (int shard = 1; shard < shards; shard++) {
+                ShardContext.run(shard, flyway::migrate);
+            }
+            return;
+        }
+        if (!ddlAuto.equals("create") && !ddlAuto.equals("create-drop")) {
+            return;
+        }
+        for (int shard = 1; shard < shards; shard++) {
+            ShardContext.run(shard, () -> {
+                sessionFactory.getSchemaManager().dropMappedObjects(true);
+                sessionFactory.getSchemaManager().exportMappedObjects(true);
+            });
+        }
+    }
+}
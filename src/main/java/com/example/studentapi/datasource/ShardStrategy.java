@@ -0,0 +1,11 @@
+package com.example.studentapi.datasource;
+
+/**
+ * Maps a student id to the index of the shard that stores it.
+ */
+public interface ShardStrategy {
+
+    int shardFor(long id);
+
+    int shardCount();
+}
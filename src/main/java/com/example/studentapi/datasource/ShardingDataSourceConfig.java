@@ -0,0 +1,96 @@
+package com.example.studentapi.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.persistence.EntityManagerFactory;
+import org.flywaydb.core.Flyway;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Splits the database over the {@code studentapi.sharding.nodes}: the application sees one
+ * {@link ShardRoutingDataSource}, and every node gets its own pool and a copy of the schema.
+ * <p>
+ * Features that read the whole table straight from the repository (read model, snapshot) or
+ * route connections themselves (replicas, tenancy) cannot be combined with sharding, which is checked
+ * at startup.
+ */
+@Configuration
+@EnableConfigurationProperties(ShardingProperties.class)
+@ConditionalOnProperty(prefix = "studentapi.sharding", name = "enabled", havingValue = "true")
+public class ShardingDataSourceConfig implements DisposableBean {
+
+    private static final List<String> INCOMPATIBLE = List.of("studentapi.replicas.enabled",
+            "studentapi.tenancy.enabled", "studentapi.read-model.enabled", "studentapi.snapshot.enabled");
+
+    private final List<HikariDataSource> pools = new ArrayList<>();
+
+    public ShardingDataSourceConfig(Environment environment) {
+        for (String property : INCOMPATIBLE) {
+            if (environment.getProperty(property, Boolean.class, false)) {
+                throw new IllegalStateException(property + " cannot be combined with studentapi.sharding.enabled");
+            }
+        }
+    }
+
+    @Bean
+    public DataSource dataSource(DataSourceProperties defaults, ShardingProperties shardingProperties) {
+        if (shardingProperties.getNodes().isEmpty()) {
+            throw new IllegalStateException("studentapi.sharding.nodes must list at least one database");
+        }
+        for (ShardingProperties.Node node : shardingProperties.getNodes()) {
+            HikariDataSource pool = new HikariDataSource();
+            pool.setPoolName("shard-" + pools.size());
+            pool.setJdbcUrl(node.getUrl());
+            pool.setUsername(node.getUsername() != null ? node.getUsername() : defaults.determineUsername());
+            pool.setPassword(node.getPassword() != null ? node.getPassword() : defaults.determinePassword());
+            pool.setMaximumPoolSize(node.getMaximumPoolSize());
+            pools.add(pool);
+        }
+        return new ShardRoutingDataSource(pools);
+    }
+
+    @Bean
+    public ShardStrategy shardStrategy(ShardingProperties shardingProperties) {
+        List<ShardingProperties.Node> nodes = shardingProperties.getNodes();
+        if (shardingProperties.getStrategy() == ShardingProperties.Strategy.HASH) {
+            return new HashShardStrategy(nodes.size());
+        }
+        long[] upperBounds = new long[nodes.size() - 1];
+        for (int i = 0; i < upperBounds.length; i++) {
+            if (nodes.get(i).getRangeEnd() == null) {
+                throw new IllegalStateException("studentapi.sharding.nodes[" + i + "].range-end is required");
+            }
+            upperBounds[i] = nodes.get(i).getRangeEnd();
+        }
+        return new RangeShardStrategy(upperBounds);
+    }
+
+    /**
+     * Hibernate creates the schema on shard 0 only; this repeats it on the other shards.
+     */
+    @Bean
+    public ShardSchemaInitializer shardSchemaInitializer(EntityManagerFactory entityManagerFactory,
+                                                         ObjectProvider<Flyway> flyway,
+                                                         ShardStrategy shardStrategy,
+                                                         @Value("${spring.jpa.hibernate.ddl-auto:none}") String ddlAuto) {
+        return new ShardSchemaInitializer(entityManagerFactory.unwrap(SessionFactoryImplementor.class),
+                flyway.getIfAvailable(), shardStrategy.shardCount(), ddlAuto);
+    }
+
+    @Override
+    public void destroy() {
+        pools.forEach(HikariDataSource::close);
+    }
+}
@@ -0,0 +1,46 @@
+package com.example.studentapi.datasource;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Databases the {@code students} table is split over; see {@link ShardingDataSourceConfig}.
+ */
+@Data
+@ConfigurationProperties(prefix = "studentapi.sharding")
+public class ShardingProperties {
+
+    public enum Strategy {HASH, RANGE}
+
+    private boolean enabled;
+
+    private Strategy strategy = Strategy.HASH;
+
+    private List<Node> nodes = new ArrayList<>();
+
+    @Data
+    public static class Node {
+        private String url;
+
+        /**
+         * Defaults to {@code spring.datasource.username}.
+         */
+        private String username;
+
+        /**
+         * Defaults to {@code spring.datasource.password}.
+         */
+        private String password;
+
+        /**
+         * Exclusive upper bound of the ids on this shard, for the range strategy. Required on
+         * every node but the last.
+         */
+        private Long rangeEnd;
+
+        private int maximumPoolSize = 10;
+    }
+}
@@ -0,0 +1,166 @@
+package com.example.studentapi.datasource;
+
+import com.example.studentapi.commons.SqlStatistics;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Records the JDBC work of the current request in its {@link SqlStatistics}: every statement
+ * execution with its kind and duration, and every row read from a result set. Without current
+ * statistics the statements run unrecorded, at the cost of one thread-local lookup each.
+ */
+public class SqlStatisticsDataSource extends DelegatingDataSource implements AutoCloseable {
+
+    public SqlStatisticsDataSource(DataSource targetDataSource) {
+        super(targetDataSource);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return proxy(Connection.class, new ConnectionHandler(super.getConnection()));
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return proxy(Connection.class, new ConnectionHandler(super.getConnection(username, password)));
+    }
+
+    /**
+     * Closes the target, since Spring infers the destroy method from the wrapper.
+     */
+    @Override
+    public void close() throws Exception {
+        if (getTargetDataSource() instanceof AutoCloseable closeable) {
+            closeable.close();
+        }
+    }
+
+    private static <T> T proxy(Class<T> type, InvocationHandler handler) {
+        return type.cast(Proxy.newProxyInstance(SqlStatisticsDataSource.class.getClassLoader(),
+                new Class<?>[]{type}, handler));
+    }
+
+    /**
+     * Identity, {@code unwrap} and {@code isWrapperFor} of the proxy; everything else goes to
+     * {@link #invokeTarget}.
+     */
+    private abstract static class Handler implements InvocationHandler {
+
+        private final Object target;
+
+        Handler(Object target) {
+            this.target = target;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "unwrap":
+                    if (((Class<?>) args[0]).isInstance(proxy)) {
+                        return proxy;
+                    }
+                    break;
+                case "isWrapperFor":
+                    if (((Class<?>) args[0]).isInstance(proxy)) {
+                        return true;
+                    }
+                    break;
+                default:
+                    break;
+            }
+            return invokeTarget(method, args);
+        }
+
+        Object invokeTarget(Method method, Object[] args) throws Throwable {
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException ex) {
+                throw ex.getTargetException();
+            }
+        }
+    }
+
+    private static class ConnectionHandler extends Handler {
+
+        ConnectionHandler(Connection target) {
+            super(target);
+        }
+
+        @Override
+        Object invokeTarget(Method method, Object[] args) throws Throwable {
+            Object result = super.invokeTarget(method, args);
+            if (result instanceof Statement statement) {
+                // prepareStatement and prepareCall take the SQL up front, createStatement with every execute
+                String sql = method.getName().startsWith("prepare") ? (String) args[0] : null;
+                return proxy(method.getReturnType().asSubclass(Statement.class), new StatementHandler(statement, sql));
+            }
+            return result;
+        }
+    }
+
+    private static class StatementHandler extends Handler {
+
+        private final String preparedSql;
+
+        StatementHandler(Statement target, String preparedSql) {
+            super(target);
+            this.preparedSql = preparedSql;
+        }
+
+        @Override
+        Object invokeTarget(Method method, Object[] args) throws Throwable {
+            SqlStatistics statistics = SqlStatistics.current();
+            if (statistics == null) {
+                return super.invokeTarget(method, args);
+            }
+            Object result;
+            if (method.getName().startsWith("execute")) {
+                String sql = args != null && args.length > 0 && args[0] instanceof String text ? text : preparedSql;
+                long start = System.nanoTime();
+                try {
+                    result = super.invokeTarget(method, args);
+                } finally {
+                    statistics.recordStatement(SqlStatistics.Kind.of(sql), System.nanoTime() - start);
+                }
+            } else {
+                result = super.invokeTarget(method, args);
+            }
+            if (result instanceof ResultSet resultSet) {
+                return proxy(ResultSet.class, new ResultSetHandler(resultSet, statistics));
+            }
+            return result;
+        }
+    }
+
+    private static class ResultSetHandler extends Handler {
+
+        private final SqlStatistics statistics;
+
+        ResultSetHandler(ResultSet target, SqlStatistics statistics) {
+            super(target);
+            this.statistics = statistics;
+        }
+
+        @Override
+        Object invokeTarget(Method method, Object[] args) throws Throwable {
+            Object result = super.invokeTarget(method, args);
+            if (Boolean.TRUE.equals(result) && method.getName().equals("next")) {
+                statistics.recordRow();
+            }
+            return result;
+        }
+    }
+}
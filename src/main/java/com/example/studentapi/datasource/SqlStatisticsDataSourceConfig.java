@@ -0,0 +1,30 @@
+package com.example.studentapi.datasource;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+/**
+ * Wraps the application's {@link DataSource}, whichever configuration defines it, in a
+ * {@link SqlStatisticsDataSource}.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "studentapi.sql-statistics", name = "enabled", havingValue = "true")
+public class SqlStatisticsDataSourceConfig {
+
+    @Bean
+    public static BeanPostProcessor sqlStatisticsDataSourcePostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof SqlStatisticsDataSource)) {
+                    return new SqlStatisticsDataSource(dataSource);
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -0,0 +1,56 @@
+package com.example.studentapi.datasource;
+
+import java.util.function.Supplier;
+
+/**
+ * The tenant (school) the current thread works for, when multi-tenancy is enabled. Set for
+ * the whole request by the tenant filter, so that connections, caches, feeds and idempotency
+ * keys are all scoped to it.
+ */
+public final class TenantContext {
+
+    private static final ThreadLocal<String> currentTenant = new ThreadLocal<>();
+
+    private TenantContext() {}
+
+    public static <T> T call(String tenant, Supplier<T> action) {
+        try (Scope ignored = enter(tenant)) {
+            return action.get();
+        }
+    }
+
+    public static void run(String tenant, Runnable action) {
+        call(tenant, () -> {
+            action.run();
+            return null;
+        });
+    }
+
+    /**
+     * Switches to {@code tenant} until the returned scope is closed, for callers that throw
+     * checked exceptions.
+     */
+    public static Scope enter(String tenant) {
+        String previous = currentTenant.get();
+        currentTenant.set(tenant);
+        return () -> {
+            if (previous == null) {
+                currentTenant.remove();
+            } else {
+                currentTenant.set(previous);
+            }
+        };
+    }
+
+    /**
+     * @return the current tenant, or {@code null} outside {@link #call}
+     */
+    public static String current() {
+        return currentTenant.get();
+    }
+
+    public interface Scope extends AutoCloseable {
+        @Override
+        void close();
+    }
+}
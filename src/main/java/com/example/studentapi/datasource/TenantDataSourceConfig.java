@@ -0,0 +1,122 @@
+package com.example.studentapi.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.flywaydb.core.Flyway;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Gives every tenant its own database: the application sees one {@link TenantRoutingDataSource},
+ * which opens a small pool per tenant from {@code studentapi.tenancy.url-template} on demand and
+ * closes pools of tenants that went quiet, publishing a {@link TenantEvictedEvent} for each.
+ * Only the tenants listed in {@code studentapi.tenancy.tenants} are served, so pools, pool
+ * metrics (tagged {@code pool=tenant-<id>}), caches and feeds cannot grow with made-up ids.
+ * <p>
+ * Replicas and sharding replace the data source as well, and the read model and snapshot read
+ * the whole default database, so none of them can be combined with tenancy.
+ */
+@Configuration
+@EnableConfigurationProperties(TenantProperties.class)
+@ConditionalOnProperty(prefix = "studentapi.tenancy", name = "enabled", havingValue = "true")
+public class TenantDataSourceConfig implements DisposableBean {
+
+    private static final List<String> INCOMPATIBLE = List.of("studentapi.replicas.enabled",
+            "studentapi.sharding.enabled", "studentapi.read-model.enabled", "studentapi.snapshot.enabled");
+
+    private static final String TENANT_PLACEHOLDER = "{tenant}";
+
+    private final ScheduledExecutorService poolEvictor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "tenant-pool-evictor");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private HikariDataSource defaultPool;
+
+    private TenantRoutingDataSource routing;
+
+    public TenantDataSourceConfig(Environment environment) {
+        for (String property : INCOMPATIBLE) {
+            if (environment.getProperty(property, Boolean.class, false)) {
+                throw new IllegalStateException(property + " cannot be combined with studentapi.tenancy.enabled");
+            }
+        }
+    }
+
+    @Bean
+    public DataSource dataSource(DataSourceProperties defaults, TenantProperties tenantProperties,
+                                 ApplicationEventPublisher eventPublisher, MeterRegistry meterRegistry) {
+        if (tenantProperties.getTenants().isEmpty()) {
+            throw new IllegalStateException("studentapi.tenancy.tenants must list the known tenants");
+        }
+        String urlTemplate = tenantProperties.getUrlTemplate();
+        if (urlTemplate == null || !urlTemplate.contains(TENANT_PLACEHOLDER)) {
+            throw new IllegalStateException("studentapi.tenancy.url-template must contain " + TENANT_PLACEHOLDER);
+        }
+        defaultPool = defaults.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        defaultPool.setPoolName("default");
+
+        routing = new TenantRoutingDataSource(defaultPool, tenant -> {
+            HikariDataSource pool = new HikariDataSource();
+            pool.setPoolName("tenant-" + tenant);
+            pool.setJdbcUrl(urlTemplate.replace(TENANT_PLACEHOLDER, tenant));
+            pool.setUsername(tenantProperties.getUsername() != null
+                    ? tenantProperties.getUsername() : defaults.determineUsername());
+            pool.setPassword(tenantProperties.getPassword() != null
+                    ? tenantProperties.getPassword() : defaults.determinePassword());
+            pool.setMaximumPoolSize(tenantProperties.getMaximumPoolSize());
+            pool.setMinimumIdle(0);
+            pool.setIdleTimeout(tenantProperties.getConnectionIdleTimeout().toMillis());
+            pool.setMetricRegistry(meterRegistry);
+            return pool;
+        }, tenantProperties.getMaxPools(), tenant -> eventPublisher.publishEvent(new TenantEvictedEvent(tenant)),
+                meterRegistry);
+
+        long interval = Math.max(1000, tenantProperties.getPoolIdleTimeout().toMillis() / 4);
+        poolEvictor.scheduleWithFixedDelay(() -> routing.evictIdlePools(tenantProperties.getPoolIdleTimeout()),
+                interval, interval, TimeUnit.MILLISECONDS);
+        return routing;
+    }
+
+    @Bean
+    public TenantProvisioner tenantProvisioner(EntityManagerFactory entityManagerFactory,
+                                              ObjectProvider<Flyway> flyway,
+                                              @Value("${spring.jpa.hibernate.ddl-auto:none}") String ddlAuto,
+                                              ApplicationEventPublisher eventPublisher) {
+        return new TenantProvisioner(entityManagerFactory.unwrap(SessionFactoryImplementor.class),
+                flyway.getIfAvailable(), ddlAuto, eventPublisher);
+    }
+
+    @Bean
+    public TenantObservationConvention tenantObservationConvention() {
+        return new TenantObservationConvention();
+    }
+
+    @Override
+    public void destroy() {
+        poolEvictor.shutdownNow();
+        if (routing != null) {
+            routing.close();
+        }
+        if (defaultPool != null) {
+            defaultPool.close();
+        }
+    }
+}
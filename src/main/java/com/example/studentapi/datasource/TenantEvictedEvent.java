@@ -0,0 +1,18 @@
+package com.example.studentapi.datasource;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * Published when {@link TenantRoutingDataSource} closes the pool of a tenant, so that the other
+ * per-tenant state (cache stores, change feed rings) can be released along with it. Published
+ * on the evicting thread while the data source is locked, so listeners must not open connections.
+ */
+@Getter
+@AllArgsConstructor
+@ToString
+public class TenantEvictedEvent {
+
+    private final String tenant;
+}
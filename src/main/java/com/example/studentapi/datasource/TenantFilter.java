@@ -0,0 +1,103 @@
+package com.example.studentapi.datasource;
+
+import com.example.studentapi.commons.ApiError;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Resolves the tenant of every {@code /api/**} request, from the tenant header or else the
+ * subdomain, and runs the rest of the chain inside {@link TenantContext}. Requests without a
+ * valid tenant are answered 400, tenants missing from {@code studentapi.tenancy.tenants} 404. Runs ahead of the rate limiter, bulkheads
+ * and idempotency, so that all of them already see the tenant.
+ */
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@Order(Ordered.HIGHEST_PRECEDENCE + 50)
+@ConditionalOnProperty(prefix = "studentapi.tenancy", name = "enabled", havingValue = "true")
+public class TenantFilter extends OncePerRequestFilter {
+
+    public static final String TENANT_ATTRIBUTE = TenantFilter.class.getName() + ".tenant";
+
+    // Tenant ids end up in database and pool names
+    private static final Pattern TENANT_ID = Pattern.compile("[a-z0-9][a-z0-9_-]{0,62}");
+
+    private final String header;
+
+    private final String domainSuffix;
+
+    private final Set<String> knownTenants;
+
+    private final ObjectProvider<TenantProvisioner> provisioner;
+
+    private final ObjectMapper objectMapper;
+
+    public TenantFilter(TenantProperties tenantProperties,
+                        ObjectProvider<TenantProvisioner> provisioner,
+                        ObjectMapper objectMapper) {
+        this.header = tenantProperties.getHeader();
+        this.domainSuffix = tenantProperties.getDomain() != null
+                ? "." + tenantProperties.getDomain().toLowerCase(Locale.ROOT) : null;
+        this.knownTenants = Set.copyOf(tenantProperties.getTenants());
+        this.provisioner = provisioner;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !request.getRequestURI().startsWith("/api/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String tenant = resolve(request);
+        if (tenant == null || !TENANT_ID.matcher(tenant).matches()) {
+            writeError(response, HttpStatus.BAD_REQUEST, "Tenant is missing or invalid");
+            return;
+        }
+        if (!knownTenants.contains(tenant)) {
+            writeError(response, HttpStatus.NOT_FOUND, "Tenant not found: " + tenant);
+            return;
+        }
+        provisioner.getObject().provision(tenant);
+        request.setAttribute(TENANT_ATTRIBUTE, tenant);
+        try (TenantContext.Scope ignored = TenantContext.enter(tenant)) {
+            filterChain.doFilter(request, response);
+        }
+    }
+
+    String resolve(HttpServletRequest request) {
+        String tenant = request.getHeader(header);
+        if (tenant == null && domainSuffix != null) {
+            String host = request.getServerName().toLowerCase(Locale.ROOT);
+            if (host.endsWith(domainSuffix)) {
+                tenant = host.substring(0, host.length() - domainSuffix.length());
+            }
+        }
+        return tenant;
+    }
+
+    private void writeError(HttpServletResponse response, HttpStatus status, String message) throws IOException {
+        response.setStatus(status.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), List.of(new ApiError("tenant", message)));
+    }
+}
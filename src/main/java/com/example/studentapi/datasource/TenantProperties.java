@@ -0,0 +1,75 @@
+package com.example.studentapi.datasource;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * One database (or schema) per tenant behind {@link TenantRoutingDataSource}; requests outside
+ * a tenant, and Hibernate at startup, use {@code spring.datasource.*}.
+ */
+@Data
+@ConfigurationProperties(prefix = "studentapi.tenancy")
+public class TenantProperties {
+
+    private boolean enabled;
+
+    /**
+     * Request header naming the tenant; takes precedence over the subdomain.
+     */
+    private String header = "X-Tenant-ID";
+
+    /**
+     * When set, {@code <tenant>.<domain>} host names select the tenant.
+     */
+    private String domain;
+
+    /**
+     * Known tenants, required: every other tenant id is answered 404.
+     */
+    private List<String> tenants = new ArrayList<>();
+
+    /**
+     * JDBC URL with a {@code {tenant}} placeholder, e.g. {@code jdbc:mysql://db:3306/students_{tenant}}.
+     * Where databases and schemas differ, select the schema through the URL as well.
+     */
+    private String urlTemplate;
+
+    /**
+     * Defaults to {@code spring.datasource.username}.
+     */
+    private String username;
+
+    /**
+     * Defaults to {@code spring.datasource.password}.
+     */
+    private String password;
+
+    /**
+     * Connections per tenant pool.
+     */
+    private int maximumPoolSize = 4;
+
+    /**
+     * Connections idle for longer are closed, so a quiet tenant holds none.
+     */
+    private Duration connectionIdleTimeout = Duration.ofSeconds(30);
+
+    /**
+     * Open tenant pools at most; the least recently used idle pool is closed to make room.
+     */
+    private int maxPools = 50;
+
+    /**
+     * Pools that have not handed out a connection for this long are closed.
+     */
+    private Duration poolIdleTimeout = Duration.ofMinutes(10);
+
+    /**
+     * Entries per tenant in the off-heap student cache, when that cache is enabled.
+     */
+    private int cacheMaxEntries = 10_000;
+}
@@ -0,0 +1,18 @@
+package com.example.studentapi.datasource;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * Published by {@link TenantProvisioner} the first time a tenant is used in this process, on
+ * the provisioning thread and with {@link TenantContext} set to the tenant, so listeners can
+ * seed the tenant's database.
+ */
+@Getter
+@AllArgsConstructor
+@ToString
+public class TenantProvisionedEvent {
+
+    private final String tenant;
+}
@@ -0,0 +1,57 @@
+package com.example.studentapi.datasource;
+
+import org.flywaydb.core.Flyway;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Prepares a tenant's database before its first request: runs the Flyway migrations on it, or,
+ * without Flyway, exports the mapped schema as {@code ddl-auto} did for the default database, and
+ * publishes a {@link TenantProvisionedEvent}. Runs once per tenant and process; other schema
+ * modes expect tenant databases to be prepared up front.
+ */
+public class TenantProvisioner {
+
+    private final SessionFactoryImplementor sessionFactory;
+
+    private final Flyway flyway;
+
+    private final boolean exportSchema;
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final Set<String> provisioned = ConcurrentHashMap.newKeySet();
+
+    TenantProvisioner(SessionFactoryImplementor sessionFactory, Flyway flyway, String ddlAuto,
+                      ApplicationEventPublisher eventPublisher) {
+        this.sessionFactory = sessionFactory;
+        this.flyway = flyway;
+        this.exportSchema = ddlAuto.equals("create") || ddlAuto.equals("create-drop");
+        this.eventPublisher = eventPublisher;
+    }
+
+    public void provision(String tenant) {
+        if (provisioned.contains(tenant)) {
+            return;
+        }
+        // New tenants are rare, so provisioning them one at a time is fine
+        synchronized (this) {
+            if (provisioned.contains(tenant)) {
+                return;
+            }
+            TenantContext.run(tenant, () -> {
+                if (flyway != null) {
+                    flyway.migrate();
+                } else if (exportSchema) {
+                    sessionFactory.getSchemaManager().dropMappedObjects(true);
+                    sessionFactory.getSchemaManager().exportMappedObjects(true);
+                }
+                eventPublisher.publishEvent(new TenantProvisionedEvent(tenant));
+            });
+            provisioned.add(tenant);
+        }
+    }
+}
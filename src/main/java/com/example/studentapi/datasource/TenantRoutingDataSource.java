@@ -0,0 +1,200 @@
+package com.example.studentapi.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+/**
+ * Hands out connections from a pool of the tenant in {@link TenantContext}, and from the default
+ * data source outside of one.
+ * <p>
+ * Tenant pools are created on first use, at most {@code maxPools} at a time. To make room, and
+ * when {@link #evictIdlePools} finds a pool unused for too long, a pool is closed, but only
+ * while none of its connections is in use or being acquired; the tenant simply gets a new pool
+ * on its next request. A pool is never closed under a caller, so when every pool is busy a new
+ * tenant is refused instead. Every closed pool is reported to {@code onEvicted}.
+ */
+public class TenantRoutingDataSource extends AbstractDataSource {
+
+    private final DataSource defaultDataSource;
+
+    private final Function<String, HikariDataSource> poolFactory;
+
+    private final int maxPools;
+
+    private final Consumer<String> onEvicted;
+
+    private final LongSupplier nanoTime;
+
+    private final Map<String, TenantPool> pools = new ConcurrentHashMap<>();
+
+    private final Counter evictionCounter;
+
+    TenantRoutingDataSource(DataSource defaultDataSource, Function<String, HikariDataSource> poolFactory, int maxPools,
+                            Consumer<String> onEvicted, MeterRegistry meterRegistry) {
+        this(defaultDataSource, poolFactory, maxPools, onEvicted, meterRegistry, System::nanoTime);
+    }
+
+    TenantRoutingDataSource(DataSource defaultDataSource, Function<String, HikariDataSource> poolFactory, int maxPools,
+                            Consumer<String> onEvicted, MeterRegistry meterRegistry, LongSupplier nanoTime) {
+        this.defaultDataSource = defaultDataSource;
+        this.poolFactory = poolFactory;
+        this.maxPools = maxPools;
+        this.onEvicted = onEvicted;
+        this.nanoTime = nanoTime;
+        this.evictionCounter = meterRegistry.counter("students.tenancy.pool-evictions");
+        Gauge.builder("students.tenancy.pools", pools, Map::size).register(meterRegistry);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        String tenant = TenantContext.current();
+        if (tenant == null) {
+            return defaultDataSource.getConnection();
+        }
+        while (true) {
+            TenantPool pool = pools.get(tenant);
+            if (pool == null) {
+                pool = open(tenant);
+            }
+            Connection connection = pool.acquire();
+            if (connection != null) {
+                return connection;
+            }
+            // Closed after we looked it up: the next round opens a fresh one
+        }
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        throw new SQLFeatureNotSupportedException("Tenant pools use the configured credentials");
+    }
+
+    int openPools() {
+        return pools.size();
+    }
+
+    boolean hasPool(String tenant) {
+        return pools.containsKey(tenant);
+    }
+
+    /**
+     * Closes the pools that have not handed out a connection within {@code idleTimeout}.
+     */
+    public synchronized void evictIdlePools(Duration idleTimeout) {
+        long cutoff = nanoTime.getAsLong() - idleTimeout.toNanos();
+        for (Map.Entry<String, TenantPool> entry : pools.entrySet()) {
+            if (entry.getValue().lastUsed - cutoff < 0) {
+                tryEvict(entry.getKey(), entry.getValue());
+            }
+        }
+    }
+
+    public synchronized void close() {
+        pools.values().forEach(pool -> pool.dataSource.close());
+        pools.clear();
+    }
+
+    private synchronized TenantPool open(String tenant) throws SQLException {
+        TenantPool pool = pools.get(tenant);
+        if (pool != null) {
+            return pool;
+        }
+        if (pools.size() >= maxPools && !evictLeastRecentlyUsed()) {
+            throw new SQLTransientConnectionException(
+                    "All " + maxPools + " tenant pools are in use, cannot open one for tenant " + tenant);
+        }
+        pool = new TenantPool(poolFactory.apply(tenant), nanoTime.getAsLong());
+        pools.put(tenant, pool);
+        return pool;
+    }
+
+    private boolean evictLeastRecentlyUsed() {
+        List<Map.Entry<String, TenantPool>> candidates = pools.entrySet().stream()
+                .sorted(Comparator.comparingLong(entry -> entry.getValue().lastUsed))
+                .toList();
+        for (Map.Entry<String, TenantPool> candidate : candidates) {
+            if (tryEvict(candidate.getKey(), candidate.getValue())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean tryEvict(String tenant, TenantPool pool) {
+        if (!pool.closeIfIdle()) {
+            return false;
+        }
+        pools.remove(tenant, pool);
+        pool.dataSource.close();
+        evictionCounter.increment();
+        onEvicted.accept(tenant);
+        return true;
+    }
+
+    private final class TenantPool {
+        private final HikariDataSource dataSource;
+
+        private int acquiring;
+
+        private boolean closed;
+
+        private volatile long lastUsed;
+
+        TenantPool(HikariDataSource dataSource, long lastUsed) {
+            this.dataSource = dataSource;
+            this.lastUsed = lastUsed;
+        }
+
+        /**
+         * @return a connection, or {@code null} if the pool has been closed
+         */
+        Connection acquire() throws SQLException {
+            synchronized (this) {
+                if (closed) {
+                    return null;
+                }
+                acquiring++;
+                lastUsed = nanoTime.getAsLong();
+            }
+            try {
+                return dataSource.getConnection();
+            } finally {
+                synchronized (this) {
+                    acquiring--;
+                }
+            }
+        }
+
+        synchronized boolean closeIfIdle() {
+            if (closed || acquiring > 0 || activeConnections() > 0) {
+                return false;
+            }
+            closed = true;
+            return true;
+        }
+
+        private int activeConnections() {
+            // Hikari starts the pool, and its MXBean, on the first getConnection
+            HikariPoolMXBean poolBean = dataSource.getHikariPoolMXBean();
+            return poolBean == null ? 0 : poolBean.getActiveConnections();
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.example.studentapi.student;
+
+import java.util.TreeSet;
+
+/**
+ * Which change sequences an instance has accounted for: everything up to {@link #contiguous()},
+ * plus the versions seen beyond it. A hole that stays open longer than the gap timeout means an
+ * invalidation was lost, which {@link #skipStaleGap} turns into an epoch bump.
+ */
+final class InvalidationSequence {
+
+    private long contiguous;
+
+    private long highest;
+
+    private final TreeSet<Long> ahead = new TreeSet<>();
+
+    // nanoTime at which the current hole was first noticed, valid while contiguous < highest
+    private long gapSince;
+
+    synchronized void reset(long version) {
+        contiguous = version;
+        highest = version;
+        ahead.clear();
+    }
+
+    /**
+     * @return {@code false} if the version was already accounted for
+     */
+    synchronized boolean markSeen(long version, long nanoTime) {
+        if (version <= contiguous || !ahead.add(version)) {
+            return false;
+        }
+        long before = contiguous;
+        while (!ahead.isEmpty() && ahead.first() == contiguous + 1) {
+            contiguous = ahead.pollFirst();
+        }
+        if (contiguous != before) {
+            // The hole being timed was filled; time the next one from now
+            gapSince = nanoTime;
+        }
+        expect(version, nanoTime);
+        return true;
+    }
+
+    /**
+     * Records that versions up to {@code version} exist, e.g. from the database's counter.
+     */
+    synchronized void expect(long version, long nanoTime) {
+        boolean hadGap = contiguous < highest;
+        highest = Math.max(highest, version);
+        if (!hadGap && contiguous < highest) {
+            gapSince = nanoTime;
+        }
+    }
+
+    /**
+     * Gives up on the missing versions if the oldest hole is older than {@code timeoutNanos}.
+     *
+     * @return {@code true} if versions were skipped, so anything may be stale
+     */
+    synchronized boolean skipStaleGap(long nanoTime, long timeoutNanos) {
+        if (contiguous >= highest || nanoTime - gapSince < timeoutNanos) {
+            return false;
+        }
+        contiguous = highest;
+        ahead.clear();
+        return true;
+    }
+
+    synchronized long contiguous() {
+        return contiguous;
+    }
+
+    synchronized long missing() {
+        return highest - contiguous - ahead.size();
+    }
+}
@@ -0,0 +1,33 @@
+package com.example.studentapi.student;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+import java.util.function.LongSupplier;
+
+/**
+ * In-JVM transport: every invalidation is handed synchronously to all transports attached to the
+ * same {@link Hub}. Lets tests run several "instances" in one JVM.
+ */
+public class LoopbackInvalidationTransport implements StudentInvalidationTransport {
+
+    private final Hub hub;
+
+    public LoopbackInvalidationTransport(Hub hub) {
+        this.hub = hub;
+    }
+
+    @Override
+    public void publish(StudentInvalidation invalidation) {
+        hub.listeners.forEach(listener -> listener.accept(invalidation));
+    }
+
+    @Override
+    public void start(LongSupplier resumeAfter, Consumer<StudentInvalidation> listener) {
+        hub.listeners.add(listener);
+    }
+
+    public static class Hub {
+        private final List<Consumer<StudentInvalidation>> listeners = new CopyOnWriteArrayList<>();
+    }
+}
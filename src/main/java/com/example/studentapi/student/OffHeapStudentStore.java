@@ -0,0 +1,369 @@
+package com.example.studentapi.student;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * {@link StudentCache} that keeps records outside the Java heap.
+ * <p>
+ * Each student occupies one fixed-size slot in a direct {@link ByteBuffer}:
+ * <pre>
+ * | id (8) | change sequence (8) | first name length (2) | last name length (2) | email length (2) |
+ * | first name UTF-8 (64) | last name UTF-8 (64) | email UTF-8 (128) |
+ * </pre>
+ * Slots are located through an open-addressing {@code long -> int} index held in two primitive
+ * arrays, so a cached student costs roughly 12 bytes of heap instead of a {@link StudentDto},
+ * a {@link Long} box and three {@link String}s. Students whose fields do not fit their slot are
+ * simply not cached. When the store is full, slots are recycled in round-robin order.
+ * <p>
+ * {@link #stamp(long) Stamps} are counters in a fixed number of stripes, each shared by the ids
+ * that hash to it: a write to one id can at worst make a read-through of another id skip
+ * caching, never cache stale data.
+ * <p>
+ * Puts carry the change sequence of their write, which is kept in the slot: a put whose sequence
+ * is not newer than the slot's is dropped. Deletes raise a high-water mark of their stripe, and
+ * a put of an uncached student at or below it is dropped too, at worst costing a cache miss.
+ */
+public class OffHeapStudentStore implements StudentCache {
+
+    static final int FIRST_NAME_CAPACITY = 64;
+    static final int LAST_NAME_CAPACITY = 64;
+    static final int EMAIL_CAPACITY = 128;
+
+    private static final int ID_OFFSET = 0;
+    private static final int CHANGE_SEQUENCE_OFFSET = 8;
+    private static final int FIRST_NAME_LENGTH_OFFSET = 16;
+    private static final int LAST_NAME_LENGTH_OFFSET = 18;
+    private static final int EMAIL_LENGTH_OFFSET = 20;
+    private static final int FIRST_NAME_OFFSET = 22;
+    private static final int LAST_NAME_OFFSET = FIRST_NAME_OFFSET + FIRST_NAME_CAPACITY;
+    private static final int EMAIL_OFFSET = LAST_NAME_OFFSET + LAST_NAME_CAPACITY;
+    static final int SLOT_SIZE = EMAIL_OFFSET + EMAIL_CAPACITY;
+
+    private static final int SLOTS_PER_CHUNK = 1 << 16;
+    private static final long NO_KEY = Long.MIN_VALUE;
+    private static final short NULL_LENGTH = -1;
+    private static final byte[] NULL_VALUE = new byte[0];
+    private static final int STAMP_STRIPES = 1024;
+
+    private final int maxEntries;
+
+    private final ByteBuffer[] chunks;
+
+    private final int[] freeSlots;
+
+    private final long[] slotOwners;
+
+    private final long[] stamps = new long[STAMP_STRIPES];
+
+    private final long[] deletedThrough = new long[STAMP_STRIPES];
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private int freeCount;
+
+    private int nextUnusedSlot;
+
+    private int clockHand;
+
+    private long[] indexKeys;
+
+    private int[] indexSlots;
+
+    private int size;
+
+    public OffHeapStudentStore(int maxEntries) {
+        if (maxEntries <= 0) {
+            throw new IllegalArgumentException("maxEntries must be positive");
+        }
+        this.maxEntries = maxEntries;
+        this.chunks = new ByteBuffer[(maxEntries + SLOTS_PER_CHUNK - 1) / SLOTS_PER_CHUNK];
+        this.freeSlots = new int[maxEntries];
+        this.slotOwners = new long[maxEntries];
+        int indexCapacity = Integer.highestOneBit(Math.max(16, maxEntries) * 2 - 1) << 1;
+        this.indexKeys = new long[indexCapacity];
+        this.indexSlots = new int[indexCapacity];
+        Arrays.fill(indexKeys, NO_KEY);
+    }
+
+    @Override
+    public Optional<StudentDto> get(long id) {
+        lock.readLock().lock();
+        try {
+            int slot = findSlot(id);
+            return slot < 0 ? Optional.empty() : Optional.of(read(slot));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void put(StudentDto student, long changeSequence) {
+        write(student, changeSequence, -1);
+    }
+
+    @Override
+    public long stamp(long id) {
+        lock.readLock().lock();
+        try {
+            return stamps[stripe(id)];
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void putIfUnchanged(StudentDto student, long changeSequence, long stamp) {
+        write(student, changeSequence, stamp);
+    }
+
+    @Override
+    public void delete(long id, long changeSequence) {
+        lock.writeLock().lock();
+        try {
+            deletedThrough[stripe(id)] = Math.max(deletedThrough[stripe(id)], changeSequence);
+            evictLocked(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void evict(long id) {
+        lock.writeLock().lock();
+        try {
+            evictLocked(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            // Chunks stay allocated and are reused from slot 0 on
+            Arrays.fill(indexKeys, NO_KEY);
+            for (int stripe = 0; stripe < STAMP_STRIPES; stripe++) {
+                stamps[stripe]++;
+            }
+            // deletedThrough is kept: the deleted students are still gone
+            freeCount = 0;
+            nextUnusedSlot = 0;
+            clockHand = 0;
+            size = 0;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return size;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Bytes of direct memory reserved so far; chunks are allocated as slots are first used.
+     */
+    public long offHeapBytes() {
+        lock.readLock().lock();
+        try {
+            long allocated = 0;
+            for (ByteBuffer chunk : chunks) {
+                if (chunk != null) {
+                    allocated += chunk.capacity();
+                }
+            }
+            return allocated;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @param stamp {@link #stamp} taken before the student was read, or -1 to overwrite an older state
+     */
+    private void write(StudentDto student, long changeSequence, long stamp) {
+        if (student.getId() == null) {
+            return;
+        }
+        byte[] firstName = encode(student.getStudentFirstName(), FIRST_NAME_CAPACITY);
+        byte[] lastName = encode(student.getStudentLastName(), LAST_NAME_CAPACITY);
+        byte[] email = encode(student.getStudentEmail(), EMAIL_CAPACITY);
+        if (firstName == null || lastName == null || email == null) {
+            // Does not fit the fixed layout; drop any older copy so it cannot be served.
+            evict(student.getId());
+            return;
+        }
+
+        long id = student.getId();
+        lock.writeLock().lock();
+        try {
+            int slot = findSlot(id);
+            if (stamp >= 0 && (slot >= 0 || stamps[stripe(id)] != stamp)) {
+                return;
+            }
+            if (changeSequence != UNKNOWN_SEQUENCE && changeSequence <= (slot >= 0
+                    ? chunks[slot / SLOTS_PER_CHUNK].getLong(offset(slot) + CHANGE_SEQUENCE_OFFSET)
+                    : deletedThrough[stripe(id)])) {
+                return;
+            }
+            stamps[stripe(id)]++;
+            if (slot < 0) {
+                slot = allocateSlot();
+                slotOwners[slot] = id;
+                addToIndex(id, slot);
+            }
+            ByteBuffer chunk = chunk(slot);
+            int base = offset(slot);
+            chunk.putLong(base + ID_OFFSET, id);
+            chunk.putLong(base + CHANGE_SEQUENCE_OFFSET, changeSequence);
+            writeField(chunk, base + FIRST_NAME_LENGTH_OFFSET, base + FIRST_NAME_OFFSET, firstName);
+            writeField(chunk, base + LAST_NAME_LENGTH_OFFSET, base + LAST_NAME_OFFSET, lastName);
+            writeField(chunk, base + EMAIL_LENGTH_OFFSET, base + EMAIL_OFFSET, email);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void evictLocked(long id) {
+        stamps[stripe(id)]++;
+        int slot = removeFromIndex(id);
+        if (slot >= 0) {
+            slotOwners[slot] = NO_KEY;
+            freeSlots[freeCount++] = slot;
+        }
+    }
+
+    private StudentDto read(int slot) {
+        ByteBuffer chunk = chunks[slot / SLOTS_PER_CHUNK];
+        int base = offset(slot);
+        return new StudentDto(
+                chunk.getLong(base + ID_OFFSET),
+                readField(chunk, base + FIRST_NAME_LENGTH_OFFSET, base + FIRST_NAME_OFFSET),
+                readField(chunk, base + LAST_NAME_LENGTH_OFFSET, base + LAST_NAME_OFFSET),
+                readField(chunk, base + EMAIL_LENGTH_OFFSET, base + EMAIL_OFFSET));
+    }
+
+    private static byte[] encode(String value, int capacity) {
+        if (value == null) {
+            return NULL_VALUE;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        return bytes.length <= capacity ? bytes : null;
+    }
+
+    private static void writeField(ByteBuffer chunk, int lengthOffset, int valueOffset, byte[] value) {
+        if (value == NULL_VALUE) {
+            chunk.putShort(lengthOffset, NULL_LENGTH);
+            return;
+        }
+        chunk.putShort(lengthOffset, (short) value.length);
+        chunk.put(valueOffset, value);
+    }
+
+    private static String readField(ByteBuffer chunk, int lengthOffset, int valueOffset) {
+        short length = chunk.getShort(lengthOffset);
+        if (length == NULL_LENGTH) {
+            return null;
+        }
+        byte[] value = new byte[length];
+        chunk.get(valueOffset, value);
+        return new String(value, StandardCharsets.UTF_8);
+    }
+
+    private int allocateSlot() {
+        if (freeCount > 0) {
+            return freeSlots[--freeCount];
+        }
+        if (nextUnusedSlot < maxEntries) {
+            return nextUnusedSlot++;
+        }
+        int victim = clockHand;
+        clockHand = (clockHand + 1) % maxEntries;
+        removeFromIndex(slotOwners[victim]);
+        return victim;
+    }
+
+    private ByteBuffer chunk(int slot) {
+        int chunkIndex = slot / SLOTS_PER_CHUNK;
+        if (chunks[chunkIndex] == null) {
+            int slots = Math.min(SLOTS_PER_CHUNK, maxEntries - chunkIndex * SLOTS_PER_CHUNK);
+            chunks[chunkIndex] = ByteBuffer.allocateDirect(slots * SLOT_SIZE);
+        }
+        return chunks[chunkIndex];
+    }
+
+    private static int offset(int slot) {
+        return (slot % SLOTS_PER_CHUNK) * SLOT_SIZE;
+    }
+
+    private int findSlot(long id) {
+        int mask = indexKeys.length - 1;
+        for (int i = hash(id) & mask; ; i = (i + 1) & mask) {
+            long key = indexKeys[i];
+            if (key == id) {
+                return indexSlots[i];
+            }
+            if (key == NO_KEY) {
+                return -1;
+            }
+        }
+    }
+
+    private void addToIndex(long id, int slot) {
+        int mask = indexKeys.length - 1;
+        int i = hash(id) & mask;
+        while (indexKeys[i] != NO_KEY) {
+            i = (i + 1) & mask;
+        }
+        indexKeys[i] = id;
+        indexSlots[i] = slot;
+        size++;
+    }
+
+    /**
+     * Linear-probing delete with backward shift, so lookups never need tombstones.
+     */
+    private int removeFromIndex(long id) {
+        int mask = indexKeys.length - 1;
+        int i = hash(id) & mask;
+        while (indexKeys[i] != id) {
+            if (indexKeys[i] == NO_KEY) {
+                return -1;
+            }
+            i = (i + 1) & mask;
+        }
+        int slot = indexSlots[i];
+        int hole = i;
+        for (int j = (hole + 1) & mask; indexKeys[j] != NO_KEY; j = (j + 1) & mask) {
+            int home = hash(indexKeys[j]) & mask;
+            if (((j - home) & mask) >= ((j - hole) & mask)) {
+                indexKeys[hole] = indexKeys[j];
+                indexSlots[hole] = indexSlots[j];
+                hole = j;
+            }
+        }
+        indexKeys[hole] = NO_KEY;
+        size--;
+        return slot;
+    }
+
+    private static int stripe(long id) {
+        return hash(id) & (STAMP_STRIPES - 1);
+    }
+
+    private static int hash(long id) {
+        long h = id * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+}
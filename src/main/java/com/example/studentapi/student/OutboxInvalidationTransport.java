@@ -0,0 +1,100 @@
+package com.example.studentapi.student;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.LongSupplier;
+
+/**
+ * Zero-infrastructure transport: invalidations are rows of {@code student_invalidations}, which
+ * every instance polls. The row is inserted after the write has committed, in a transaction of
+ * its own, so a crash in between loses it; peers notice the missing version. Rows older than
+ * {@code retention} are purged by whichever instance gets there first.
+ */
+@Slf4j
+public class OutboxInvalidationTransport implements StudentInvalidationTransport, DisposableBean {
+
+    private static final long PURGE_INTERVAL_MILLIS = TimeUnit.MINUTES.toMillis(1);
+
+    private final StudentInvalidationRecordRepository recordRepository;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final Duration pollInterval;
+
+    private final Duration retention;
+
+    private final int maxBatch;
+
+    private final ScheduledExecutorService poller = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "student-invalidation-poller");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private long lastPurge;
+
+    public OutboxInvalidationTransport(StudentInvalidationRecordRepository recordRepository,
+                                       PlatformTransactionManager transactionManager,
+                                       Duration pollInterval,
+                                       Duration retention,
+                                       int maxBatch) {
+        this.recordRepository = recordRepository;
+        // Publishing runs after the writing transaction committed, so it needs a new one
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.pollInterval = pollInterval;
+        this.retention = retention;
+        this.maxBatch = maxBatch;
+    }
+
+    @Override
+    public void publish(StudentInvalidation invalidation) {
+        transactionTemplate.executeWithoutResult(status -> recordRepository.save(new StudentInvalidationRecord(
+                invalidation.getVersion(), invalidation.getStudentId(), invalidation.getOrigin(),
+                invalidation.getPublishedAt())));
+    }
+
+    @Override
+    public void start(LongSupplier resumeAfter, Consumer<StudentInvalidation> listener) {
+        long interval = pollInterval.toMillis();
+        poller.scheduleWithFixedDelay(() -> poll(resumeAfter.getAsLong(), listener),
+                interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Delivers up to {@code max-batch} rows after {@code version}. Versions above a hole are
+     * delivered again on every poll until the hole closes; the bus drops the duplicates.
+     */
+    void poll(long version, Consumer<StudentInvalidation> listener) {
+        try {
+            for (StudentInvalidationRecord record :
+                    recordRepository.findByVersionGreaterThanOrderByVersion(version, PageRequest.of(0, maxBatch))) {
+                listener.accept(new StudentInvalidation(record.getStudentId(), record.getVersion(),
+                        record.getOrigin(), record.getPublishedAt()));
+            }
+            long now = System.currentTimeMillis();
+            if (now - lastPurge >= PURGE_INTERVAL_MILLIS) {
+                lastPurge = now;
+                transactionTemplate.executeWithoutResult(status ->
+                        recordRepository.deletePublishedBefore(now - retention.toMillis()));
+            }
+        } catch (RuntimeException ex) {
+            log.warn("Polling student invalidations failed, retrying in {}", pollInterval, ex);
+        }
+    }
+
+    @Override
+    public void destroy() {
+        poller.shutdownNow();
+    }
+}
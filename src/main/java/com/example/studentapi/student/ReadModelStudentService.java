@@ -0,0 +1,66 @@
+package com.example.studentapi.student;
+
+import com.example.studentapi.commons.ResourceNotFoundException;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+/**
+ * Serves reads from the {@link StudentReadModel} and delegates writes to
+ * {@link StudentServiceImpl}, whose after-commit events keep the read model current.
+ */
+@Service
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@Primary
+@ConditionalOnProperty(prefix = "studentapi.read-model", name = "enabled", havingValue = "true")
+public class ReadModelStudentService implements StudentService {
+
+    private final StudentServiceImpl delegate;
+
+    private final StudentReadModel readModel;
+
+    public ReadModelStudentService(StudentServiceImpl delegate, StudentReadModel readModel) {
+        this.delegate = delegate;
+        this.readModel = readModel;
+    }
+
+    @Override
+    public List<StudentDto> getAllStudents() {
+        if (!readModel.isLoaded()) {
+            return delegate.getAllStudents();
+        }
+        return readModel.findAll();
+    }
+
+    @Override
+    public StudentDto getStudentById(Long id) {
+        if (!readModel.isLoaded()) {
+            return delegate.getStudentById(id);
+        }
+        return readModel.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Student not found with id: " + id));
+    }
+
+    @Override
+    public StudentDto createStudent(StudentDto studentDto) {
+        return delegate.createStudent(studentDto);
+    }
+
+    @Override
+    public void deleteStudent(Long id) {
+        delegate.deleteStudent(id);
+    }
+
+    @Override
+    public StudentDto updateStudent(Long id, StudentDto studentDto) {
+        return delegate.updateStudent(id, studentDto);
+    }
+
+    @Override
+    public StudentDeltaDto getStudentsChangedSince(long changeSequence) {
+        return delegate.getStudentsChangedSince(changeSequence);
+    }
+}
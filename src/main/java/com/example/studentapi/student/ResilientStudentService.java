@@ -0,0 +1,173 @@
+package com.example.studentapi.student;
+
+import com.example.studentapi.commons.CircuitBreaker;
+import com.example.studentapi.commons.StaleWhileRevalidateCache;
+import com.example.studentapi.datasource.TenantContext;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.env.Environment;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Keeps student reads answering while the database is slow or down. Reads of
+ * {@link StudentServiceImpl} go through a {@link StaleWhileRevalidateCache} and a shared
+ * {@link CircuitBreaker}: past {@code soft-ttl} the cached value is returned at once and refreshed
+ * in the background, and while the database fails, or the circuit is open, cached values up to
+ * {@code stale-if-error} old are served. Without a cached value the error propagates, a
+ * {@link com.example.studentapi.commons.CircuitOpenException} as {@code 503}.
+ * <p>
+ * Committed writes replace the cached student, unless it is of a later change sequence already,
+ * so an instance always reads its own writes. How
+ * stale a response is goes into the {@link #FRESHNESS_ATTRIBUTE} request attribute, which
+ * {@link StaleResponseAdvice} turns into {@code Age} and {@code Warning} headers.
+ */
+@Service
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@Primary
+@ConditionalOnProperty(prefix = "studentapi.resilience", name = "enabled", havingValue = "true")
+public class ResilientStudentService implements StudentService, DisposableBean {
+
+    static final String FRESHNESS_ATTRIBUTE = ResilientStudentService.class.getName() + ".freshness";
+
+    private static final List<String> INCOMPATIBLE = List.of("studentapi.read-model.enabled", "studentapi.sharding.enabled");
+
+    private final StudentServiceImpl delegate;
+
+    private final CircuitBreaker circuitBreaker;
+
+    private final StaleWhileRevalidateCache<StudentKey, StudentDto> students;
+
+    private final StaleWhileRevalidateCache<ListKey, List<StudentDto>> lists;
+
+    private final ExecutorService refreshExecutor;
+
+    public ResilientStudentService(StudentServiceImpl delegate,
+                                   Environment environment,
+                                   MeterRegistry meterRegistry,
+                                   @Value("${studentapi.resilience.soft-ttl:5s}") Duration softTtl,
+                                   @Value("${studentapi.resilience.stale-while-revalidate:60s}") Duration staleWhileRevalidate,
+                                   @Value("${studentapi.resilience.stale-if-error:10m}") Duration staleIfError,
+                                   @Value("${studentapi.resilience.max-entries:100000}") int maxEntries,
+                                   @Value("${studentapi.resilience.failure-threshold:5}") int failureThreshold,
+                                   @Value("${studentapi.resilience.open-duration:10s}") Duration openDuration,
+                                   @Value("${studentapi.resilience.slow-call-threshold:2s}") Duration slowCallThreshold) {
+        for (String property : INCOMPATIBLE) {
+            if (environment.getProperty(property, Boolean.class, false)) {
+                throw new IllegalStateException(property + " cannot be combined with studentapi.resilience.enabled");
+            }
+        }
+        this.delegate = delegate;
+        this.circuitBreaker = new CircuitBreaker("student-reads", failureThreshold, openDuration, slowCallThreshold,
+                ex -> ex instanceof DataAccessException || ex instanceof TransactionException, meterRegistry);
+        AtomicInteger threadCount = new AtomicInteger();
+        this.refreshExecutor = Executors.newFixedThreadPool(2, runnable -> {
+            Thread thread = new Thread(runnable, "student-revalidate-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.students = new StaleWhileRevalidateCache<>("students", softTtl, staleWhileRevalidate, staleIfError,
+                maxEntries, refreshExecutor, circuitBreaker, meterRegistry);
+        this.lists = new StaleWhileRevalidateCache<>("student-lists", softTtl, staleWhileRevalidate, staleIfError,
+                maxEntries, refreshExecutor, circuitBreaker, meterRegistry);
+    }
+
+    @Override
+    public void destroy() {
+        refreshExecutor.shutdownNow();
+    }
+
+    @Override
+    public List<StudentDto> getAllStudents() {
+        String tenant = TenantContext.current();
+        return served(lists.get(new ListKey(tenant), inTenant(tenant, delegate::getAllStudents)));
+    }
+
+    @Override
+    public StudentDto getStudentById(Long id) {
+        String tenant = TenantContext.current();
+        return served(students.get(new StudentKey(tenant, id), inTenant(tenant, () -> delegate.getStudentById(id))));
+    }
+
+    @Override
+    public StudentDto createStudent(StudentDto studentDto) {
+        return delegate.createStudent(studentDto);
+    }
+
+    @Override
+    public void deleteStudent(Long id) {
+        delegate.deleteStudent(id);
+    }
+
+    @Override
+    public StudentDto updateStudent(Long id, StudentDto studentDto) {
+        return delegate.updateStudent(id, studentDto);
+    }
+
+    @Override
+    public StudentDeltaDto getStudentsChangedSince(long changeSequence) {
+        return delegate.getStudentsChangedSince(changeSequence);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStudentChanged(StudentChangedEvent event) {
+        String tenant = TenantContext.current();
+        StudentKey key = new StudentKey(tenant, event.getStudentId());
+        if (event.getType() == StudentChangedEvent.Type.DELETED) {
+            students.evict(key);
+        } else {
+            students.put(key, event.getStudent(), event.getChangeSequence() == null
+                    ? StaleWhileRevalidateCache.UNKNOWN_VERSION : event.getChangeSequence());
+        }
+        lists.evict(new ListKey(tenant));
+    }
+
+    @EventListener
+    public void onStudentInvalidated(StudentInvalidatedEvent event) {
+        if (event.isAll()) {
+            students.clear();
+        } else {
+            students.evict(new StudentKey(TenantContext.current(), event.getStudentId()));
+        }
+        lists.clear();
+    }
+
+    CircuitBreaker.State circuitState() {
+        return circuitBreaker.state();
+    }
+
+    private static <T> T served(StaleWhileRevalidateCache.Result<T> result) {
+        RequestAttributes request = RequestContextHolder.getRequestAttributes();
+        if (request != null && result.freshness() != StaleWhileRevalidateCache.Freshness.FRESH) {
+            request.setAttribute(FRESHNESS_ATTRIBUTE, result, RequestAttributes.SCOPE_REQUEST);
+        }
+        return result.value();
+    }
+
+    // Background refreshes run on another thread, so they must not rely on the caller's tenant
+    private static <T> Supplier<T> inTenant(String tenant, Supplier<T> loader) {
+        return tenant == null ? loader : () -> TenantContext.call(tenant, loader);
+    }
+
+    private record StudentKey(String tenant, Long id) {
+    }
+
+    private record ListKey(String tenant) {
+    }
+}
@@ -0,0 +1,158 @@
+package com.example.studentapi.student;
+
+import com.example.studentapi.commons.ApiError;
+import com.example.studentapi.commons.Deadline;
+import com.example.studentapi.commons.SqlStatistics;
+import com.example.studentapi.commons.ValidationException;
+import com.example.studentapi.datasource.ShardContext;
+import com.example.studentapi.datasource.ShardStrategy;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs every {@link StudentServiceImpl} call on the shard that owns the student, as chosen by
+ * the {@link ShardStrategy}. New students get their id up front, so the shard is known before
+ * the insert. Listing all students queries every shard in parallel and merges the id-ordered
+ * results.
+ */
+@Service
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@Primary
+@ConditionalOnProperty(prefix = "studentapi.sharding", name = "enabled", havingValue = "true")
+public class ShardedStudentService implements StudentService, SmartInitializingSingleton, DisposableBean {
+
+    private final StudentServiceImpl delegate;
+
+    private final ShardStrategy shardStrategy;
+
+    private final StudentChangeTracker changeTracker;
+
+    private final StudentIds studentIds;
+
+    private final ExecutorService scatterExecutor;
+
+    public ShardedStudentService(StudentServiceImpl delegate, ShardStrategy shardStrategy,
+                                 StudentChangeTracker changeTracker, StudentIds studentIds) {
+        this.delegate = delegate;
+        this.shardStrategy = shardStrategy;
+        this.changeTracker = changeTracker;
+        this.studentIds = studentIds;
+        AtomicInteger threadCount = new AtomicInteger();
+        this.scatterExecutor = Executors.newFixedThreadPool(shardStrategy.shardCount(), runnable -> {
+            Thread thread = new Thread(runnable, "student-shard-query-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        // The tracker initializes shard 0 itself
+        for (int shard = 1; shard < shardStrategy.shardCount(); shard++) {
+            ShardContext.run(shard, changeTracker::initialize);
+        }
+    }
+
+    @Override
+    public void destroy() {
+        scatterExecutor.shutdownNow();
+    }
+
+    @Override
+    public List<StudentDto> getAllStudents() {
+        List<CompletableFuture<List<StudentDto>>> queries = new ArrayList<>();
+        Deadline deadline = Deadline.current();
+        SqlStatistics statistics = SqlStatistics.current();
+        for (int shard = 0; shard < shardStrategy.shardCount(); shard++) {
+            int target = shard;
+            queries.add(CompletableFuture.supplyAsync(() -> Deadline.call(deadline, () -> SqlStatistics.call(statistics,
+                    () -> ShardContext.call(target, () -> {
+                        List<StudentDto> students = new ArrayList<>(delegate.getAllStudents());
+                        students.sort(Comparator.comparing(StudentDto::getId));
+                        return students;
+                    }))), scatterExecutor));
+        }
+        return merge(queries.stream().map(ShardedStudentService::join).toList());
+    }
+
+    // Rethrows what the shard query threw, e.g. a DeadlineExceededException, instead of a CompletionException
+    private static <T> T join(CompletableFuture<T> query) {
+        try {
+            return query.join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw ex;
+        }
+    }
+
+    @Override
+    public StudentDto getStudentById(Long id) {
+        return ShardContext.call(shardStrategy.shardFor(id), () -> delegate.getStudentById(id));
+    }
+
+    @Override
+    public StudentDto createStudent(StudentDto studentDto) {
+        long id = studentIds.next();
+        return ShardContext.call(shardStrategy.shardFor(id),
+                () -> studentIds.assigning(id, () -> delegate.createStudent(studentDto)));
+    }
+
+    @Override
+    public void deleteStudent(Long id) {
+        ShardContext.run(shardStrategy.shardFor(id), () -> delegate.deleteStudent(id));
+    }
+
+    @Override
+    public StudentDto updateStudent(Long id, StudentDto studentDto) {
+        return ShardContext.call(shardStrategy.shardFor(id), () -> delegate.updateStudent(id, studentDto));
+    }
+
+    /**
+     * Change tokens are sequences of a single database, so they cannot span shards.
+     */
+    @Override
+    public StudentDeltaDto getStudentsChangedSince(long changeSequence) {
+        throw new ValidationException(List.of(
+                new ApiError("changedSince", "Delta sync is not available while students are sharded")));
+    }
+
+    /**
+     * K-way merge of lists that are each sorted by id.
+     */
+    static List<StudentDto> merge(List<List<StudentDto>> sortedLists) {
+        int total = sortedLists.stream().mapToInt(List::size).sum();
+        List<StudentDto> merged = new ArrayList<>(total);
+        PriorityQueue<int[]> heads = new PriorityQueue<>(
+                Comparator.comparing(head -> sortedLists.get(head[0]).get(head[1]).getId()));
+        for (int list = 0; list < sortedLists.size(); list++) {
+            if (!sortedLists.get(list).isEmpty()) {
+                heads.add(new int[]{list, 0});
+            }
+        }
+        while (!heads.isEmpty()) {
+            int[] head = heads.poll();
+            List<StudentDto> source = sortedLists.get(head[0]);
+            merged.add(source.get(head[1]));
+            if (++head[1] < source.size()) {
+                heads.add(head);
+            }
+        }
+        return merged;
+    }
+}
@@ -0,0 +1,49 @@
+package com.example.studentapi.student;
+
+import com.example.studentapi.commons.StaleWhileRevalidateCache;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+/**
+ * Marks responses that {@link ResilientStudentService} answered from a stale cache entry with
+ * {@code Age} and a {@code Warning}: {@code 110} while the entry is being revalidated,
+ * {@code 111} when it was served because the database failed.
+ */
+@ControllerAdvice(assignableTypes = StudentController.class)
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@ConditionalOnProperty(prefix = "studentapi.resilience", name = "enabled", havingValue = "true")
+public class StaleResponseAdvice implements ResponseBodyAdvice<Object> {
+
+    static final String STALE_WARNING = "110 - \"Response is Stale\"";
+
+    static final String REVALIDATION_FAILED_WARNING = "111 - \"Revalidation Failed\"";
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        if (request instanceof ServletServerHttpRequest servletRequest
+                && servletRequest.getServletRequest().getAttribute(ResilientStudentService.FRESHNESS_ATTRIBUTE)
+                instanceof StaleWhileRevalidateCache.Result<?> result) {
+            HttpHeaders headers = response.getHeaders();
+            headers.set(HttpHeaders.AGE, String.valueOf(result.age().toSeconds()));
+            headers.set(HttpHeaders.WARNING, result.freshness() == StaleWhileRevalidateCache.Freshness.STALE_ON_ERROR
+                    ? REVALIDATION_FAILED_WARNING : STALE_WARNING);
+        }
+        return body;
+    }
+}
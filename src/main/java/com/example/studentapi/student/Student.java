@@ -4,6 +4,7 @@ import jakarta.persistence.*;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Pattern;
+import org.hibernate.annotations.GenericGenerator;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -12,10 +13,15 @@ import lombok.NoArgsConstructor;
 @NoArgsConstructor
 @AllArgsConstructor
 @Data
-@Table(name = "students")
+@Table(name = "students", indexes = {
+        @Index(name = "UK_STUDENTS_EMAIL", columnList = "EMAIL", unique = true),
+        @Index(name = "IDX_STUDENTS_NAME", columnList = "LAST_NAME, FIRST_NAME"),
+        @Index(name = "IDX_STUDENTS_CHANGE_SEQUENCE", columnList = "CHANGE_SEQUENCE")
+})
 public class Student {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(generator = StudentIdGenerator.NAME)
+    @GenericGenerator(name = StudentIdGenerator.NAME, type = StudentIdGenerator.class)
     private Long id;
 
     @NotBlank(message = "First name is required")
@@ -32,4 +38,14 @@ public class Student {
     @Email(message = "Email should be valid")
     @Column(name = "EMAIL")
     private String email;
+
+    /**
+     * Sequence of the last create or update, assigned by {@link StudentChangeTracker}.
+     */
+    @Column(name = "CHANGE_SEQUENCE")
+    private Long changeSequence;
+
+    public Student(Long id, String firstName, String lastName, String email) {
+        this(id, firstName, lastName, email, null);
+    }
 }
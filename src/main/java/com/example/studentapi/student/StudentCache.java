@@ -0,0 +1,89 @@
+package com.example.studentapi.student;
+
+import java.util.Optional;
+
+/**
+ * Cache tier consulted by {@link StudentServiceImpl#getStudentById(Long)} before the repository.
+ */
+public interface StudentCache {
+
+    /**
+     * Sequence of a write that did not record one; such puts are applied regardless.
+     */
+    long UNKNOWN_SEQUENCE = -1;
+
+    StudentCache NONE = new StudentCache() {
+        @Override
+        public Optional<StudentDto> get(long id) {
+            return Optional.empty();
+        }
+
+        @Override
+        public void put(StudentDto student, long changeSequence) {
+        }
+
+        @Override
+        public long stamp(long id) {
+            return 0;
+        }
+
+        @Override
+        public void putIfUnchanged(StudentDto student, long changeSequence, long stamp) {
+        }
+
+        @Override
+        public void delete(long id, long changeSequence) {
+        }
+
+        @Override
+        public void evict(long id) {
+        }
+
+        @Override
+        public void clear() {
+        }
+
+        @Override
+        public int size() {
+            return 0;
+        }
+    };
+
+    Optional<StudentDto> get(long id);
+
+    /**
+     * Stores the committed state of a student, written with {@code changeSequence}. After-commit
+     * listeners of two writes may run in either order, so the put is dropped if the cached state
+     * is as new or newer, or if the student may have been {@linkplain #delete deleted} since.
+     */
+    void put(StudentDto student, long changeSequence);
+
+    /**
+     * Changes whenever {@code id} is put, evicted or cleared; take it before reading the student
+     * from the database, and pass it to {@link #putIfUnchanged}.
+     */
+    long stamp(long id);
+
+    /**
+     * Read-through population: stores {@code student} unless it is cached already or was put,
+     * evicted or cleared since {@code stamp} was taken. A read that raced with a committed write
+     * or an invalidation therefore never caches the state from before it. The row's
+     * {@code changeSequence} is kept, so late {@link #put}s of older states are dropped.
+     */
+    void putIfUnchanged(StudentDto student, long changeSequence, long stamp);
+
+    /**
+     * Evicts a student deleted with {@code changeSequence}, and keeps late puts of states before
+     * that from bringing it back.
+     */
+    void delete(long id, long changeSequence);
+
+    void evict(long id);
+
+    /**
+     * Drops every entry, when it is no longer known which of them are stale.
+     */
+    void clear();
+
+    int size();
+}
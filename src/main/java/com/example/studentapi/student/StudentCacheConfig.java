@@ -0,0 +1,48 @@
+package com.example.studentapi.student;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+import java.util.function.ToDoubleFunction;
+
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class StudentCacheConfig {
+
+    /**
+     * Primary, as the {@link StudentJsonCache} bean is a {@link StudentCache} as well.
+     */
+    @Bean
+    @Primary
+    public StudentCache studentCache(@Value("${studentapi.cache.off-heap.enabled:false}") boolean offHeapEnabled,
+                                     @Value("${studentapi.cache.off-heap.max-entries:1000000}") int maxEntries,
+                                     @Value("${studentapi.tenancy.enabled:false}") boolean tenancyEnabled,
+                                     @Value("${studentapi.tenancy.cache-max-entries:10000}") int tenantMaxEntries,
+                                     ObjectProvider<StudentJsonCache> jsonCache,
+                                     MeterRegistry meterRegistry) {
+        if (!offHeapEnabled) {
+            // The JSON cache is keyed by id alone, so with tenancy it only renders bytes
+            StudentJsonCache tier = tenancyEnabled ? null : jsonCache.getIfAvailable();
+            return tier != null ? tier : StudentCache.NONE;
+        }
+        if (tenancyEnabled) {
+            // One untagged pair of gauges over all tenant stores, so evicting a tenant leaves no meters behind
+            return withGauges(new TenantStudentCache(() -> new OffHeapStudentStore(tenantMaxEntries)),
+                    TenantStudentCache::offHeapBytes, meterRegistry);
+        }
+        return withGauges(new OffHeapStudentStore(maxEntries), OffHeapStudentStore::offHeapBytes, meterRegistry);
+    }
+
+    private static <T extends StudentCache> T withGauges(T cache, ToDoubleFunction<T> offHeapBytes,
+                                                         MeterRegistry meterRegistry) {
+        Gauge.builder("students.cache.off-heap.size", cache, StudentCache::size).register(meterRegistry);
+        Gauge.builder("students.cache.off-heap.bytes", cache, offHeapBytes).register(meterRegistry);
+        return cache;
+    }
+}
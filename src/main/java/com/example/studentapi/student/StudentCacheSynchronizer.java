@@ -0,0 +1,41 @@
+package com.example.studentapi.student;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Applies committed writes to the {@link StudentCache} in change-sequence order, and evicts
+ * students changed by other instances.
+ */
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class StudentCacheSynchronizer {
+
+    private final StudentCache studentCache;
+
+    public StudentCacheSynchronizer(StudentCache studentCache) {
+        this.studentCache = studentCache;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStudentChanged(StudentChangedEvent event) {
+        long changeSequence = event.getChangeSequence() == null
+                ? StudentCache.UNKNOWN_SEQUENCE : event.getChangeSequence();
+        if (event.getType() == StudentChangedEvent.Type.DELETED) {
+            studentCache.delete(event.getStudentId(), changeSequence);
+        } else {
+            studentCache.put(event.getStudent(), changeSequence);
+        }
+    }
+
+    @EventListener
+    public void onStudentInvalidated(StudentInvalidatedEvent event) {
+        if (event.isAll()) {
+            studentCache.clear();
+        } else {
+            studentCache.evict(event.getStudentId());
+        }
+    }
+}
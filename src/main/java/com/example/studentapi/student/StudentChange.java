@@ -0,0 +1,25 @@
+package com.example.studentapi.student;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * A committed {@link StudentChangedEvent} as seen by change-feed clients.
+ */
+@Getter
+@AllArgsConstructor
+@ToString
+public class StudentChange {
+
+    /**
+     * Monotonically increasing per process; clients resume from it via {@code Last-Event-ID}.
+     */
+    private final long sequence;
+
+    private final StudentChangedEvent.Type type;
+
+    private final Long studentId;
+
+    private final StudentDto student;
+}
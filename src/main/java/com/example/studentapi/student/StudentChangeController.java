@@ -0,0 +1,39 @@
+package com.example.studentapi.student;
+
+import io.swagger.v3.oas.annotations.Operation;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.Duration;
+
+@RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@RequestMapping("/api/students")
+public class StudentChangeController {
+
+    private static final Duration MAX_POLL_TIMEOUT = Duration.ofSeconds(60);
+
+    private final StudentChangeFeed changeFeed;
+
+    public StudentChangeController(StudentChangeFeed changeFeed) {
+        this.changeFeed = changeFeed;
+    }
+
+    @Operation(summary = "Stream created/updated/deleted student events; resume with Last-Event-ID")
+    @GetMapping(value = "/changes", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamChanges(@RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId) {
+        return changeFeed.subscribe(lastEventId);
+    }
+
+    @Operation(summary = "Long-poll for student changes after a sequence number")
+    @GetMapping(value = "/changes", produces = MediaType.APPLICATION_JSON_VALUE)
+    public DeferredResult<StudentChangeFeed.Batch> pollChanges(@RequestParam(required = false) Long after,
+                                                               @RequestParam(defaultValue = "30") long timeoutSeconds) {
+        long from = after != null ? after : changeFeed.lastSequence();
+        Duration timeout = Duration.ofSeconds(Math.max(1, timeoutSeconds));
+        return changeFeed.poll(from, timeout.compareTo(MAX_POLL_TIMEOUT) > 0 ? MAX_POLL_TIMEOUT : timeout);
+    }
+}
@@ -0,0 +1,398 @@
+package com.example.studentapi.student;
+
+import com.example.studentapi.datasource.TenantContext;
+import com.example.studentapi.datasource.TenantEvictedEvent;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Sequence-numbered feed of committed student changes, kept in a bounded ring buffer.
+ * <p>
+ * Writers append to the ring and copy the new changes into a bounded queue per subscriber,
+ * which never blocks; sending runs on a dispatcher pool, one task per subscriber with something
+ * queued, which sends up to one batch and then re-submits itself behind the other subscribers.
+ * A subscriber whose queue overflows, or whose cursor the ring has already passed, receives a
+ * {@code reset} event instead and must resynchronize with a full {@code GET /api/students}, so
+ * slow consumers never hold more than their queue or block writers. A client that stops reading
+ * blocks its send until the connector's write timeout fails it; the pool keeps
+ * {@code dispatcher-threads} threads and starts more while those are busy, so such a client
+ * holds up its own thread only, never the delivery to other subscribers.
+ * <p>
+ * With multi-tenancy every tenant gets a ring of its own, so a busy tenant cannot push another
+ * tenant's changes out, and subscribers only receive the changes of the tenant they subscribed
+ * in. Sequences stay global, so a tenant sees gaps in them. The ring of a tenant whose pool is
+ * evicted is dropped unless someone is still listening; cursors from before that are reset.
+ */
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class StudentChangeFeed implements DisposableBean {
+
+    static final String RESET_EVENT = "reset";
+
+    private static final int MAX_BATCH = 256;
+
+    private final int capacity;
+
+    // Keyed by tenant, null outside of one; guarded by this
+    private final Map<String, Ring> rings = new HashMap<>();
+
+    private final int subscriberQueue;
+
+    private final Duration emitterTimeout;
+
+    private final ExecutorService dispatcher;
+
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+
+    private long lastSequence;
+
+    // Rings created from now on may have lost changes up to here
+    private long evictedThrough;
+
+    public StudentChangeFeed(@Value("${studentapi.change-feed.capacity:10000}") int capacity,
+                             @Value("${studentapi.change-feed.subscriber-queue:1000}") int subscriberQueue,
+                             @Value("${studentapi.change-feed.dispatcher-threads:4}") int dispatcherThreads,
+                             @Value("${studentapi.change-feed.emitter-timeout:5m}") Duration emitterTimeout,
+                             MeterRegistry meterRegistry) {
+        this.capacity = capacity;
+        this.subscriberQueue = subscriberQueue;
+        this.emitterTimeout = emitterTimeout;
+        AtomicInteger threadCount = new AtomicInteger();
+        // At most one task per subscriber, so the threads are bounded by the subscribers
+        this.dispatcher = new ThreadPoolExecutor(dispatcherThreads, Integer.MAX_VALUE, 60, TimeUnit.SECONDS,
+                new SynchronousQueue<>(), runnable -> {
+            Thread thread = new Thread(runnable, "student-change-feed-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        Gauge.builder("students.change-feed.subscribers", subscribers, Set::size).register(meterRegistry);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStudentChanged(StudentChangedEvent event) {
+        String tenant = TenantContext.current();
+        List<Waiter> ready;
+        synchronized (this) {
+            long sequence = ++lastSequence;
+            Ring ring = ring(tenant);
+            ring.add(new StudentChange(sequence, event.getType(), event.getStudentId(), event.getStudent()));
+            ready = ring.waiters;
+            ring.waiters = new ArrayList<>();
+        }
+        ready.forEach(Waiter::complete);
+        subscribers.stream()
+                .filter(subscriber -> Objects.equals(subscriber.tenant, tenant))
+                .forEach(Subscriber::enqueueAvailable);
+    }
+
+    /**
+     * Drops the ring of a tenant whose pool has been evicted, unless it still has subscribers or
+     * waiting polls.
+     */
+    @EventListener
+    public void onTenantEvicted(TenantEvictedEvent event) {
+        String tenant = event.getTenant();
+        boolean subscribed = subscribers.stream().anyMatch(subscriber -> tenant.equals(subscriber.tenant));
+        synchronized (this) {
+            Ring ring = rings.get(tenant);
+            if (ring != null && ring.waiters.isEmpty() && !subscribed) {
+                rings.remove(tenant);
+                evictedThrough = lastSequence;
+            }
+        }
+    }
+
+    public synchronized long lastSequence() {
+        return lastSequence;
+    }
+
+    /**
+     * Up to {@code max} changes with a sequence greater than {@code after}, made outside of any
+     * tenant. The batch is a reset when those changes have already left the ring, or when
+     * {@code after} is ahead of the feed (e.g. a cursor from before a restart).
+     */
+    public Batch readAfter(long after, int max) {
+        return readAfter(after, max, null);
+    }
+
+    /**
+     * Like {@link #readAfter(long, int)}, but with the changes of {@code tenant}.
+     */
+    public synchronized Batch readAfter(long after, int max, String tenant) {
+        Ring ring = ring(tenant);
+        if (after > lastSequence || after < ring.droppedThrough) {
+            return new Batch(List.of(), lastSequence, true);
+        }
+        List<StudentChange> changes = new ArrayList<>();
+        for (int index = ring.firstAfter(after); index < ring.size && changes.size() < max; index++) {
+            changes.add(ring.get(index));
+        }
+        long covered = changes.size() == max ? changes.get(max - 1).getSequence() : lastSequence;
+        return new Batch(changes, covered, false);
+    }
+
+    int rings() {
+        return rings.size();
+    }
+
+    /**
+     * Server-sent events starting after {@code lastEventId}, or after the current end of the
+     * feed when the client has not seen any event yet.
+     */
+    public SseEmitter subscribe(Long lastEventId) {
+        SseEmitter emitter = new SseEmitter(emitterTimeout.toMillis());
+        Subscriber subscriber = new Subscriber(emitter, TenantContext.current(),
+                lastEventId != null ? lastEventId : lastSequence());
+        subscribers.add(subscriber);
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(() -> subscribers.remove(subscriber));
+        emitter.onError(ex -> subscribers.remove(subscriber));
+        subscriber.enqueueAvailable();
+        return emitter;
+    }
+
+    /**
+     * Long-poll fallback: completes as soon as there is a change after {@code after}, or with an
+     * empty batch once {@code timeout} elapses.
+     */
+    public DeferredResult<Batch> poll(long after, Duration timeout) {
+        DeferredResult<Batch> result = new DeferredResult<>(timeout.toMillis());
+        Waiter waiter = new Waiter(after, TenantContext.current(), result);
+        Batch batch;
+        Ring ring;
+        synchronized (this) {
+            batch = readAfter(after, MAX_BATCH, waiter.tenant);
+            ring = ring(waiter.tenant);
+            if (batch.getChanges().isEmpty() && !batch.isReset()) {
+                ring.waiters.add(waiter);
+                batch = null;
+            }
+        }
+        if (batch != null) {
+            result.setResult(batch);
+            return result;
+        }
+        result.onTimeout(waiter::complete);
+        result.onCompletion(() -> {
+            synchronized (this) {
+                ring.waiters.remove(waiter);
+            }
+        });
+        return result;
+    }
+
+    // Callers hold the lock
+    private Ring ring(String tenant) {
+        return rings.computeIfAbsent(tenant, ignored -> new Ring(capacity, evictedThrough));
+    }
+
+    @Override
+    public void destroy() {
+        dispatcher.shutdownNow();
+        subscribers.forEach(subscriber -> subscriber.emitter.complete());
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class Batch {
+        private final List<StudentChange> changes;
+
+        /**
+         * Cursor to resume from: the last change this batch covers, or the end of the feed.
+         */
+        private final long lastSequence;
+
+        private final boolean reset;
+    }
+
+    /**
+     * The latest changes of one tenant, oldest first, all guarded by the feed's lock.
+     */
+    private static final class Ring {
+        private final StudentChange[] changes;
+
+        private int oldest;
+
+        private int size;
+
+        // The ring no longer holds changes up to this sequence
+        private long droppedThrough;
+
+        private List<Waiter> waiters = new ArrayList<>();
+
+        Ring(int capacity, long droppedThrough) {
+            this.changes = new StudentChange[capacity];
+            this.droppedThrough = droppedThrough;
+        }
+
+        void add(StudentChange change) {
+            if (size == changes.length) {
+                droppedThrough = changes[oldest].getSequence();
+                changes[oldest] = change;
+                oldest = (oldest + 1) % changes.length;
+            } else {
+                changes[(oldest + size++) % changes.length] = change;
+            }
+        }
+
+        StudentChange get(int index) {
+            return changes[(oldest + index) % changes.length];
+        }
+
+        /**
+         * @return the index of the oldest change with a sequence greater than {@code sequence}
+         */
+        int firstAfter(long sequence) {
+            int low = 0;
+            int high = size;
+            while (low < high) {
+                int middle = (low + high) >>> 1;
+                if (get(middle).getSequence() <= sequence) {
+                    low = middle + 1;
+                } else {
+                    high = middle;
+                }
+            }
+            return low;
+        }
+    }
+
+    @AllArgsConstructor
+    private final class Waiter {
+        private final long after;
+        private final String tenant;
+        private final DeferredResult<Batch> result;
+
+        void complete() {
+            result.setResult(readAfter(after, MAX_BATCH, tenant));
+        }
+    }
+
+    private final class Subscriber {
+        private final SseEmitter emitter;
+
+        private final String tenant;
+
+        // Everything below is guarded by this subscriber
+        private final Deque<StudentChange> queue = new ArrayDeque<>();
+
+        private long cursor;
+
+        // Sequence to send in the reset event once the queue is drained, -1 while there is none
+        private long resetAt = -1;
+
+        private boolean sending;
+
+        Subscriber(SseEmitter emitter, String tenant, long cursor) {
+            this.emitter = emitter;
+            this.tenant = tenant;
+            this.cursor = cursor;
+        }
+
+        /**
+         * Moves the changes after the cursor from the ring into the queue, replacing them with a
+         * reset when they do not fit, and makes sure a send task is running.
+         */
+        void enqueueAvailable() {
+            synchronized (this) {
+                while (resetAt < 0) {
+                    Batch batch = readAfter(cursor, MAX_BATCH, tenant);
+                    if (batch.isReset() || queue.size() + batch.getChanges().size() > subscriberQueue) {
+                        // Queued changes are dropped: the reset makes the client reload everything
+                        queue.clear();
+                        resetAt = batch.getLastSequence();
+                        break;
+                    }
+                    queue.addAll(batch.getChanges());
+                    cursor = batch.getLastSequence();
+                    if (batch.getChanges().size() < MAX_BATCH) {
+                        // Read up to the end of the feed
+                        break;
+                    }
+                }
+                if (sending || (queue.isEmpty() && resetAt < 0)) {
+                    return;
+                }
+                sending = true;
+            }
+            dispatch();
+        }
+
+        private void dispatch() {
+            try {
+                dispatcher.execute(this::send);
+            } catch (RejectedExecutionException ex) {
+                // The feed is shutting down and completes every emitter
+            }
+        }
+
+        /**
+         * Sends up to {@link #MAX_BATCH} events, then queues the rest behind the other subscribers.
+         */
+        private void send() {
+            try {
+                for (int sent = 0; ; sent++) {
+                    StudentChange change;
+                    long reset;
+                    synchronized (this) {
+                        if (sent == MAX_BATCH) {
+                            dispatch();
+                            return;
+                        }
+                        change = queue.poll();
+                        reset = resetAt;
+                        if (change == null && reset < 0) {
+                            sending = false;
+                            return;
+                        }
+                    }
+                    if (change == null) {
+                        emitter.send(SseEmitter.event()
+                                .id(String.valueOf(reset))
+                                .name(RESET_EVENT)
+                                .data(reset));
+                        subscribers.remove(this);
+                        emitter.complete();
+                        return;
+                    }
+                    emitter.send(SseEmitter.event()
+                            .id(String.valueOf(change.getSequence()))
+                            .name(change.getType().name().toLowerCase())
+                            .data(change, MediaType.APPLICATION_JSON));
+                }
+            } catch (IOException | IllegalStateException ex) {
+                subscribers.remove(this);
+                emitter.completeWithError(ex);
+            }
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.example.studentapi.student;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Single-row counter backing {@link StudentChangeTracker}.
+ */
+@Entity
+@NoArgsConstructor
+@AllArgsConstructor
+@Data
+@Table(name = "student_change_sequence")
+public class StudentChangeSequence {
+    @Id
+    private Long id;
+
+    @Column(name = "LAST_ASSIGNED", nullable = false)
+    private Long lastAssigned;
+
+    /**
+     * Highest sequence whose tombstone has been purged.
+     */
+    @Column(name = "PRUNED_THROUGH", nullable = false)
+    private Long prunedThrough;
+}
@@ -0,0 +1,23 @@
+package com.example.studentapi.student;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+public interface StudentChangeSequenceRepository extends JpaRepository<StudentChangeSequence, Long> {
+
+    @Modifying
+    @Query("update StudentChangeSequence s set s.lastAssigned = s.lastAssigned + 1 where s.id = :id")
+    int increment(@Param("id") Long id);
+
+    @Query("select s.lastAssigned from StudentChangeSequence s where s.id = :id")
+    Long lastAssigned(@Param("id") Long id);
+
+    @Query("select s.prunedThrough from StudentChangeSequence s where s.id = :id")
+    Long prunedThrough(@Param("id") Long id);
+
+    @Modifying
+    @Query("update StudentChangeSequence s set s.prunedThrough = :changeSequence where s.id = :id")
+    int prune(@Param("id") Long id, @Param("changeSequence") long changeSequence);
+}
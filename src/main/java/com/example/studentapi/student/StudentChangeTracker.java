@@ -0,0 +1,145 @@
+package com.example.studentapi.student;
+
+import com.example.studentapi.datasource.TenantContext;
+import com.example.studentapi.datasource.TenantProvisionedEvent;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Assigns change sequences for delta sync and records tombstones for deletions.
+ * <p>
+ * Sequences come from a single counter row that is incremented inside the writing transaction.
+ * Its row lock is held until commit, so sequences become visible in the order they were
+ * assigned: a client that has seen sequence {@code n} can never miss a change {@code <= n}
+ * that commits later. To keep that serialized section short, every write takes the counter
+ * last: updates and deletes lock their student row first and fail without touching the counter
+ * when it does not exist, and creates insert a row no other transaction can lock yet. Always
+ * taking the two locks in that order also keeps writes to the same student from deadlocking.
+ * <p>
+ * Tombstones are kept for {@code studentapi.delta.tombstone-retention}. About once a minute per
+ * database, a deletion also purges the expired ones, still under the counter lock, and records
+ * the highest purged sequence as {@link #prunedThrough()}; tokens below it can no longer be
+ * served a complete delta.
+ */
+@Component
+public class StudentChangeTracker implements SmartInitializingSingleton {
+
+    private static final Long COUNTER_ID = 1L;
+
+    private static final long PURGE_INTERVAL_MILLIS = TimeUnit.MINUTES.toMillis(1);
+
+    // Outside of a tenant the key is the empty string
+    private static final String DEFAULT_DATABASE = "";
+
+    private final StudentChangeSequenceRepository sequenceRepository;
+
+    private final StudentTombstoneRepository tombstoneRepository;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final Duration tombstoneRetention;
+
+    // Per database, when its tombstones were last purged, or the first deletion seen
+    private final Map<String, Long> lastPurges = new ConcurrentHashMap<>();
+
+    public StudentChangeTracker(StudentChangeSequenceRepository sequenceRepository,
+                                StudentTombstoneRepository tombstoneRepository,
+                                TransactionTemplate transactionTemplate,
+                                @Value("${studentapi.delta.tombstone-retention:30d}") Duration tombstoneRetention) {
+        this.sequenceRepository = sequenceRepository;
+        this.tombstoneRepository = tombstoneRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.tombstoneRetention = tombstoneRetention;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        initialize();
+    }
+
+    @EventListener
+    public void onTenantProvisioned(TenantProvisionedEvent event) {
+        initialize();
+    }
+
+    /**
+     * Creates the counter row if it does not exist yet, in the database the current thread is routed to.
+     */
+    public void initialize() {
+        try {
+            // A read-write transaction, so the check is made against the primary even when reads go to replicas
+            transactionTemplate.executeWithoutResult(status -> {
+                if (!sequenceRepository.existsById(COUNTER_ID)) {
+                    sequenceRepository.save(new StudentChangeSequence(COUNTER_ID, 0L, 0L));
+                }
+            });
+        } catch (DataIntegrityViolationException ex) {
+            // Another instance created the row first
+        }
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public long nextSequence() {
+        sequenceRepository.increment(COUNTER_ID);
+        return sequenceRepository.lastAssigned(COUNTER_ID);
+    }
+
+    /**
+     * @param changeSequence from {@link #nextSequence()}, taken after the student was deleted
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordDeletion(Long studentId, long changeSequence) {
+        long now = System.currentTimeMillis();
+        tombstoneRepository.save(new StudentTombstone(studentId, changeSequence, now));
+        String database = TenantContext.current() != null ? TenantContext.current() : DEFAULT_DATABASE;
+        long lastPurge = lastPurges.computeIfAbsent(database, ignored -> now);
+        if (now - lastPurge >= PURGE_INTERVAL_MILLIS) {
+            lastPurges.put(database, now);
+            purgeTombstonesBefore(now - tombstoneRetention.toMillis());
+        }
+    }
+
+    /**
+     * Deletes the tombstones recorded before {@code cutoff}. Runs in a deleting transaction, which
+     * holds the counter lock, so purges and deletions happen one at a time.
+     */
+    void purgeTombstonesBefore(long cutoff) {
+        Long purgedThrough = tombstoneRepository.lastSequenceDeletedBefore(cutoff);
+        if (purgedThrough != null) {
+            sequenceRepository.prune(COUNTER_ID, purgedThrough);
+            tombstoneRepository.deleteThrough(purgedThrough);
+        }
+    }
+
+    /**
+     * Last committed sequence, i.e. a token that covers everything visible to the caller.
+     */
+    public long currentSequence() {
+        Long lastAssigned = sequenceRepository.lastAssigned(COUNTER_ID);
+        return lastAssigned == null ? 0 : lastAssigned;
+    }
+
+    /**
+     * Highest sequence whose tombstone has been purged; 0 while none has.
+     */
+    public long prunedThrough() {
+        Long prunedThrough = sequenceRepository.prunedThrough(COUNTER_ID);
+        return prunedThrough == null ? 0 : prunedThrough;
+    }
+
+    public List<StudentTombstone> deletedSince(long changeSequence) {
+        return tombstoneRepository.findByChangeSequenceGreaterThanOrderByChangeSequence(changeSequence);
+    }
+}
@@ -0,0 +1,41 @@
+package com.example.studentapi.student;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * Published by {@link StudentServiceImpl} for every successful write. Listeners that keep
+ * derived state (read models, caches, feeds) should use
+ * {@code @TransactionalEventListener} so they only observe committed data.
+ */
+@Getter
+@AllArgsConstructor
+@ToString
+public class StudentChangedEvent {
+
+    public enum Type {
+        CREATED,
+        UPDATED,
+        DELETED
+    }
+
+    private final Type type;
+
+    private final Long studentId;
+
+    /**
+     * State of the student after the change; {@code null} for {@link Type#DELETED}.
+     */
+    private final StudentDto student;
+
+    /**
+     * Change sequence the write was committed with (see {@link StudentChangeTracker}), or
+     * {@code null} when unknown.
+     */
+    private final Long changeSequence;
+
+    public StudentChangedEvent(Type type, Long studentId, StudentDto student) {
+        this(type, studentId, student, null);
+    }
+}
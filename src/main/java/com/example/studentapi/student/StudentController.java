@@ -1,7 +1,9 @@
 package com.example.studentapi.student;
 
 import com.example.studentapi.commons.ApiError;
+import com.example.studentapi.commons.ValidationException;
 import io.swagger.v3.oas.annotations.Operation;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.BindingResult;
@@ -11,6 +13,7 @@ import org.springframework.web.bind.annotation.*;
 import java.util.List;
 
 @RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 @RequestMapping("/api/students")
 public class StudentController {
 
@@ -27,6 +30,12 @@ public class StudentController {
         return ResponseEntity.ok(students);
     }
 
+    @Operation(summary = "Get students created, updated or deleted after the token returned by a previous call; use 0 for a first full sync")
+    @GetMapping(params = "changedSince")
+    public ResponseEntity<StudentDeltaDto> getStudentsChangedSince(@RequestParam String changedSince) {
+        return ResponseEntity.ok(studentService.getStudentsChangedSince(parseChangeToken(changedSince)));
+    }
+
     @Operation(summary = "Get a specific student specified by studentId")
     @GetMapping("/{studentId}")
     public ResponseEntity<StudentDto> getStudentById(@PathVariable Long studentId) {
@@ -60,4 +69,16 @@ public class StudentController {
         StudentDto updatedStudent = studentService.updateStudent(studentId, studentDto);
         return ResponseEntity.ok(updatedStudent);
     }
-}
\ No newline at end of file
+
+    static long parseChangeToken(String changedSince) {
+        try {
+            long changeSequence = Long.parseLong(changedSince);
+            if (changeSequence >= 0) {
+                return changeSequence;
+            }
+        } catch (NumberFormatException ex) {
+            // Reported below
+        }
+        throw new ValidationException(List.of(new ApiError("changedSince", "Change token is invalid")));
+    }
+}
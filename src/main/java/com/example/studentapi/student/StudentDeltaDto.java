@@ -0,0 +1,29 @@
+package com.example.studentapi.student;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Response of {@code GET /api/students?changedSince=<token>}: students created or updated after
+ * the token, ids deleted after it, and the token to pass on the next call.
+ * <p>
+ * With {@code fullResync} set the token is older than the tombstone retention, so deletions may
+ * be missing: the lists are empty and the client should reload everything and start over from
+ * token 0.
+ */
+@NoArgsConstructor
+@AllArgsConstructor
+@Data
+public class StudentDeltaDto {
+    private List<StudentDto> students;
+    private List<Long> deletedStudentIds;
+    private String nextToken;
+    private boolean fullResync;
+
+    static StudentDeltaDto fullResync(long changeSequence) {
+        return new StudentDeltaDto(List.of(), List.of(), String.valueOf(changeSequence), true);
+    }
+}
@@ -0,0 +1,93 @@
+package com.example.studentapi.student;
+
+import com.example.studentapi.commons.ApiErrorJsonComponent;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.exc.UnrecognizedPropertyException;
+import org.springframework.boot.jackson.JsonComponent;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Streaming (de)serialization of {@link StudentDto}, replacing Jackson's reflective bean
+ * serializer. {@code List<StudentDto>} bodies go through Jackson's collection handling, which
+ * delegates each element to these classes.
+ */
+@JsonComponent
+public class StudentDtoJsonComponent {
+
+    static final String ID = "id";
+    static final String FIRST_NAME = "studentFirstName";
+    static final String LAST_NAME = "studentLastName";
+    static final String EMAIL = "studentEmail";
+
+    private static final SerializableString ID_NAME = new SerializedString(ID);
+    private static final SerializableString FIRST_NAME_NAME = new SerializedString(FIRST_NAME);
+    private static final SerializableString LAST_NAME_NAME = new SerializedString(LAST_NAME);
+    private static final SerializableString EMAIL_NAME = new SerializedString(EMAIL);
+
+    private static final List<Object> KNOWN_FIELDS = List.of(ID, FIRST_NAME, LAST_NAME, EMAIL);
+
+    public static class Serializer extends JsonSerializer<StudentDto> {
+
+        @Override
+        public void serialize(StudentDto student, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            gen.writeStartObject(student);
+            gen.writeFieldName(ID_NAME);
+            if (student.getId() == null) {
+                gen.writeNull();
+            } else {
+                gen.writeNumber(student.getId());
+            }
+            gen.writeFieldName(FIRST_NAME_NAME);
+            gen.writeString(student.getStudentFirstName());
+            gen.writeFieldName(LAST_NAME_NAME);
+            gen.writeString(student.getStudentLastName());
+            gen.writeFieldName(EMAIL_NAME);
+            gen.writeString(student.getStudentEmail());
+            gen.writeEndObject();
+        }
+    }
+
+    public static class Deserializer extends JsonDeserializer<StudentDto> {
+
+        @Override
+        public StudentDto deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+            JsonToken token = p.currentToken();
+            if (token == JsonToken.START_OBJECT) {
+                token = p.nextToken();
+            } else if (token != JsonToken.FIELD_NAME && token != JsonToken.END_OBJECT) {
+                return (StudentDto) ctxt.handleUnexpectedToken(StudentDto.class, p);
+            }
+            StudentDto student = new StudentDto();
+            for (; token == JsonToken.FIELD_NAME; token = p.nextToken()) {
+                String field = p.currentName();
+                p.nextToken();
+                switch (field) {
+                    case ID -> student.setId(readLong(p, ctxt));
+                    case FIRST_NAME -> student.setStudentFirstName(ApiErrorJsonComponent.readString(p, ctxt));
+                    case LAST_NAME -> student.setStudentLastName(ApiErrorJsonComponent.readString(p, ctxt));
+                    case EMAIL -> student.setStudentEmail(ApiErrorJsonComponent.readString(p, ctxt));
+                    default -> throw UnrecognizedPropertyException.from(p, StudentDto.class, field, KNOWN_FIELDS);
+                }
+            }
+            return student;
+        }
+    }
+
+    static Long readLong(JsonParser p, DeserializationContext ctxt) throws IOException {
+        return switch (p.currentToken()) {
+            case VALUE_NULL -> null;
+            case VALUE_NUMBER_INT -> p.getLongValue();
+            default -> (Long) ctxt.handleUnexpectedToken(Long.class, p);
+        };
+    }
+}
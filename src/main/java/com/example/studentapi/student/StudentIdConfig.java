@@ -0,0 +1,35 @@
+package com.example.studentapi.student;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+/**
+ * Application-assigned student ids for sharding, where the id picks the shard before the insert.
+ * Without sharding the database assigns ids, so instances need no node id.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "studentapi.sharding", name = "enabled", havingValue = "true")
+public class StudentIdConfig {
+
+    @Bean
+    public StudentIds studentIds(Environment environment) {
+        // No default: two instances that both fell back to one would hand out the same ids
+        Integer nodeId = environment.getProperty("studentapi.ids.node-id", Integer.class);
+        if (nodeId == null) {
+            throw new IllegalStateException(
+                    "studentapi.ids.node-id must be set, distinct per instance, when studentapi.sharding.enabled");
+        }
+        return new StudentIds(nodeId);
+    }
+
+    /**
+     * Hands the ids to {@link StudentIdGenerator}, which Hibernate instantiates itself.
+     */
+    @Bean
+    public HibernatePropertiesCustomizer studentIdsHibernateCustomizer(StudentIds studentIds) {
+        return hibernateProperties -> hibernateProperties.put(StudentIdGenerator.STUDENT_IDS_SETTING, studentIds);
+    }
+}
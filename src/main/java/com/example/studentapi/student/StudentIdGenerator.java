@@ -0,0 +1,49 @@
+package com.example.studentapi.student;
+
+import org.hibernate.engine.config.spi.ConfigurationService;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.generator.BeforeExecutionGenerator;
+import org.hibernate.generator.EventType;
+import org.hibernate.generator.EventTypeSets;
+import org.hibernate.id.IdentityGenerator;
+import org.hibernate.service.ServiceRegistry;
+import org.hibernate.type.Type;
+
+import java.util.EnumSet;
+import java.util.Properties;
+
+/**
+ * Student ids from a database {@code IDENTITY} column, unless {@link StudentIdConfig} has passed
+ * a {@link StudentIds} in the Hibernate settings, whose ids are then inserted instead. The
+ * column is an identity column either way, which still accepts explicit ids.
+ */
+public class StudentIdGenerator extends IdentityGenerator implements BeforeExecutionGenerator {
+
+    public static final String NAME = "student-ids";
+
+    static final String STUDENT_IDS_SETTING = "studentapi.student-ids";
+
+    private StudentIds studentIds;
+
+    @Override
+    public void configure(Type type, Properties parameters, ServiceRegistry serviceRegistry) {
+        this.studentIds = (StudentIds) serviceRegistry.requireService(ConfigurationService.class)
+                .getSettings().get(STUDENT_IDS_SETTING);
+    }
+
+    @Override
+    public boolean generatedOnExecution() {
+        return studentIds == null;
+    }
+
+    @Override
+    public EnumSet<EventType> getEventTypes() {
+        return EventTypeSets.INSERT_ONLY;
+    }
+
+    @Override
+    public Object generate(SharedSessionContractImplementor session, Object owner, Object currentValue,
+                           EventType eventType) {
+        return studentIds.take();
+    }
+}
@@ -0,0 +1,79 @@
+package com.example.studentapi.student;
+
+import java.time.Instant;
+import java.util.function.Supplier;
+
+/**
+ * Globally unique, time-ordered student ids that need no database round trip, so ids can be
+ * assigned before it is known which database (shard) the row goes to. Only used while sharding
+ * is enabled (see {@link StudentIdConfig}); otherwise the database assigns ids.
+ * <p>
+ * Layout, 53 bits so that ids stay exact as JSON numbers in JavaScript clients:
+ * 41 bits of milliseconds since 2024-01-01, 5 bits of node id ({@code studentapi.ids.node-id},
+ * which must differ between instances) and a 7-bit per-millisecond sequence.
+ */
+public class StudentIds {
+
+    static final int NODE_BITS = 5;
+
+    static final int SEQUENCE_BITS = 7;
+
+    private static final long EPOCH_MILLIS = Instant.parse("2024-01-01T00:00:00Z").toEpochMilli();
+
+    private static final long MAX_SEQUENCE = (1L << SEQUENCE_BITS) - 1;
+
+    private final ThreadLocal<Long> assignedId = new ThreadLocal<>();
+
+    private final long node;
+
+    private long lastMillis = -1;
+
+    private long sequence;
+
+    public StudentIds(int nodeId) {
+        if (nodeId < 0 || nodeId >= 1 << NODE_BITS) {
+            throw new IllegalArgumentException("Node id must be between 0 and " + ((1 << NODE_BITS) - 1));
+        }
+        this.node = nodeId;
+    }
+
+    public synchronized long next() {
+        long millis = Math.max(System.currentTimeMillis() - EPOCH_MILLIS, lastMillis);
+        if (millis == lastMillis) {
+            sequence = (sequence + 1) & MAX_SEQUENCE;
+            if (sequence == 0) {
+                // Sequence exhausted for this millisecond: borrow the next one
+                millis++;
+            }
+        } else {
+            sequence = 0;
+        }
+        lastMillis = millis;
+        return millis << (NODE_BITS + SEQUENCE_BITS) | node << SEQUENCE_BITS | sequence;
+    }
+
+    /**
+     * Runs {@code action} so that the student it inserts on this thread gets {@code id}, for
+     * callers that must know the id before the insert (e.g. to pick a shard).
+     */
+    public <T> T assigning(long id, Supplier<T> action) {
+        assignedId.set(id);
+        try {
+            return action.get();
+        } finally {
+            assignedId.remove();
+        }
+    }
+
+    /**
+     * The id reserved with {@link #assigning}, or a new one.
+     */
+    long take() {
+        Long assigned = assignedId.get();
+        if (assigned != null) {
+            assignedId.remove();
+            return assigned;
+        }
+        return next();
+    }
+}
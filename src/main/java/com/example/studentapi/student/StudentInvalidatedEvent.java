@@ -0,0 +1,31 @@
+package com.example.studentapi.student;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * Published locally by {@link StudentInvalidationBus} when another instance changed a student,
+ * so that local copies of it are evicted or refreshed. Unlike {@link StudentChangedEvent} it
+ * carries no state: listeners reload from the database when they need it.
+ */
+@Getter
+@AllArgsConstructor
+@ToString
+public class StudentInvalidatedEvent {
+
+    private static final StudentInvalidatedEvent ALL = new StudentInvalidatedEvent(null);
+
+    /**
+     * The changed student, or {@code null} when any student may have changed (an epoch bump).
+     */
+    private final Long studentId;
+
+    public static StudentInvalidatedEvent all() {
+        return ALL;
+    }
+
+    public boolean isAll() {
+        return studentId == null;
+    }
+}
@@ -0,0 +1,31 @@
+package com.example.studentapi.student;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * Tells peer instances that a student changed, sent by {@link StudentInvalidationBus} after commit.
+ */
+@Getter
+@AllArgsConstructor
+@ToString
+public class StudentInvalidation {
+
+    private final long studentId;
+
+    /**
+     * Change sequence of the write; sequences are contiguous, which lets peers notice lost messages.
+     */
+    private final long version;
+
+    /**
+     * Random per publishing process, for tracing an invalidation back to its instance.
+     */
+    private final int origin;
+
+    /**
+     * Wall-clock time of publishing, in epoch milliseconds, for measuring propagation latency.
+     */
+    private final long publishedAt;
+}
@@ -0,0 +1,141 @@
+package com.example.studentapi.student;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Keeps local copies of students (cache, read model, snapshot) fresh across instances.
+ * <p>
+ * Every committed write is published as a compact {@code (id, version)}
+ * {@link StudentInvalidation} through the {@link StudentInvalidationTransport}; invalidations
+ * from other instances become a local {@link StudentInvalidatedEvent}. Versions are the
+ * contiguous change sequences, so a version that has not arrived within {@code gap-timeout}
+ * (compared with what was received and with the database's counter) was lost. The bus then
+ * bumps its epoch and invalidates everything. An instance recognizes its own invalidations by
+ * their version, which it marked as seen when it published them, so instances need no id.
+ * <p>
+ * Metrics: {@code students.invalidation.lag} (publish to apply, across instance clocks),
+ * {@code .received}, {@code .missing}, {@code .epoch} and {@code .epoch-bumps}.
+ */
+@Slf4j
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@ConditionalOnProperty(prefix = "studentapi.invalidation", name = "enabled", havingValue = "true")
+public class StudentInvalidationBus implements SmartInitializingSingleton, DisposableBean {
+
+    private final StudentInvalidationTransport transport;
+
+    private final StudentChangeTracker changeTracker;
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final int origin = ThreadLocalRandom.current().nextInt(Integer.MAX_VALUE);
+
+    private final Duration gapTimeout;
+
+    private final InvalidationSequence sequence = new InvalidationSequence();
+
+    private final AtomicLong epoch = new AtomicLong();
+
+    private final Timer lagTimer;
+
+    private final Counter receivedCounter;
+
+    private final Counter epochBumpCounter;
+
+    private final ScheduledExecutorService gapChecker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "student-invalidation-gap-check");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public StudentInvalidationBus(StudentInvalidationTransport transport,
+                                  StudentChangeTracker changeTracker,
+                                  ApplicationEventPublisher eventPublisher,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${studentapi.invalidation.gap-timeout:5s}") Duration gapTimeout) {
+        this.transport = transport;
+        this.changeTracker = changeTracker;
+        this.eventPublisher = eventPublisher;
+        this.gapTimeout = gapTimeout;
+        this.lagTimer = meterRegistry.timer("students.invalidation.lag");
+        this.receivedCounter = meterRegistry.counter("students.invalidation.received");
+        this.epochBumpCounter = meterRegistry.counter("students.invalidation.epoch-bumps");
+        Gauge.builder("students.invalidation.epoch", epoch, AtomicLong::get).register(meterRegistry);
+        Gauge.builder("students.invalidation.missing", sequence, InvalidationSequence::missing).register(meterRegistry);
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        // Nothing is cached yet, so everything committed so far is accounted for
+        sequence.reset(changeTracker.currentSequence());
+        transport.start(sequence::contiguous, this::onInvalidation);
+        long period = Math.max(1, gapTimeout.toMillis() / 4);
+        gapChecker.scheduleWithFixedDelay(this::checkForLostInvalidations, period, period, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void destroy() {
+        gapChecker.shutdownNow();
+    }
+
+    public long epoch() {
+        return epoch.get();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStudentChanged(StudentChangedEvent event) {
+        if (event.getChangeSequence() == null) {
+            return;
+        }
+        sequence.markSeen(event.getChangeSequence(), System.nanoTime());
+        try {
+            transport.publish(new StudentInvalidation(event.getStudentId(), event.getChangeSequence(), origin,
+                    System.currentTimeMillis()));
+        } catch (RuntimeException ex) {
+            // The write has committed; peers will notice the missing version and bump their epoch
+            log.warn("Publishing the invalidation of student {} failed", event.getStudentId(), ex);
+        }
+    }
+
+    void onInvalidation(StudentInvalidation invalidation) {
+        if (!sequence.markSeen(invalidation.getVersion(), System.nanoTime())) {
+            return;
+        }
+        receivedCounter.increment();
+        lagTimer.record(Math.max(0, System.currentTimeMillis() - invalidation.getPublishedAt()), TimeUnit.MILLISECONDS);
+        eventPublisher.publishEvent(new StudentInvalidatedEvent(invalidation.getStudentId()));
+    }
+
+    void checkForLostInvalidations() {
+        try {
+            sequence.expect(changeTracker.currentSequence(), System.nanoTime());
+        } catch (RuntimeException ex) {
+            log.warn("Reading the current change sequence failed", ex);
+        }
+        if (sequence.skipStaleGap(System.nanoTime(), gapTimeout.toNanos())) {
+            long bumped = epoch.incrementAndGet();
+            epochBumpCounter.increment();
+            log.warn("Student invalidations were lost, invalidating all local copies (epoch {})", bumped);
+            eventPublisher.publishEvent(StudentInvalidatedEvent.all());
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.example.studentapi.student;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Selects the {@link StudentInvalidationTransport} by {@code studentapi.invalidation.transport}:
+ * {@code outbox} (the default) or {@code loopback}. Any other value leaves it to a transport bean
+ * defined elsewhere, e.g. one backed by a message broker.
+ * <p>
+ * Versions are only contiguous within one database, so sharding and tenancy are not supported.
+ */
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@ConditionalOnProperty(prefix = "studentapi.invalidation", name = "enabled", havingValue = "true")
+public class StudentInvalidationConfig {
+
+    private static final List<String> INCOMPATIBLE = List.of("studentapi.sharding.enabled", "studentapi.tenancy.enabled");
+
+    public StudentInvalidationConfig(Environment environment) {
+        for (String property : INCOMPATIBLE) {
+            if (environment.getProperty(property, Boolean.class, false)) {
+                throw new IllegalStateException(property + " cannot be combined with studentapi.invalidation.enabled");
+            }
+        }
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "studentapi.invalidation", name = "transport", havingValue = "outbox", matchIfMissing = true)
+    public OutboxInvalidationTransport outboxInvalidationTransport(
+            StudentInvalidationRecordRepository recordRepository,
+            PlatformTransactionManager transactionManager,
+            @Value("${studentapi.invalidation.poll-interval:200ms}") Duration pollInterval,
+            @Value("${studentapi.invalidation.retention:1h}") Duration retention,
+            @Value("${studentapi.invalidation.max-batch:1000}") int maxBatch) {
+        return new OutboxInvalidationTransport(recordRepository, transactionManager, pollInterval, retention, maxBatch);
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "studentapi.invalidation", name = "transport", havingValue = "loopback")
+    public LoopbackInvalidationTransport loopbackInvalidationTransport() {
+        return new LoopbackInvalidationTransport(new LoopbackInvalidationTransport.Hub());
+    }
+}
@@ -0,0 +1,31 @@
+package com.example.studentapi.student;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Outbox row of the {@link OutboxInvalidationTransport}, kept for {@code studentapi.invalidation.retention}.
+ */
+@Entity
+@NoArgsConstructor
+@AllArgsConstructor
+@Data
+@Table(name = "student_invalidations", indexes = {
+        @Index(name = "IDX_INVALIDATIONS_PUBLISHED_AT", columnList = "PUBLISHED_AT")
+})
+public class StudentInvalidationRecord {
+    @Id
+    @Column(name = "VERSION")
+    private Long version;
+
+    @Column(name = "STUDENT_ID", nullable = false)
+    private Long studentId;
+
+    @Column(name = "ORIGIN", nullable = false)
+    private Integer origin;
+
+    @Column(name = "PUBLISHED_AT", nullable = false)
+    private Long publishedAt;
+}
@@ -0,0 +1,18 @@
+package com.example.studentapi.student;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+
+public interface StudentInvalidationRecordRepository extends JpaRepository<StudentInvalidationRecord, Long> {
+
+    List<StudentInvalidationRecord> findByVersionGreaterThanOrderByVersion(Long version, Pageable pageable);
+
+    @Modifying
+    @Query("delete from StudentInvalidationRecord r where r.publishedAt < :cutoff")
+    int deletePublishedBefore(@Param("cutoff") Long cutoff);
+}
@@ -0,0 +1,25 @@
+package com.example.studentapi.student;
+
+import java.util.function.Consumer;
+import java.util.function.LongSupplier;
+
+/**
+ * Carries {@link StudentInvalidation}s between instances for the {@link StudentInvalidationBus}.
+ * Delivery may be late, duplicated, out of order or lost; the bus copes with all of these.
+ */
+public interface StudentInvalidationTransport {
+
+    /**
+     * Sends an invalidation to all instances, possibly including this one. Called after commit
+     * on the writing thread, so it should not block for long.
+     */
+    void publish(StudentInvalidation invalidation);
+
+    /**
+     * Starts delivering invalidations to {@code listener}.
+     *
+     * @param resumeAfter the version up to which everything has been received; transports that
+     *                    can replay should redeliver from there
+     */
+    void start(LongSupplier resumeAfter, Consumer<StudentInvalidation> listener);
+}
@@ -0,0 +1,196 @@
+package com.example.studentapi.student;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Per-student cache of serialized UTF-8 JSON.
+ * <p>
+ * Every entry remembers the {@link StudentDto} it was rendered from, and its bytes are only
+ * written for an equal DTO, so rendering never serves stale bytes even if an invalidation is
+ * missed. Entries rendered on the way out are such fragments only; committed writes evict them to
+ * release the memory early.
+ * <p>
+ * Without the off-heap store and tenancy, this is also the {@link StudentCache} tier (see
+ * {@link StudentCacheConfig}): entries put through that contract are current, kept so by
+ * {@link StudentCacheSynchronizer}, and {@code GET /api/students/{studentId}} is then answered
+ * from them without a query, with the bytes already rendered. Stamps, change sequences and
+ * the deletion high-water marks work as in {@link OffHeapStudentStore}.
+ */
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@ConditionalOnProperty(prefix = "studentapi.json-cache", name = "enabled", havingValue = "true")
+public class StudentJsonCache implements StudentCache {
+
+    private static final byte[] ARRAY_START = {'['};
+    private static final byte[] ARRAY_SEPARATOR = {','};
+    private static final byte[] ARRAY_END = {']'};
+
+    private static final int STAMP_STRIPES = 1024;
+
+    private final ObjectMapper objectMapper;
+
+    private final int maxEntries;
+
+    private final Map<Long, Entry> entries = new ConcurrentHashMap<>();
+
+    private final AtomicLongArray stamps = new AtomicLongArray(STAMP_STRIPES);
+
+    private final AtomicLongArray deletedThrough = new AtomicLongArray(STAMP_STRIPES);
+
+    public StudentJsonCache(ObjectMapper objectMapper,
+                            @Value("${studentapi.json-cache.max-entries:1000000}") int maxEntries) {
+        this.objectMapper = objectMapper;
+        this.maxEntries = maxEntries;
+    }
+
+    public byte[] toJson(StudentDto student) throws JsonProcessingException {
+        if (student.getId() == null) {
+            return objectMapper.writeValueAsBytes(student);
+        }
+        Entry entry = entries.get(student.getId());
+        if (entry != null && entry.source.equals(student)) {
+            return entry.json;
+        }
+        Entry fragment = render(student, false, UNKNOWN_SEQUENCE);
+        if (entry != null || entries.size() < maxEntries) {
+            // A current entry is only replaced through the StudentCache contract
+            entries.compute(student.getId(), (id, existing) -> existing != null && existing.current ? existing : fragment);
+        }
+        return fragment.json;
+    }
+
+    @Override
+    public Optional<StudentDto> get(long id) {
+        Entry entry = entries.get(id);
+        // A copy, as StudentDto is mutable; the bytes are found again by equality
+        return entry != null && entry.current ? Optional.of(copy(entry.source)) : Optional.empty();
+    }
+
+    @Override
+    public void put(StudentDto student, long changeSequence) {
+        if (student.getId() == null) {
+            return;
+        }
+        stamps.incrementAndGet(stripe(student.getId()));
+        if (!entries.containsKey(student.getId()) && entries.size() >= maxEntries) {
+            entries.remove(student.getId());
+            return;
+        }
+        Entry current = renderCurrent(student, changeSequence);
+        entries.compute(student.getId(), (id, existing) -> isNewer(current, existing) ? current : existing);
+    }
+
+    @Override
+    public long stamp(long id) {
+        return stamps.get(stripe(id));
+    }
+
+    @Override
+    public void putIfUnchanged(StudentDto student, long changeSequence, long stamp) {
+        if (student.getId() == null || entries.size() >= maxEntries) {
+            return;
+        }
+        Entry current = renderCurrent(student, changeSequence);
+        // Checked under the entry's lock: an evict bumps the stamp first and removes the entry after
+        entries.compute(student.getId(), (id, existing) -> existing != null && existing.current
+                || stamps.get(stripe(id)) != stamp || !isNewer(current, existing) ? existing : current);
+    }
+
+    @Override
+    public void delete(long id, long changeSequence) {
+        // Raised before the entry is removed, so a put computed after the removal sees it
+        deletedThrough.accumulateAndGet(stripe(id), changeSequence, Math::max);
+        evict(id);
+    }
+
+    @Override
+    public void evict(long id) {
+        stamps.incrementAndGet(stripe(id));
+        entries.remove(id);
+    }
+
+    @Override
+    public void clear() {
+        for (int stripe = 0; stripe < STAMP_STRIPES; stripe++) {
+            stamps.incrementAndGet(stripe);
+        }
+        entries.clear();
+    }
+
+    public void writeArray(List<StudentDto> students, OutputStream out) throws IOException {
+        out.write(ARRAY_START);
+        for (int i = 0; i < students.size(); i++) {
+            if (i > 0) {
+                out.write(ARRAY_SEPARATOR);
+            }
+            out.write(toJson(students.get(i)));
+        }
+        out.write(ARRAY_END);
+    }
+
+    @Override
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * Drops the fragment of a written student; current entries are replaced by
+     * {@link StudentCacheSynchronizer} instead.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStudentChanged(StudentChangedEvent event) {
+        entries.computeIfPresent(event.getStudentId(), (id, entry) -> entry.current ? entry : null);
+    }
+
+    private Entry render(StudentDto student, boolean current, long changeSequence) throws JsonProcessingException {
+        StudentDto source = copy(student);
+        return new Entry(source, objectMapper.writeValueAsBytes(source), current, changeSequence);
+    }
+
+    private Entry renderCurrent(StudentDto student, long changeSequence) {
+        try {
+            return render(student, true, changeSequence);
+        } catch (JsonProcessingException ex) {
+            // A StudentDto always serializes; this only satisfies the checked exception
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    /**
+     * Whether {@code candidate} may replace {@code existing}: it is of a later write than a current
+     * entry, or, with no current entry, than the last delete in its stripe.
+     */
+    private boolean isNewer(Entry candidate, Entry existing) {
+        if (candidate.changeSequence == UNKNOWN_SEQUENCE) {
+            return true;
+        }
+        return candidate.changeSequence > (existing != null && existing.current
+                ? existing.changeSequence : deletedThrough.get(stripe(candidate.source.getId())));
+    }
+
+    private static StudentDto copy(StudentDto student) {
+        return new StudentDto(student.getId(), student.getStudentFirstName(), student.getStudentLastName(),
+                student.getStudentEmail());
+    }
+
+    private static int stripe(long id) {
+        return Long.hashCode(id) & (STAMP_STRIPES - 1);
+    }
+
+    private record Entry(StudentDto source, byte[] json, boolean current, long changeSequence) {
+    }
+}
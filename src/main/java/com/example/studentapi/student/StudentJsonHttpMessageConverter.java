@@ -0,0 +1,81 @@
+package com.example.studentapi.student;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractGenericHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.List;
+
+/**
+ * Writes {@link StudentDto} and {@code List<StudentDto>} responses from the
+ * {@link StudentJsonCache}. Spring Boot places converter beans ahead of the default Jackson
+ * converter; reading request bodies is left to Jackson.
+ */
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@ConditionalOnProperty(prefix = "studentapi.json-cache", name = "enabled", havingValue = "true")
+public class StudentJsonHttpMessageConverter extends AbstractGenericHttpMessageConverter<Object> {
+
+    private final StudentJsonCache jsonCache;
+
+    public StudentJsonHttpMessageConverter(StudentJsonCache jsonCache) {
+        super(MediaType.APPLICATION_JSON);
+        this.jsonCache = jsonCache;
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return StudentDto.class.isAssignableFrom(clazz);
+    }
+
+    @Override
+    public boolean canRead(Type type, Class<?> contextClass, MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    protected boolean canRead(MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    public boolean canWrite(Type type, Class<?> clazz, MediaType mediaType) {
+        if (!canWrite(mediaType)) {
+            return false;
+        }
+        if (type instanceof ParameterizedType parameterizedType) {
+            return parameterizedType.getRawType() instanceof Class<?> raw
+                    && List.class.isAssignableFrom(raw)
+                    && parameterizedType.getActualTypeArguments()[0] == StudentDto.class;
+        }
+        return clazz != null && supports(clazz);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    protected void writeInternal(Object body, Type type, HttpOutputMessage outputMessage) throws IOException {
+        if (body instanceof StudentDto student) {
+            outputMessage.getBody().write(jsonCache.toJson(student));
+        } else {
+            jsonCache.writeArray((List<StudentDto>) body, outputMessage.getBody());
+        }
+    }
+
+    @Override
+    protected Object readInternal(Class<?> clazz, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("Reading is not supported", inputMessage);
+    }
+
+    @Override
+    public Object read(Type type, Class<?> contextClass, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("Reading is not supported", inputMessage);
+    }
+}
@@ -0,0 +1,267 @@
+package com.example.studentapi.student;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.*;
+
+/**
+ * Immutable, copy-on-write materialization of the {@code students} table, indexed by id.
+ * <p>
+ * Readers dereference a single volatile snapshot and never take a lock. Writers (the
+ * after-commit {@link StudentChangedEvent} listener and {@link #rebuild()}) are serialized
+ * and publish a new snapshot version per change. Copying the arrays on every write is
+ * deliberate: the table is read far more often than it is written.
+ * <p>
+ * Returned {@link StudentDto} instances are shared with the snapshot and must not be mutated.
+ * <p>
+ * Each entry keeps the change sequence it was loaded or written with, and an event with an
+ * older sequence is ignored: after-commit listeners of different writes can run in any order,
+ * and a rebuild may already have loaded a newer state. Ids are never reused, so recently
+ * deleted ids are remembered as well, and a late update cannot bring a deleted student back.
+ */
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@ConditionalOnProperty(prefix = "studentapi.read-model", name = "enabled", havingValue = "true")
+public class StudentReadModel implements SmartInitializingSingleton {
+
+    // Long enough to outlast any write still being committed when its student is deleted
+    private static final int DELETED_IDS_REMEMBERED = 10_000;
+
+    // Events and rows without a sequence are applied regardless
+    private static final long UNKNOWN_SEQUENCE = -1;
+
+    private final StudentRepository studentRepository;
+
+    private final StudentMapper studentMapper;
+
+    private final Counter readCounter;
+
+    private final Timer rebuildTimer;
+
+    private volatile Snapshot snapshot;
+
+    // Guarded by this, like every write
+    private final Set<Long> deletedIds = Collections.newSetFromMap(new LinkedHashMap<>() {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, Boolean> eldest) {
+            return size() > DELETED_IDS_REMEMBERED;
+        }
+    });
+
+    public StudentReadModel(StudentRepository studentRepository,
+                            StudentMapper studentMapper,
+                            MeterRegistry meterRegistry) {
+        this.studentRepository = studentRepository;
+        this.studentMapper = studentMapper;
+        this.readCounter = meterRegistry.counter("students.read-model.reads");
+        this.rebuildTimer = meterRegistry.timer("students.read-model.rebuild");
+        Gauge.builder("students.read-model.size", this, StudentReadModel::size).register(meterRegistry);
+        Gauge.builder("students.read-model.version", this, StudentReadModel::version).register(meterRegistry);
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        rebuild();
+    }
+
+    public boolean isLoaded() {
+        return snapshot != null;
+    }
+
+    public Optional<StudentDto> findById(long id) {
+        Snapshot current = snapshot;
+        readCounter.increment();
+        int index = Arrays.binarySearch(current.ids, id);
+        return index >= 0 ? Optional.of(current.students[index]) : Optional.empty();
+    }
+
+    public List<StudentDto> findAll() {
+        Snapshot current = snapshot;
+        readCounter.increment();
+        return Collections.unmodifiableList(Arrays.asList(current.students));
+    }
+
+    public int size() {
+        Snapshot current = snapshot;
+        return current == null ? 0 : current.ids.length;
+    }
+
+    public long version() {
+        Snapshot current = snapshot;
+        return current == null ? 0 : current.version;
+    }
+
+    /**
+     * Reloads the whole table. Holding the writer lock while loading makes concurrent change
+     * events wait and re-apply on top of the fresh snapshot; re-applying is idempotent.
+     */
+    public synchronized void rebuild() {
+        rebuildTimer.record(() -> {
+            List<Student> loaded = studentRepository.findAll().stream()
+                    .sorted(Comparator.comparing(Student::getId))
+                    .toList();
+            StudentDto[] students = loaded.stream()
+                    .map(studentMapper::toDto)
+                    .toArray(StudentDto[]::new);
+            long[] ids = new long[students.length];
+            long[] changeSequences = new long[students.length];
+            for (int i = 0; i < students.length; i++) {
+                ids[i] = students[i].getId();
+                changeSequences[i] = sequenceOf(loaded.get(i).getChangeSequence());
+            }
+            snapshot = new Snapshot(version() + 1, ids, changeSequences, students);
+        });
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onStudentChanged(StudentChangedEvent event) {
+        if (snapshot == null) {
+            return;
+        }
+        if (event.getType() == StudentChangedEvent.Type.DELETED) {
+            remove(event.getStudentId());
+        } else {
+            upsert(event.getStudent(), sequenceOf(event.getChangeSequence()));
+        }
+    }
+
+    /**
+     * Reloads the students changed by other instances from the database.
+     */
+    @EventListener
+    public synchronized void onStudentInvalidated(StudentInvalidatedEvent event) {
+        if (snapshot == null) {
+            return;
+        }
+        if (event.isAll()) {
+            rebuild();
+            return;
+        }
+        Optional<Student> student = studentRepository.findById(event.getStudentId());
+        if (student.isPresent()) {
+            upsert(studentMapper.toDto(student.get()), sequenceOf(student.get().getChangeSequence()));
+        } else {
+            remove(event.getStudentId());
+        }
+    }
+
+    /**
+     * Compares the snapshot with the database, reporting ids that are missing on either
+     * side or whose contents differ.
+     */
+    public ConsistencyReport verifyConsistency() {
+        Snapshot current = snapshot;
+        Map<Long, StudentDto> database = new HashMap<>();
+        studentRepository.findAll()
+                .forEach(student -> database.put(student.getId(), studentMapper.toDto(student)));
+
+        List<Long> missing = new ArrayList<>();
+        List<Long> stale = new ArrayList<>();
+        List<Long> unexpected = new ArrayList<>();
+        for (int i = 0; i < current.ids.length; i++) {
+            StudentDto stored = database.remove(current.ids[i]);
+            if (stored == null) {
+                unexpected.add(current.ids[i]);
+            } else if (!stored.equals(current.students[i])) {
+                stale.add(current.ids[i]);
+            }
+        }
+        missing.addAll(database.keySet());
+        Collections.sort(missing);
+        return new ConsistencyReport(current.version, current.ids.length, missing, stale, unexpected);
+    }
+
+    /**
+     * @param changeSequence of {@code student}, or {@link #UNKNOWN_SEQUENCE} to apply it regardless
+     */
+    private void upsert(StudentDto student, long changeSequence) {
+        if (deletedIds.contains(student.getId())) {
+            return;
+        }
+        Snapshot current = snapshot;
+        int index = Arrays.binarySearch(current.ids, student.getId());
+        if (index >= 0) {
+            if (changeSequence != UNKNOWN_SEQUENCE && changeSequence <= current.changeSequences[index]) {
+                return;
+            }
+            StudentDto[] students = current.students.clone();
+            long[] changeSequences = current.changeSequences.clone();
+            students[index] = student;
+            changeSequences[index] = changeSequence;
+            snapshot = new Snapshot(current.version + 1, current.ids, changeSequences, students);
+            return;
+        }
+        int insertAt = -index - 1;
+        int length = current.ids.length;
+        long[] ids = new long[length + 1];
+        long[] changeSequences = new long[length + 1];
+        StudentDto[] students = new StudentDto[length + 1];
+        System.arraycopy(current.ids, 0, ids, 0, insertAt);
+        System.arraycopy(current.changeSequences, 0, changeSequences, 0, insertAt);
+        System.arraycopy(current.students, 0, students, 0, insertAt);
+        ids[insertAt] = student.getId();
+        changeSequences[insertAt] = changeSequence;
+        students[insertAt] = student;
+        System.arraycopy(current.ids, insertAt, ids, insertAt + 1, length - insertAt);
+        System.arraycopy(current.changeSequences, insertAt, changeSequences, insertAt + 1, length - insertAt);
+        System.arraycopy(current.students, insertAt, students, insertAt + 1, length - insertAt);
+        snapshot = new Snapshot(current.version + 1, ids, changeSequences, students);
+    }
+
+    private void remove(long id) {
+        deletedIds.add(id);
+        Snapshot current = snapshot;
+        int index = Arrays.binarySearch(current.ids, id);
+        if (index < 0) {
+            return;
+        }
+        int length = current.ids.length;
+        long[] ids = new long[length - 1];
+        long[] changeSequences = new long[length - 1];
+        StudentDto[] students = new StudentDto[length - 1];
+        System.arraycopy(current.ids, 0, ids, 0, index);
+        System.arraycopy(current.changeSequences, 0, changeSequences, 0, index);
+        System.arraycopy(current.students, 0, students, 0, index);
+        System.arraycopy(current.ids, index + 1, ids, index, length - index - 1);
+        System.arraycopy(current.changeSequences, index + 1, changeSequences, index, length - index - 1);
+        System.arraycopy(current.students, index + 1, students, index, length - index - 1);
+        snapshot = new Snapshot(current.version + 1, ids, changeSequences, students);
+    }
+
+    private static long sequenceOf(Long changeSequence) {
+        return changeSequence == null ? UNKNOWN_SEQUENCE : changeSequence;
+    }
+
+    @AllArgsConstructor
+    private static final class Snapshot {
+        private final long version;
+        private final long[] ids;
+        private final long[] changeSequences;
+        private final StudentDto[] students;
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class ConsistencyReport {
+        private final long version;
+        private final int size;
+        private final List<Long> missingIds;
+        private final List<Long> staleIds;
+        private final List<Long> unexpectedIds;
+
+        public boolean isConsistent() {
+            return missingIds.isEmpty() && staleIds.isEmpty() && unexpectedIds.isEmpty();
+        }
+    }
+}
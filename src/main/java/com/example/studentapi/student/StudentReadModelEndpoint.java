@@ -0,0 +1,41 @@
+package com.example.studentapi.student;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * {@code /actuator/studentreadmodel}: GET reports the snapshot state, POST verifies it against
+ * the database and rebuilds it when they disagree.
+ */
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@Endpoint(id = "studentreadmodel")
+@ConditionalOnProperty(prefix = "studentapi.read-model", name = "enabled", havingValue = "true")
+public class StudentReadModelEndpoint {
+
+    private final StudentReadModel readModel;
+
+    public StudentReadModelEndpoint(StudentReadModel readModel) {
+        this.readModel = readModel;
+    }
+
+    @ReadOperation
+    public Map<String, Object> state() {
+        return Map.of("size", readModel.size(), "version", readModel.version());
+    }
+
+    @WriteOperation
+    public StudentReadModel.ConsistencyReport verify() {
+        StudentReadModel.ConsistencyReport report = readModel.verifyConsistency();
+        if (!report.isConsistent()) {
+            readModel.rebuild();
+        }
+        return report;
+    }
+}
@@ -1,6 +1,40 @@
 package com.example.studentapi.student;
 
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+import java.util.Optional;
 
 public interface StudentRepository extends JpaRepository<Student, Long> {
+    List<Student> findByChangeSequenceGreaterThanOrderByChangeSequence(Long changeSequence);
+
+    /**
+     * Keyset paging through the whole table, one short read each, for full scans.
+     */
+    List<Student> findByIdGreaterThanOrderById(Long id, Pageable pageable);
+
+    /**
+     * Loads the student with its row locked until commit, so the change counter is only taken once
+     * the student is known to exist (see StudentChangeTracker).
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select s from Student s where s.id = :id")
+    Optional<Student> findByIdForUpdate(@Param("id") Long id);
+
+    /**
+     * Deletes in one statement, where {@code existsById} and {@code deleteById} take three. Pending
+     * changes are flushed first and the persistence context is cleared after, so a student loaded
+     * earlier in the same transaction is not served again.
+     *
+     * @return the number of students deleted, 0 if there was none with {@code id}
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("delete from Student s where s.id = :id")
+    int deleteStudent(@Param("id") Long id);
 }
@@ -9,4 +9,6 @@ public interface StudentService {
     void deleteStudent(Long id);
 
     StudentDto updateStudent(Long id, StudentDto studentDto);
+
+    StudentDeltaDto getStudentsChangedSince(long changeSequence);
 }
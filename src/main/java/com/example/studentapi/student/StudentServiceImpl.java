@@ -1,93 +1,168 @@
 package com.example.studentapi.student;
 
+import com.example.studentapi.commons.Deadline;
 import com.example.studentapi.commons.ResourceNotFoundException;
 import com.example.studentapi.commons.ValidationException;
 import jakarta.validation.Validator;
-import org.modelmapper.ModelMapper;
-import org.springframework.beans.BeanUtils;
-import org.springframework.beans.BeanWrapper;
-import org.springframework.beans.BeanWrapperImpl;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.*;
 import java.util.stream.Collectors;
 
 @Service
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 public class StudentServiceImpl implements StudentService {
 
+    // Checked between pipeline stages, so a request past its Deadline stops before the next one
+    private static final String MAPPING_STAGE = "mapping";
+    private static final String TOMBSTONES_STAGE = "tombstones";
+    private static final String WRITE_STAGE = "write";
+
     private final Validator validator;
 
     private final StudentRepository studentRepository;
 
-    private final ModelMapper modelMapper;
+    private final StudentMapper studentMapper;
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final StudentCache studentCache;
+
+    private final StudentChangeTracker changeTracker;
 
     public StudentServiceImpl(Validator validator,
                                 StudentRepository studentRepository,
-                                ModelMapper modelMapper) {
+                                StudentMapper studentMapper,
+                                ApplicationEventPublisher eventPublisher,
+                                StudentCache studentCache,
+                                StudentChangeTracker changeTracker) {
         this.validator = validator;
         this.studentRepository = studentRepository;
-        this.modelMapper = modelMapper;
+        this.studentMapper = studentMapper;
+        this.eventPublisher = eventPublisher;
+        this.studentCache = studentCache;
+        this.changeTracker = changeTracker;
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<StudentDto> getAllStudents() {
         List<Student> students = studentRepository.findAll();
+        Deadline.check(MAPPING_STAGE);
         return students.stream()
                 .map(this::convertToDto)
                 .toList();
     }
 
+    /**
+     * Not transactional, so a cache hit takes no connection; {@code findById} runs in its own
+     * read-only transaction.
+     */
     @Override
     public StudentDto getStudentById(Long id) {
+        Optional<StudentDto> cachedStudent = studentCache.get(id);
+        if (cachedStudent.isPresent()) {
+            return cachedStudent.get();
+        }
+        // Taken before the read, so a write or invalidation committed meanwhile keeps the result out of the cache
+        long cacheStamp = studentCache.stamp(id);
         Optional<Student> optionalStudent = studentRepository.findById(id);
         if (optionalStudent.isEmpty()) {
             throw new ResourceNotFoundException("Student not found with id: " + id);
         }
-        return convertToDto(optionalStudent.get());
+        Student student = optionalStudent.get();
+        StudentDto studentDto = convertToDto(student);
+        studentCache.putIfUnchanged(studentDto, student.getChangeSequence() == null
+                ? StudentCache.UNKNOWN_SEQUENCE : student.getChangeSequence(), cacheStamp);
+        return studentDto;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public StudentDeltaDto getStudentsChangedSince(long changeSequence) {
+        // Read the token first and hand out only that: rows committed after it may show up here
+        // already, and are simply returned again next time
+        long nextToken = Math.max(changeTracker.currentSequence(), changeSequence);
+        List<StudentDto> students = new ArrayList<>();
+        for (Student student : studentRepository.findByChangeSequenceGreaterThanOrderByChangeSequence(changeSequence)) {
+            students.add(convertToDto(student));
+        }
+        Deadline.check(TOMBSTONES_STAGE);
+        List<Long> deletedStudentIds = new ArrayList<>();
+        for (StudentTombstone tombstone : changeTracker.deletedSince(changeSequence)) {
+            deletedStudentIds.add(tombstone.getStudentId());
+        }
+        // Checked last, so a purge that ran meanwhile is seen
+        if (changeSequence > 0 && changeSequence < changeTracker.prunedThrough()) {
+            return StudentDeltaDto.fullResync(changeSequence);
+        }
+        return new StudentDeltaDto(students, deletedStudentIds, String.valueOf(nextToken), false);
     }
 
     @Override
+    @Transactional
     public void deleteStudent(Long id) {
-        if (!studentRepository.existsById(id)) {
+        // Row first, counter after (see StudentChangeTracker), so a missing student never takes the counter
+        if (studentRepository.deleteStudent(id) == 0) {
             throw new ResourceNotFoundException("Student not found with id: " + id);
         }
-        studentRepository.deleteById(id);
+        long changeSequence = changeTracker.nextSequence();
+        changeTracker.recordDeletion(id, changeSequence);
+        eventPublisher.publishEvent(new StudentChangedEvent(StudentChangedEvent.Type.DELETED, id, null,
+                changeSequence));
     }
 
     @Override
+    @Transactional
     public StudentDto createStudent(StudentDto studentDto) {
         Student student = convertToEntity(studentDto);
+        // Ids are assigned by the server (see StudentIds), never taken from the request
+        student.setId(null);
 
         // Validate the student entity
         Map<String, String> errorsMap = validateStudentEntity(student);
         if(!errorsMap.isEmpty()){
             throw new ValidationException(StudentErrorMapper.mapErrors(errorsMap));
         }
+        Deadline.check(WRITE_STAGE);
 
+        student.setChangeSequence(changeTracker.nextSequence());
         Student savedStudent = studentRepository.save(student);
-        return convertToDto(savedStudent);
+        StudentDto savedStudentDto = convertToDto(savedStudent);
+        eventPublisher.publishEvent(new StudentChangedEvent(StudentChangedEvent.Type.CREATED,
+                savedStudentDto.getId(), savedStudentDto, savedStudent.getChangeSequence()));
+        return savedStudentDto;
     }
 
     @Override
+    @Transactional
     public StudentDto updateStudent(Long id, StudentDto studentDto) {
-        Optional<Student> optionalStudent = studentRepository.findById(id);
+        // Row first, counter after (see StudentChangeTracker)
+        Optional<Student> optionalStudent = studentRepository.findByIdForUpdate(id);
         if (optionalStudent.isEmpty()) {
             throw new ResourceNotFoundException("Student not found with id: " + id);
         }
 
         Student existingStudent = optionalStudent.get();
-        Student updateRequestStudent = modelMapper.map(studentDto, Student.class);
         // Merge non-null properties of update request with existingStudent
-        mergeNonNullProperties(updateRequestStudent, existingStudent);
+        studentMapper.mergeNonNull(studentDto, existingStudent);
 
         // Validate the updated student entity
         Map<String, String> errorsMap = validateStudentEntity(existingStudent);
         if(!errorsMap.isEmpty()){
             throw new ValidationException(StudentErrorMapper.mapErrors(errorsMap));
         }
+        Deadline.check(WRITE_STAGE);
 
+        existingStudent.setChangeSequence(changeTracker.nextSequence());
         Student updatedStudent = studentRepository.save(existingStudent);
-        return convertToDto(updatedStudent);
+        StudentDto updatedStudentDto = convertToDto(updatedStudent);
+        eventPublisher.publishEvent(new StudentChangedEvent(StudentChangedEvent.Type.UPDATED,
+                id, updatedStudentDto, updatedStudent.getChangeSequence()));
+        return updatedStudentDto;
     }
     private Map<String, String> validateStudentEntity(Student student) {
         return validator.validate(student).stream()
@@ -99,53 +174,11 @@ public class StudentServiceImpl implements StudentService {
                 .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
     }
 
-    private void mergeNonNullProperties(Object source, Object target) {
-        BeanUtils.copyProperties(source, target, getNullPropertyNames(source));
-    }
-
-    private String[] getNullPropertyNames(Object source) {
-        final BeanWrapper src = new BeanWrapperImpl(source);
-        java.beans.PropertyDescriptor[] pds = src.getPropertyDescriptors();
-        Set<String> emptyNames = new HashSet<>();
-        for (java.beans.PropertyDescriptor pd : pds) {
-            Object srcValue = src.getPropertyValue(pd.getName());
-            if (srcValue == null) emptyNames.add(pd.getName());
-        }
-        String[] result = new String[emptyNames.size()];
-        return emptyNames.toArray(result);
-    }
-
     private Student convertToEntity(StudentDto studentDto) {
-        return modelMapper.map(studentDto, Student.class);
+        return studentMapper.toEntity(studentDto);
     }
 
     private StudentDto convertToDto(Student student) {
-        return modelMapper.map(student, StudentDto.class);
-    }
-
-    public static class StudentDtoToEntityMapper {
-        private StudentDtoToEntityMapper() {}
-        public static void configure(ModelMapper modelMapper) {
-            modelMapper.typeMap(StudentDto.class, Student.class)
-                    .addMappings(mapper -> {
-                        // Add mapping configurations here
-                        mapper.map(StudentDto::getStudentFirstName, Student::setFirstName);
-                        mapper.map(StudentDto::getStudentLastName, Student::setLastName);
-                        mapper.map(StudentDto::getStudentEmail, Student::setEmail);
-                    });
-        }
-    }
-
-    public static class StudentEntityToDtoMapper {
-        private StudentEntityToDtoMapper(){}
-        public static void configure(ModelMapper modelMapper) {
-            modelMapper.typeMap(Student.class, StudentDto.class)
-                    .addMappings(mapper -> {
-                        // Add mapping configurations here
-                        mapper.map(Student::getFirstName, StudentDto::setStudentFirstName);
-                        mapper.map(Student::getLastName, StudentDto::setStudentLastName);
-                        mapper.map(Student::getEmail, StudentDto::setStudentEmail);
-                    });
-        }
+        return studentMapper.toDto(student);
     }
-}
\ No newline at end of file
+}
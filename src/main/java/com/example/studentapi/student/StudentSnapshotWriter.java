@@ -0,0 +1,230 @@
+package com.example.studentapi.student;
+
+import com.example.studentapi.commons.Bulkhead;
+import com.example.studentapi.commons.Bulkheads;
+import com.example.studentapi.commons.WorkloadClass;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Dumps the whole {@code students} table to a versioned NDJSON file, debounced after committed
+ * writes, so full-dataset downloads can be streamed from disk by {@link StudentSnapshotController}.
+ * The table is read in pages of {@code page-size} students by id, so neither the heap nor a
+ * connection is held for the whole scan, and each file is identified by a SHA-256 hash of its
+ * content, which stays meaningful across restarts and instances, unlike the version number.
+ * <p>
+ * The newest {@code retained-versions} files are kept, because a file may still be in flight
+ * through sendfile after a newer version has been published. Files left by earlier runs are
+ * deleted before the first version is written, so the directory must not be shared. When bulkheads are enabled the
+ * table scan runs in the {@link WorkloadClass#BULK} one, so it cannot take connections from requests.
+ */
+@Slf4j
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@ConditionalOnProperty(prefix = "studentapi.snapshot", name = "enabled", havingValue = "true")
+public class StudentSnapshotWriter implements SmartInitializingSingleton, DisposableBean {
+
+    private static final byte NEWLINE = '\n';
+
+    private static final String FILE_PATTERN = "students-*.ndjson*";
+
+    private final StudentRepository studentRepository;
+
+    private final StudentMapper studentMapper;
+
+    private final ObjectMapper objectMapper;
+
+    private final Path directory;
+
+    private final Duration debounce;
+
+    private final int retainedVersions;
+
+    private final int pageSize;
+
+    private final Bulkhead bulkhead;
+
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "student-snapshot-writer");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final AtomicBoolean writePending = new AtomicBoolean();
+
+    private final Deque<Path> publishedFiles = new ArrayDeque<>();
+
+    private long nextVersion = 1;
+
+    private boolean leftoversDeleted;
+
+    private volatile Snapshot current;
+
+    public StudentSnapshotWriter(StudentRepository studentRepository,
+                                 StudentMapper studentMapper,
+                                 ObjectMapper objectMapper,
+                                 @Value("${studentapi.snapshot.directory:${java.io.tmpdir}/studentapi-snapshots}") Path directory,
+                                 @Value("${studentapi.snapshot.debounce:1s}") Duration debounce,
+                                 @Value("${studentapi.snapshot.retained-versions:3}") int retainedVersions,
+                                 @Value("${studentapi.snapshot.page-size:1000}") int pageSize,
+                                 Optional<Bulkheads> bulkheads) {
+        this.studentRepository = studentRepository;
+        this.studentMapper = studentMapper;
+        this.objectMapper = objectMapper;
+        this.directory = directory;
+        this.debounce = debounce;
+        this.retainedVersions = Math.max(1, retainedVersions);
+        this.pageSize = pageSize;
+        this.bulkhead = bulkheads.map(available -> available.get(WorkloadClass.BULK)).orElse(null);
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        requestWrite(Duration.ZERO);
+    }
+
+    @Override
+    public void destroy() {
+        scheduler.shutdownNow();
+    }
+
+    public Optional<Snapshot> current() {
+        return Optional.ofNullable(current);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStudentChanged(StudentChangedEvent event) {
+        requestWrite(debounce);
+    }
+
+    @EventListener
+    public void onStudentInvalidated(StudentInvalidatedEvent event) {
+        requestWrite(debounce);
+    }
+
+    private void requestWrite(Duration delay) {
+        if (writePending.compareAndSet(false, true)) {
+            scheduler.schedule(this::writeScheduled, delay.toMillis(), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private void writeScheduled() {
+        // Cleared before reading, so changes committed while the file is written schedule another one
+        writePending.set(false);
+        try {
+            if (bulkhead != null) {
+                bulkhead.call(this::writeSnapshot);
+            } else {
+                writeSnapshot();
+            }
+        } catch (Exception ex) {
+            log.warn("Writing the student snapshot failed, retrying after {}", debounce, ex);
+            requestWrite(debounce);
+        }
+    }
+
+    /**
+     * Writes a new version and publishes it once the file is complete. Runs on the scheduler
+     * thread, or directly from tests.
+     */
+    synchronized Snapshot writeSnapshot() throws IOException {
+        Files.createDirectories(directory);
+        if (!leftoversDeleted) {
+            deleteLeftovers();
+            leftoversDeleted = true;
+        }
+        long version = nextVersion++;
+        Path temporary = Files.createTempFile(directory, "students-", ".ndjson.tmp");
+        MessageDigest digest = sha256();
+        long count = 0;
+        try (OutputStream out = new DigestOutputStream(
+                new BufferedOutputStream(Files.newOutputStream(temporary), 64 * 1024), digest)) {
+            long lastId = 0;
+            List<Student> page;
+            do {
+                page = studentRepository.findByIdGreaterThanOrderById(lastId, PageRequest.ofSize(pageSize));
+                for (Student student : page) {
+                    out.write(objectMapper.writeValueAsBytes(studentMapper.toDto(student)));
+                    out.write(NEWLINE);
+                    lastId = student.getId();
+                }
+                count += page.size();
+            } while (page.size() == pageSize);
+        } catch (IOException | RuntimeException ex) {
+            Files.deleteIfExists(temporary);
+            throw ex;
+        }
+        Path file = directory.resolve("students-" + version + ".ndjson");
+        Files.move(temporary, file, StandardCopyOption.ATOMIC_MOVE);
+        Snapshot snapshot = new Snapshot(version, HexFormat.of().formatHex(digest.digest()), file, Files.size(file),
+                count);
+        current = snapshot;
+        publishedFiles.addLast(file);
+        while (publishedFiles.size() > retainedVersions) {
+            Files.deleteIfExists(publishedFiles.removeFirst());
+        }
+        return snapshot;
+    }
+
+    private void deleteLeftovers() throws IOException {
+        try (DirectoryStream<Path> leftovers = Files.newDirectoryStream(directory, FILE_PATTERN)) {
+            for (Path leftover : leftovers) {
+                Files.deleteIfExists(leftover);
+            }
+        }
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class Snapshot {
+        private final long version;
+
+        /**
+         * SHA-256 of the file, hex encoded.
+         */
+        private final String contentHash;
+        private final Path file;
+        private final long size;
+        private final long students;
+    }
+}
@@ -0,0 +1,46 @@
+package com.example.studentapi.student;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.domain.Persistable;
+
+/**
+ * Marks a deleted student for delta-sync clients, see {@link StudentChangeTracker}.
+ */
+@Entity
+@NoArgsConstructor
+@AllArgsConstructor
+@Data
+@Table(name = "student_tombstones", indexes = {
+        @Index(name = "IDX_TOMBSTONES_CHANGE_SEQUENCE", columnList = "CHANGE_SEQUENCE"),
+        @Index(name = "IDX_TOMBSTONES_DELETED_AT", columnList = "DELETED_AT")
+})
+public class StudentTombstone implements Persistable<Long> {
+    @Id
+    @Column(name = "STUDENT_ID")
+    private Long studentId;
+
+    @Column(name = "CHANGE_SEQUENCE", nullable = false)
+    private Long changeSequence;
+
+    /**
+     * Epoch milliseconds of the deletion, for {@code studentapi.delta.tombstone-retention}.
+     */
+    @Column(name = "DELETED_AT", nullable = false)
+    private Long deletedAt;
+
+    @Override
+    public Long getId() {
+        return studentId;
+    }
+
+    /**
+     * Tombstones are only ever inserted, so saving one needs no lookup of an existing row first.
+     */
+    @Override
+    public boolean isNew() {
+        return true;
+    }
+}
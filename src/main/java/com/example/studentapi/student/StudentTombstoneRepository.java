@@ -0,0 +1,19 @@
+package com.example.studentapi.student;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+
+public interface StudentTombstoneRepository extends JpaRepository<StudentTombstone, Long> {
+    List<StudentTombstone> findByChangeSequenceGreaterThanOrderByChangeSequence(Long changeSequence);
+
+    @Query("select max(t.changeSequence) from StudentTombstone t where t.deletedAt < :cutoff")
+    Long lastSequenceDeletedBefore(@Param("cutoff") long cutoff);
+
+    @Modifying
+    @Query("delete from StudentTombstone t where t.changeSequence <= :changeSequence")
+    int deleteThrough(@Param("changeSequence") long changeSequence);
+}
@@ -0,0 +1,114 @@
+package com.example.studentapi.student;
+
+import com.example.studentapi.datasource.TenantContext;
+import com.example.studentapi.datasource.TenantEvictedEvent;
+import org.springframework.context.event.EventListener;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * {@link StudentCache} with a separate, separately bounded store per tenant, so a tenant can
+ * neither read another tenant's students nor evict its entries. Nothing is cached outside a tenant.
+ * <p>
+ * A tenant's store is dropped when its connection pool is evicted, and a new one is created on
+ * its next request. Stamps carry the generation of the store they were taken from, so a read
+ * that started before the drop never populates the new store.
+ */
+class TenantStudentCache implements StudentCache {
+
+    private static final int STORE_STAMP_BITS = 40;
+
+    private static final long STORE_STAMP_MASK = (1L << STORE_STAMP_BITS) - 1;
+
+    private final Supplier<OffHeapStudentStore> storeFactory;
+
+    private final Map<String, TenantStore> stores = new ConcurrentHashMap<>();
+
+    private final AtomicLong generations = new AtomicLong();
+
+    TenantStudentCache(Supplier<OffHeapStudentStore> storeFactory) {
+        this.storeFactory = storeFactory;
+    }
+
+    @Override
+    public Optional<StudentDto> get(long id) {
+        TenantStore tenantStore = currentStore();
+        return tenantStore == null ? Optional.empty() : tenantStore.store().get(id);
+    }
+
+    @Override
+    public void put(StudentDto student, long changeSequence) {
+        TenantStore tenantStore = currentStore();
+        if (tenantStore != null) {
+            tenantStore.store().put(student, changeSequence);
+        }
+    }
+
+    @Override
+    public long stamp(long id) {
+        TenantStore tenantStore = currentStore();
+        // A store stamp beyond the mask no longer matches itself, which only stops caching
+        return tenantStore == null ? 0
+                : tenantStore.generation() << STORE_STAMP_BITS | tenantStore.store().stamp(id) & STORE_STAMP_MASK;
+    }
+
+    @Override
+    public void putIfUnchanged(StudentDto student, long changeSequence, long stamp) {
+        TenantStore tenantStore = currentStore();
+        if (tenantStore != null && stamp >>> STORE_STAMP_BITS == tenantStore.generation()) {
+            tenantStore.store().putIfUnchanged(student, changeSequence, stamp & STORE_STAMP_MASK);
+        }
+    }
+
+    @Override
+    public void delete(long id, long changeSequence) {
+        TenantStore tenantStore = currentStore();
+        if (tenantStore != null) {
+            tenantStore.store().delete(id, changeSequence);
+        }
+    }
+
+    @Override
+    public void evict(long id) {
+        TenantStore tenantStore = currentStore();
+        if (tenantStore != null) {
+            tenantStore.store().evict(id);
+        }
+    }
+
+    @Override
+    public void clear() {
+        stores.values().forEach(tenantStore -> tenantStore.store().clear());
+    }
+
+    @Override
+    public int size() {
+        return stores.values().stream().mapToInt(tenantStore -> tenantStore.store().size()).sum();
+    }
+
+    public long offHeapBytes() {
+        return stores.values().stream().mapToLong(tenantStore -> tenantStore.store().offHeapBytes()).sum();
+    }
+
+    int tenants() {
+        return stores.size();
+    }
+
+    @EventListener
+    public void onTenantEvicted(TenantEvictedEvent event) {
+        stores.remove(event.getTenant());
+    }
+
+    private TenantStore currentStore() {
+        String tenant = TenantContext.current();
+        return tenant == null ? null : stores.computeIfAbsent(tenant,
+                ignored -> new TenantStore(storeFactory.get(), generations.incrementAndGet()));
+    }
+
+    private record TenantStore(OffHeapStudentStore store, long generation) {
+    }
+}
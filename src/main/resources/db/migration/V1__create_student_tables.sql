@@ -0,0 +1,36 @@
+-- Schema of the entities in com.example.studentapi.student, as ddl-auto=create generates it.
+-- Student ids come from the database unless sharding is enabled (see StudentIdGenerator);
+-- explicit ids, as sharded instances insert them, are still accepted.
+
+CREATE TABLE students (
+    id              BIGINT       NOT NULL AUTO_INCREMENT,
+    first_name      VARCHAR(255),
+    last_name       VARCHAR(255),
+    email           VARCHAR(255),
+    change_sequence BIGINT,
+    PRIMARY KEY (id)
+);
+CREATE INDEX idx_students_change_sequence ON students (change_sequence);
+
+CREATE TABLE student_tombstones (
+    student_id      BIGINT NOT NULL,
+    change_sequence BIGINT NOT NULL,
+    PRIMARY KEY (student_id)
+);
+CREATE INDEX idx_tombstones_change_sequence ON student_tombstones (change_sequence);
+
+CREATE TABLE student_change_sequence (
+    id            BIGINT NOT NULL,
+    last_assigned BIGINT NOT NULL,
+    PRIMARY KEY (id)
+);
+INSERT INTO student_change_sequence (id, last_assigned) VALUES (1, 0);
+
+CREATE TABLE student_invalidations (
+    version      BIGINT  NOT NULL,
+    student_id   BIGINT  NOT NULL,
+    origin       INTEGER NOT NULL,
+    published_at BIGINT  NOT NULL,
+    PRIMARY KEY (version)
+);
+CREATE INDEX idx_invalidations_published_at ON student_invalidations (published_at);
@@ -0,0 +1,6 @@
+-- Indexes for the access patterns on students: lookup by email, which is unique per database,
+-- and search by last name, then first name. The change feed uses idx_students_change_sequence
+-- from V1. Fails on a database that already holds duplicate emails; merge those first.
+
+CREATE UNIQUE INDEX uk_students_email ON students (email);
+CREATE INDEX idx_students_name ON students (last_name, first_name);
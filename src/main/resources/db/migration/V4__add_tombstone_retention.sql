@@ -0,0 +1,8 @@
+-- Tombstones are purged after studentapi.delta.tombstone-retention; pruned_through remembers the
+-- highest sequence purged, so clients holding an older token are told to resynchronize.
+-- Tombstones from before this migration count as ancient and go with the first purge.
+
+ALTER TABLE student_tombstones ADD COLUMN deleted_at BIGINT NOT NULL DEFAULT 0;
+CREATE INDEX idx_tombstones_deleted_at ON student_tombstones (deleted_at);
+
+ALTER TABLE student_change_sequence ADD COLUMN pruned_through BIGINT NOT NULL DEFAULT 0;
@@ -0,0 +1,123 @@
+package com.example.studentapi.student;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * {@link StudentChangeTracker} for the reactive stack: the same counter row and tombstones, so
+ * delta-sync tokens mean the same on both stacks. The counter row itself is created at startup by
+ * {@link StudentChangeTracker}, and expired tombstones are purged the same way, about once a
+ * minute from a deleting transaction.
+ */
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveStudentChangeTracker {
+
+    private static final Long COUNTER_ID = 1L;
+
+    private static final long PURGE_INTERVAL_MILLIS = TimeUnit.MINUTES.toMillis(1);
+
+    private final DatabaseClient databaseClient;
+
+    private final Duration tombstoneRetention;
+
+    // When tombstones were last purged, or the first deletion seen
+    private final AtomicLong lastPurge = new AtomicLong(-1);
+
+    public ReactiveStudentChangeTracker(DatabaseClient databaseClient,
+                                        @Value("${studentapi.delta.tombstone-retention:30d}") Duration tombstoneRetention) {
+        this.databaseClient = databaseClient;
+        this.tombstoneRetention = tombstoneRetention;
+    }
+
+    /**
+     * To be called in the writing transaction, which then holds the counter's row lock until it
+     * commits, see {@link StudentChangeTracker}.
+     */
+    public Mono<Long> nextSequence() {
+        return databaseClient.sql("UPDATE student_change_sequence SET last_assigned = last_assigned + 1 WHERE id = :id")
+                .bind("id", COUNTER_ID)
+                .fetch()
+                .rowsUpdated()
+                .then(currentSequence());
+    }
+
+    /**
+     * @param changeSequence from {@link #nextSequence()}, taken after the student was deleted
+     */
+    public Mono<Void> recordDeletion(Long studentId, long changeSequence) {
+        long now = System.currentTimeMillis();
+        Mono<Void> insert = databaseClient
+                .sql("INSERT INTO student_tombstones (student_id, change_sequence, deleted_at)"
+                        + " VALUES (:studentId, :changeSequence, :deletedAt)")
+                .bind("studentId", studentId)
+                .bind("changeSequence", changeSequence)
+                .bind("deletedAt", now)
+                .fetch()
+                .rowsUpdated()
+                .then();
+        lastPurge.compareAndSet(-1, now);
+        long last = lastPurge.get();
+        if (now - last < PURGE_INTERVAL_MILLIS || !lastPurge.compareAndSet(last, now)) {
+            return insert;
+        }
+        return insert.then(purgeTombstonesBefore(now - tombstoneRetention.toMillis()));
+    }
+
+    private Mono<Void> purgeTombstonesBefore(long cutoff) {
+        return databaseClient.sql("SELECT MAX(change_sequence) FROM student_tombstones WHERE deleted_at < :cutoff")
+                .bind("cutoff", cutoff)
+                .map(row -> row.get(0, Long.class))
+                .one()
+                .flatMap(purgedThrough -> databaseClient
+                        .sql("UPDATE student_change_sequence SET pruned_through = :purgedThrough WHERE id = :id")
+                        .bind("purgedThrough", purgedThrough)
+                        .bind("id", COUNTER_ID)
+                        .fetch()
+                        .rowsUpdated()
+                        .then(databaseClient.sql("DELETE FROM student_tombstones WHERE change_sequence <= :purgedThrough")
+                                .bind("purgedThrough", purgedThrough)
+                                .fetch()
+                                .rowsUpdated()))
+                .then();
+    }
+
+    /**
+     * Last committed sequence, i.e. a token that covers everything visible to the caller.
+     */
+    public Mono<Long> currentSequence() {
+        return databaseClient.sql("SELECT last_assigned FROM student_change_sequence WHERE id = :id")
+                .bind("id", COUNTER_ID)
+                .map(row -> row.get(0, Long.class))
+                .one()
+                .defaultIfEmpty(0L);
+    }
+
+    /**
+     * Highest sequence whose tombstone has been purged, see {@link StudentChangeTracker#prunedThrough()}.
+     */
+    public Mono<Long> prunedThrough() {
+        return databaseClient.sql("SELECT pruned_through FROM student_change_sequence WHERE id = :id")
+                .bind("id", COUNTER_ID)
+                .map(row -> row.get(0, Long.class))
+                .one()
+                .defaultIfEmpty(0L);
+    }
+
+    public Flux<StudentTombstone> deletedSince(long changeSequence) {
+        return databaseClient.sql("SELECT student_id, change_sequence, deleted_at FROM student_tombstones"
+                        + " WHERE change_sequence > :changeSequence ORDER BY change_sequence")
+                .bind("changeSequence", changeSequence)
+                .map(row -> new StudentTombstone(row.get("student_id", Long.class), row.get("change_sequence", Long.class),
+                        row.get("deleted_at", Long.class)))
+                .all();
+    }
+}
@@ -0,0 +1,125 @@
+package com.example.studentapi.student;
+
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.ConnectionFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.r2dbc.R2dbcProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.r2dbc.ConnectionFactoryBuilder;
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.boot.web.embedded.netty.NettyServerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
+import org.springframework.data.r2dbc.dialect.DialectResolver;
+import org.springframework.data.r2dbc.repository.config.EnableR2dbcRepositories;
+import org.springframework.r2dbc.connection.R2dbcTransactionManager;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import org.springframework.util.StringUtils;
+
+import java.util.List;
+
+/**
+ * The non-blocking stack, active when the {@code reactive} Spring profile makes this a reactive
+ * web application: {@link ReactiveStudentController} on Netty, over R2DBC.
+ * <p>
+ * Connections come from {@code spring.r2dbc.url} or, by default, from the database of
+ * {@code spring.datasource.url}, which Flyway still migrates over JDBC. The pool is deliberately
+ * not a {@link ConnectionFactory} bean, as Spring Boot backs off the JDBC {@code DataSource} when
+ * there is one. Sharding, tenancy and replicas route JDBC connections only, so they are not
+ * supported.
+ */
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@EnableConfigurationProperties(R2dbcProperties.class)
+@EnableR2dbcRepositories(basePackageClasses = ReactiveStudentRepository.class)
+public class ReactiveStudentConfig implements DisposableBean {
+
+    private static final List<String> INCOMPATIBLE = List.of("studentapi.sharding.enabled",
+            "studentapi.tenancy.enabled", "studentapi.replicas.enabled");
+
+    private final ConnectionPool connectionPool;
+
+    public ReactiveStudentConfig(Environment environment, R2dbcProperties r2dbcProperties,
+                                 DataSourceProperties dataSourceProperties) {
+        for (String property : INCOMPATIBLE) {
+            if (environment.getProperty(property, Boolean.class, false)) {
+                throw new IllegalStateException(property + " cannot be combined with the reactive stack");
+            }
+        }
+        String url = StringUtils.hasText(r2dbcProperties.getUrl())
+                ? r2dbcProperties.getUrl()
+                : r2dbcUrl(dataSourceProperties.determineUrl());
+        ConnectionFactory connectionFactory = ConnectionFactoryBuilder.withUrl(url)
+                .username(StringUtils.hasText(r2dbcProperties.getUsername())
+                        ? r2dbcProperties.getUsername() : dataSourceProperties.determineUsername())
+                .password(StringUtils.hasText(r2dbcProperties.getPassword())
+                        ? r2dbcProperties.getPassword() : dataSourceProperties.determinePassword())
+                .build();
+        R2dbcProperties.Pool pool = r2dbcProperties.getPool();
+        this.connectionPool = new ConnectionPool(ConnectionPoolConfiguration.builder(connectionFactory)
+                .name("students-r2dbc")
+                .initialSize(pool.getInitialSize())
+                .maxSize(pool.getMaxSize())
+                .maxIdleTime(pool.getMaxIdleTime())
+                .build());
+    }
+
+    /**
+     * The R2DBC URL of the database at {@code jdbcUrl}: an H2 in-memory database, or a
+     * {@code jdbc:<driver>://host/database} URL whose driver has an R2DBC counterpart of the same
+     * name, such as MySQL. JDBC-specific parameters are dropped.
+     */
+    static String r2dbcUrl(String jdbcUrl) {
+        if (jdbcUrl.startsWith("jdbc:h2:mem:")) {
+            String[] nameAndSettings = jdbcUrl.substring("jdbc:h2:mem:".length()).split(";", 2);
+            return "r2dbc:h2:mem:///" + nameAndSettings[0]
+                    + (nameAndSettings.length > 1 ? "?options=" + nameAndSettings[1] : "");
+        }
+        int query = jdbcUrl.indexOf('?');
+        if (jdbcUrl.startsWith("jdbc:") && jdbcUrl.contains("://")) {
+            return "r2dbc:" + jdbcUrl.substring("jdbc:".length(), query < 0 ? jdbcUrl.length() : query);
+        }
+        throw new IllegalStateException("Set spring.r2dbc.url, no R2DBC URL can be derived from " + jdbcUrl);
+    }
+
+    @Bean
+    public DatabaseClient databaseClient() {
+        return DatabaseClient.create(connectionPool);
+    }
+
+    @Bean
+    public R2dbcEntityTemplate r2dbcEntityTemplate(DatabaseClient databaseClient) {
+        return new R2dbcEntityTemplate(databaseClient, DialectResolver.getDialect(connectionPool));
+    }
+
+    /**
+     * Not a {@code ReactiveTransactionManager} bean, which would leave {@code @Transactional} with
+     * two transaction managers to choose from.
+     */
+    @Bean
+    public TransactionalOperator studentTransactionalOperator() {
+        return TransactionalOperator.create(new R2dbcTransactionManager(connectionPool));
+    }
+
+    /**
+     * Spring Boot would pick Tomcat, which the servlet stack puts on the classpath.
+     */
+    @Bean
+    public NettyReactiveWebServerFactory nettyReactiveWebServerFactory(ObjectProvider<NettyServerCustomizer> serverCustomizers) {
+        NettyReactiveWebServerFactory factory = new NettyReactiveWebServerFactory();
+        factory.getServerCustomizers().addAll(serverCustomizers.orderedStream().toList());
+        return factory;
+    }
+
+    @Override
+    public void destroy() {
+        connectionPool.dispose();
+    }
+}
@@ -0,0 +1,72 @@
+package com.example.studentapi.student;
+
+import com.example.studentapi.commons.ApiError;
+import com.example.studentapi.commons.ValidationException;
+import io.swagger.v3.oas.annotations.Operation;
+import jakarta.validation.Valid;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.bind.support.WebExchangeBindException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * {@link StudentController}'s routes on WebFlux, for the {@code reactive} Spring profile. Request
+ * and error bodies are the same on both stacks.
+ */
+@RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@RequestMapping("/api/students")
+public class ReactiveStudentController {
+
+    private final ReactiveStudentService studentService;
+
+    public ReactiveStudentController(ReactiveStudentService studentService) {
+        this.studentService = studentService;
+    }
+
+    @Operation(summary = "Get all students, streamed as a JSON array (or NDJSON with Accept: application/x-ndjson)")
+    @GetMapping
+    public Flux<StudentDto> getAllStudents() {
+        return studentService.getAllStudents();
+    }
+
+    @Operation(summary = "Get students created, updated or deleted after the token returned by a previous call; use 0 for a first full sync")
+    @GetMapping(params = "changedSince")
+    public Mono<StudentDeltaDto> getStudentsChangedSince(@RequestParam String changedSince) {
+        return studentService.getStudentsChangedSince(StudentController.parseChangeToken(changedSince));
+    }
+
+    @Operation(summary = "Get a specific student specified by studentId")
+    @GetMapping("/{studentId}")
+    public Mono<StudentDto> getStudentById(@PathVariable Long studentId) {
+        return studentService.getStudentById(studentId);
+    }
+
+    @Operation(summary = "Delete a specific student specified by studentId")
+    @DeleteMapping("/{studentId}")
+    public Mono<String> deleteStudent(@PathVariable Long studentId) {
+        return studentService.deleteStudent(studentId)
+                .thenReturn("Student with studentId " + studentId + " is deleted");
+    }
+
+    @Operation(summary = "Create a new student specified by request body")
+    @PostMapping
+    public Mono<ResponseEntity<StudentDto>> createStudent(@Valid @RequestBody Mono<StudentDto> studentDto) {
+        return studentDto
+                // Reported as by StudentController, one ApiError per invalid field
+                .onErrorMap(WebExchangeBindException.class, ex -> new ValidationException(ex.getFieldErrors().stream()
+                        .map(fieldError -> new ApiError(fieldError.getField(), fieldError.getDefaultMessage()))
+                        .toList()))
+                .flatMap(studentService::createStudent)
+                .map(createdStudent -> ResponseEntity.status(HttpStatus.CREATED).body(createdStudent));
+    }
+
+    @Operation(summary = "Partial update a student specified by studentId and by request body")
+    @PatchMapping("/{studentId}")
+    public Mono<StudentDto> updateStudent(@PathVariable("studentId") Long studentId, @RequestBody Mono<StudentDto> studentDto) {
+        return studentDto.flatMap(update -> studentService.updateStudent(studentId, update));
+    }
+}
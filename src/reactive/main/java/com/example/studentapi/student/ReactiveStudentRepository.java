@@ -0,0 +1,28 @@
+package com.example.studentapi.student;
+
+import org.springframework.data.r2dbc.repository.Modifying;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.r2dbc.repository.R2dbcRepository;
+import org.springframework.data.repository.query.Param;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * {@link StudentRepository} for the reactive stack, over R2DBC.
+ */
+public interface ReactiveStudentRepository extends R2dbcRepository<StudentRow, Long> {
+    Flux<StudentRow> findByChangeSequenceGreaterThanOrderByChangeSequence(Long changeSequence);
+
+    /**
+     * Loads the student with its row locked until commit, see {@link StudentRepository#findByIdForUpdate}.
+     */
+    @Query("SELECT * FROM students WHERE id = :id FOR UPDATE")
+    Mono<StudentRow> findByIdForUpdate(@Param("id") Long id);
+
+    /**
+     * @return the number of students deleted, 0 if there was none with {@code id}
+     */
+    @Modifying
+    @Query("DELETE FROM students WHERE id = :id")
+    Mono<Integer> deleteStudent(@Param("id") Long id);
+}
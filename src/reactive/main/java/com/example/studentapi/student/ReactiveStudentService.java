@@ -0,0 +1,24 @@
+package com.example.studentapi.student;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * {@link StudentService} for the reactive stack. Failures are signalled with the same exceptions,
+ * so {@code GlobalExceptionHandler} maps them to the same responses.
+ */
+public interface ReactiveStudentService {
+    Mono<StudentDto> createStudent(StudentDto studentDto);
+
+    /**
+     * Streams the students as the database returns them, as fast as the subscriber requests them,
+     * so a full list is never held in memory at once.
+     */
+    Flux<StudentDto> getAllStudents();
+    Mono<StudentDto> getStudentById(Long id);
+    Mono<Void> deleteStudent(Long id);
+
+    Mono<StudentDto> updateStudent(Long id, StudentDto studentDto);
+
+    Mono<StudentDeltaDto> getStudentsChangedSince(long changeSequence);
+}
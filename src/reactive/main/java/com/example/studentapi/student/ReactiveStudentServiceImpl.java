@@ -0,0 +1,146 @@
+package com.example.studentapi.student;
+
+import com.example.studentapi.commons.ResourceNotFoundException;
+import com.example.studentapi.commons.ValidationException;
+import jakarta.validation.Validator;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * {@link StudentServiceImpl} over R2DBC: the same validation, id assignment and change tracking,
+ * without blocking a thread on the database. Writes run in a transaction of
+ * {@code studentTransactionalOperator}; listing is not transactional, so it streams on a single
+ * statement.
+ * <p>
+ * Writes publish no {@link StudentChangedEvent}: the caches, read model, snapshot and change feed
+ * it feeds belong to the servlet stack.
+ */
+@Service
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveStudentServiceImpl implements ReactiveStudentService {
+
+    private final Validator validator;
+
+    private final ReactiveStudentRepository studentRepository;
+
+    private final StudentMapper studentMapper;
+
+    private final StudentRowMapper rowMapper;
+
+    private final ReactiveStudentChangeTracker changeTracker;
+
+    private final TransactionalOperator transactionalOperator;
+
+    public ReactiveStudentServiceImpl(Validator validator,
+                                      ReactiveStudentRepository studentRepository,
+                                      StudentMapper studentMapper,
+                                      StudentRowMapper rowMapper,
+                                      ReactiveStudentChangeTracker changeTracker,
+                                      TransactionalOperator studentTransactionalOperator) {
+        this.validator = validator;
+        this.studentRepository = studentRepository;
+        this.studentMapper = studentMapper;
+        this.rowMapper = rowMapper;
+        this.changeTracker = changeTracker;
+        this.transactionalOperator = studentTransactionalOperator;
+    }
+
+    @Override
+    public Flux<StudentDto> getAllStudents() {
+        return studentRepository.findAll().map(rowMapper::toDto);
+    }
+
+    @Override
+    public Mono<StudentDto> getStudentById(Long id) {
+        return studentRepository.findById(id)
+                .switchIfEmpty(notFound(id))
+                .map(rowMapper::toDto);
+    }
+
+    @Override
+    public Mono<StudentDeltaDto> getStudentsChangedSince(long changeSequence) {
+        // Read the token first: anything committed after this point is returned again next time
+        return changeTracker.currentSequence()
+                .flatMap(currentToken -> studentRepository.findByChangeSequenceGreaterThanOrderByChangeSequence(changeSequence)
+                        .collectList()
+                        .flatMap(students -> changeTracker.deletedSince(changeSequence)
+                                .collectList()
+                                .flatMap(tombstones -> changeTracker.prunedThrough()
+                                        .map(prunedThrough -> changeSequence > 0 && changeSequence < prunedThrough
+                                                ? StudentDeltaDto.fullResync(changeSequence)
+                                                : toDelta(currentToken, changeSequence, students, tombstones)))))
+                .as(transactionalOperator::transactional);
+    }
+
+    @Override
+    public Mono<Void> deleteStudent(Long id) {
+        // Row first, counter after (see StudentChangeTracker), so a missing student never takes the counter
+        return studentRepository.deleteStudent(id)
+                .flatMap(deleted -> deleted == 0 ? notFound(id) : changeTracker.nextSequence()
+                        .flatMap(changeSequence -> changeTracker.recordDeletion(id, changeSequence)))
+                .as(transactionalOperator::transactional);
+    }
+
+    @Override
+    public Mono<StudentDto> createStudent(StudentDto studentDto) {
+        Student student = studentMapper.toEntity(studentDto);
+        // Ids are assigned by the database, never taken from the request
+        student.setId(null);
+        return validated(student)
+                .flatMap(validStudent -> save(validStudent).as(transactionalOperator::transactional));
+    }
+
+    @Override
+    public Mono<StudentDto> updateStudent(Long id, StudentDto studentDto) {
+        // Row first, counter after (see StudentChangeTracker)
+        return studentRepository.findByIdForUpdate(id)
+                .switchIfEmpty(notFound(id))
+                .flatMap(row -> {
+                    Student existingStudent = rowMapper.toEntity(row);
+                    // Merge non-null properties of update request with existingStudent
+                    studentMapper.mergeNonNull(studentDto, existingStudent);
+                    return validated(existingStudent);
+                })
+                .flatMap(this::save)
+                .as(transactionalOperator::transactional);
+    }
+
+    private Mono<StudentDto> save(Student student) {
+        return changeTracker.nextSequence()
+                .flatMap(changeSequence -> {
+                    student.setChangeSequence(changeSequence);
+                    return studentRepository.save(rowMapper.toRow(student));
+                })
+                .map(rowMapper::toDto);
+    }
+
+    private Mono<Student> validated(Student student) {
+        Map<String, String> errorsMap = validator.validate(student).stream()
+                .collect(Collectors.toMap(violation -> violation.getPropertyPath().toString(),
+                        violation -> violation.getMessage()));
+        if (!errorsMap.isEmpty()) {
+            return Mono.error(new ValidationException(StudentErrorMapper.mapErrors(errorsMap)));
+        }
+        return Mono.just(student);
+    }
+
+    private static <T> Mono<T> notFound(Long id) {
+        return Mono.error(() -> new ResourceNotFoundException("Student not found with id: " + id));
+    }
+
+    private StudentDeltaDto toDelta(long currentToken, long changeSequence, List<StudentRow> rows,
+                                    List<StudentTombstone> tombstones) {
+        List<StudentDto> students = rows.stream().map(rowMapper::toDto).toList();
+        List<Long> deletedStudentIds = tombstones.stream().map(StudentTombstone::getStudentId).toList();
+        // Only the token read first, see StudentServiceImpl
+        return new StudentDeltaDto(students, deletedStudentIds, String.valueOf(Math.max(currentToken, changeSequence)),
+                false);
+    }
+}
@@ -0,0 +1,29 @@
+package com.example.studentapi.student;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Table;
+
+/**
+ * A row of {@code students} as the reactive stack reads and writes it through
+ * {@link ReactiveStudentRepository}; {@link Student} is its JPA counterpart, and the one that
+ * carries the validation constraints. Rows without an id are inserted, and the database assigns one.
+ */
+@NoArgsConstructor
+@AllArgsConstructor
+@Data
+@Table("students")
+public class StudentRow {
+    @Id
+    private Long id;
+
+    private String firstName;
+
+    private String lastName;
+
+    private String email;
+
+    private Long changeSequence;
+}
@@ -0,0 +1,26 @@
+package com.example.studentapi.student;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.stereotype.Component;
+
+/**
+ * Maps {@link StudentRow} to and from {@link Student} and {@link StudentDto}, the reactive
+ * counterpart of {@link StudentMapper}, with plain getters and setters as well.
+ */
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class StudentRowMapper {
+
+    public StudentDto toDto(StudentRow row) {
+        return new StudentDto(row.getId(), row.getFirstName(), row.getLastName(), row.getEmail());
+    }
+
+    public Student toEntity(StudentRow row) {
+        return new Student(row.getId(), row.getFirstName(), row.getLastName(), row.getEmail(), row.getChangeSequence());
+    }
+
+    public StudentRow toRow(Student student) {
+        return new StudentRow(student.getId(), student.getFirstName(), student.getLastName(), student.getEmail(),
+                student.getChangeSequence());
+    }
+}
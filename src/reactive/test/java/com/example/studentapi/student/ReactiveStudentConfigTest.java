@@ -0,0 +1,27 @@
+package com.example.studentapi.student;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ReactiveStudentConfigTest {
+
+    @Test
+    void testR2dbcUrl_H2InMemory_ShouldKeepNameAndSettings() {
+        assertEquals("r2dbc:h2:mem:///testdb", ReactiveStudentConfig.r2dbcUrl("jdbc:h2:mem:testdb"));
+        assertEquals("r2dbc:h2:mem:///students?options=DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+                ReactiveStudentConfig.r2dbcUrl("jdbc:h2:mem:students;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE"));
+    }
+
+    @Test
+    void testR2dbcUrl_MySql_ShouldDropJdbcParameters() {
+        assertEquals("r2dbc:mysql://db:3306/students",
+                ReactiveStudentConfig.r2dbcUrl("jdbc:mysql://db:3306/students?useSSL=false"));
+    }
+
+    @Test
+    void testR2dbcUrl_UnsupportedUrl_ShouldAskForR2dbcUrl() {
+        assertThrows(IllegalStateException.class, () -> ReactiveStudentConfig.r2dbcUrl("jdbc:h2:file:./students"));
+    }
+}
@@ -0,0 +1,137 @@
+package com.example.studentapi.student;
+
+import jakarta.servlet.Filter;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The {@code reactive} profile end to end: WebFlux on Netty and R2DBC over the same H2 database
+ * that Flyway migrates over JDBC.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("reactive")
+class ReactiveStudentControllerIntegrationTest {
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @Autowired
+    private ApplicationContext applicationContext;
+
+    @Test
+    void testContext_ReactiveApplication_ShouldNotCreateServletStackBeans() {
+        // Act
+        String[] servletBeans = applicationContext.getBeanNamesForType(StudentService.class);
+
+        // Assert
+        assertEquals(0, servletBeans.length);
+        assertEquals(0, applicationContext.getBeanNamesForType(StudentCache.class).length);
+        assertEquals(0, applicationContext.getBeanNamesForType(StudentChangeFeed.class).length);
+        assertEquals(0, applicationContext.getBeanNamesForType(Filter.class).length);
+    }
+
+    @Test
+    void testStudentLifecycle_ShouldCreateReadUpdateAndDelete() {
+        // Create
+        StudentDto created = webTestClient.post().uri("/api/students")
+                .bodyValue(new StudentDto(null, "Tom", "Cruise", "tom.cruise.reactive@example.com"))
+                .exchange()
+                .expectStatus().isCreated()
+                .expectBody(StudentDto.class).returnResult().getResponseBody();
+        assertNotNull(created);
+        assertNotNull(created.getId());
+
+        // Read
+        webTestClient.get().uri("/api/students/{studentId}", created.getId()).exchange()
+                .expectStatus().isOk()
+                .expectBody(StudentDto.class).isEqualTo(created);
+        List<StudentDto> students = webTestClient.get().uri("/api/students").accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBodyList(StudentDto.class).returnResult().getResponseBody();
+        assertTrue(students.contains(created));
+
+        // Partial update
+        webTestClient.patch().uri("/api/students/{studentId}", created.getId())
+                .bodyValue(new StudentDto(null, null, "Hanks", null))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.studentFirstName").isEqualTo("Tom")
+                .jsonPath("$.studentLastName").isEqualTo("Hanks");
+
+        // Delete
+        webTestClient.delete().uri("/api/students/{studentId}", created.getId()).exchange()
+                .expectStatus().isOk();
+        webTestClient.get().uri("/api/students/{studentId}", created.getId()).exchange()
+                .expectStatus().isNotFound()
+                .expectBody(String.class).isEqualTo("Student not found with id: " + created.getId());
+    }
+
+    @Test
+    void testGetStudentsChangedSince_ShouldReturnChangesAndDeletionsAfterToken() {
+        // Arrange
+        String token = webTestClient.get().uri("/api/students?changedSince=0").exchange()
+                .expectStatus().isOk()
+                .expectBody(StudentDeltaDto.class).returnResult().getResponseBody().getNextToken();
+        StudentDto kept = webTestClient.post().uri("/api/students")
+                .bodyValue(new StudentDto(null, "Will", "Smith", "will.smith.reactive@example.com"))
+                .exchange()
+                .expectBody(StudentDto.class).returnResult().getResponseBody();
+        StudentDto deleted = webTestClient.post().uri("/api/students")
+                .bodyValue(new StudentDto(null, "Tom", "Hanks", "tom.hanks.reactive@example.com"))
+                .exchange()
+                .expectBody(StudentDto.class).returnResult().getResponseBody();
+        webTestClient.delete().uri("/api/students/{studentId}", deleted.getId()).exchange()
+                .expectStatus().isOk();
+
+        // Act
+        StudentDeltaDto delta = webTestClient.get().uri("/api/students?changedSince={token}", token).exchange()
+                .expectStatus().isOk()
+                .expectBody(StudentDeltaDto.class).returnResult().getResponseBody();
+
+        // Assert
+        assertEquals(List.of(kept.getId()), delta.getStudents().stream().map(StudentDto::getId).toList());
+        assertEquals(List.of(deleted.getId()), delta.getDeletedStudentIds());
+        assertEquals(Long.parseLong(token) + 3, Long.parseLong(delta.getNextToken()));
+    }
+
+    @Test
+    void testUpdateStudent_InvalidName_ShouldReturnMappedFieldError() {
+        // Arrange
+        StudentDto created = webTestClient.post().uri("/api/students")
+                .bodyValue(new StudentDto(null, "Meryl", "Streep", "meryl.streep.reactive@example.com"))
+                .exchange()
+                .expectBody(StudentDto.class).returnResult().getResponseBody();
+
+        // Act & Assert
+        webTestClient.patch().uri("/api/students/{studentId}", created.getId())
+                .bodyValue(new StudentDto(null, "Meryl1", null, null))
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$[0].field").isEqualTo("studentFirstName")
+                .jsonPath("$[0].message").isEqualTo("First name should contain only alphabets and white spaces");
+    }
+
+    @Test
+    void testCreateStudent_DuplicateEmail_ShouldReturnConflict() {
+        // Arrange
+        StudentDto student = new StudentDto(null, "Emma", "Stone", "emma.stone.reactive@example.com");
+        webTestClient.post().uri("/api/students").bodyValue(student).exchange()
+                .expectStatus().isCreated();
+
+        // Act & Assert
+        webTestClient.post().uri("/api/students").bodyValue(student).exchange()
+                .expectStatus().isEqualTo(409)
+                .expectBody().jsonPath("$[0].message").isEqualTo("Request conflicts with existing data");
+    }
+}
@@ -0,0 +1,117 @@
+package com.example.studentapi.student;
+
+import com.example.studentapi.commons.ResourceNotFoundException;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.WebFluxTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+@WebFluxTest(ReactiveStudentController.class)
+class ReactiveStudentControllerTest {
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @MockBean
+    private ReactiveStudentService studentService;
+
+    @Test
+    void testGetAllStudents_ShouldStreamStudents() {
+        // Arrange
+        when(studentService.getAllStudents()).thenReturn(Flux.just(
+                new StudentDto(1L, "Tom", "Cruise", "tom.cruise@example.com"),
+                new StudentDto(2L, "Will", "Smith", "will.smith@example.com")));
+
+        // Act & Assert
+        webTestClient.get().uri("/api/students").exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentType(MediaType.APPLICATION_JSON)
+                .expectBody()
+                .jsonPath("$.length()").isEqualTo(2)
+                .jsonPath("$[0].studentFirstName").isEqualTo("Tom")
+                .jsonPath("$[1].studentEmail").isEqualTo("will.smith@example.com");
+    }
+
+    @Test
+    void testGetAllStudents_NdjsonAccepted_ShouldReturnOneStudentPerLine() {
+        // Arrange
+        when(studentService.getAllStudents()).thenReturn(Flux.just(
+                new StudentDto(1L, "Tom", "Cruise", "tom.cruise@example.com"),
+                new StudentDto(2L, "Will", "Smith", "will.smith@example.com")));
+
+        // Act & Assert
+        webTestClient.get().uri("/api/students").accept(MediaType.APPLICATION_NDJSON).exchange()
+                .expectStatus().isOk()
+                .expectBodyList(StudentDto.class).hasSize(2);
+    }
+
+    @Test
+    void testGetStudentById_NonExistingId_ShouldReturnNotFound() {
+        // Arrange
+        when(studentService.getStudentById(1L)).thenReturn(Mono.error(new ResourceNotFoundException("Student not found")));
+
+        // Act & Assert
+        webTestClient.get().uri("/api/students/{studentId}", 1L).exchange()
+                .expectStatus().isNotFound()
+                .expectBody(String.class).isEqualTo("Student not found");
+    }
+
+    @Test
+    void testGetStudentsChangedSince_InvalidToken_ShouldReturnBadRequest() {
+        // Act & Assert
+        webTestClient.get().uri("/api/students?changedSince=abc").exchange()
+                .expectStatus().isBadRequest()
+                .expectBody().jsonPath("$[0].field").isEqualTo("changedSince");
+        Mockito.verifyNoInteractions(studentService);
+    }
+
+    @Test
+    void testCreateStudent_ValidInput_ShouldReturnCreatedStudent() {
+        // Arrange
+        StudentDto studentDto = new StudentDto(null, "Tom", "Cruise", "tom.cruise@example.com");
+        when(studentService.createStudent(studentDto))
+                .thenReturn(Mono.just(new StudentDto(1L, "Tom", "Cruise", "tom.cruise@example.com")));
+
+        // Act & Assert
+        webTestClient.post().uri("/api/students").bodyValue(studentDto).exchange()
+                .expectStatus().isCreated()
+                .expectBody()
+                .jsonPath("$.id").isEqualTo(1)
+                .jsonPath("$.studentLastName").isEqualTo("Cruise");
+    }
+
+    @Test
+    void testCreateStudent_IncompleteInput_ShouldReturnBadRequestWithFieldErrors() {
+        // Arrange
+        StudentDto incompleteStudentDto = new StudentDto(null, null, null, "tom@example.com");
+
+        // Act & Assert
+        webTestClient.post().uri("/api/students").bodyValue(incompleteStudentDto).exchange()
+                .expectStatus().isBadRequest()
+                .expectHeader().contentType(MediaType.APPLICATION_JSON)
+                .expectBody()
+                .jsonPath("$.length()").isEqualTo(2)
+                .jsonPath("$[*].field").value(containsInAnyOrder("studentFirstName", "studentLastName"))
+                .jsonPath("$[*].message").value(containsInAnyOrder("First name is required", "Last name is required"));
+        Mockito.verify(studentService, Mockito.never()).createStudent(any());
+    }
+
+    @Test
+    void testDeleteStudent_ExistingId_ShouldReturnMessage() {
+        // Arrange
+        when(studentService.deleteStudent(1L)).thenReturn(Mono.empty());
+
+        // Act & Assert
+        webTestClient.delete().uri("/api/students/{studentId}", 1L).exchange()
+                .expectStatus().isOk()
+                .expectBody(String.class).isEqualTo("Student with studentId 1 is deleted");
+    }
+}
@@ -0,0 +1,172 @@
+package com.example.studentapi.student;
+
+import com.example.studentapi.commons.ResourceNotFoundException;
+import com.example.studentapi.commons.ValidationException;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReactiveStudentServiceImplTest {
+    private final Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+
+    @Mock
+    private ReactiveStudentRepository studentRepository;
+
+    @Mock
+    private ReactiveStudentChangeTracker changeTracker;
+
+    @Mock
+    private TransactionalOperator transactionalOperator;
+
+    private ReactiveStudentServiceImpl studentService;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        lenient().when(transactionalOperator.transactional(any(Mono.class)))
+                .thenAnswer(invocation -> invocation.getArgument(0));
+        studentService = new ReactiveStudentServiceImpl(validator, studentRepository, new StudentMapper(),
+                new StudentRowMapper(), changeTracker, transactionalOperator);
+    }
+
+    @Test
+    void testGetAllStudents_ShouldStreamAllStudentDto() {
+        // Arrange
+        when(studentRepository.findAll()).thenReturn(Flux.just(
+                new StudentRow(1L, "Tom", "Cruise", "tom.cruise@example.com", 1L),
+                new StudentRow(2L, "Will", "Smith", "will.smith@example.com", 2L)));
+
+        // Act & Assert
+        StepVerifier.create(studentService.getAllStudents())
+                .expectNext(new StudentDto(1L, "Tom", "Cruise", "tom.cruise@example.com"))
+                .expectNext(new StudentDto(2L, "Will", "Smith", "will.smith@example.com"))
+                .verifyComplete();
+    }
+
+    @Test
+    void testGetStudentById_NonExistingId_ShouldSignalResourceNotFoundException() {
+        // Arrange
+        when(studentRepository.findById(1L)).thenReturn(Mono.empty());
+
+        // Act & Assert
+        StepVerifier.create(studentService.getStudentById(1L))
+                .expectErrorSatisfies(ex -> {
+                    assertInstanceOf(ResourceNotFoundException.class, ex);
+                    assertEquals("Student not found with id: 1", ex.getMessage());
+                })
+                .verify();
+    }
+
+    @Test
+    void testCreateStudent_WithValidDto_ShouldInsertWithoutRequestIdAndWithNextSequence() {
+        // Arrange
+        when(changeTracker.nextSequence()).thenReturn(Mono.just(7L));
+        when(studentRepository.save(any(StudentRow.class))).thenAnswer(invocation -> {
+            StudentRow row = invocation.getArgument(0);
+            return Mono.just(new StudentRow(1L, row.getFirstName(), row.getLastName(), row.getEmail(),
+                    row.getChangeSequence()));
+        });
+
+        // Act
+        StudentDto created = studentService.createStudent(new StudentDto(99L, "Tom", "Cruise", "tom.cruise@example.com"))
+                .block();
+
+        // Assert
+        ArgumentCaptor<StudentRow> saved = ArgumentCaptor.forClass(StudentRow.class);
+        verify(studentRepository).save(saved.capture());
+        assertNull(saved.getValue().getId());
+        assertEquals(7L, saved.getValue().getChangeSequence());
+        assertEquals(1L, created.getId());
+    }
+
+    @Test
+    void testCreateStudent_InvalidName_ShouldSignalValidationExceptionWithoutWriting() {
+        // Act & Assert
+        StepVerifier.create(studentService.createStudent(new StudentDto(null, "Tom1", "Cruise", "tom.cruise@example.com")))
+                .expectError(ValidationException.class)
+                .verify();
+        verifyNoInteractions(studentRepository, changeTracker);
+    }
+
+    @Test
+    void testUpdateStudent_PartialDto_ShouldMergeAndUpdateExistingRow() {
+        // Arrange
+        when(studentRepository.findByIdForUpdate(1L))
+                .thenReturn(Mono.just(new StudentRow(1L, "Tom", "Cruise", "tom.cruise@example.com", 1L)));
+        when(changeTracker.nextSequence()).thenReturn(Mono.just(2L));
+        when(studentRepository.save(any(StudentRow.class)))
+                .thenAnswer(invocation -> Mono.just(invocation.getArgument(0)));
+
+        // Act & Assert
+        StepVerifier.create(studentService.updateStudent(1L, new StudentDto(null, null, "Hanks", null)))
+                .expectNext(new StudentDto(1L, "Tom", "Hanks", "tom.cruise@example.com"))
+                .verifyComplete();
+        ArgumentCaptor<StudentRow> saved = ArgumentCaptor.forClass(StudentRow.class);
+        verify(studentRepository).save(saved.capture());
+        assertEquals(1L, saved.getValue().getId());
+    }
+
+    @Test
+    void testDeleteStudent_NonExistingId_ShouldNotTakeSequence() {
+        // Arrange
+        when(studentRepository.deleteStudent(1L)).thenReturn(Mono.just(0));
+
+        // Act & Assert
+        StepVerifier.create(studentService.deleteStudent(1L))
+                .expectError(ResourceNotFoundException.class)
+                .verify();
+        verifyNoInteractions(changeTracker);
+    }
+
+    @Test
+    void testGetStudentsChangedSince_ShouldReturnChangesDeletionsAndTokenReadFirst() {
+        // Arrange
+        when(changeTracker.currentSequence()).thenReturn(Mono.just(5L));
+        when(studentRepository.findByChangeSequenceGreaterThanOrderByChangeSequence(3L)).thenReturn(Flux.just(
+                new StudentRow(1L, "Tom", "Cruise", "tom.cruise@example.com", 4L)));
+        when(changeTracker.deletedSince(3L)).thenReturn(Flux.just(new StudentTombstone(2L, 6L, 0L)));
+        when(changeTracker.prunedThrough()).thenReturn(Mono.just(0L));
+
+        // Act & Assert
+        StepVerifier.create(studentService.getStudentsChangedSince(3L))
+                .assertNext(delta -> {
+                    assertEquals(List.of(1L), delta.getStudents().stream().map(StudentDto::getId).toList());
+                    assertEquals(List.of(2L), delta.getDeletedStudentIds());
+                    assertEquals("5", delta.getNextToken());
+                    assertFalse(delta.isFullResync());
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void testGetStudentsChangedSince_TokenOlderThanPurgedTombstones_ShouldRequestFullResync() {
+        // Arrange
+        when(changeTracker.currentSequence()).thenReturn(Mono.just(9L));
+        when(studentRepository.findByChangeSequenceGreaterThanOrderByChangeSequence(3L)).thenReturn(Flux.empty());
+        when(changeTracker.deletedSince(3L)).thenReturn(Flux.empty());
+        when(changeTracker.prunedThrough()).thenReturn(Mono.just(4L));
+
+        // Act & Assert
+        StepVerifier.create(studentService.getStudentsChangedSince(3L))
+                .assertNext(delta -> {
+                    assertTrue(delta.isFullResync());
+                    assertEquals("3", delta.getNextToken());
+                })
+                .verifyComplete();
+    }
+}
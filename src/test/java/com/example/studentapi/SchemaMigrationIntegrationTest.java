@@ -0,0 +1,42 @@
+package com.example.studentapi;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.hamcrest.Matchers.hasSize;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Schema from db/migration, as in the fast-start profile, validated against the entities.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:migrations",
+        "spring.flyway.enabled=true",
+        "spring.jpa.hibernate.ddl-auto=validate"
+})
+@AutoConfigureMockMvc
+class SchemaMigrationIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void testMigratedSchema_ShouldMatchEntitiesAndServeWrites() throws Exception {
+        // Act & Assert
+        mockMvc.perform(post("/api/students")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"studentFirstName\":\"Tom\",\"studentLastName\":\"Cruise\","
+                                + "\"studentEmail\":\"tom.cruise@example.com\"}"))
+                .andExpect(status().isCreated());
+        mockMvc.perform(get("/api/students?changedSince=0"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.students", hasSize(1)));
+    }
+}
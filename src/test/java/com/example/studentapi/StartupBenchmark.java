@@ -0,0 +1,105 @@
+package com.example.studentapi;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time from launching the application to its first successful {@code GET /api/students}, for
+ * the plain self-contained jar and for the fast-start build (AOT-processed, class data sharing
+ * archive, schema from migrations, static OpenAPI document). Needs both builds in place first:
+ * <p>
+ * {@code mvn -Pfast-start package -DskipTests}, then
+ * {@code mvn -Pbenchmark test-compile exec:exec -Djmh.args="StartupBenchmark"}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 5)
+@Fork(1)
+public class StartupBenchmark {
+
+    private static final Path TARGET = Path.of("target");
+
+    private static final String JAR = "studentapi-0.0.1-SNAPSHOT";
+
+    @Param({"baseline", "fast-start"})
+    private String build;
+
+    private final HttpClient client = HttpClient.newHttpClient();
+
+    private Process application;
+
+    private URI firstRequest;
+
+    @Setup(Level.Trial)
+    public void checkBuild() {
+        for (String file : List.of(JAR + "-exec.jar", JAR + ".jar", "studentapi.jsa")) {
+            if (!Files.exists(TARGET.resolve(file))) {
+                throw new IllegalStateException("target/" + file + " is missing, run mvn -Pfast-start package first");
+            }
+        }
+    }
+
+    @Setup(Level.Invocation)
+    public void launch() throws IOException {
+        int port;
+        try (ServerSocket socket = new ServerSocket(0)) {
+            port = socket.getLocalPort();
+        }
+        List<String> command = new ArrayList<>(List.of(
+                Path.of(System.getProperty("java.home"), "bin", "java").toString()));
+        if (build.equals("fast-start")) {
+            command.addAll(List.of("-XX:SharedArchiveFile=studentapi.jsa", "-Dspring.aot.enabled=true",
+                    "-Dspring.profiles.active=fast-start", "-jar", JAR + ".jar"));
+        } else {
+            command.addAll(List.of("-jar", JAR + "-exec.jar"));
+        }
+        command.add("--server.port=" + port);
+        firstRequest = URI.create("http://localhost:" + port + "/api/students");
+        application = new ProcessBuilder(command)
+                .directory(TARGET.toFile())
+                .redirectErrorStream(true)
+                .redirectOutput(ProcessBuilder.Redirect.to(new File(TARGET.toFile(), "startup-benchmark-" + build + ".log")))
+                .start();
+    }
+
+    @Benchmark
+    public int timeToFirstRequest() throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(firstRequest).build();
+        while (application.isAlive()) {
+            try {
+                HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                if (response.statusCode() == 200) {
+                    return response.statusCode();
+                }
+            } catch (ConnectException ex) {
+                // Not listening yet
+            }
+            Thread.sleep(5);
+        }
+        throw new IllegalStateException("Application exited with " + application.exitValue()
+                + ", see target/startup-benchmark-" + build + ".log");
+    }
+
+    @TearDown(Level.Invocation)
+    public void stop() throws InterruptedException {
+        application.destroy();
+        if (!application.waitFor(30, TimeUnit.SECONDS)) {
+            application.destroyForcibly().waitFor();
+        }
+    }
+}
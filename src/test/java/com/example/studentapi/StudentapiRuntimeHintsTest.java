@@ -0,0 +1,30 @@
+package com.example.studentapi;
+
+import com.example.studentapi.commons.ApiError;
+import com.example.studentapi.student.StudentIdGenerator;
+import org.junit.jupiter.api.Test;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.predicate.RuntimeHintsPredicates;
+
+import java.sql.Connection;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class StudentapiRuntimeHintsTest {
+
+    @Test
+    void testRegisterHints_ShouldCoverReflectionOutsideControllerSignatures() {
+        // Arrange
+        RuntimeHints hints = new RuntimeHints();
+
+        // Act
+        new StudentapiRuntimeHints().registerHints(hints, getClass().getClassLoader());
+
+        // Assert
+        assertTrue(RuntimeHintsPredicates.reflection().onType(ApiError.class).test(hints));
+        assertTrue(RuntimeHintsPredicates.reflection().onType(StudentIdGenerator.class)
+                .withMemberCategory(MemberCategory.INVOKE_DECLARED_CONSTRUCTORS).test(hints));
+        assertTrue(RuntimeHintsPredicates.proxies().forInterfaces(Connection.class).test(hints));
+    }
+}
@@ -0,0 +1,127 @@
+package com.example.studentapi.commons;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AdaptiveConcurrencyLimiterTest {
+    private final AtomicLong now = new AtomicLong();
+
+    @Test
+    void testTryAcquire_AtLimitWithFullQueue_ShouldReject() throws Exception {
+        // Arrange
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(2, 1, 10, 0, 10, now::get);
+        limiter.tryAcquire(Duration.ZERO);
+        limiter.tryAcquire(Duration.ZERO);
+
+        // Act & Assert
+        assertNull(limiter.tryAcquire(Duration.ofMillis(10)));
+        assertEquals(2, limiter.getInFlight());
+    }
+
+    @Test
+    void testTryAcquire_AtLimit_ShouldWaitForReleasedPermit() throws Exception {
+        // Arrange
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(1, 1, 10, 1, 10);
+        AdaptiveConcurrencyLimiter.Permit held = limiter.tryAcquire(Duration.ZERO);
+        Thread releaser = new Thread(() -> {
+            sleep(50);
+            limiter.release(held);
+        });
+        releaser.start();
+
+        // Act
+        AdaptiveConcurrencyLimiter.Permit permit = limiter.tryAcquire(Duration.ofSeconds(5));
+
+        // Assert
+        assertNotNull(permit);
+        assertTrue(permit.queuedNanos() > 0);
+        releaser.join();
+    }
+
+    @Test
+    void testTryAcquire_QueueWaitElapsed_ShouldReject() throws Exception {
+        // Arrange
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(1, 1, 10, 1, 10);
+        limiter.tryAcquire(Duration.ZERO);
+
+        // Act & Assert
+        assertNull(limiter.tryAcquire(Duration.ofMillis(20)));
+    }
+
+    @Test
+    void testRelease_StableLatencyAtSaturation_ShouldGrowLimit() throws Exception {
+        // Arrange
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(10, 1, 100, 0, 10, now::get);
+
+        // Act
+        for (int i = 0; i < 5; i++) {
+            runWindow(limiter, 10, Duration.ofMillis(10));
+        }
+
+        // Assert
+        assertTrue(limiter.getLimit() > 10, "limit was " + limiter.getLimit());
+    }
+
+    @Test
+    void testRelease_RisingLatency_ShouldShrinkLimit() throws Exception {
+        // Arrange
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(10, 1, 100, 0, 10, now::get);
+        for (int i = 0; i < 5; i++) {
+            runWindow(limiter, 10, Duration.ofMillis(10));
+        }
+        int before = limiter.getLimit();
+
+        // Act
+        for (int i = 0; i < 3; i++) {
+            runWindow(limiter, Math.min(10, limiter.getLimit()), Duration.ofMillis(50));
+        }
+
+        // Assert
+        assertTrue(limiter.getLimit() < before, "limit went from " + before + " to " + limiter.getLimit());
+    }
+
+    @Test
+    void testRelease_IdleService_ShouldNotGrowLimit() throws Exception {
+        // Arrange
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(10, 1, 100, 0, 10, now::get);
+
+        // Act: one request at a time never uses half the permits
+        for (int i = 0; i < 50; i++) {
+            runWindow(limiter, 1, Duration.ofMillis(10));
+        }
+
+        // Assert
+        assertEquals(10, limiter.getLimit());
+    }
+
+    /**
+     * Completes {@code 10} requests in batches of {@code concurrency}, each taking {@code latency}.
+     */
+    private void runWindow(AdaptiveConcurrencyLimiter limiter, int concurrency, Duration latency) throws Exception {
+        int remaining = 10;
+        while (remaining > 0) {
+            int batch = Math.min(concurrency, remaining);
+            List<AdaptiveConcurrencyLimiter.Permit> permits = new ArrayList<>();
+            for (int i = 0; i < batch; i++) {
+                permits.add(limiter.tryAcquire(Duration.ZERO));
+            }
+            now.addAndGet(latency.toNanos());
+            permits.forEach(limiter::release);
+            remaining -= batch;
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
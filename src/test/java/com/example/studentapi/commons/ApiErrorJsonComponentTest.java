@@ -0,0 +1,37 @@
+package com.example.studentapi.commons;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.exc.UnrecognizedPropertyException;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ApiErrorJsonComponentTest {
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new SimpleModule()
+            .addSerializer(ApiError.class, new ApiErrorJsonComponent.Serializer())
+            .addDeserializer(ApiError.class, new ApiErrorJsonComponent.Deserializer()));
+
+    @Test
+    void testRoundTrip_ShouldPreserveFields() throws Exception {
+        // Arrange
+        ApiError error = new ApiError("studentEmail", "Email should be valid");
+
+        // Act
+        String json = objectMapper.writeValueAsString(error);
+        ApiError result = objectMapper.readValue(json, ApiError.class);
+
+        // Assert
+        assertEquals("{\"field\":\"studentEmail\",\"message\":\"Email should be valid\"}", json);
+        assertEquals(error, result);
+    }
+
+    @Test
+    void testDeserialize_UnknownField_ShouldBeRejected() {
+        // Arrange
+        String json = "{\"field\":\"studentEmail\",\"code\":42}";
+
+        // Act and Assert
+        assertThrows(UnrecognizedPropertyException.class, () -> objectMapper.readValue(json, ApiError.class));
+    }
+}
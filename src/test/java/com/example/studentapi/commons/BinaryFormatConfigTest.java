@@ -0,0 +1,92 @@
+package com.example.studentapi.commons;
+
+import com.example.studentapi.student.StudentController;
+import com.example.studentapi.student.StudentDto;
+import com.example.studentapi.student.StudentService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(StudentController.class)
+@Import(BinaryFormatConfig.class)
+class BinaryFormatConfigTest {
+    private static final MediaType SMILE = MediaType.parseMediaType("application/x-jackson-smile");
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private StudentService studentService;
+
+    @Test
+    void testGetStudentById_AcceptCbor_ShouldReturnCborBody() throws Exception {
+        // Arrange
+        StudentDto student = new StudentDto(1L, "Tom", "Cruise", "tom.cruise@example.com");
+        when(studentService.getStudentById(1L)).thenReturn(student);
+
+        // Act
+        MvcResult result = mockMvc.perform(get("/api/students/{studentId}", 1L)
+                        .accept(MediaType.APPLICATION_CBOR))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+                .andReturn();
+
+        // Assert
+        byte[] body = result.getResponse().getContentAsByteArray();
+        assertEquals(student, new CBORMapper().readValue(body, StudentDto.class));
+    }
+
+    @Test
+    void testCreateStudent_SmileBody_ShouldReturnSmileBody() throws Exception {
+        // Arrange
+        SmileMapper smileMapper = new SmileMapper();
+        StudentDto request = new StudentDto(null, "Tom", "Cruise", "tom.cruise@example.com");
+        StudentDto created = new StudentDto(1L, "Tom", "Cruise", "tom.cruise@example.com");
+        when(studentService.createStudent(any(StudentDto.class))).thenReturn(created);
+
+        // Act
+        MvcResult result = mockMvc.perform(post("/api/students")
+                        .contentType(SMILE)
+                        .accept(SMILE)
+                        .content(smileMapper.writeValueAsBytes(request)))
+                .andExpect(status().isCreated())
+                .andExpect(content().contentType(SMILE))
+                .andReturn();
+
+        // Assert
+        assertEquals(created, smileMapper.readValue(result.getResponse().getContentAsByteArray(), StudentDto.class));
+    }
+
+    @Test
+    void testGetAllStudents_NoAccept_ShouldDefaultToJson() throws Exception {
+        // Arrange
+        when(studentService.getAllStudents()).thenReturn(List.of(
+                new StudentDto(1L, "Tom", "Cruise", "tom.cruise@example.com")));
+
+        // Act
+        MvcResult result = mockMvc.perform(get("/api/students"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andReturn();
+
+        // Assert
+        assertEquals(1, new ObjectMapper().readTree(result.getResponse().getContentAsString()).size());
+    }
+}
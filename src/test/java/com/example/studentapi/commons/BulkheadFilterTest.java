@@ -0,0 +1,61 @@
+package com.example.studentapi.commons;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class BulkheadFilterTest {
+    private final MockEnvironment environment = new MockEnvironment()
+            .withProperty("studentapi.bulkhead.list.max-concurrent", "1")
+            .withProperty("studentapi.bulkhead.list.max-queue", "0");
+
+    private final BulkheadFilter filter = new BulkheadFilter(
+            new Bulkheads(environment, new SimpleMeterRegistry()), new ObjectMapper());
+
+    @Test
+    void testClassify_ShouldSeparateReadsListsAndWrites() {
+        // Act & Assert
+        assertEquals(WorkloadClass.LIST, BulkheadFilter.classify(new MockHttpServletRequest("GET", "/api/students")));
+        assertEquals(WorkloadClass.SINGLE_READ, BulkheadFilter.classify(new MockHttpServletRequest("GET", "/api/students/1")));
+        assertEquals(WorkloadClass.WRITE, BulkheadFilter.classify(new MockHttpServletRequest("POST", "/api/students")));
+        assertEquals(WorkloadClass.WRITE, BulkheadFilter.classify(new MockHttpServletRequest("DELETE", "/api/students/1")));
+    }
+
+    @Test
+    void testDoFilter_ListBulkheadFull_ShouldRejectListsButAdmitSingleReads() throws Exception {
+        // Arrange: nested requests run while the outer list scan holds the only list permit
+        AtomicReference<MockHttpServletResponse> list = new AtomicReference<>();
+        AtomicReference<MockHttpServletResponse> single = new AtomicReference<>();
+        FilterChain chain = (request, response) -> {
+            list.set(perform("/api/students"));
+            single.set(perform("/api/students/1"));
+        };
+
+        // Act
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/students"), new MockHttpServletResponse(), chain);
+
+        // Assert
+        assertEquals(503, list.get().getStatus());
+        assertEquals(200, single.get().getStatus());
+        assertEquals(200, perform("/api/students").getStatus());
+    }
+
+    private MockHttpServletResponse perform(String uri) {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        try {
+            filter.doFilter(new MockHttpServletRequest("GET", uri), response, new MockFilterChain());
+        } catch (Exception ex) {
+            throw new IllegalStateException(ex);
+        }
+        return response;
+    }
+}
@@ -0,0 +1,70 @@
+package com.example.studentapi.commons;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BulkheadTest {
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void testTryAcquire_PermitsAndQueueExhausted_ShouldRejectAndCount() throws Exception {
+        // Arrange
+        Bulkhead bulkhead = new Bulkhead(WorkloadClass.LIST, 1, 0, Duration.ofMillis(10), meterRegistry);
+        assertTrue(bulkhead.tryAcquire());
+
+        // Act & Assert
+        assertFalse(bulkhead.tryAcquire());
+        assertEquals(1.0, meterRegistry.get("students.bulkhead.rejected").tag("class", "list").counter().count());
+        assertEquals(1.0, meterRegistry.get("students.bulkhead.active").tag("class", "list").gauge().value());
+    }
+
+    @Test
+    void testTryAcquire_PermitReleasedWhileQueued_ShouldAdmit() throws Exception {
+        // Arrange
+        Bulkhead bulkhead = new Bulkhead(WorkloadClass.WRITE, 1, 1, Duration.ofSeconds(5), meterRegistry);
+        bulkhead.tryAcquire();
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            // Act
+            Future<Boolean> queued = executor.submit(bulkhead::tryAcquire);
+            Thread.sleep(50);
+            bulkhead.release();
+
+            // Assert
+            assertTrue(queued.get(5, TimeUnit.SECONDS));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void testCall_Full_ShouldThrowBulkheadFullException() throws Exception {
+        // Arrange
+        Bulkhead bulkhead = new Bulkhead(WorkloadClass.BULK, 1, 0, Duration.ZERO, meterRegistry);
+        CountDownLatch running = new CountDownLatch(1);
+        CountDownLatch finish = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            executor.submit(() -> bulkhead.call(() -> {
+                running.countDown();
+                return finish.await(5, TimeUnit.SECONDS);
+            }));
+            running.await(5, TimeUnit.SECONDS);
+
+            // Act & Assert
+            assertThrows(BulkheadFullException.class, () -> bulkhead.call(() -> "second"));
+            finish.countDown();
+        } finally {
+            executor.shutdown();
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package com.example.studentapi.commons;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CircuitBreakerTest {
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final AtomicLong clock = new AtomicLong();
+
+    private final CircuitBreaker circuitBreaker = new CircuitBreaker("db", 3, Duration.ofSeconds(10),
+            Duration.ofSeconds(1), ex -> ex instanceof IllegalStateException, meterRegistry, clock::get);
+
+    @Test
+    void testCall_ConsecutiveFailures_ShouldOpenAndRejectWithRetryAfter() {
+        // Arrange
+        for (int i = 0; i < 3; i++) {
+            assertThrows(IllegalStateException.class, () -> circuitBreaker.call(this::fail));
+        }
+        clock.addAndGet(Duration.ofSeconds(4).toNanos());
+
+        // Act
+        CircuitOpenException exception = assertThrows(CircuitOpenException.class, () -> circuitBreaker.call(() -> "ok"));
+
+        // Assert
+        assertEquals(CircuitBreaker.State.OPEN, circuitBreaker.state());
+        assertEquals(Duration.ofSeconds(6), exception.getRetryAfter());
+        assertEquals(1.0, meterRegistry.get("students.circuit.rejected").tag("name", "db").counter().count());
+        assertEquals(2.0, meterRegistry.get("students.circuit.state").tag("name", "db").gauge().value());
+    }
+
+    @Test
+    void testCall_ErrorsThatAreNotFailures_ShouldStayClosed() {
+        // Arrange
+        for (int i = 0; i < 5; i++) {
+            assertThrows(IllegalArgumentException.class, () -> circuitBreaker.call(() -> {
+                throw new IllegalArgumentException("not found");
+            }));
+        }
+
+        // Act
+        String result = circuitBreaker.call(() -> "ok");
+
+        // Assert
+        assertEquals("ok", result);
+        assertEquals(CircuitBreaker.State.CLOSED, circuitBreaker.state());
+    }
+
+    @Test
+    void testCall_SlowCalls_ShouldCountAsFailures() {
+        // Arrange
+        for (int i = 0; i < 3; i++) {
+            circuitBreaker.call(() -> clock.addAndGet(Duration.ofSeconds(2).toNanos()));
+        }
+
+        // Act & Assert
+        assertEquals(CircuitBreaker.State.OPEN, circuitBreaker.state());
+    }
+
+    @Test
+    void testCall_AfterOpenDuration_ShouldLetOneTrialCloseTheCircuit() {
+        // Arrange
+        for (int i = 0; i < 3; i++) {
+            assertThrows(IllegalStateException.class, () -> circuitBreaker.call(this::fail));
+        }
+        clock.addAndGet(Duration.ofSeconds(10).toNanos());
+
+        // Act
+        String trial = circuitBreaker.call(() -> {
+            // A second call while the trial is in flight is still rejected
+            assertThrows(CircuitOpenException.class, () -> circuitBreaker.call(() -> "concurrent"));
+            return "trial";
+        });
+
+        // Assert
+        assertEquals("trial", trial);
+        assertEquals(CircuitBreaker.State.CLOSED, circuitBreaker.state());
+    }
+
+    @Test
+    void testCall_FailedTrial_ShouldOpenAgain() {
+        // Arrange
+        for (int i = 0; i < 3; i++) {
+            assertThrows(IllegalStateException.class, () -> circuitBreaker.call(this::fail));
+        }
+        clock.addAndGet(Duration.ofSeconds(10).toNanos());
+
+        // Act
+        assertThrows(IllegalStateException.class, () -> circuitBreaker.call(this::fail));
+
+        // Assert
+        assertEquals(CircuitBreaker.State.OPEN, circuitBreaker.state());
+        assertThrows(CircuitOpenException.class, () -> circuitBreaker.call(() -> "ok"));
+    }
+
+    private String fail() {
+        throw new IllegalStateException("database down");
+    }
+}
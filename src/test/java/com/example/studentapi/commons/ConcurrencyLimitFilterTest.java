@@ -0,0 +1,59 @@
+package com.example.studentapi.commons;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ConcurrencyLimitFilterTest {
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    // A single permit and no queue
+    private final ConcurrencyLimitFilter filter = new ConcurrencyLimitFilter(new ObjectMapper(), meterRegistry,
+            1, 1, 1, 0, Duration.ZERO, 10);
+
+    @Test
+    void testDoFilter_OverLimit_ShouldReturnServiceUnavailable() throws Exception {
+        // Arrange: the nested request runs while the outer one holds the only permit
+        AtomicReference<MockHttpServletResponse> nested = new AtomicReference<>();
+        FilterChain chain = (request, response) -> nested.set(perform(new MockFilterChain()));
+
+        // Act
+        MockHttpServletResponse outer = new MockHttpServletResponse();
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/students"), outer, chain);
+
+        // Assert
+        assertEquals(200, outer.getStatus());
+        assertEquals(503, nested.get().getStatus());
+        assertEquals("1", nested.get().getHeader("Retry-After"));
+        assertEquals(1.0, meterRegistry.get("students.concurrency.rejected").counter().count());
+        assertEquals(200, perform(new MockFilterChain()).getStatus());
+    }
+
+    @Test
+    void testDoFilter_ChangeFeed_ShouldNotTakePermit() throws Exception {
+        // Arrange
+        FilterChain chain = (request, response) -> assertEquals(200, perform(new MockFilterChain()).getStatus());
+
+        // Act & Assert
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/students/changes"), new MockHttpServletResponse(), chain);
+    }
+
+    private MockHttpServletResponse perform(FilterChain chain) {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        try {
+            filter.doFilter(new MockHttpServletRequest("GET", "/api/students/1"), response, chain);
+        } catch (Exception ex) {
+            throw new IllegalStateException(ex);
+        }
+        return response;
+    }
+}
@@ -0,0 +1,93 @@
+package com.example.studentapi.commons;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DeadlineFilterTest {
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final DeadlineFilter filter = new DeadlineFilter("X-Request-Timeout", Duration.ofSeconds(2),
+            Duration.ofSeconds(10), Duration.ofSeconds(5), new ObjectMapper(), meterRegistry);
+
+    private static MockFilterChain recordingChain(AtomicReference<Duration> remaining, boolean runOutOfTime) {
+        return new MockFilterChain() {
+            @Override
+            public void doFilter(jakarta.servlet.ServletRequest request, jakarta.servlet.ServletResponse response) {
+                remaining.set(Deadline.current().remaining());
+                if (runOutOfTime) {
+                    while (!Deadline.current().isExpired()) {
+                        Thread.onSpinWait();
+                    }
+                    assertThrows(DeadlineExceededException.class, () -> Deadline.check("query"));
+                }
+            }
+        };
+    }
+
+    @Test
+    void testDoFilter_HeaderAboveEndpointDefault_ShouldBeCappedAtDefault() throws Exception {
+        // Arrange
+        AtomicReference<Duration> remaining = new AtomicReference<>();
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/students/1");
+        request.addHeader("X-Request-Timeout", "30s");
+
+        // Act
+        filter.doFilter(request, new MockHttpServletResponse(), recordingChain(remaining, false));
+
+        // Assert
+        assertTrue(remaining.get().compareTo(Duration.ofSeconds(2)) <= 0);
+        assertTrue(remaining.get().compareTo(Duration.ofSeconds(1)) > 0);
+        assertNull(Deadline.current());
+    }
+
+    @Test
+    void testDoFilter_DeadlinePassedInChain_ShouldCountCancelledStage() throws Exception {
+        // Arrange
+        AtomicReference<Duration> remaining = new AtomicReference<>();
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/students");
+        request.addHeader("X-Request-Timeout", "20");
+
+        // Act
+        filter.doFilter(request, new MockHttpServletResponse(), recordingChain(remaining, true));
+
+        // Assert
+        assertTrue(remaining.get().compareTo(Duration.ofMillis(20)) <= 0);
+        assertEquals(1.0, meterRegistry.get("students.deadline.cancelled")
+                .tags("class", "list", "stage", "query").counter().count());
+    }
+
+    @Test
+    void testDoFilter_ZeroOrInvalidTimeout_ShouldRejectBeforeChain() throws Exception {
+        // Arrange
+        MockHttpServletRequest expired = new MockHttpServletRequest("POST", "/api/students");
+        expired.addHeader("X-Request-Timeout", "0");
+        MockHttpServletRequest invalid = new MockHttpServletRequest("GET", "/api/students/1");
+        invalid.addHeader("X-Request-Timeout", "soon");
+        MockHttpServletResponse expiredResponse = new MockHttpServletResponse();
+        MockHttpServletResponse invalidResponse = new MockHttpServletResponse();
+        MockFilterChain expiredChain = new MockFilterChain();
+        MockFilterChain invalidChain = new MockFilterChain();
+
+        // Act
+        filter.doFilter(expired, expiredResponse, expiredChain);
+        filter.doFilter(invalid, invalidResponse, invalidChain);
+
+        // Assert
+        assertEquals(504, expiredResponse.getStatus());
+        assertNull(expiredChain.getRequest());
+        assertEquals(1.0, meterRegistry.get("students.deadline.cancelled")
+                .tags("class", "write", "stage", "admission").counter().count());
+        assertEquals(400, invalidResponse.getStatus());
+        assertTrue(invalidResponse.getContentAsString().contains("X-Request-Timeout"));
+        assertNull(invalidChain.getRequest());
+    }
+}
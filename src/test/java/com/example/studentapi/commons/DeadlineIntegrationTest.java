@@ -0,0 +1,55 @@
+package com.example.studentapi.commons;
+
+import com.example.studentapi.datasource.DeadlineDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import javax.sql.DataSource;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "studentapi.deadline.enabled=true")
+@AutoConfigureMockMvc
+class DeadlineIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void testRequests_WithinDeadline_ShouldRunAgainstWrappedDataSource() throws Exception {
+        // Act & Assert
+        assertInstanceOf(DeadlineDataSource.class, dataSource);
+        mockMvc.perform(post("/api/students")
+                        .header("X-Request-Timeout", "5s")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"studentFirstName\":\"Tom\",\"studentLastName\":\"Cruise\","
+                                + "\"studentEmail\":\"tom.cruise@example.com\"}"))
+                .andExpect(status().isCreated());
+        mockMvc.perform(get("/api/students").header("X-Request-Timeout", "5000"))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void testRequest_ExpiredOnArrival_ShouldReturnGatewayTimeout() throws Exception {
+        // Act & Assert
+        mockMvc.perform(get("/api/students").header("X-Request-Timeout", "0"))
+                .andExpect(status().isGatewayTimeout())
+                .andExpect(jsonPath("$[0].message").value("Request deadline exceeded before admission"));
+        assertTrue(meterRegistry.get("students.deadline.cancelled").tags("stage", "admission").counter().count() >= 1);
+    }
+}
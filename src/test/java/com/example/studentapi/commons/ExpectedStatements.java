@@ -0,0 +1,76 @@
+package com.example.studentapi.commons;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Asserts the exact number of SQL statements, by kind, that an action executes, e.g.
+ * <pre>{@code
+ * ExpectedStatements.none().selects(1).updates(1).verify(() -> studentService.updateStudent(id, dto));
+ * }</pre>
+ * Needs a context with {@code studentapi.sql-statistics.enabled=true}, so statements go through
+ * {@code SqlStatisticsDataSource}. Call transactional beans through their proxy, so that
+ * statements flushed at commit are counted too.
+ */
+public final class ExpectedStatements {
+
+    private final Map<SqlStatistics.Kind, Long> expected = new EnumMap<>(SqlStatistics.Kind.class);
+
+    private ExpectedStatements() {
+        for (SqlStatistics.Kind kind : SqlStatistics.Kind.values()) {
+            expected.put(kind, 0L);
+        }
+    }
+
+    public static ExpectedStatements none() {
+        return new ExpectedStatements();
+    }
+
+    public ExpectedStatements selects(int count) {
+        return expect(SqlStatistics.Kind.SELECT, count);
+    }
+
+    public ExpectedStatements inserts(int count) {
+        return expect(SqlStatistics.Kind.INSERT, count);
+    }
+
+    public ExpectedStatements updates(int count) {
+        return expect(SqlStatistics.Kind.UPDATE, count);
+    }
+
+    public ExpectedStatements deletes(int count) {
+        return expect(SqlStatistics.Kind.DELETE, count);
+    }
+
+    private ExpectedStatements expect(SqlStatistics.Kind kind, int count) {
+        expected.put(kind, (long) count);
+        return this;
+    }
+
+    public void verify(Runnable action) {
+        call(() -> {
+            action.run();
+            return null;
+        });
+    }
+
+    /**
+     * Like {@link #verify}, for actions with a result. The counts are checked when the action
+     * throws as well, e.g. to pin down the statements of a request that fails validation.
+     */
+    public <T> T call(Supplier<T> action) {
+        SqlStatistics statistics = new SqlStatistics();
+        try {
+            return SqlStatistics.call(statistics, action);
+        } finally {
+            Map<SqlStatistics.Kind, Long> actual = new EnumMap<>(SqlStatistics.Kind.class);
+            for (SqlStatistics.Kind kind : SqlStatistics.Kind.values()) {
+                actual.put(kind, statistics.statements(kind));
+            }
+            assertEquals(expected, actual, "SQL statements by kind");
+        }
+    }
+}
@@ -1,9 +1,12 @@
 package com.example.studentapi.commons;
 
 import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 
+import java.time.Duration;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -37,4 +40,45 @@ class GlobalExceptionHandlerTest {
         assertEquals("Resource not found", response.getBody());
     }
 
-}
\ No newline at end of file
+    @Test
+    void testDataIntegrityViolationException_ShouldReturnConflictWithoutDetails() {
+        // Arrange
+        DataIntegrityViolationException exception =
+                new DataIntegrityViolationException("Unique index or primary key violation: UK_STUDENTS_EMAIL");
+
+        // Act
+        ResponseEntity<?> response = exceptionHandler.handleDataIntegrityViolationException(exception);
+
+        // Assert
+        assertEquals(HttpStatus.CONFLICT, response.getStatusCode());
+        assertEquals(List.of(new ApiError(null, "Request conflicts with existing data")), response.getBody());
+    }
+
+    @Test
+    void testCircuitOpenException_ShouldReturnServiceUnavailableWithRetryAfter() {
+        // Arrange
+        CircuitOpenException exception = new CircuitOpenException("Circuit reads is open", Duration.ofMillis(2500));
+
+        // Act
+        ResponseEntity<?> response = exceptionHandler.handleCircuitOpenException(exception);
+
+        // Assert
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, response.getStatusCode());
+        assertEquals("3", response.getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+        assertEquals(List.of(new ApiError(null, "Circuit reads is open")), response.getBody());
+    }
+
+    @Test
+    void testDeadlineExceededException_ShouldReturnGatewayTimeout() {
+        // Arrange
+        DeadlineExceededException exception = new DeadlineExceededException("query");
+
+        // Act
+        ResponseEntity<?> response = exceptionHandler.handleDeadlineExceededException(exception);
+
+        // Assert
+        assertEquals(HttpStatus.GATEWAY_TIMEOUT, response.getStatusCode());
+        assertEquals(List.of(new ApiError(null, "Request deadline exceeded before query")), response.getBody());
+    }
+
+}
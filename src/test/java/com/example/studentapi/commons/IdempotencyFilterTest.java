@@ -0,0 +1,186 @@
+package com.example.studentapi.commons;
+
+import com.example.studentapi.student.StudentController;
+import com.example.studentapi.student.StudentDto;
+import com.example.studentapi.student.StudentService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletInputStream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+class IdempotencyFilterTest {
+    private static final String TOM = "{\"studentFirstName\":\"Tom\",\"studentLastName\":\"Cruise\",\"studentEmail\":\"tom.cruise@example.com\"}";
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private StudentService studentService;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        studentService = mock(StudentService.class);
+        AtomicLong ids = new AtomicLong();
+        when(studentService.createStudent(any(StudentDto.class))).thenAnswer(invocation -> {
+            StudentDto studentDto = invocation.getArgument(0);
+            return new StudentDto(ids.incrementAndGet(), studentDto.getStudentFirstName(),
+                    studentDto.getStudentLastName(), studentDto.getStudentEmail());
+        });
+        mockMvc = MockMvcBuilders.standaloneSetup(new StudentController(studentService))
+                .setControllerAdvice(new GlobalExceptionHandler())
+                .addFilters(new IdempotencyFilter(objectMapper, 100, Duration.ofHours(1), Duration.ofSeconds(5)))
+                .build();
+    }
+
+    @Test
+    void testCreateStudent_RepeatedKey_ShouldReplayOriginalResponse() throws Exception {
+        // Act
+        String first = mockMvc.perform(create("key-1", TOM))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        String second = mockMvc.perform(create("key-1", TOM))
+                .andExpect(status().isCreated())
+                .andExpect(header().string(IdempotencyFilter.IDEMPOTENT_REPLAYED, "true"))
+                .andReturn().getResponse().getContentAsString();
+
+        // Assert
+        assertEquals(first, second);
+        verify(studentService, times(1)).createStudent(any(StudentDto.class));
+    }
+
+    @Test
+    void testCreateStudent_DifferentKeys_ShouldExecuteEach() throws Exception {
+        // Act
+        mockMvc.perform(create("key-1", TOM)).andExpect(status().isCreated());
+        mockMvc.perform(create("key-2", TOM)).andExpect(status().isCreated());
+
+        // Assert
+        verify(studentService, times(2)).createStudent(any(StudentDto.class));
+    }
+
+    @Test
+    void testCreateStudent_KeyReusedWithDifferentBody_ShouldReturnUnprocessableEntity() throws Exception {
+        // Arrange
+        mockMvc.perform(create("key-1", TOM)).andExpect(status().isCreated());
+
+        // Act & Assert
+        mockMvc.perform(create("key-1", TOM.replace("Tom", "Will")))
+                .andExpect(status().isUnprocessableEntity())
+                .andExpect(jsonPath("$[0].field").value(IdempotencyFilter.IDEMPOTENCY_KEY));
+        verify(studentService, times(1)).createStudent(any(StudentDto.class));
+    }
+
+    @Test
+    void testCreateStudent_FailedRequest_ShouldNotBeStored() throws Exception {
+        // Arrange
+        when(studentService.createStudent(any(StudentDto.class)))
+                .thenThrow(new ValidationException(List.of(new ApiError("email", "Email is invalid"))))
+                .thenReturn(new StudentDto(1L, "Tom", "Cruise", "tom.cruise@example.com"));
+
+        // Act & Assert
+        mockMvc.perform(create("key-1", TOM)).andExpect(status().isBadRequest());
+        mockMvc.perform(create("key-1", TOM))
+                .andExpect(status().isCreated())
+                .andExpect(header().doesNotExist(IdempotencyFilter.IDEMPOTENT_REPLAYED));
+    }
+
+    @Test
+    void testCreateStudent_ConcurrentDuplicates_ShouldExecuteOnce() throws Exception {
+        // Arrange
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(studentService.createStudent(any(StudentDto.class))).thenAnswer(invocation -> {
+            started.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return new StudentDto(1L, "Tom", "Cruise", "tom.cruise@example.com");
+        });
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            // Act
+            Future<MvcResult> first = executor.submit(() -> mockMvc.perform(create("key-1", TOM)).andReturn());
+            started.await(5, TimeUnit.SECONDS);
+            Future<MvcResult> duplicate = executor.submit(() -> mockMvc.perform(create("key-1", TOM)).andReturn());
+            Thread.sleep(100);
+            release.countDown();
+
+            // Assert
+            assertEquals(201, first.get(5, TimeUnit.SECONDS).getResponse().getStatus());
+            MvcResult replayed = duplicate.get(5, TimeUnit.SECONDS);
+            assertEquals(201, replayed.getResponse().getStatus());
+            assertEquals("true", replayed.getResponse().getHeader(IdempotencyFilter.IDEMPOTENT_REPLAYED));
+            verify(studentService, times(1)).createStudent(any(StudentDto.class));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void testCreateStudent_BodyReadWithReadListener_ShouldDeliverWholeBody() throws Exception {
+        // Arrange
+        IdempotencyFilter filter = new IdempotencyFilter(objectMapper, 100, Duration.ofHours(1), Duration.ofSeconds(5));
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/students");
+        request.addHeader(IdempotencyFilter.IDEMPOTENCY_KEY, "key-1");
+        request.setContent(TOM.getBytes(StandardCharsets.UTF_8));
+        ByteArrayOutputStream read = new ByteArrayOutputStream();
+        AtomicBoolean allDataRead = new AtomicBoolean();
+        FilterChain nonBlockingRead = (servletRequest, servletResponse) -> {
+            ServletInputStream in = servletRequest.getInputStream();
+            in.setReadListener(new ReadListener() {
+                @Override
+                public void onDataAvailable() throws IOException {
+                    while (in.isReady() && !in.isFinished()) {
+                        read.write(in.read());
+                    }
+                }
+
+                @Override
+                public void onAllDataRead() {
+                    allDataRead.set(true);
+                }
+
+                @Override
+                public void onError(Throwable throwable) {
+                }
+            });
+        };
+
+        // Act
+        filter.doFilter(request, new MockHttpServletResponse(), nonBlockingRead);
+
+        // Assert
+        assertEquals(TOM, read.toString(StandardCharsets.UTF_8));
+        assertTrue(allDataRead.get());
+    }
+
+    private static MockHttpServletRequestBuilder create(String key, String body) {
+        return post("/api/students")
+                .header(IdempotencyFilter.IDEMPOTENCY_KEY, key)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(body);
+    }
+}
@@ -0,0 +1,92 @@
+package com.example.studentapi.commons;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IdempotencyStoreTest {
+    private final AtomicLong now = new AtomicLong();
+
+    private final IdempotencyStore store = new IdempotencyStore(2, Duration.ofNanos(100), now::get);
+
+    @Test
+    void testClaim_OverCapacity_ShouldEvictOldestEntry() {
+        // Arrange
+        complete("a");
+        complete("b");
+
+        // Act
+        complete("c");
+
+        // Assert
+        assertEquals(2, store.size());
+        assertTrue(store.claim("a", "fingerprint").owner());
+        assertFalse(store.claim("c", "fingerprint").owner());
+    }
+
+    @Test
+    void testClaim_OverCapacity_ShouldKeepInFlightEntry() {
+        // Arrange
+        IdempotencyStore.Claim inFlight = store.claim("a", "fingerprint");
+        complete("b");
+
+        // Act
+        complete("c");
+
+        // Assert
+        assertSame(inFlight.entry(), store.claim("a", "fingerprint").entry());
+        assertFalse(store.claim("c", "fingerprint").owner());
+        assertTrue(store.claim("b", "fingerprint").owner());
+    }
+
+    @Test
+    void testClaim_FullOfInFlightEntries_ShouldRefuseNewKey() {
+        // Arrange
+        IdempotencyStore.Claim first = store.claim("a", "fingerprint");
+        store.claim("b", "fingerprint");
+
+        // Act
+        IdempotencyStore.Claim refused = store.claim("c", "fingerprint");
+
+        // Assert
+        assertNull(refused);
+        assertFalse(store.claim("a", "fingerprint").owner());
+        store.complete(first.entry(), new IdempotencyStore.StoredResponse(201, null, null, new byte[0]));
+        assertTrue(store.claim("c", "fingerprint").owner());
+    }
+
+    @Test
+    void testClaim_AfterTtl_ShouldGrantNewOwnership() {
+        // Arrange
+        complete("a");
+        assertFalse(store.claim("a", "fingerprint").owner());
+
+        // Act
+        now.addAndGet(100);
+        IdempotencyStore.Claim claim = store.claim("a", "fingerprint");
+
+        // Assert
+        assertTrue(claim.owner());
+    }
+
+    @Test
+    void testRelease_ShouldCompleteWaitersWithNullAndForgetKey() {
+        // Arrange
+        IdempotencyStore.Claim claim = store.claim("a", "fingerprint");
+
+        // Act
+        store.release("a", claim.entry());
+
+        // Assert
+        assertNull(claim.entry().getResponse().join());
+        assertTrue(store.claim("a", "fingerprint").owner());
+    }
+
+    private void complete(String key) {
+        IdempotencyStore.Claim claim = store.claim(key, "fingerprint");
+        store.complete(claim.entry(), new IdempotencyStore.StoredResponse(201, null, null, new byte[0]));
+    }
+}
@@ -0,0 +1,110 @@
+package com.example.studentapi.commons;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RateLimitFilterTest {
+    private RateLimitFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        // One token per second, bursts of up to 10, full lists cost 10
+        filter = new RateLimitFilter(new ClientKeyResolver(List.of("first", "second")), new ObjectMapper(), new SimpleMeterRegistry(),
+                1, 10, 10, 1000);
+    }
+
+    @AfterEach
+    void tearDown() {
+        filter.destroy();
+    }
+
+    @Test
+    void testDoFilter_OverLimit_ShouldReturnTooManyRequestsWithRetryAfter() throws Exception {
+        // Arrange
+        assertEquals(200, perform(request("GET", "/api/students")).getStatus());
+
+        // Act
+        MockHttpServletResponse response = perform(request("GET", "/api/students/1"));
+
+        // Assert
+        assertEquals(429, response.getStatus());
+        assertEquals("1", response.getHeader("Retry-After"));
+        assertTrue(response.getContentAsString().contains("Rate limit exceeded"));
+    }
+
+    @Test
+    void testDoFilter_ApiKeys_ShouldBeLimitedSeparately() throws Exception {
+        // Arrange
+        MockHttpServletRequest first = request("GET", "/api/students");
+        first.addHeader(ClientKeyResolver.API_KEY_HEADER, "first");
+        perform(first);
+        MockHttpServletRequest second = request("GET", "/api/students");
+        second.addHeader(ClientKeyResolver.API_KEY_HEADER, "second");
+
+        // Act & Assert
+        assertEquals(200, perform(second).getStatus());
+    }
+
+    @Test
+    void testDoFilter_UnknownApiKeys_ShouldShareTheAddressBucket() throws Exception {
+        // Arrange
+        MockHttpServletRequest first = request("GET", "/api/students");
+        first.addHeader(ClientKeyResolver.API_KEY_HEADER, "made-up-1");
+        perform(first);
+        MockHttpServletRequest second = request("GET", "/api/students");
+        second.addHeader(ClientKeyResolver.API_KEY_HEADER, "made-up-2");
+
+        // Act & Assert
+        assertEquals(429, perform(second).getStatus());
+    }
+
+    @Test
+    void testConstructor_ListCostAboveBurst_ShouldRefuseToStart() {
+        // Act & Assert
+        assertThrows(IllegalStateException.class, () -> new RateLimitFilter(new ClientKeyResolver(List.of()),
+                new ObjectMapper(), new SimpleMeterRegistry(), 1, 10, 11, 1000));
+    }
+
+    @Test
+    void testCostOf_ShouldWeighFullListsAboveSingleReads() {
+        // Act & Assert
+        assertEquals(10, filter.costOf(request("GET", "/api/students")));
+        assertEquals(10, filter.costOf(request("GET", "/api/students/snapshot")));
+        assertEquals(1, filter.costOf(request("GET", "/api/students/1")));
+        assertEquals(1, filter.costOf(request("POST", "/api/students")));
+        MockHttpServletRequest delta = request("GET", "/api/students");
+        delta.setParameter("changedSince", "5");
+        assertEquals(1, filter.costOf(delta));
+    }
+
+    @Test
+    void testDoFilter_NonApiPath_ShouldNotBeLimited() throws Exception {
+        // Arrange
+        perform(request("GET", "/api/students"));
+
+        // Act & Assert
+        assertEquals(200, perform(request("GET", "/actuator/health")).getStatus());
+    }
+
+    private MockHttpServletResponse perform(MockHttpServletRequest request) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain());
+        return response;
+    }
+
+    private static MockHttpServletRequest request(String method, String uri) {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, uri);
+        request.setRemoteAddr("10.0.0.1");
+        return request;
+    }
+}
@@ -0,0 +1,44 @@
+package com.example.studentapi.commons;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of admitting a request through {@link RateLimiter}, with all threads either contending
+ * on one client's bucket or spread over many clients.
+ * <p>
+ * {@code mvn -Pbenchmark test-compile exec:exec -Djmh.args="RateLimiterBenchmark"}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(8)
+@Fork(1)
+public class RateLimiterBenchmark {
+
+    @Param({"1", "10000"})
+    private int clients;
+
+    private RateLimiter rateLimiter;
+
+    private String[] keys;
+
+    @Setup
+    public void setUp() {
+        // High enough that requests are admitted and the CAS path is measured
+        rateLimiter = new RateLimiter(1_000_000_000, 1_000_000, 100_000);
+        keys = new String[clients];
+        for (int i = 0; i < clients; i++) {
+            keys[i] = "ip:10.0." + (i / 256) + "." + (i % 256);
+        }
+    }
+
+    @Benchmark
+    public Object tryAcquire() {
+        return rateLimiter.tryAcquire(keys[ThreadLocalRandom.current().nextInt(keys.length)], 1);
+    }
+}
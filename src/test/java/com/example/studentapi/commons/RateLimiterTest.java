@@ -0,0 +1,91 @@
+package com.example.studentapi.commons;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RateLimiterTest {
+    private final AtomicLong now = new AtomicLong(1_000_000_000L);
+
+    // 10 tokens per second: one token every 100 ms, bursts of up to 5
+    private final RateLimiter rateLimiter = new RateLimiter(10, 5, 3, now::get);
+
+    @Test
+    void testTryAcquire_WithinBurst_ShouldAdmit() {
+        // Act & Assert
+        for (int i = 0; i < 5; i++) {
+            assertEquals(Duration.ZERO, rateLimiter.tryAcquire("client", 1));
+        }
+    }
+
+    @Test
+    void testTryAcquire_BurstExhausted_ShouldReturnTimeUntilNextToken() {
+        // Arrange
+        rateLimiter.tryAcquire("client", 5);
+
+        // Act
+        Duration retryAfter = rateLimiter.tryAcquire("client", 1);
+
+        // Assert
+        assertEquals(Duration.ofMillis(100), retryAfter);
+        now.addAndGet(Duration.ofMillis(100).toNanos());
+        assertEquals(Duration.ZERO, rateLimiter.tryAcquire("client", 1));
+    }
+
+    @Test
+    void testTryAcquire_WeightedCost_ShouldConsumeSeveralTokens() {
+        // Arrange
+        assertEquals(Duration.ZERO, rateLimiter.tryAcquire("client", 3));
+
+        // Act
+        Duration retryAfter = rateLimiter.tryAcquire("client", 3);
+
+        // Assert
+        assertEquals(Duration.ofMillis(100), retryAfter);
+        assertEquals(Duration.ZERO, rateLimiter.tryAcquire("client", 2));
+    }
+
+    @Test
+    void testTryAcquire_DifferentClients_ShouldHaveSeparateBuckets() {
+        // Arrange
+        rateLimiter.tryAcquire("first", 5);
+
+        // Act & Assert
+        assertFalse(rateLimiter.tryAcquire("first", 1).isZero());
+        assertTrue(rateLimiter.tryAcquire("second", 1).isZero());
+    }
+
+    @Test
+    void testSweep_ShouldDropRefilledBucketsOnly() {
+        // Arrange
+        rateLimiter.tryAcquire("idle", 1);
+        now.addAndGet(Duration.ofSeconds(1).toNanos());
+        rateLimiter.tryAcquire("busy", 5);
+
+        // Act
+        rateLimiter.sweep();
+
+        // Assert
+        assertEquals(1, rateLimiter.clients());
+        assertFalse(rateLimiter.tryAcquire("busy", 1).isZero());
+    }
+
+    @Test
+    void testTryAcquire_MaxClientsReached_ShouldShareOverflowBucket() {
+        // Arrange
+        rateLimiter.tryAcquire("a", 1);
+        rateLimiter.tryAcquire("b", 1);
+        rateLimiter.tryAcquire("c", 1);
+        rateLimiter.tryAcquire("d", 5);
+
+        // Act
+        Duration retryAfter = rateLimiter.tryAcquire("e", 1);
+
+        // Assert
+        assertEquals(3, rateLimiter.clients());
+        assertFalse(retryAfter.isZero());
+    }
+}
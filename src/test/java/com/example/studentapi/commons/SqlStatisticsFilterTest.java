@@ -0,0 +1,63 @@
+package com.example.studentapi.commons;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.ServletResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SqlStatisticsFilterTest {
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    // Stands in for two statements reading one row, as SqlStatisticsDataSource would record them
+    private static MockFilterChain twoStatementChain() {
+        return new MockFilterChain() {
+            @Override
+            public void doFilter(ServletRequest request, ServletResponse response) throws IOException {
+                SqlStatistics statistics = SqlStatistics.current();
+                statistics.recordStatement(SqlStatistics.Kind.SELECT, 1_500_000);
+                statistics.recordStatement(SqlStatistics.Kind.UPDATE, 500_000);
+                statistics.recordRow();
+                response.getWriter().write("[]");
+            }
+        };
+    }
+
+    @Test
+    void testDoFilter_ShouldRecordMetricsPerWorkloadClass() throws Exception {
+        // Arrange
+        SqlStatisticsFilter filter = new SqlStatisticsFilter(false, meterRegistry);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // Act
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/students"), response, twoStatementChain());
+
+        // Assert
+        assertEquals(2, meterRegistry.get("students.sql.statements").tag("class", "list").summary().totalAmount());
+        assertEquals(1, meterRegistry.get("students.sql.rows").tag("class", "list").summary().totalAmount());
+        assertEquals(2, meterRegistry.get("students.sql.time").tag("class", "list").timer().totalTime(TimeUnit.MILLISECONDS));
+        assertNull(response.getHeader(SqlStatisticsFilter.SERVER_TIMING));
+        assertNull(SqlStatistics.current());
+    }
+
+    @Test
+    void testDoFilter_DebugHeader_ShouldAddServerTimingAndKeepBody() throws Exception {
+        // Arrange
+        SqlStatisticsFilter filter = new SqlStatisticsFilter(true, meterRegistry);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // Act
+        filter.doFilter(new MockHttpServletRequest("DELETE", "/api/students/1"), response, twoStatementChain());
+
+        // Assert
+        assertEquals("sql;dur=2.000;desc=\"2 statements, 1 rows\"", response.getHeader(SqlStatisticsFilter.SERVER_TIMING));
+        assertEquals("[]", response.getContentAsString());
+    }
+}
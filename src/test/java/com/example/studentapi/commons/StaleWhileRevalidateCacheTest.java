@@ -0,0 +1,133 @@
+package com.example.studentapi.commons;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StaleWhileRevalidateCacheTest {
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final AtomicLong clock = new AtomicLong();
+
+    private final List<Runnable> refreshes = new ArrayList<>();
+
+    private final CircuitBreaker circuitBreaker = new CircuitBreaker("db", 1, Duration.ofSeconds(30),
+            Duration.ofMinutes(1), ex -> ex instanceof IllegalStateException, meterRegistry, clock::get);
+
+    private final StaleWhileRevalidateCache<Long, String> cache = new StaleWhileRevalidateCache<>("students",
+            Duration.ofSeconds(5), Duration.ofSeconds(60), Duration.ofMinutes(10), 100, refreshes::add,
+            circuitBreaker, meterRegistry, clock::get);
+
+    @Test
+    void testGet_PastSoftTtl_ShouldServeStaleAndRefreshOnce() {
+        // Arrange
+        AtomicInteger loads = new AtomicInteger();
+        cache.get(1L, () -> "v" + loads.incrementAndGet());
+        clock.addAndGet(Duration.ofSeconds(7).toNanos());
+
+        // Act
+        StaleWhileRevalidateCache.Result<String> first = cache.get(1L, () -> "v" + loads.incrementAndGet());
+        StaleWhileRevalidateCache.Result<String> second = cache.get(1L, () -> "v" + loads.incrementAndGet());
+        refreshes.forEach(Runnable::run);
+        StaleWhileRevalidateCache.Result<String> refreshed = cache.get(1L, () -> "v" + loads.incrementAndGet());
+
+        // Assert
+        assertEquals("v1", first.value());
+        assertEquals(StaleWhileRevalidateCache.Freshness.STALE, first.freshness());
+        assertEquals(Duration.ofSeconds(7), first.age());
+        assertEquals("v1", second.value());
+        assertEquals(1, refreshes.size());
+        assertEquals("v2", refreshed.value());
+        assertEquals(StaleWhileRevalidateCache.Freshness.FRESH, refreshed.freshness());
+        assertEquals(2, loads.get());
+        assertEquals(2.0, meterRegistry.get("students.swr.reads").tag("freshness", "stale").counter().count());
+    }
+
+    @Test
+    void testGet_SourceFailingPastRevalidateWindow_ShouldServeStaleOnError() {
+        // Arrange
+        cache.get(1L, () -> "v1");
+        clock.addAndGet(Duration.ofMinutes(5).toNanos());
+
+        // Act
+        StaleWhileRevalidateCache.Result<String> failed = cache.get(1L, this::fail);
+        StaleWhileRevalidateCache.Result<String> circuitOpen = cache.get(1L, () -> "v2");
+
+        // Assert
+        assertEquals("v1", failed.value());
+        assertEquals(StaleWhileRevalidateCache.Freshness.STALE_ON_ERROR, failed.freshness());
+        assertEquals(CircuitBreaker.State.OPEN, circuitBreaker.state());
+        assertEquals("v1", circuitOpen.value());
+        assertEquals(StaleWhileRevalidateCache.Freshness.STALE_ON_ERROR, circuitOpen.freshness());
+    }
+
+    @Test
+    void testGet_SourceFailingWithoutUsableEntry_ShouldThrow() {
+        // Arrange
+        cache.get(1L, () -> "v1");
+        clock.addAndGet(Duration.ofMinutes(20).toNanos());
+
+        // Act & Assert
+        assertThrows(IllegalStateException.class, () -> cache.get(1L, this::fail));
+        assertThrows(CircuitOpenException.class, () -> cache.get(2L, () -> "v2"));
+    }
+
+    @Test
+    void testGet_LoaderErrorThatIsNotAFailure_ShouldPropagateAndDropEntryOnRefresh() {
+        // Arrange
+        cache.get(1L, () -> "v1");
+        clock.addAndGet(Duration.ofSeconds(7).toNanos());
+
+        // Act
+        cache.get(1L, () -> {
+            throw new IllegalArgumentException("not found");
+        });
+        refreshes.forEach(Runnable::run);
+
+        // Assert
+        assertEquals(0, cache.size());
+        assertThrows(IllegalArgumentException.class, () -> cache.get(1L, () -> {
+            throw new IllegalArgumentException("not found");
+        }));
+    }
+
+    @Test
+    void testRefresh_EntryPutMeanwhile_ShouldKeepNewerValue() {
+        // Arrange
+        cache.get(1L, () -> "v1");
+        clock.addAndGet(Duration.ofSeconds(7).toNanos());
+        cache.get(1L, () -> "refreshed");
+
+        // Act
+        cache.put(1L, "written", 1);
+        refreshes.forEach(Runnable::run);
+
+        // Assert
+        assertEquals("written", cache.get(1L, () -> "loaded").value());
+    }
+
+    @Test
+    void testPut_OlderVersion_ShouldKeepNewerValue() {
+        // Arrange: The listener of the later write ran first
+        cache.put(1L, "v5", 5);
+
+        // Act
+        cache.put(1L, "v4", 4);
+
+        // Assert
+        assertEquals("v5", cache.get(1L, () -> "loaded").value());
+        cache.put(1L, "v6", 6);
+        assertEquals("v6", cache.get(1L, () -> "loaded").value());
+    }
+
+    private String fail() {
+        throw new IllegalStateException("database down");
+    }
+}
@@ -0,0 +1,63 @@
+package com.example.studentapi.datasource;
+
+import com.example.studentapi.commons.Deadline;
+import com.example.studentapi.commons.DeadlineExceededException;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DeadlineDataSourceTest {
+
+    private static DeadlineDataSource dataSource() {
+        JdbcDataSource h2 = new JdbcDataSource();
+        h2.setURL("jdbc:h2:mem:deadline-test");
+        return new DeadlineDataSource(h2);
+    }
+
+    @Test
+    void testPrepareStatement_WithDeadline_ShouldSetQueryTimeoutToTimeLeft() throws Exception {
+        // Arrange
+        Deadline deadline = Deadline.after(Duration.ofMillis(2500));
+
+        try (Deadline.Scope ignored = Deadline.enter(deadline);
+             Connection connection = dataSource().getConnection();
+             // Act
+             PreparedStatement statement = connection.prepareStatement("SELECT 1")) {
+
+            // Assert
+            assertEquals(3, statement.getQueryTimeout());
+        }
+    }
+
+    @Test
+    void testPrepareStatement_WithoutDeadline_ShouldKeepDefaultTimeout() throws SQLException {
+        // Act
+        try (Connection connection = dataSource().getConnection();
+             PreparedStatement statement = connection.prepareStatement("SELECT 1")) {
+
+            // Assert
+            assertEquals(0, statement.getQueryTimeout());
+        }
+    }
+
+    @Test
+    void testPrepareStatement_DeadlinePassed_ShouldAbandonQuery() throws Exception {
+        // Arrange
+        Deadline deadline = Deadline.after(Duration.ofMillis(20));
+        try (Deadline.Scope ignored = Deadline.enter(deadline);
+             Connection connection = dataSource().getConnection()) {
+            Thread.sleep(50);
+
+            // Act & Assert
+            assertThrows(DeadlineExceededException.class, () -> connection.prepareStatement("SELECT 1"));
+            assertEquals(DeadlineDataSource.QUERY_STAGE, deadline.cancelledAt());
+            assertThrows(DeadlineExceededException.class, () -> dataSource().getConnection());
+        }
+    }
+}
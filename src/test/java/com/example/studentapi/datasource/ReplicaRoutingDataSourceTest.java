@@ -0,0 +1,104 @@
+package com.example.studentapi.datasource;
+
+import com.example.studentapi.commons.ClientKeyResolver;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ReplicaRoutingDataSourceTest {
+    private final AtomicLong now = new AtomicLong();
+
+    private final DataSource firstReplica = healthyDataSource();
+
+    private final DataSource secondReplica = healthyDataSource();
+
+    private final ReplicaRoutingDataSource routing = new ReplicaRoutingDataSource(mock(DataSource.class),
+            List.of(firstReplica, secondReplica),
+            new ReadYourWritesTracker(Duration.ofSeconds(5), 100, now::get),
+            new ClientKeyResolver(List.of()), null, Duration.ofSeconds(10));
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    void testDetermineCurrentLookupKey_ReadOnly_ShouldRoundRobinReplicas() {
+        // Arrange
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        // Act & Assert
+        assertEquals("replica-1", routing.determineCurrentLookupKey());
+        assertEquals("replica-2", routing.determineCurrentLookupKey());
+        assertEquals("replica-1", routing.determineCurrentLookupKey());
+    }
+
+    @Test
+    void testDetermineCurrentLookupKey_ReadWrite_ShouldUsePrimary() {
+        // Act & Assert
+        assertEquals(ReplicaRoutingDataSource.PRIMARY, routing.determineCurrentLookupKey());
+    }
+
+    @Test
+    void testDetermineCurrentLookupKey_UnhealthyReplica_ShouldSkipIt() throws Exception {
+        // Arrange
+        when(firstReplica.getConnection()).thenThrow(new SQLException("down"));
+        routing.checkReplicas();
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        // Act & Assert
+        assertEquals("replica-2", routing.determineCurrentLookupKey());
+        assertEquals("replica-2", routing.determineCurrentLookupKey());
+        assertEquals(1, routing.healthyReplicas());
+    }
+
+    @Test
+    void testDetermineCurrentLookupKey_ReadAfterOwnWrite_ShouldUsePrimaryUntilWindowEnds() {
+        // Arrange: the client commits a write
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setRemoteAddr("10.0.0.1");
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+        TransactionSynchronizationManager.initSynchronization();
+        routing.determineCurrentLookupKey();
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        TransactionSynchronizationManager.clearSynchronization();
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        // Act & Assert
+        assertEquals(ReplicaRoutingDataSource.PRIMARY, routing.determineCurrentLookupKey());
+        now.addAndGet(Duration.ofSeconds(5).toNanos());
+        assertEquals("replica-1", routing.determineCurrentLookupKey());
+    }
+
+    private static DataSource healthyDataSource() {
+        DataSource dataSource = mock(DataSource.class);
+        Connection connection = mock(Connection.class);
+        try {
+            when(dataSource.getConnection()).thenReturn(connection);
+            when(connection.isValid(anyInt())).thenReturn(true);
+        } catch (SQLException ex) {
+            throw new IllegalStateException(ex);
+        }
+        return dataSource;
+    }
+}
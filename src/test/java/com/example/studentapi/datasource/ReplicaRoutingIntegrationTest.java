@@ -0,0 +1,79 @@
+package com.example.studentapi.datasource;
+
+import com.example.studentapi.student.StudentDto;
+import com.example.studentapi.student.StudentService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.Statement;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Uses two separate H2 databases as stand-ins for a primary and its replica. Nothing replicates
+ * between them, so which database a query ran against can be told from its result.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:routing-primary;DB_CLOSE_DELAY=-1",
+        "studentapi.replicas.enabled=true",
+        "studentapi.replicas.nodes[0].url=" + ReplicaRoutingIntegrationTest.REPLICA_URL,
+        "studentapi.replicas.read-your-writes-window=1h"
+})
+class ReplicaRoutingIntegrationTest {
+    static final String REPLICA_URL = "jdbc:h2:mem:routing-replica;DB_CLOSE_DELAY=-1";
+
+    @Autowired
+    private StudentService studentService;
+
+    @BeforeAll
+    static void createReplica() throws Exception {
+        try (Connection connection = DriverManager.getConnection(REPLICA_URL, "sa", "");
+             Statement statement = connection.createStatement()) {
+            statement.execute("create table if not exists students (id bigint primary key, first_name varchar(255), "
+                    + "last_name varchar(255), email varchar(255), change_sequence bigint)");
+            statement.execute("create table if not exists student_change_sequence (id bigint primary key, last_assigned bigint not null)");
+            statement.execute("merge into students key (id) values (100, 'Replica', 'Row', 'replica.row@example.com', 1)");
+            statement.execute("merge into student_change_sequence key (id) values (1, 1)");
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    void testGetAllStudents_ShouldReadFromReplica() {
+        // Act
+        List<StudentDto> students = studentService.getAllStudents();
+
+        // Assert
+        assertEquals(List.of("Replica"), students.stream().map(StudentDto::getStudentFirstName).toList());
+    }
+
+    @Test
+    void testGetStudentById_AfterOwnWrite_ShouldReadFromPrimary() {
+        // Arrange
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setRemoteAddr("10.0.0.7");
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+
+        // Act
+        StudentDto created = studentService.createStudent(new StudentDto(null, "Tom", "Cruise", "tom.cruise@example.com"));
+
+        // Assert: visible to the writer right away, although the replica never receives it
+        assertEquals("Tom", studentService.getStudentById(created.getId()).getStudentFirstName());
+        RequestContextHolder.resetRequestAttributes();
+        assertEquals(List.of("Replica"), studentService.getAllStudents().stream()
+                .map(StudentDto::getStudentFirstName).toList());
+    }
+}
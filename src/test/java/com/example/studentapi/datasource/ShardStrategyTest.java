@@ -0,0 +1,47 @@
+package com.example.studentapi.datasource;
+
+import com.example.studentapi.student.StudentIds;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ShardStrategyTest {
+
+    @Test
+    void testHashShardFor_TimeOrderedIds_ShouldSpreadEvenly() {
+        // Arrange
+        HashShardStrategy strategy = new HashShardStrategy(4);
+        StudentIds studentIds = new StudentIds(0);
+        int[] counts = new int[4];
+
+        // Act
+        for (int i = 0; i < 40_000; i++) {
+            counts[strategy.shardFor(studentIds.next())]++;
+        }
+
+        // Assert
+        for (int count : counts) {
+            assertTrue(count > 9_000 && count < 11_000, "uneven shard sizes");
+        }
+    }
+
+    @Test
+    void testRangeShardFor_ShouldUseExclusiveUpperBounds() {
+        // Arrange
+        RangeShardStrategy strategy = new RangeShardStrategy(new long[]{100, 200});
+
+        // Act & Assert
+        assertEquals(3, strategy.shardCount());
+        assertEquals(0, strategy.shardFor(99));
+        assertEquals(1, strategy.shardFor(100));
+        assertEquals(1, strategy.shardFor(199));
+        assertEquals(2, strategy.shardFor(200));
+        assertEquals(2, strategy.shardFor(Long.MAX_VALUE));
+    }
+
+    @Test
+    void testRangeShardStrategy_UnorderedBounds_ShouldThrow() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> new RangeShardStrategy(new long[]{200, 100}));
+    }
+}
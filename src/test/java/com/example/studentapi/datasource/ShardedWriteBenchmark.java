@@ -0,0 +1,97 @@
+package com.example.studentapi.datasource;
+
+import com.example.studentapi.student.StudentIds;
+import com.zaxxer.hikari.HikariDataSource;
+import org.openjdk.jmh.annotations.*;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Write throughput through {@link ShardRoutingDataSource} as shards are added.
+ * <p>
+ * Each write runs the same statements as {@code createStudent}: it increments the shard's
+ * change-sequence row, which stays locked until commit, then inserts the student. Writes to
+ * one shard serialize on that row, so adding shards should relieve the contention; with
+ * in-memory H2 on one machine the gain is bounded by the local CPU, so compare the numbers
+ * between shard counts rather than with a real database.
+ * <p>
+ * {@code mvn -Pbenchmark test-compile exec:exec -Djmh.args="ShardedWriteBenchmark"}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Threads(32)
+@Fork(1)
+public class ShardedWriteBenchmark {
+
+    @Param({"1", "2", "4", "8"})
+    private int shards;
+
+    private List<HikariDataSource> pools;
+
+    private ShardRoutingDataSource dataSource;
+
+    private ShardStrategy shardStrategy;
+
+    private final StudentIds studentIds = new StudentIds(0);
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        pools = new ArrayList<>();
+        for (int shard = 0; shard < shards; shard++) {
+            HikariDataSource pool = new HikariDataSource();
+            pool.setJdbcUrl("jdbc:h2:mem:bench-shard-" + shard + ";DB_CLOSE_DELAY=-1");
+            pool.setUsername("sa");
+            pool.setMaximumPoolSize(8);
+            try (Connection connection = pool.getConnection(); Statement statement = connection.createStatement()) {
+                statement.execute("create table if not exists students (id bigint primary key, first_name varchar(255), "
+                        + "last_name varchar(255), email varchar(255), change_sequence bigint)");
+                statement.execute("create table if not exists student_change_sequence (id bigint primary key, last_assigned bigint)");
+                statement.execute("merge into student_change_sequence key (id) values (1, 0)");
+            }
+            pools.add(pool);
+        }
+        dataSource = new ShardRoutingDataSource(pools);
+        shardStrategy = new HashShardStrategy(shards);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        for (HikariDataSource pool : pools) {
+            try (Connection connection = pool.getConnection(); Statement statement = connection.createStatement()) {
+                statement.execute("drop all objects");
+            }
+            pool.close();
+        }
+    }
+
+    @Benchmark
+    public long createStudent() throws Exception {
+        long id = studentIds.next();
+        return ShardContext.call(shardStrategy.shardFor(id), () -> {
+            try (Connection connection = dataSource.getConnection()) {
+                connection.setAutoCommit(false);
+                try (Statement statement = connection.createStatement();
+                     PreparedStatement insert = connection.prepareStatement(
+                             "insert into students values (?, 'Tom', 'Cruise', 'tom.cruise@example.com', ?)")) {
+                    statement.executeUpdate("update student_change_sequence set last_assigned = last_assigned + 1 where id = 1");
+                    insert.setLong(1, id);
+                    insert.setLong(2, id);
+                    insert.executeUpdate();
+                    connection.commit();
+                }
+                return id;
+            } catch (SQLException ex) {
+                throw new IllegalStateException(ex);
+            }
+        });
+    }
+}
@@ -0,0 +1,90 @@
+package com.example.studentapi.datasource;
+
+import com.example.studentapi.commons.ValidationException;
+import com.example.studentapi.student.StudentDto;
+import com.example.studentapi.student.StudentService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Three separate H2 databases as shards.
+ */
+@SpringBootTest(properties = {
+        "studentapi.sharding.enabled=true",
+        "studentapi.ids.node-id=1",
+        "studentapi.sharding.nodes[0].url=jdbc:h2:mem:shard-0;DB_CLOSE_DELAY=-1",
+        "studentapi.sharding.nodes[1].url=jdbc:h2:mem:shard-1;DB_CLOSE_DELAY=-1",
+        "studentapi.sharding.nodes[2].url=jdbc:h2:mem:shard-2;DB_CLOSE_DELAY=-1"
+})
+class ShardingIntegrationTest {
+
+    @Autowired
+    private StudentService studentService;
+
+    @Autowired
+    private ShardStrategy shardStrategy;
+
+    @Test
+    void testStudentLifecycle_ShouldSpreadRowsOverShards() throws Exception {
+        // Arrange
+        List<StudentDto> created = new ArrayList<>();
+        for (int i = 0; i < 30; i++) {
+            created.add(studentService.createStudent(new StudentDto(null, "Tom", "Cruise", "tom" + i + "@example.com")));
+        }
+
+        // Act
+        List<StudentDto> all = studentService.getAllStudents();
+
+        // Assert: every row lives on the shard its id maps to, and the merged list is id-ordered
+        int total = 0;
+        for (int shard = 0; shard < 3; shard++) {
+            List<Long> ids = idsOnShard(shard);
+            for (Long id : ids) {
+                assertEquals(shard, shardStrategy.shardFor(id));
+            }
+            assertFalse(ids.isEmpty(), "shard " + shard + " is empty");
+            total += ids.size();
+        }
+        assertEquals(total, all.size());
+        assertTrue(all.containsAll(created));
+        List<StudentDto> sorted = new ArrayList<>(all);
+        sorted.sort(Comparator.comparing(StudentDto::getId));
+        assertEquals(sorted, all);
+
+        StudentDto first = created.get(0);
+        assertEquals("William", studentService.updateStudent(first.getId(),
+                new StudentDto(null, "William", null, null)).getStudentFirstName());
+        assertEquals("William", studentService.getStudentById(first.getId()).getStudentFirstName());
+        studentService.deleteStudent(first.getId());
+        assertFalse(idsOnShard(shardStrategy.shardFor(first.getId())).contains(first.getId()));
+    }
+
+    @Test
+    void testGetStudentsChangedSince_ShouldBeRejected() {
+        // Act & Assert
+        assertThrows(ValidationException.class, () -> studentService.getStudentsChangedSince(0));
+    }
+
+    private static List<Long> idsOnShard(int shard) throws Exception {
+        List<Long> ids = new ArrayList<>();
+        try (Connection connection = DriverManager.getConnection("jdbc:h2:mem:shard-" + shard + ";DB_CLOSE_DELAY=-1", "sa", "");
+             Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery("select id from students")) {
+            while (resultSet.next()) {
+                ids.add(resultSet.getLong(1));
+            }
+        }
+        return ids;
+    }
+}
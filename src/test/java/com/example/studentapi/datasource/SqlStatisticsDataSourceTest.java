@@ -0,0 +1,81 @@
+package com.example.studentapi.datasource;
+
+import com.example.studentapi.commons.SqlStatistics;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SqlStatisticsDataSourceTest {
+
+    private static SqlStatisticsDataSource dataSource() {
+        JdbcDataSource h2 = new JdbcDataSource();
+        h2.setURL("jdbc:h2:mem:sql-statistics-test;DB_CLOSE_DELAY=-1");
+        return new SqlStatisticsDataSource(h2);
+    }
+
+    @Test
+    void testStatements_WithStatistics_ShouldCountByKindAndRowsRead() throws Exception {
+        // Arrange
+        SqlStatistics statistics = new SqlStatistics();
+
+        try (SqlStatistics.Scope ignored = SqlStatistics.enter(statistics);
+             Connection connection = dataSource().getConnection();
+             Statement statement = connection.createStatement()) {
+            // Act
+            statement.execute("CREATE TABLE IF NOT EXISTS numbers (n INT)");
+            statement.executeUpdate("DELETE FROM numbers");
+            try (PreparedStatement insert = connection.prepareStatement("INSERT INTO numbers VALUES (?)")) {
+                for (int n = 1; n <= 3; n++) {
+                    insert.setInt(1, n);
+                    insert.addBatch();
+                }
+                insert.executeBatch();
+            }
+            try (PreparedStatement select = connection.prepareStatement("/* count */ SELECT n FROM numbers");
+                 ResultSet resultSet = select.executeQuery()) {
+                while (resultSet.next()) {
+                    assertTrue(resultSet.getInt(1) > 0);
+                }
+            }
+        }
+
+        // Assert
+        assertEquals(4, statistics.statements());
+        assertEquals(1, statistics.statements(SqlStatistics.Kind.OTHER));
+        assertEquals(1, statistics.statements(SqlStatistics.Kind.DELETE));
+        assertEquals(1, statistics.statements(SqlStatistics.Kind.INSERT));
+        assertEquals(1, statistics.statements(SqlStatistics.Kind.SELECT));
+        assertEquals(3, statistics.rows());
+        assertTrue(statistics.executionTime().toNanos() > 0);
+    }
+
+    @Test
+    void testStatements_WithoutStatistics_ShouldRunUnrecorded() throws Exception {
+        // Act
+        try (Connection connection = dataSource().getConnection();
+             PreparedStatement statement = connection.prepareStatement("SELECT 1");
+             ResultSet resultSet = statement.executeQuery()) {
+
+            // Assert
+            assertTrue(resultSet.next());
+            assertTrue(connection.isWrapperFor(Connection.class));
+        }
+        assertNull(SqlStatistics.current());
+    }
+
+    @Test
+    void testKindOf_ShouldSkipWhitespaceAndCommentsBeforeKeyword() {
+        // Act & Assert
+        assertEquals(SqlStatistics.Kind.SELECT, SqlStatistics.Kind.of("  /* load Student */ select s1_0.id from students s1_0"));
+        assertEquals(SqlStatistics.Kind.SELECT, SqlStatistics.Kind.of("WITH t AS (SELECT 1) SELECT * FROM t"));
+        assertEquals(SqlStatistics.Kind.UPDATE, SqlStatistics.Kind.of("\nupdate students set email=?"));
+        assertEquals(SqlStatistics.Kind.OTHER, SqlStatistics.Kind.of("call next value for seq"));
+        assertEquals(SqlStatistics.Kind.OTHER, SqlStatistics.Kind.of(null));
+    }
+}
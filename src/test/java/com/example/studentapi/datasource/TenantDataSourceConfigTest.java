@@ -0,0 +1,28 @@
+package com.example.studentapi.datasource;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.mock.env.MockEnvironment;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+class TenantDataSourceConfigTest {
+
+    @Test
+    void testDataSource_NoKnownTenants_ShouldRefuseToStart() {
+        // Arrange
+        TenantDataSourceConfig config = new TenantDataSourceConfig(new MockEnvironment());
+        TenantProperties tenantProperties = new TenantProperties();
+        tenantProperties.setUrlTemplate("jdbc:h2:mem:tenant-{tenant}");
+
+        // Act & Assert
+        IllegalStateException ex = assertThrows(IllegalStateException.class, () -> config.dataSource(
+                new DataSourceProperties(), tenantProperties, mock(ApplicationEventPublisher.class),
+                new SimpleMeterRegistry()));
+        assertTrue(ex.getMessage().contains("studentapi.tenancy.tenants"));
+        config.destroy();
+    }
+}
@@ -0,0 +1,105 @@
+package com.example.studentapi.datasource;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class TenantFilterTest {
+    private final TenantProvisioner provisioner = mock(TenantProvisioner.class);
+
+    @SuppressWarnings("unchecked")
+    private TenantFilter filter(List<String> tenants) {
+        TenantProperties properties = new TenantProperties();
+        properties.setDomain("schools.example.com");
+        properties.setTenants(tenants);
+        ObjectProvider<TenantProvisioner> provider = mock(ObjectProvider.class);
+        when(provider.getObject()).thenReturn(provisioner);
+        return new TenantFilter(properties, provider, new ObjectMapper());
+    }
+
+    private static MockHttpServletRequest request(String host, String tenantHeader) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/students");
+        request.setServerName(host);
+        if (tenantHeader != null) {
+            request.addHeader("X-Tenant-ID", tenantHeader);
+        }
+        return request;
+    }
+
+    private static MockFilterChain recordingChain(AtomicReference<String> seenTenant) {
+        return new MockFilterChain() {
+            @Override
+            public void doFilter(jakarta.servlet.ServletRequest request, jakarta.servlet.ServletResponse response) {
+                seenTenant.set(TenantContext.current());
+            }
+        };
+    }
+
+    @Test
+    void testDoFilter_TenantHeader_ShouldRunChainInTenantContext() throws Exception {
+        // Arrange
+        AtomicReference<String> seenTenant = new AtomicReference<>();
+        MockHttpServletRequest request = request("schools.example.com", "riverside");
+
+        // Act
+        filter(List.of("riverside", "hillside")).doFilter(request, new MockHttpServletResponse(), recordingChain(seenTenant));
+
+        // Assert
+        assertEquals("riverside", seenTenant.get());
+        assertEquals("riverside", request.getAttribute(TenantFilter.TENANT_ATTRIBUTE));
+        assertNull(TenantContext.current());
+        verify(provisioner).provision("riverside");
+    }
+
+    @Test
+    void testDoFilter_Subdomain_ShouldResolveTenant() throws Exception {
+        // Arrange
+        AtomicReference<String> seenTenant = new AtomicReference<>();
+
+        // Act
+        filter(List.of("riverside", "hillside")).doFilter(request("Hillside.Schools.Example.com", null), new MockHttpServletResponse(),
+                recordingChain(seenTenant));
+
+        // Assert
+        assertEquals("hillside", seenTenant.get());
+    }
+
+    @Test
+    void testDoFilter_MissingOrMalformedTenant_ShouldReturnBadRequest() throws Exception {
+        // Arrange
+        MockHttpServletResponse missing = new MockHttpServletResponse();
+        MockHttpServletResponse malformed = new MockHttpServletResponse();
+
+        // Act
+        filter(List.of("riverside", "hillside")).doFilter(request("localhost", null), missing, new MockFilterChain());
+        filter(List.of("riverside", "hillside")).doFilter(request("localhost", "../etc"), malformed, new MockFilterChain());
+
+        // Assert
+        assertEquals(400, missing.getStatus());
+        assertTrue(missing.getContentAsString().contains("Tenant is missing or invalid"));
+        assertEquals(400, malformed.getStatus());
+        verifyNoInteractions(provisioner);
+    }
+
+    @Test
+    void testDoFilter_UnknownTenant_ShouldReturnNotFound() throws Exception {
+        // Arrange
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // Act
+        filter(List.of("riverside")).doFilter(request("localhost", "hillside"), response, new MockFilterChain());
+
+        // Assert
+        assertEquals(404, response.getStatus());
+        verifyNoInteractions(provisioner);
+    }
+}
@@ -0,0 +1,75 @@
+package com.example.studentapi.datasource;
+
+import com.example.studentapi.student.StudentDto;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.hamcrest.Matchers.hasSize;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * One H2 database per tenant, with the off-heap cache enabled, so both the databases and the
+ * cache have to keep tenants apart. Tenant databases are migrated on first use, as by default.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:tenant-default",
+        "spring.flyway.enabled=true",
+        "spring.jpa.hibernate.ddl-auto=validate",
+        "studentapi.tenancy.enabled=true",
+        "studentapi.tenancy.tenants=riverside,hillside",
+        "studentapi.tenancy.url-template=jdbc:h2:mem:tenant-{tenant};DB_CLOSE_DELAY=-1",
+        "studentapi.cache.off-heap.enabled=true"
+})
+@AutoConfigureMockMvc
+class TenantIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void testStudents_ShouldBeIsolatedPerTenant() throws Exception {
+        // Arrange
+        String body = mockMvc.perform(post("/api/students")
+                        .header("X-Tenant-ID", "riverside")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"studentFirstName\":\"Tom\",\"studentLastName\":\"Cruise\","
+                                + "\"studentEmail\":\"tom.cruise@example.com\"}"))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        Long id = objectMapper.readValue(body, StudentDto.class).getId();
+
+        // Act & Assert: read twice in riverside, so the second read is served from its cache
+        mockMvc.perform(get("/api/students/" + id).header("X-Tenant-ID", "riverside"))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/api/students/" + id).header("X-Tenant-ID", "riverside"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.studentFirstName").value("Tom"));
+        mockMvc.perform(get("/api/students/" + id).header("X-Tenant-ID", "hillside"))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(get("/api/students").header("X-Tenant-ID", "hillside"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(0)));
+        mockMvc.perform(get("/api/students").header("X-Tenant-ID", "riverside"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)));
+    }
+
+    @Test
+    void testStudents_WithoutTenant_ShouldBeRejected() throws Exception {
+        // Act & Assert
+        mockMvc.perform(get("/api/students"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$[0].field").value("tenant"));
+    }
+}
@@ -0,0 +1,128 @@
+package com.example.studentapi.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+class TenantRoutingDataSourceTest {
+    private final AtomicLong now = new AtomicLong();
+
+    private final List<HikariDataSource> created = new ArrayList<>();
+
+    private final List<String> evicted = new ArrayList<>();
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final TenantRoutingDataSource routing = new TenantRoutingDataSource(mock(DataSource.class), tenant -> {
+        HikariDataSource pool = new HikariDataSource();
+        pool.setJdbcUrl("jdbc:h2:mem:routing-tenant-" + tenant);
+        pool.setUsername("sa");
+        pool.setMaximumPoolSize(1);
+        pool.setMinimumIdle(0);
+        created.add(pool);
+        return pool;
+    }, 2, evicted::add, meterRegistry, now::get);
+
+    @AfterEach
+    void tearDown() {
+        routing.close();
+    }
+
+    private Connection connect(String tenant) throws Exception {
+        try (TenantContext.Scope ignored = TenantContext.enter(tenant)) {
+            return routing.getConnection();
+        }
+    }
+
+    @Test
+    void testGetConnection_ShouldOpenOnePoolPerTenantOnDemand() throws Exception {
+        // Act
+        try (Connection first = connect("a")) {
+            first.createStatement().execute("create table marker (id int)");
+        }
+        try (Connection again = connect("a"); Connection other = connect("b")) {
+            // Assert: the table exists in tenant a's database only
+            assertTrue(again.getMetaData().getTables(null, null, "MARKER", null).next());
+            assertFalse(other.getMetaData().getTables(null, null, "MARKER", null).next());
+        }
+        assertEquals(2, routing.openPools());
+        assertEquals(2, created.size());
+        assertEquals(2.0, meterRegistry.get("students.tenancy.pools").gauge().value());
+    }
+
+    @Test
+    void testGetConnection_PoolLimitReached_ShouldCloseLeastRecentlyUsedIdlePool() throws Exception {
+        // Arrange
+        connect("a").close();
+        now.addAndGet(TimeUnit.SECONDS.toNanos(1));
+        connect("b").close();
+
+        // Act
+        now.addAndGet(TimeUnit.SECONDS.toNanos(1));
+        connect("c").close();
+
+        // Assert
+        assertFalse(routing.hasPool("a"));
+        assertTrue(routing.hasPool("b"));
+        assertTrue(routing.hasPool("c"));
+        assertTrue(created.get(0).isClosed());
+        assertEquals(List.of("a"), evicted);
+        assertEquals(1.0, meterRegistry.get("students.tenancy.pool-evictions").counter().count());
+    }
+
+    @Test
+    void testGetConnection_AllPoolsBusy_ShouldRefuseNewTenant() throws Exception {
+        // Arrange
+        try (Connection a = connect("a"); Connection b = connect("b")) {
+            // Act & Assert
+            assertThrows(SQLTransientConnectionException.class, () -> connect("c"));
+            assertTrue(routing.hasPool("a"));
+            assertTrue(routing.hasPool("b"));
+        }
+    }
+
+    @Test
+    void testEvictIdlePools_ShouldOnlyCloseUnusedIdlePools() throws Exception {
+        // Arrange
+        connect("a").close();
+        Connection busy = connect("b");
+        now.addAndGet(TimeUnit.MINUTES.toNanos(11));
+        connect("c").close();
+
+        // Act
+        routing.evictIdlePools(Duration.ofMinutes(10));
+
+        // Assert: b is as old as a, but has a connection out
+        assertFalse(routing.hasPool("a"));
+        assertTrue(routing.hasPool("b"));
+        assertTrue(routing.hasPool("c"));
+        assertEquals(List.of("a"), evicted);
+        busy.close();
+
+        // The evicted tenant transparently gets a fresh pool
+        connect("a").close();
+        assertTrue(routing.hasPool("a"));
+    }
+
+    @Test
+    void testGetConnection_NoTenant_ShouldUseDefaultDataSource() throws Exception {
+        // Act
+        routing.getConnection();
+
+        // Assert
+        assertEquals(0, routing.openPools());
+    }
+}
@@ -0,0 +1,405 @@
+package com.example.studentapi.load;
+
+import com.example.studentapi.StudentapiApplication;
+import com.example.studentapi.student.StudentDto;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+import org.springframework.boot.convert.DurationStyle;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Runs the servlet stack and the reactive stack ({@code reactive} Spring profile) under the same
+ * {@link TrafficMix} at rising numbers of concurrent connections, and reports per stack and
+ * connection count the throughput, latency percentiles and the server's footprint: peak heap,
+ * peak resident memory and threads (read from {@code /proc} on Linux, "-" elsewhere) and bytes
+ * allocated per request.
+ * <p>
+ * Every connection is a client that sends its next request as soon as the previous one is
+ * answered (a closed model, unlike {@link StudentLoadGenerator}), so the connection count is the
+ * concurrency the server has to hold. Each stack runs in its own JVM with the same heap, on a
+ * fresh in-memory H2 database, so the footprint is the server's alone.
+ * <p>
+ * {@code mvn -Preactive,load-test test-compile exec:exec -Dload.main=com.example.studentapi.load.StackComparison -Dload.args="--connections=100,1000,4000"}
+ * <p>
+ * Options, with their defaults: {@code --stacks=servlet,reactive}, {@code --connections=50,500,2000},
+ * {@code --students=1000}, {@code --warmup=10s}, {@code --duration=30s},
+ * {@code --mix=get=90,list=5,patch=4,post=1}, {@code --heap=512m},
+ * {@code --output=target/stack-comparison}. Other {@code --name=value} arguments are passed on to
+ * both applications.
+ */
+public final class StackComparison {
+
+    private static final int SEED_CONCURRENCY = 32;
+
+    private static final Duration STARTUP_TIMEOUT = Duration.ofMinutes(2);
+
+    private static final Duration SAMPLE_INTERVAL = Duration.ofMillis(500);
+
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final Options options;
+
+    private final String stack;
+
+    private final Process server;
+
+    private final URI baseUrl;
+
+    private final URI students;
+
+    private final HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+
+    // Separate, so samples are not queued behind the load
+    private final HttpClient metricsClient = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+
+    private final String runId = Long.toString(System.currentTimeMillis(), 36);
+
+    private final AtomicLong created = new AtomicLong();
+
+    private StackComparison(Options options, String stack, Process server, int port) {
+        this.options = options;
+        this.stack = stack;
+        this.server = server;
+        this.baseUrl = URI.create("http://localhost:" + port);
+        this.students = baseUrl.resolve("/api/students");
+    }
+
+    public static void main(String[] args) throws Exception {
+        Options options = Options.parse(args);
+        List<String> report = new ArrayList<>();
+        report.add(String.format(Locale.ROOT, "%-9s %11s %10s %8s %8s %9s %7s %9s %8s %8s %11s", "stack",
+                "connections", "per second", "p50 ms", "p99 ms", "p99.9 ms", "errors", "heap MB", "rss MB",
+                "threads", "alloc KB/req"));
+        for (String stack : options.stacks()) {
+            int port = freePort();
+            Process server = start(options, stack, port);
+            try {
+                StackComparison comparison = new StackComparison(options, stack, server, port);
+                comparison.awaitStartup();
+                long[] ids = comparison.seed();
+                for (int connections : options.connections()) {
+                    System.out.printf(Locale.ROOT, "%s: %d connections for %s after %s warmup%n", stack, connections,
+                            DurationStyle.SIMPLE.print(options.duration()), DurationStyle.SIMPLE.print(options.warmup()));
+                    report.add(comparison.run(connections, ids));
+                }
+            } finally {
+                server.destroy();
+                if (!server.waitFor(30, TimeUnit.SECONDS)) {
+                    server.destroyForcibly();
+                }
+            }
+        }
+        Files.createDirectories(options.output());
+        Path reportFile = options.output().resolve("report.txt");
+        Files.write(reportFile, report);
+        System.out.printf(Locale.ROOT, "%n%s%n%nMix %s, %d students, heap %s; written to %s%n", String.join("\n", report),
+                options.mix(), options.students(), options.heap(), reportFile.toAbsolutePath());
+    }
+
+    private static Process start(Options options, String stack, int port) throws IOException {
+        List<String> command = new ArrayList<>(List.of(
+                Path.of(System.getProperty("java.home"), "bin", "java").toString(),
+                "-Xms" + options.heap(), "-Xmx" + options.heap(),
+                "-cp", System.getProperty("java.class.path"),
+                StudentapiApplication.class.getName(),
+                "--server.port=" + port,
+                "--spring.datasource.url=jdbc:h2:mem:stack-comparison",
+                "--spring.flyway.enabled=true", "--spring.jpa.hibernate.ddl-auto=validate",
+                "--management.endpoints.web.exposure.include=health,metrics",
+                "--logging.level.root=WARN"));
+        if (stack.equals("reactive")) {
+            command.add("--spring.profiles.active=reactive");
+        }
+        command.addAll(options.applicationArgs());
+        Path log = options.output().resolve(stack + ".log");
+        Files.createDirectories(options.output());
+        return new ProcessBuilder(command).redirectErrorStream(true).redirectOutput(log.toFile()).start();
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    private void awaitStartup() throws InterruptedException {
+        long deadline = System.nanoTime() + STARTUP_TIMEOUT.toNanos();
+        HttpRequest health = HttpRequest.newBuilder(baseUrl.resolve("/actuator/health")).GET().build();
+        while (System.nanoTime() < deadline) {
+            if (!server.isAlive()) {
+                throw new IllegalStateException(stack + " stack exited with " + server.exitValue() + ", see "
+                        + options.output().resolve(stack + ".log"));
+            }
+            try {
+                if (metricsClient.send(health, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                    return;
+                }
+            } catch (IOException ex) {
+                // Not listening yet
+            }
+            Thread.sleep(250);
+        }
+        throw new IllegalStateException(stack + " stack did not start within " + STARTUP_TIMEOUT);
+    }
+
+    private long[] seed() {
+        long[] ids = new long[options.students()];
+        for (int from = 0; from < ids.length; from += SEED_CONCURRENCY) {
+            List<CompletableFuture<Void>> batch = new ArrayList<>();
+            for (int i = from; i < Math.min(from + SEED_CONCURRENCY, ids.length); i++) {
+                int index = i;
+                batch.add(client.sendAsync(post(), HttpResponse.BodyHandlers.ofString()).thenAccept(response -> {
+                    if (response.statusCode() != 201) {
+                        throw new IllegalStateException("Seeding answered " + response.statusCode() + ": " + response.body());
+                    }
+                    try {
+                        ids[index] = objectMapper.readValue(response.body(), StudentDto.class).getId();
+                    } catch (IOException ex) {
+                        throw new UncheckedIOException(ex);
+                    }
+                }));
+            }
+            CompletableFuture.allOf(batch.toArray(CompletableFuture[]::new)).join();
+        }
+        return ids;
+    }
+
+    /**
+     * Keeps {@code connections} requests outstanding through the warmup and the measurement, and
+     * samples the server meanwhile.
+     *
+     * @return the report line
+     */
+    private String run(int connections, long[] ids) throws Exception {
+        Recorder latencies = new Recorder(3);
+        LongAdder errors = new LongAdder();
+        long measureFrom = System.nanoTime() + options.warmup().toNanos();
+        long end = measureFrom + options.duration().toNanos();
+        List<CompletableFuture<Void>> clients = new ArrayList<>();
+        for (int i = 0; i < connections; i++) {
+            CompletableFuture<Void> done = new CompletableFuture<>();
+            send(new Random(i), ids, measureFrom, end, latencies, errors, done);
+            clients.add(done);
+        }
+
+        long nextSample = measureFrom;
+        while (System.nanoTime() < measureFrom) {
+            Thread.sleep(SAMPLE_INTERVAL.toMillis());
+        }
+        latencies.reset();
+        errors.reset();
+        double allocatedBefore = allocatedBytes();
+        Footprint footprint = new Footprint();
+        List<CompletableFuture<Void>> heapSamples = new ArrayList<>();
+        do {
+            // Read from /proc, so the samples keep coming when the server is too busy to answer
+            footprint.sampleProcess(processStatus("VmRSS") * 1024, processStatus("Threads"));
+            heapSamples.add(metricAsync("jvm.memory.used", "area:heap").thenAccept(footprint::sampleHeap));
+            nextSample += SAMPLE_INTERVAL.toNanos();
+            long wait = Math.min(nextSample, end) - System.nanoTime();
+            if (wait > 0) {
+                TimeUnit.NANOSECONDS.sleep(wait);
+            }
+        } while (System.nanoTime() < end);
+        Histogram histogram = latencies.getIntervalHistogram();
+        double allocated = Math.max(0, allocatedBytes() - allocatedBefore);
+        CompletableFuture.allOf(clients.toArray(CompletableFuture[]::new)).get(60, TimeUnit.SECONDS);
+        CompletableFuture.allOf(heapSamples.toArray(CompletableFuture[]::new)).get(60, TimeUnit.SECONDS);
+
+        long requests = histogram.getTotalCount();
+        double seconds = options.duration().toNanos() / 1e9;
+        return String.format(Locale.ROOT, "%-9s %11d %10.1f %8.2f %8.2f %9.2f %7d %9.1f %8s %8s %11.1f", stack,
+                connections, requests / seconds, histogram.getValueAtPercentile(50) / 1e6,
+                histogram.getValueAtPercentile(99) / 1e6, histogram.getValueAtPercentile(99.9) / 1e6, errors.sum(),
+                footprint.heapBytes / 1e6,
+                footprint.residentBytes < 0 ? "-" : String.format(Locale.ROOT, "%.1f", footprint.residentBytes / 1e6),
+                footprint.threads < 0 ? "-" : Long.toString(footprint.threads),
+                requests == 0 ? 0 : allocated / requests / 1024);
+    }
+
+    /**
+     * Sends requests one after the other until {@code end}, each as soon as the previous one is
+     * answered.
+     */
+    private void send(Random random, long[] ids, long measureFrom, long end, Recorder latencies, LongAdder errors,
+                      CompletableFuture<Void> done) {
+        long sent = System.nanoTime();
+        if (sent >= end) {
+            done.complete(null);
+            return;
+        }
+        TrafficMix.Operation operation = options.mix().pick(random.nextDouble());
+        client.sendAsync(request(operation, ids, random), HttpResponse.BodyHandlers.discarding())
+                .whenComplete((response, ex) -> {
+                    long answered = System.nanoTime();
+                    if (sent >= measureFrom && answered <= end) {
+                        latencies.recordValue(answered - sent);
+                        if (ex != null || response.statusCode() >= 400) {
+                            errors.increment();
+                        }
+                    }
+                    send(random, ids, measureFrom, end, latencies, errors, done);
+                });
+    }
+
+    private HttpRequest request(TrafficMix.Operation operation, long[] ids, Random random) {
+        URI student = URI.create(students + "/" + ids[random.nextInt(ids.length)]);
+        return switch (operation) {
+            case GET -> HttpRequest.newBuilder(student).GET().build();
+            case LIST -> HttpRequest.newBuilder(students).GET().build();
+            case PATCH -> HttpRequest.newBuilder(student)
+                    .header("Content-Type", "application/json")
+                    .method("PATCH", HttpRequest.BodyPublishers.ofString("{\"studentLastName\":\""
+                            + StudentLoadGenerator.letters(ThreadLocalRandom.current().nextInt(1_000_000)) + "\"}"))
+                    .build();
+            case POST -> post();
+        };
+    }
+
+    private HttpRequest post() {
+        long number = created.incrementAndGet();
+        String body = "{\"studentFirstName\":\"" + StudentLoadGenerator.letters(number) + "\",\"studentLastName\":\"Load\","
+                + "\"studentEmail\":\"load." + runId + "." + number + "@example.com\"}";
+        return HttpRequest.newBuilder(students)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+
+    /**
+     * Bytes the server has allocated, approximately: the allocation counter only advances at
+     * collections, so the heap used since the last one is added.
+     */
+    private double allocatedBytes() throws IOException, InterruptedException {
+        return metric("jvm.gc.memory.allocated", null) + metric("jvm.memory.used", "area:heap");
+    }
+
+    private double metric(String name, String tag) throws IOException, InterruptedException {
+        try {
+            return metricAsync(name, tag).get();
+        } catch (ExecutionException ex) {
+            throw new IOException("Reading " + name + " failed", ex.getCause());
+        }
+    }
+
+    /**
+     * @param tag {@code name:value} to select by, or {@code null}
+     */
+    private CompletableFuture<Double> metricAsync(String name, String tag) {
+        URI uri = baseUrl.resolve("/actuator/metrics/" + name + (tag == null ? "" : "?tag=" + tag));
+        return metricsClient.sendAsync(HttpRequest.newBuilder(uri).GET().build(), HttpResponse.BodyHandlers.ofString())
+                .thenApply(response -> {
+                    if (response.statusCode() != 200) {
+                        throw new IllegalStateException(uri + " answered " + response.statusCode());
+                    }
+                    try {
+                        JsonNode measurements = objectMapper.readTree(response.body()).path("measurements");
+                        return measurements.isEmpty() ? 0 : measurements.get(0).path("value").asDouble();
+                    } catch (IOException ex) {
+                        throw new UncheckedIOException(ex);
+                    }
+                });
+    }
+
+    /**
+     * A numeric field of the server process's {@code /proc/<pid>/status} on Linux, -1 elsewhere.
+     */
+    private long processStatus(String field) throws IOException {
+        Path status = Path.of("/proc", Long.toString(server.pid()), "status");
+        if (!Files.exists(status)) {
+            return -1;
+        }
+        for (String line : Files.readAllLines(status)) {
+            if (line.startsWith(field + ":")) {
+                return Long.parseLong(line.replaceAll("\\D", ""));
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Peaks of the server's samples during a measurement.
+     */
+    private static final class Footprint {
+
+        private double heapBytes;
+
+        private long residentBytes = -1;
+
+        private long threads = -1;
+
+        synchronized void sampleHeap(double heapBytes) {
+            this.heapBytes = Math.max(this.heapBytes, heapBytes);
+        }
+
+        synchronized void sampleProcess(long residentBytes, long threads) {
+            this.residentBytes = Math.max(this.residentBytes, residentBytes);
+            this.threads = Math.max(this.threads, threads);
+        }
+    }
+
+    record Options(List<String> stacks, int[] connections, int students, Duration warmup, Duration duration,
+                   TrafficMix mix, String heap, Path output, List<String> applicationArgs) {
+
+        private static final List<String> OWN = List.of("stacks", "connections", "students", "warmup", "duration",
+                "mix", "heap", "output");
+
+        static Options parse(String[] args) {
+            Map<String, String> values = new HashMap<>();
+            List<String> applicationArgs = new ArrayList<>();
+            for (String arg : args) {
+                int separator = arg.indexOf('=');
+                if (!arg.startsWith("--") || separator < 0) {
+                    throw new IllegalArgumentException("Expected --name=value, got " + arg);
+                }
+                String name = arg.substring(2, separator);
+                if (OWN.contains(name)) {
+                    values.put(name, arg.substring(separator + 1));
+                } else {
+                    applicationArgs.add(arg);
+                }
+            }
+            List<String> stacks = List.of(values.getOrDefault("stacks", "servlet,reactive").split(","));
+            for (String stack : stacks) {
+                if (!stack.equals("servlet") && !stack.equals("reactive")) {
+                    throw new IllegalArgumentException("--stacks must list servlet and/or reactive");
+                }
+            }
+            return new Options(stacks,
+                    Arrays.stream(values.getOrDefault("connections", "50,500,2000").split(","))
+                            .mapToInt(count -> Integer.parseInt(count.trim())).toArray(),
+                    Integer.parseInt(values.getOrDefault("students", "1000")),
+                    DurationStyle.detectAndParse(values.getOrDefault("warmup", "10s")),
+                    DurationStyle.detectAndParse(values.getOrDefault("duration", "30s")),
+                    TrafficMix.parse(values.getOrDefault("mix", "get=90,list=5,patch=4,post=1")),
+                    values.getOrDefault("heap", "512m"),
+                    Path.of(values.getOrDefault("output", "target/stack-comparison")),
+                    applicationArgs);
+        }
+    }
+}
@@ -0,0 +1,327 @@
+package com.example.studentapi.load;
+
+import com.example.studentapi.StudentapiApplication;
+import com.example.studentapi.student.StudentDto;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.testcontainers.containers.MySQLContainer;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Drives the application with a {@link TrafficMix} of requests over a seeded set of students and
+ * reports latency percentiles and throughput per operation, for sizing instances.
+ * <p>
+ * Requests arrive at a fixed average rate whether or not earlier ones have completed (an open
+ * model, as real clients behave), and latency is measured from when a request was due rather than
+ * from when it was sent. A generator that waits for responses before sending more would slow
+ * down along with the server and hide exactly the queueing it is meant to find (coordinated
+ * omission).
+ * <p>
+ * Starts the application in-process on H2 or a Testcontainers MySQL, schema from the migrations,
+ * or targets one already running with {@code --base-url}:
+ * <p>
+ * {@code mvn -Pload-test test-compile exec:exec -Dload.args="--rate=500 --duration=2m --students=10000"}
+ * <p>
+ * Options, with their defaults: {@code --base-url} (none), {@code --database=h2} (or
+ * {@code mysql}), {@code --students=1000}, {@code --rate=200} (requests per second),
+ * {@code --warmup=10s}, {@code --duration=60s}, {@code --mix=get=90,list=5,patch=4,post=1},
+ * {@code --arrivals=poisson} (or {@code uniform}), {@code --seed=42}, {@code --max-in-flight=10000},
+ * {@code --output=target/load-test}. Other {@code --name=value} arguments are passed on to an
+ * in-process application, e.g. {@code --studentapi.resilience.enabled=true}.
+ */
+public final class StudentLoadGenerator {
+
+    private static final int SEED_CONCURRENCY = 32;
+
+    private static final Duration DRAIN_TIMEOUT = Duration.ofSeconds(60);
+
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final Options options;
+
+    private final HttpClient client = HttpClient.newHttpClient();
+
+    private final URI students;
+
+    private final String runId = Long.toString(System.currentTimeMillis(), 36);
+
+    private final Map<TrafficMix.Operation, Recorder> latencies = new EnumMap<>(TrafficMix.Operation.class);
+
+    private final Map<TrafficMix.Operation, LongAdder> errors = new EnumMap<>(TrafficMix.Operation.class);
+
+    private final Map<TrafficMix.Operation, LongAdder> dropped = new EnumMap<>(TrafficMix.Operation.class);
+
+    private final AtomicLong created = new AtomicLong();
+
+    private StudentLoadGenerator(Options options, String baseUrl) {
+        this.options = options;
+        this.students = URI.create(baseUrl + "/api/students");
+        for (TrafficMix.Operation operation : TrafficMix.Operation.values()) {
+            latencies.put(operation, new Recorder(3));
+            errors.put(operation, new LongAdder());
+            dropped.put(operation, new LongAdder());
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        Options options = Options.parse(args);
+        MySQLContainer<?> mysql = null;
+        ConfigurableApplicationContext application = null;
+        try {
+            String baseUrl = options.baseUrl();
+            if (baseUrl == null) {
+                List<String> applicationArgs = new ArrayList<>(List.of("--server.port=0",
+                        "--spring.flyway.enabled=true", "--spring.jpa.hibernate.ddl-auto=validate",
+                        "--studentapi.sql-statistics.enabled=true", "--logging.level.root=WARN"));
+                if (options.database().equals("mysql")) {
+                    mysql = new MySQLContainer<>("mysql:8.3.0");
+                    mysql.start();
+                    applicationArgs.addAll(List.of("--spring.datasource.url=" + mysql.getJdbcUrl(),
+                            "--spring.datasource.username=" + mysql.getUsername(),
+                            "--spring.datasource.password=" + mysql.getPassword()));
+                } else {
+                    applicationArgs.add("--spring.datasource.url=jdbc:h2:mem:load-test");
+                }
+                applicationArgs.addAll(options.applicationArgs());
+                application = SpringApplication.run(StudentapiApplication.class, applicationArgs.toArray(String[]::new));
+                baseUrl = "http://localhost:" + ((WebServerApplicationContext) application).getWebServer().getPort();
+            }
+            new StudentLoadGenerator(options, baseUrl).run();
+        } finally {
+            if (application != null) {
+                application.close();
+            }
+            if (mysql != null) {
+                mysql.stop();
+            }
+        }
+    }
+
+    private void run() throws Exception {
+        System.out.printf(Locale.ROOT, "Seeding %d students at %s%n", options.students(), students);
+        long[] ids = seed();
+        System.out.printf(Locale.ROOT, "Offering %d requests/s (%s, %s arrivals) for %s after %s warmup%n",
+                options.rate(), options.mix(), options.arrivals(), DurationStyle.SIMPLE.print(options.duration()),
+                DurationStyle.SIMPLE.print(options.warmup()));
+        generate(ids);
+        report();
+    }
+
+    private long[] seed() throws Exception {
+        long[] ids = new long[options.students()];
+        Semaphore permits = new Semaphore(SEED_CONCURRENCY);
+        List<CompletableFuture<Void>> requests = new ArrayList<>();
+        for (int i = 0; i < ids.length; i++) {
+            int index = i;
+            permits.acquire();
+            requests.add(client.sendAsync(post(), HttpResponse.BodyHandlers.ofString())
+                    .thenAccept(response -> {
+                        if (response.statusCode() != 201) {
+                            throw new IllegalStateException("Seeding answered " + response.statusCode()
+                                    + ": " + response.body());
+                        }
+                        try {
+                            ids[index] = objectMapper.readValue(response.body(), StudentDto.class).getId();
+                        } catch (IOException ex) {
+                            throw new IllegalStateException(ex);
+                        }
+                    })
+                    .whenComplete((ignored, ex) -> permits.release()));
+        }
+        CompletableFuture.allOf(requests.toArray(CompletableFuture[]::new)).join();
+        return ids;
+    }
+
+    /**
+     * Sends requests on schedule until the end of the measurement, then waits for the
+     * outstanding ones.
+     */
+    private void generate(long[] ids) throws InterruptedException {
+        Random random = new Random(options.seed());
+        Semaphore inFlight = new Semaphore(options.maxInFlight());
+        double meanIntervalNanos = 1e9 / options.rate();
+        long start = System.nanoTime();
+        long measureFrom = start + options.warmup().toNanos();
+        long end = measureFrom + options.duration().toNanos();
+
+        long due = start;
+        while (due < end) {
+            long wait;
+            while ((wait = due - System.nanoTime()) > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            TrafficMix.Operation operation = options.mix().pick(random.nextDouble());
+            boolean measure = due >= measureFrom;
+            if (!inFlight.tryAcquire()) {
+                // The server is so far behind that the client would run out of memory or ports first
+                if (measure) {
+                    dropped.get(operation).increment();
+                }
+            } else {
+                long scheduled = due;
+                client.sendAsync(request(operation, ids, random), HttpResponse.BodyHandlers.discarding())
+                        .whenComplete((response, ex) -> {
+                            long latency = System.nanoTime() - scheduled;
+                            inFlight.release();
+                            if (measure) {
+                                latencies.get(operation).recordValue(latency);
+                                if (ex != null || response.statusCode() >= 400) {
+                                    errors.get(operation).increment();
+                                }
+                            }
+                        });
+            }
+            due += options.arrivals().equals("uniform")
+                    ? (long) meanIntervalNanos
+                    : (long) (-Math.log(1 - random.nextDouble()) * meanIntervalNanos);
+        }
+        if (!inFlight.tryAcquire(options.maxInFlight(), DRAIN_TIMEOUT.toMillis(), TimeUnit.MILLISECONDS)) {
+            System.out.printf(Locale.ROOT, "%d requests still outstanding after %s, not counted%n",
+                    options.maxInFlight() - inFlight.availablePermits(), DRAIN_TIMEOUT);
+        }
+    }
+
+    private HttpRequest request(TrafficMix.Operation operation, long[] ids, Random random) {
+        return switch (operation) {
+            case GET -> HttpRequest.newBuilder(student(ids, random)).GET().build();
+            case LIST -> HttpRequest.newBuilder(students).GET().build();
+            case PATCH -> HttpRequest.newBuilder(student(ids, random))
+                    .header("Content-Type", "application/json")
+                    .method("PATCH", HttpRequest.BodyPublishers.ofString(
+                            "{\"studentLastName\":\"" + letters(random.nextInt(1_000_000)) + "\"}"))
+                    .build();
+            case POST -> post();
+        };
+    }
+
+    private URI student(long[] ids, Random random) {
+        return URI.create(students + "/" + ids[random.nextInt(ids.length)]);
+    }
+
+    private HttpRequest post() {
+        long number = created.incrementAndGet();
+        String body = "{\"studentFirstName\":\"" + letters(number) + "\",\"studentLastName\":\"Load\","
+                + "\"studentEmail\":\"load." + runId + "." + number + "@example.com\"}";
+        return HttpRequest.newBuilder(students)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+
+    // Names may only contain letters
+    static String letters(long number) {
+        StringBuilder name = new StringBuilder("N");
+        do {
+            name.append((char) ('a' + number % 26));
+            number /= 26;
+        } while (number > 0);
+        return name.toString();
+    }
+
+    private void report() throws IOException {
+        Files.createDirectories(options.output());
+        double seconds = options.duration().toNanos() / 1e9;
+        Histogram total = new Histogram(3);
+        long totalErrors = 0;
+        long totalDropped = 0;
+        System.out.printf(Locale.ROOT, "%n%-8s %9s %7s %8s %10s %9s %9s %9s %9s %9s%n", "", "requests", "errors",
+                "dropped", "per second", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+        for (TrafficMix.Operation operation : options.mix().weights().keySet()) {
+            Histogram histogram = latencies.get(operation).getIntervalHistogram();
+            long operationErrors = errors.get(operation).sum();
+            long operationDropped = dropped.get(operation).sum();
+            printRow(operation.label(), histogram, operationErrors, operationDropped, seconds);
+            try (PrintStream out = new PrintStream(Files.newOutputStream(options.output().resolve(operation.label() + ".hgrm")))) {
+                histogram.outputPercentileDistribution(out, 1e6);
+            }
+            total.add(histogram);
+            totalErrors += operationErrors;
+            totalDropped += operationDropped;
+        }
+        printRow("total", total, totalErrors, totalDropped, seconds);
+        System.out.printf(Locale.ROOT, "%nOffered %d requests/s; percentile distributions (ms) in %s%n",
+                options.rate(), options.output().toAbsolutePath());
+    }
+
+    private static void printRow(String label, Histogram histogram, long errors, long dropped, double seconds) {
+        System.out.printf(Locale.ROOT, "%-8s %9d %7d %8d %10.1f %9.2f %9.2f %9.2f %9.2f %9.2f%n", label,
+                histogram.getTotalCount(), errors, dropped, histogram.getTotalCount() / seconds,
+                millis(histogram, 50), millis(histogram, 90), millis(histogram, 99), millis(histogram, 99.9),
+                histogram.getMaxValue() / 1e6);
+    }
+
+    private static double millis(Histogram histogram, double percentile) {
+        return histogram.getValueAtPercentile(percentile) / 1e6;
+    }
+
+    record Options(String baseUrl, String database, int students, int rate, Duration warmup, Duration duration,
+                   TrafficMix mix, String arrivals, long seed, int maxInFlight, Path output,
+                   List<String> applicationArgs) {
+
+        private static final List<String> OWN = List.of("base-url", "database", "students", "rate", "warmup",
+                "duration", "mix", "arrivals", "seed", "max-in-flight", "output");
+
+        static Options parse(String[] args) {
+            Map<String, String> values = new HashMap<>();
+            List<String> applicationArgs = new ArrayList<>();
+            for (String arg : args) {
+                int separator = arg.indexOf('=');
+                if (!arg.startsWith("--") || separator < 0) {
+                    throw new IllegalArgumentException("Expected --name=value, got " + arg);
+                }
+                String name = arg.substring(2, separator);
+                if (OWN.contains(name)) {
+                    values.put(name, arg.substring(separator + 1));
+                } else {
+                    applicationArgs.add(arg);
+                }
+            }
+            String database = values.getOrDefault("database", "h2");
+            if (!database.equals("h2") && !database.equals("mysql")) {
+                throw new IllegalArgumentException("--database must be h2 or mysql");
+            }
+            String arrivals = values.getOrDefault("arrivals", "poisson");
+            if (!arrivals.equals("poisson") && !arrivals.equals("uniform")) {
+                throw new IllegalArgumentException("--arrivals must be poisson or uniform");
+            }
+            return new Options(values.get("base-url"), database,
+                    Integer.parseInt(values.getOrDefault("students", "1000")),
+                    Integer.parseInt(values.getOrDefault("rate", "200")),
+                    DurationStyle.detectAndParse(values.getOrDefault("warmup", "10s")),
+                    DurationStyle.detectAndParse(values.getOrDefault("duration", "60s")),
+                    TrafficMix.parse(values.getOrDefault("mix", "get=90,list=5,patch=4,post=1")),
+                    arrivals,
+                    Long.parseLong(values.getOrDefault("seed", "42")),
+                    Integer.parseInt(values.getOrDefault("max-in-flight", "10000")),
+                    Path.of(values.getOrDefault("output", "target/load-test")),
+                    applicationArgs);
+        }
+    }
+}
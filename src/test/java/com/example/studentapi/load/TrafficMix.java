@@ -0,0 +1,94 @@
+package com.example.studentapi.load;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Share of each {@link Operation} in the generated traffic, from a spec such as
+ * {@code get=90,list=5,patch=4,post=1}. Weights are relative, so they need not add up to 100.
+ */
+final class TrafficMix {
+
+    enum Operation {
+        /** {@code GET /api/students/{id}} of a seeded student */
+        GET,
+        /** {@code GET /api/students} */
+        LIST,
+        /** {@code PATCH /api/students/{id}} of a seeded student's last name */
+        PATCH,
+        /** {@code POST /api/students} of a new student */
+        POST;
+
+        String label() {
+            return name().toLowerCase(Locale.ROOT);
+        }
+    }
+
+    private final Map<Operation, Integer> weights;
+
+    private final int total;
+
+    private TrafficMix(Map<Operation, Integer> weights) {
+        this.weights = Collections.unmodifiableMap(weights);
+        this.total = weights.values().stream().mapToInt(Integer::intValue).sum();
+    }
+
+    static TrafficMix parse(String spec) {
+        Map<Operation, Integer> weights = new EnumMap<>(Operation.class);
+        for (String part : spec.split(",")) {
+            String[] entry = part.trim().split("=");
+            if (entry.length != 2) {
+                throw new IllegalArgumentException("Expected operation=weight, got '" + part + "' in " + spec);
+            }
+            Operation operation;
+            try {
+                operation = Operation.valueOf(entry[0].trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException ex) {
+                throw new IllegalArgumentException("Unknown operation '" + entry[0] + "', expected get, list, patch or post");
+            }
+            int weight = Integer.parseInt(entry[1].trim());
+            if (weight < 0) {
+                throw new IllegalArgumentException("Negative weight for " + operation.label());
+            }
+            weights.merge(operation, weight, Integer::sum);
+        }
+        TrafficMix mix = new TrafficMix(weights);
+        if (mix.total == 0) {
+            throw new IllegalArgumentException("Traffic mix " + spec + " has no weight");
+        }
+        return mix;
+    }
+
+    /**
+     * @param uniform a random number in [0, 1)
+     */
+    Operation pick(double uniform) {
+        double point = uniform * total;
+        Operation last = null;
+        for (Map.Entry<Operation, Integer> entry : weights.entrySet()) {
+            if (entry.getValue() == 0) {
+                continue;
+            }
+            last = entry.getKey();
+            point -= entry.getValue();
+            if (point < 0) {
+                return last;
+            }
+        }
+        return last;
+    }
+
+    Map<Operation, Integer> weights() {
+        return weights;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder text = new StringBuilder();
+        weights.forEach((operation, weight) -> text.append(text.length() == 0 ? "" : ",")
+                .append(operation.label()).append('=').append(weight));
+        return text.toString();
+    }
+}
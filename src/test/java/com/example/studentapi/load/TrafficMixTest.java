@@ -0,0 +1,50 @@
+package com.example.studentapi.load;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TrafficMixTest {
+
+    @Test
+    void testPick_ShouldFollowWeights() {
+        // Arrange
+        TrafficMix mix = TrafficMix.parse("get=90, list=5, patch=4, post=1");
+        Random random = new Random(42);
+        Map<TrafficMix.Operation, Integer> picked = new EnumMap<>(TrafficMix.Operation.class);
+
+        // Act
+        for (int i = 0; i < 100_000; i++) {
+            picked.merge(mix.pick(random.nextDouble()), 1, Integer::sum);
+        }
+
+        // Assert
+        assertEquals(90_000, picked.get(TrafficMix.Operation.GET), 1_000);
+        assertEquals(5_000, picked.get(TrafficMix.Operation.LIST), 500);
+        assertEquals(4_000, picked.get(TrafficMix.Operation.PATCH), 500);
+        assertEquals(1_000, picked.get(TrafficMix.Operation.POST), 200);
+    }
+
+    @Test
+    void testPick_ZeroWeight_ShouldNeverPickOperation() {
+        // Arrange
+        TrafficMix mix = TrafficMix.parse("get=0,post=3");
+
+        // Act & Assert
+        assertEquals(TrafficMix.Operation.POST, mix.pick(0.0));
+        assertEquals(TrafficMix.Operation.POST, mix.pick(0.999999));
+        assertEquals("get=0,post=3", mix.toString());
+    }
+
+    @Test
+    void testParse_InvalidSpec_ShouldThrowIllegalArgumentException() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> TrafficMix.parse("get=90,delete=10"));
+        assertThrows(IllegalArgumentException.class, () -> TrafficMix.parse("get"));
+        assertThrows(IllegalArgumentException.class, () -> TrafficMix.parse("get=0,list=0"));
+    }
+}
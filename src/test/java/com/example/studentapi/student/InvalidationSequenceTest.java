@@ -0,0 +1,72 @@
+package com.example.studentapi.student;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InvalidationSequenceTest {
+    private static final long TIMEOUT = TimeUnit.SECONDS.toNanos(5);
+
+    private final InvalidationSequence sequence = new InvalidationSequence();
+
+    @Test
+    void testMarkSeen_OutOfOrderAndDuplicates_ShouldAdvanceContiguously() {
+        // Arrange
+        sequence.reset(10);
+
+        // Act & Assert
+        assertTrue(sequence.markSeen(12, 0));
+        assertEquals(10, sequence.contiguous());
+        assertEquals(1, sequence.missing());
+        assertFalse(sequence.markSeen(12, 0));
+        assertFalse(sequence.markSeen(9, 0));
+        assertTrue(sequence.markSeen(11, 0));
+        assertEquals(12, sequence.contiguous());
+        assertEquals(0, sequence.missing());
+    }
+
+    @Test
+    void testSkipStaleGap_HoleOlderThanTimeout_ShouldSkipIt() {
+        // Arrange
+        sequence.reset(0);
+        sequence.markSeen(2, 0);
+
+        // Act & Assert
+        assertFalse(sequence.skipStaleGap(TIMEOUT - 1, TIMEOUT));
+        assertTrue(sequence.skipStaleGap(TIMEOUT, TIMEOUT));
+        assertEquals(2, sequence.contiguous());
+        assertFalse(sequence.markSeen(1, TIMEOUT));
+    }
+
+    @Test
+    void testSkipStaleGap_HoleFilledInTime_ShouldTimeNextHoleAfresh() {
+        // Arrange: 1 is late, 3 is lost
+        sequence.reset(0);
+        sequence.markSeen(2, 0);
+        sequence.markSeen(4, 0);
+
+        // Act
+        sequence.markSeen(1, TIMEOUT - 1);
+
+        // Assert
+        assertFalse(sequence.skipStaleGap(TIMEOUT, TIMEOUT));
+        assertTrue(sequence.skipStaleGap(2 * TIMEOUT, TIMEOUT));
+        assertEquals(4, sequence.contiguous());
+    }
+
+    @Test
+    void testExpect_VersionsNeverReceived_ShouldCountAsHole() {
+        // Arrange
+        sequence.reset(5);
+
+        // Act
+        sequence.expect(7, 0);
+
+        // Assert
+        assertEquals(2, sequence.missing());
+        assertTrue(sequence.skipStaleGap(TIMEOUT, TIMEOUT));
+        assertEquals(7, sequence.contiguous());
+    }
+}
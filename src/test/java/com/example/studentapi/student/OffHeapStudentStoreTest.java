@@ -0,0 +1,170 @@
+package com.example.studentapi.student;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OffHeapStudentStoreTest {
+
+    @Test
+    void testPutAndGet_ShouldRoundTripAllFields() {
+        // Arrange
+        OffHeapStudentStore store = new OffHeapStudentStore(10);
+        StudentDto student = new StudentDto(42L, "Zoë", "Brontë", "zoe@example.com");
+
+        // Act
+        store.put(student, 1);
+        Optional<StudentDto> result = store.get(42L);
+
+        // Assert
+        assertEquals(Optional.of(student), result);
+        assertEquals(1, store.size());
+        assertTrue(store.get(43L).isEmpty());
+    }
+
+    @Test
+    void testPut_NullField_ShouldRoundTripNull() {
+        // Arrange
+        OffHeapStudentStore store = new OffHeapStudentStore(10);
+
+        // Act
+        store.put(new StudentDto(1L, "Tom", null, ""), 1);
+
+        // Assert
+        StudentDto result = store.get(1L).orElseThrow();
+        assertNull(result.getStudentLastName());
+        assertEquals("", result.getStudentEmail());
+    }
+
+    @Test
+    void testPutIfUnchanged_ShouldNotOverwriteExistingEntry() {
+        // Arrange
+        OffHeapStudentStore store = new OffHeapStudentStore(10);
+        store.put(new StudentDto(1L, "Thomas", "Cruise", "tom.cruise@example.com"), 2);
+
+        // Act
+        store.putIfUnchanged(new StudentDto(1L, "Tom", "Cruise", "tom.cruise@example.com"), 1, store.stamp(1L));
+
+        // Assert
+        assertEquals("Thomas", store.get(1L).orElseThrow().getStudentFirstName());
+    }
+
+    @Test
+    void testPutIfUnchanged_EvictedSinceStamp_ShouldNotCacheStaleRead() {
+        // Arrange: a read starts, then a delete commits and evicts before the read is cached
+        OffHeapStudentStore store = new OffHeapStudentStore(10);
+        long stamp = store.stamp(1L);
+        store.evict(1L);
+
+        // Act
+        store.putIfUnchanged(new StudentDto(1L, "Tom", "Cruise", "tom.cruise@example.com"), 1, stamp);
+
+        // Assert
+        assertTrue(store.get(1L).isEmpty());
+        store.putIfUnchanged(new StudentDto(1L, "Tom", "Cruise", "tom.cruise@example.com"), 1, store.stamp(1L));
+        assertTrue(store.get(1L).isPresent());
+    }
+
+    @Test
+    void testPut_OlderChangeSequence_ShouldKeepNewerState() {
+        // Arrange: the after-commit listener of the later write ran first
+        OffHeapStudentStore store = new OffHeapStudentStore(10);
+        store.put(new StudentDto(1L, "Thomas", "Cruise", "tom.cruise@example.com"), 5);
+
+        // Act
+        store.put(new StudentDto(1L, "Tom", "Cruise", "tom.cruise@example.com"), 4);
+
+        // Assert
+        assertEquals("Thomas", store.get(1L).orElseThrow().getStudentFirstName());
+        store.put(new StudentDto(1L, "Tommy", "Cruise", "tom.cruise@example.com"), 6);
+        assertEquals("Tommy", store.get(1L).orElseThrow().getStudentFirstName());
+    }
+
+    @Test
+    void testPut_OlderThanDelete_ShouldNotBringStudentBack() {
+        // Arrange
+        OffHeapStudentStore store = new OffHeapStudentStore(10);
+        store.put(new StudentDto(1L, "Tom", "Cruise", "tom.cruise@example.com"), 4);
+        store.delete(1L, 6);
+
+        // Act
+        store.put(new StudentDto(1L, "Thomas", "Cruise", "tom.cruise@example.com"), 5);
+
+        // Assert
+        assertTrue(store.get(1L).isEmpty());
+        assertEquals(0, store.size());
+    }
+
+    @Test
+    void testPut_OversizedField_ShouldNotCacheAndDropOldCopy() {
+        // Arrange
+        OffHeapStudentStore store = new OffHeapStudentStore(10);
+        store.put(new StudentDto(1L, "Tom", "Cruise", "tom.cruise@example.com"), 1);
+        String longName = "a".repeat(OffHeapStudentStore.FIRST_NAME_CAPACITY + 1);
+
+        // Act
+        store.put(new StudentDto(1L, longName, "Cruise", "tom.cruise@example.com"), 2);
+
+        // Assert
+        assertTrue(store.get(1L).isEmpty());
+    }
+
+    @Test
+    void testEvict_ShouldRemoveEntryAndKeepCollidingEntriesReachable() {
+        // Arrange
+        OffHeapStudentStore store = new OffHeapStudentStore(1000);
+        for (long id = 1; id <= 1000; id++) {
+            store.put(new StudentDto(id, "First", "Last", id + "@example.com"), id);
+        }
+
+        // Act
+        for (long id = 1; id <= 1000; id += 2) {
+            store.evict(id);
+        }
+
+        // Assert
+        assertEquals(500, store.size());
+        for (long id = 1; id <= 1000; id++) {
+            assertEquals(id % 2 == 0, store.get(id).isPresent(), "id " + id);
+        }
+    }
+
+    @Test
+    void testPut_WhenFull_ShouldRecycleSlots() {
+        // Arrange
+        OffHeapStudentStore store = new OffHeapStudentStore(2);
+
+        // Act
+        store.put(new StudentDto(1L, "Tom", "Cruise", "tom.cruise@example.com"), 1);
+        store.put(new StudentDto(2L, "Will", "Smith", "will.smith@example.com"), 2);
+        store.put(new StudentDto(3L, "Brad", "Pitt", "brad.pitt@example.com"), 3);
+
+        // Assert
+        assertEquals(2, store.size());
+        assertTrue(store.get(1L).isEmpty());
+        assertEquals("Brad", store.get(3L).orElseThrow().getStudentFirstName());
+        assertEquals(2L * OffHeapStudentStore.SLOT_SIZE, store.offHeapBytes());
+    }
+
+    @Test
+    void testClear_ShouldDropEveryEntryAndReuseSlots() {
+        // Arrange
+        OffHeapStudentStore store = new OffHeapStudentStore(2);
+        store.put(new StudentDto(1L, "Tom", "Cruise", "tom@example.com"), 1);
+        store.put(new StudentDto(2L, "Brad", "Pitt", "brad@example.com"), 2);
+        long allocated = store.offHeapBytes();
+
+        // Act
+        store.clear();
+        store.put(new StudentDto(3L, "Meryl", "Streep", "meryl@example.com"), 3);
+
+        // Assert
+        assertTrue(store.get(1L).isEmpty());
+        assertTrue(store.get(2L).isEmpty());
+        assertEquals("Meryl", store.get(3L).orElseThrow().getStudentFirstName());
+        assertEquals(1, store.size());
+        assertEquals(allocated, store.offHeapBytes());
+    }
+}
@@ -0,0 +1,120 @@
+package com.example.studentapi.student;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * Checked-in benchmark results per operation, and their comparison with a new run. Throughput
+ * varies with the machine and its load, so it gets a loose tolerance; bytes allocated per
+ * operation, from the GC profiler, barely vary and get a tight one.
+ */
+final class PerformanceBaseline {
+
+    private static final String THROUGHPUT = "throughput";
+
+    private static final String ALLOCATED_BYTES = "allocated-bytes";
+
+    /**
+     * @param throughput     operations per second
+     * @param allocatedBytes bytes allocated per operation
+     */
+    record Result(double throughput, double allocatedBytes) {
+    }
+
+    /**
+     * @param change relative change, positive when the current run is better
+     */
+    record Row(String operation, String metric, Double baseline, Double current, double change, String verdict) {
+
+        boolean isRegression() {
+            return !verdict.equals("ok") && !verdict.equals("new");
+        }
+    }
+
+    private PerformanceBaseline() {
+    }
+
+    static Map<String, Result> load(Path file) throws IOException {
+        Properties properties = new Properties();
+        try (Reader reader = Files.newBufferedReader(file)) {
+            properties.load(reader);
+        }
+        Map<String, Result> results = new TreeMap<>();
+        for (String name : properties.stringPropertyNames()) {
+            if (name.endsWith("." + THROUGHPUT)) {
+                String operation = name.substring(0, name.length() - THROUGHPUT.length() - 1);
+                results.put(operation, new Result(Double.parseDouble(properties.getProperty(name)),
+                        Double.parseDouble(properties.getProperty(operation + "." + ALLOCATED_BYTES))));
+            }
+        }
+        return results;
+    }
+
+    static void store(Path file, Map<String, Result> results, String comment) throws IOException {
+        Files.createDirectories(file.toAbsolutePath().getParent());
+        try (Writer writer = Files.newBufferedWriter(file)) {
+            writer.write("# " + comment + System.lineSeparator());
+            for (Map.Entry<String, Result> entry : new TreeMap<>(results).entrySet()) {
+                writer.write(String.format(Locale.ROOT, "%s.%s=%.1f%n%s.%s=%.1f%n",
+                        entry.getKey(), THROUGHPUT, entry.getValue().throughput(),
+                        entry.getKey(), ALLOCATED_BYTES, entry.getValue().allocatedBytes()));
+            }
+        }
+    }
+
+    /**
+     * @param throughputTolerance share of the baseline throughput that may be lost, e.g. 0.25
+     * @param allocationTolerance share of the baseline allocation that may be added, e.g. 0.10
+     */
+    static List<Row> compare(Map<String, Result> baseline, Map<String, Result> current,
+                             double throughputTolerance, double allocationTolerance) {
+        List<Row> rows = new ArrayList<>();
+        TreeSet<String> operations = new TreeSet<>(baseline.keySet());
+        operations.addAll(current.keySet());
+        for (String operation : operations) {
+            Result before = baseline.get(operation);
+            Result after = current.get(operation);
+            if (after == null) {
+                rows.add(new Row(operation, THROUGHPUT, before.throughput(), null, 0, "not run"));
+                continue;
+            }
+            if (before == null) {
+                rows.add(new Row(operation, THROUGHPUT, null, after.throughput(), 0, "new"));
+                rows.add(new Row(operation, ALLOCATED_BYTES, null, after.allocatedBytes(), 0, "new"));
+                continue;
+            }
+            double throughputChange = after.throughput() / before.throughput() - 1;
+            rows.add(new Row(operation, THROUGHPUT, before.throughput(), after.throughput(), throughputChange,
+                    throughputChange < -throughputTolerance ? "slower" : "ok"));
+            // Fewer bytes are better, so the sign is flipped to match throughput
+            double allocationChange = 1 - after.allocatedBytes() / before.allocatedBytes();
+            rows.add(new Row(operation, ALLOCATED_BYTES, before.allocatedBytes(), after.allocatedBytes(), allocationChange,
+                    allocationChange < -allocationTolerance ? "allocates more" : "ok"));
+        }
+        return rows;
+    }
+
+    static String format(List<Row> rows) {
+        StringBuilder report = new StringBuilder(String.format(Locale.ROOT, "%-16s %-16s %14s %14s %9s  %s%n",
+                "operation", "metric", "baseline", "current", "change", "verdict"));
+        for (Row row : rows) {
+            report.append(String.format(Locale.ROOT, "%-16s %-16s %14s %14s %8.1f%%  %s%n", row.operation(),
+                    row.metric(), number(row.baseline()), number(row.current()), row.change() * 100, row.verdict()));
+        }
+        return report.toString();
+    }
+
+    private static String number(Double value) {
+        return value == null ? "-" : String.format(Locale.ROOT, "%.1f", value);
+    }
+}
@@ -0,0 +1,60 @@
+package com.example.studentapi.student;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PerformanceBaselineTest {
+
+    @Test
+    void testCompare_BeyondTolerance_ShouldFlagRegressions() {
+        // Arrange
+        Map<String, PerformanceBaseline.Result> baseline = Map.of(
+                "get", new PerformanceBaseline.Result(10_000, 10_000),
+                "list", new PerformanceBaseline.Result(100, 1_000_000));
+        Map<String, PerformanceBaseline.Result> current = Map.of(
+                "get", new PerformanceBaseline.Result(8_000, 10_500),
+                "list", new PerformanceBaseline.Result(60, 1_200_000));
+
+        // Act
+        List<PerformanceBaseline.Row> rows = PerformanceBaseline.compare(baseline, current, 0.25, 0.10);
+
+        // Assert: get is 20% slower and allocates 5% more, both within tolerance
+        assertEquals(List.of("ok", "ok", "slower", "allocates more"),
+                rows.stream().map(PerformanceBaseline.Row::verdict).toList());
+        assertEquals(-0.2, rows.get(0).change(), 1e-9);
+        assertEquals(-0.05, rows.get(1).change(), 1e-9);
+    }
+
+    @Test
+    void testCompare_MissingOrNewOperation_ShouldOnlyFailMissing() {
+        // Arrange
+        Map<String, PerformanceBaseline.Result> baseline = Map.of("createAndDelete", new PerformanceBaseline.Result(500, 50_000));
+        Map<String, PerformanceBaseline.Result> current = Map.of("create", new PerformanceBaseline.Result(900, 40_000));
+
+        // Act
+        List<PerformanceBaseline.Row> rows = PerformanceBaseline.compare(baseline, current, 0.25, 0.10);
+
+        // Assert
+        assertEquals(List.of(false, false, true), rows.stream().map(PerformanceBaseline.Row::isRegression).toList());
+        assertTrue(PerformanceBaseline.format(rows).contains("not run"));
+    }
+
+    @Test
+    void testStoreAndLoad_ShouldRoundTripResults(@TempDir Path directory) throws Exception {
+        // Arrange
+        Path file = directory.resolve("baseline.properties");
+        Map<String, PerformanceBaseline.Result> results = Map.of("get", new PerformanceBaseline.Result(14074.4, 11831.8));
+
+        // Act
+        PerformanceBaseline.store(file, results, "test");
+
+        // Assert
+        assertEquals(results, PerformanceBaseline.load(file));
+    }
+}
@@ -0,0 +1,75 @@
+package com.example.studentapi.student;
+
+import com.example.studentapi.commons.ResourceNotFoundException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReadModelStudentServiceTest {
+    @Mock
+    private StudentServiceImpl delegate;
+
+    @Mock
+    private StudentReadModel readModel;
+
+    @InjectMocks
+    private ReadModelStudentService studentService;
+
+    @Test
+    void testGetStudentById_LoadedReadModel_ShouldNotCallDelegate() {
+        // Arrange
+        StudentDto student = new StudentDto(1L, "Tom", "Cruise", "tom.cruise@example.com");
+        when(readModel.isLoaded()).thenReturn(true);
+        when(readModel.findById(1L)).thenReturn(Optional.of(student));
+
+        // Act
+        StudentDto result = studentService.getStudentById(1L);
+
+        // Assert
+        assertEquals(student, result);
+        verifyNoInteractions(delegate);
+    }
+
+    @Test
+    void testGetStudentById_UnknownId_ShouldThrowResourceNotFoundException() {
+        // Arrange
+        when(readModel.isLoaded()).thenReturn(true);
+        when(readModel.findById(9L)).thenReturn(Optional.empty());
+
+        // Act and Assert
+        assertThrows(ResourceNotFoundException.class, () -> studentService.getStudentById(9L));
+    }
+
+    @Test
+    void testGetAllStudents_ReadModelNotLoaded_ShouldFallBackToDelegate() {
+        // Arrange
+        List<StudentDto> students = List.of(new StudentDto(1L, "Tom", "Cruise", "tom.cruise@example.com"));
+        when(readModel.isLoaded()).thenReturn(false);
+        when(delegate.getAllStudents()).thenReturn(students);
+
+        // Act and Assert
+        assertEquals(students, studentService.getAllStudents());
+    }
+
+    @Test
+    void testCreateStudent_ShouldDelegateWrite() {
+        // Arrange
+        StudentDto studentDto = new StudentDto(null, "Tom", "Cruise", "tom.cruise@example.com");
+
+        // Act
+        studentService.createStudent(studentDto);
+
+        // Assert
+        verify(delegate, times(1)).createStudent(studentDto);
+        verifyNoInteractions(readModel);
+    }
+}
@@ -0,0 +1,125 @@
+package com.example.studentapi.student;
+
+import com.example.studentapi.commons.CircuitBreaker;
+import com.example.studentapi.commons.CircuitOpenException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.http.server.ServletServerHttpResponse;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ResilientStudentServiceTest {
+    private final StudentDto student = new StudentDto(1L, "Tom", "Cruise", "tom.cruise@example.com");
+
+    private final MockHttpServletRequest request = new MockHttpServletRequest();
+
+    @Mock
+    private StudentServiceImpl delegate;
+
+    private ResilientStudentService studentService;
+
+    @BeforeEach
+    void setUp() {
+        // Every cached read goes back to the database, so failures are served from the cache
+        studentService = new ResilientStudentService(delegate, new MockEnvironment(), new SimpleMeterRegistry(),
+                Duration.ZERO, Duration.ZERO, Duration.ofMinutes(10), 100, 2, Duration.ofMinutes(1), Duration.ofMinutes(1));
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+    }
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+        studentService.destroy();
+    }
+
+    @Test
+    void testGetStudentById_DatabaseFailing_ShouldServeCachedWithWarning() throws Exception {
+        // Arrange
+        when(delegate.getStudentById(1L))
+                .thenReturn(student)
+                .thenThrow(new DataAccessResourceFailureException("connection refused"));
+        studentService.getStudentById(1L);
+
+        // Act
+        StudentDto afterFailure = studentService.getStudentById(1L);
+        StudentDto afterFailures = studentService.getStudentById(1L);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        ServletServerHttpResponse serverResponse = new ServletServerHttpResponse(response);
+        new StaleResponseAdvice().beforeBodyWrite(afterFailures, null, MediaType.APPLICATION_JSON, null,
+                new ServletServerHttpRequest(request), serverResponse);
+        serverResponse.flush();
+
+        // Assert
+        assertEquals(student, afterFailure);
+        assertEquals(student, afterFailures);
+        assertEquals(CircuitBreaker.State.OPEN, studentService.circuitState());
+        assertEquals(StaleResponseAdvice.REVALIDATION_FAILED_WARNING, response.getHeader(HttpHeaders.WARNING));
+        assertNotNull(response.getHeader(HttpHeaders.AGE));
+    }
+
+    @Test
+    void testGetAllStudents_CircuitOpenWithoutCachedList_ShouldThrowCircuitOpenException() {
+        // Arrange
+        when(delegate.getStudentById(anyLong())).thenThrow(new DataAccessResourceFailureException("connection refused"));
+        assertThrows(DataAccessResourceFailureException.class, () -> studentService.getStudentById(1L));
+        assertThrows(DataAccessResourceFailureException.class, () -> studentService.getStudentById(2L));
+
+        // Act & Assert
+        assertThrows(CircuitOpenException.class, () -> studentService.getAllStudents());
+        verify(delegate, never()).getAllStudents();
+    }
+
+    @Test
+    void testOnStudentChanged_Updated_ShouldReplaceCachedStudentAndDropList() {
+        // Arrange
+        StudentDto updated = new StudentDto(1L, "Tom", "Hanks", "tom.hanks@example.com");
+        when(delegate.getStudentById(1L))
+                .thenReturn(student)
+                .thenThrow(new DataAccessResourceFailureException("connection refused"));
+        when(delegate.getAllStudents())
+                .thenReturn(List.of(student))
+                .thenReturn(List.of(updated));
+        studentService.getStudentById(1L);
+        studentService.getAllStudents();
+
+        // Act
+        studentService.onStudentChanged(new StudentChangedEvent(StudentChangedEvent.Type.UPDATED, 1L, updated, 2L));
+
+        // Assert
+        assertEquals(updated, studentService.getStudentById(1L));
+        assertEquals(List.of(updated), studentService.getAllStudents());
+    }
+
+    @Test
+    void testOnStudentChanged_OlderChangeSequence_ShouldKeepNewerStudent() {
+        // Arrange: The after-commit listener of the later write ran first
+        StudentDto newer = new StudentDto(1L, "Tom", "Hanks", "tom.hanks@example.com");
+        when(delegate.getStudentById(1L)).thenThrow(new DataAccessResourceFailureException("connection refused"));
+        studentService.onStudentChanged(new StudentChangedEvent(StudentChangedEvent.Type.UPDATED, 1L, newer, 5L));
+
+        // Act
+        studentService.onStudentChanged(new StudentChangedEvent(StudentChangedEvent.Type.UPDATED, 1L, student, 4L));
+
+        // Assert
+        assertEquals(newer, studentService.getStudentById(1L));
+    }
+}
@@ -0,0 +1,90 @@
+package com.example.studentapi.student;
+
+import com.example.studentapi.commons.ValidationException;
+import com.example.studentapi.datasource.RangeShardStrategy;
+import com.example.studentapi.datasource.ShardContext;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class ShardedStudentServiceTest {
+    private final StudentServiceImpl delegate = mock(StudentServiceImpl.class);
+
+    private final StudentIds studentIds = new StudentIds(1);
+
+    // Shard 0 holds ids below 100, shard 1 the rest
+    private final ShardedStudentService service = new ShardedStudentService(delegate,
+            new RangeShardStrategy(new long[]{100}), mock(StudentChangeTracker.class), studentIds);
+
+    @AfterEach
+    void tearDown() {
+        service.destroy();
+    }
+
+    @Test
+    void testGetStudentById_ShouldRunOnOwningShard() {
+        // Arrange
+        when(delegate.getStudentById(150L)).thenAnswer(invocation ->
+                new StudentDto(150L, "Shard" + ShardContext.current(), "Cruise", "tom.cruise@example.com"));
+
+        // Act
+        StudentDto result = service.getStudentById(150L);
+
+        // Assert
+        assertEquals("Shard1", result.getStudentFirstName());
+        assertNull(ShardContext.current());
+    }
+
+    @Test
+    void testGetAllStudents_ShouldMergeAllShardsById() {
+        // Arrange
+        when(delegate.getAllStudents()).thenAnswer(invocation -> ShardContext.current() == 0
+                ? List.of(student(30L), student(10L))
+                : List.of(student(120L), student(20L)));
+
+        // Act
+        List<StudentDto> result = service.getAllStudents();
+
+        // Assert
+        assertEquals(List.of(10L, 20L, 30L, 120L), result.stream().map(StudentDto::getId).toList());
+    }
+
+    @Test
+    void testCreateStudent_ShouldInsertOnShardOfPreassignedId() {
+        // Arrange: ids are far above 100, so they belong to shard 1
+        when(delegate.createStudent(any(StudentDto.class))).thenAnswer(invocation ->
+                new StudentDto(studentIds.take(), "Shard" + ShardContext.current(), null, null));
+
+        // Act
+        StudentDto result = service.createStudent(new StudentDto(null, "Tom", "Cruise", "tom.cruise@example.com"));
+
+        // Assert
+        assertEquals("Shard1", result.getStudentFirstName());
+        assertTrue(result.getId() >= 100);
+    }
+
+    @Test
+    void testGetStudentsChangedSince_ShouldBeRejected() {
+        // Act & Assert
+        assertThrows(ValidationException.class, () -> service.getStudentsChangedSince(0));
+        verifyNoInteractions(delegate);
+    }
+
+    @Test
+    void testMerge_ShouldHandleEmptyLists() {
+        // Act
+        List<StudentDto> result = ShardedStudentService.merge(List.of(List.of(), List.of(student(1L)), List.of()));
+
+        // Assert
+        assertEquals(1, result.size());
+    }
+
+    private static StudentDto student(long id) {
+        return new StudentDto(id, "Tom", "Cruise", "tom.cruise@example.com");
+    }
+}
@@ -0,0 +1,84 @@
+package com.example.studentapi.student;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares an on-heap {@code ConcurrentHashMap<Long, StudentDto>} with {@link OffHeapStudentStore}.
+ * Besides lookup throughput, each trial prints the retained heap of the populated cache and the
+ * GC pause time accumulated while the benchmark ran.
+ * <p>
+ * {@code mvn -Pbenchmark test-compile exec:exec -Djmh.args="StudentCacheBenchmark -prof gc"}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx4g"})
+public class StudentCacheBenchmark {
+
+    @Param({"1000000"})
+    private int records;
+
+    @Param({"heap", "off-heap"})
+    private String store;
+
+    private Map<Long, StudentDto> heapMap;
+
+    private OffHeapStudentStore offHeapStore;
+
+    private long gcMillisAtStart;
+
+    @Setup(Level.Trial)
+    public void populate() {
+        long heapBefore = usedHeapAfterGc();
+        if (store.equals("heap")) {
+            heapMap = new ConcurrentHashMap<>(records * 2);
+            for (long id = 1; id <= records; id++) {
+                heapMap.put(id, student(id));
+            }
+        } else {
+            offHeapStore = new OffHeapStudentStore(records);
+            for (long id = 1; id <= records; id++) {
+                offHeapStore.put(student(id), id);
+            }
+        }
+        long retained = usedHeapAfterGc() - heapBefore;
+        System.out.printf("%n[%s] retained heap for %d records: %d MB%n", store, records, retained >> 20);
+        gcMillisAtStart = gcMillis();
+    }
+
+    @TearDown(Level.Trial)
+    public void reportGc() {
+        System.out.printf("%n[%s] GC time during measurement: %d ms%n", store, gcMillis() - gcMillisAtStart);
+    }
+
+    @Benchmark
+    public StudentDto get() {
+        long id = ThreadLocalRandom.current().nextLong(1, records + 1);
+        return heapMap != null ? heapMap.get(id) : offHeapStore.get(id).orElse(null);
+    }
+
+    private static StudentDto student(long id) {
+        return new StudentDto(id, "First" + id, "Last" + id, "student" + id + "@example.com");
+    }
+
+    private static long usedHeapAfterGc() {
+        System.gc();
+        System.gc();
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+
+    private static long gcMillis() {
+        return ManagementFactory.getGarbageCollectorMXBeans().stream()
+                .mapToLong(GarbageCollectorMXBean::getCollectionTime)
+                .sum();
+    }
+}
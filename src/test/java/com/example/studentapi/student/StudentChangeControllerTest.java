@@ -0,0 +1,85 @@
+package com.example.studentapi.student;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.time.Duration;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.not;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+class StudentChangeControllerTest {
+    private StudentChangeFeed changeFeed;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        changeFeed = new StudentChangeFeed(100, 100, 1, Duration.ofSeconds(1), new SimpleMeterRegistry());
+        mockMvc = MockMvcBuilders.standaloneSetup(new StudentChangeController(changeFeed)).build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        changeFeed.destroy();
+    }
+
+    @Test
+    void testStreamChanges_WithLastEventId_ShouldReplayLaterEvents() throws Exception {
+        // Arrange
+        changeFeed.onStudentChanged(new StudentChangedEvent(StudentChangedEvent.Type.DELETED, 1L, null));
+        changeFeed.onStudentChanged(new StudentChangedEvent(StudentChangedEvent.Type.CREATED, 2L,
+                new StudentDto(2L, "Will", "Smith", "will.smith@example.com")));
+
+        // Act
+        MvcResult result = mockMvc.perform(get("/api/students/changes")
+                        .accept(MediaType.TEXT_EVENT_STREAM)
+                        .header("Last-Event-ID", "1"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Assert
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        // An event is written in several parts, so wait for its data rather than its name
+        while (!result.getResponse().getContentAsString().contains("\"studentFirstName\":\"Will\"")
+                && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        String body = result.getResponse().getContentAsString();
+        assertThat(body, containsString("id:2"));
+        assertThat(body, containsString("event:created"));
+        assertThat(body, containsString("\"studentFirstName\":\"Will\""));
+        assertThat(body, not(containsString("event:deleted")));
+    }
+
+    @Test
+    void testPollChanges_ShouldReturnJsonBatch() throws Exception {
+        // Arrange
+        changeFeed.onStudentChanged(new StudentChangedEvent(StudentChangedEvent.Type.DELETED, 5L, null));
+
+        // Act
+        MvcResult result = mockMvc.perform(get("/api/students/changes")
+                        .accept(MediaType.APPLICATION_JSON)
+                        .param("after", "0"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Assert
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.lastSequence").value(1))
+                .andExpect(jsonPath("$.reset").value(false))
+                .andExpect(jsonPath("$.changes[0].type").value("DELETED"))
+                .andExpect(jsonPath("$.changes[0].studentId").value(5));
+    }
+}
@@ -0,0 +1,213 @@
+package com.example.studentapi.student;
+
+import com.example.studentapi.datasource.TenantContext;
+import com.example.studentapi.datasource.TenantEvictedEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StudentChangeFeedTest {
+    private final StudentChangeFeed changeFeed =
+            new StudentChangeFeed(4, 100, 1, Duration.ofMinutes(1), new SimpleMeterRegistry());
+
+    @AfterEach
+    void tearDown() {
+        changeFeed.destroy();
+    }
+
+    private void publish(long studentId) {
+        publish(changeFeed, studentId);
+    }
+
+    private static void publish(StudentChangeFeed changeFeed, long studentId) {
+        changeFeed.onStudentChanged(new StudentChangedEvent(StudentChangedEvent.Type.UPDATED, studentId,
+                new StudentDto(studentId, "Tom", "Cruise", "tom.cruise@example.com")));
+    }
+
+    @Test
+    void testReadAfter_ShouldReturnChangesInSequenceOrder() {
+        // Arrange
+        publish(10L);
+        publish(11L);
+        publish(12L);
+
+        // Act
+        StudentChangeFeed.Batch batch = changeFeed.readAfter(1, 100);
+
+        // Assert
+        assertFalse(batch.isReset());
+        assertEquals(List.of(2L, 3L), batch.getChanges().stream().map(StudentChange::getSequence).toList());
+        assertEquals(List.of(11L, 12L), batch.getChanges().stream().map(StudentChange::getStudentId).toList());
+        assertEquals(3, batch.getLastSequence());
+    }
+
+    @Test
+    void testReadAfter_CursorOverwrittenByRing_ShouldReset() {
+        // Arrange
+        for (long id = 1; id <= 6; id++) {
+            publish(id);
+        }
+
+        // Act
+        StudentChangeFeed.Batch tooOld = changeFeed.readAfter(1, 100);
+        StudentChangeFeed.Batch oldestKept = changeFeed.readAfter(2, 100);
+        StudentChangeFeed.Batch fromTheFuture = changeFeed.readAfter(42, 100);
+
+        // Assert
+        assertTrue(tooOld.isReset());
+        assertEquals(6, tooOld.getLastSequence());
+        assertFalse(oldestKept.isReset());
+        assertEquals(4, oldestKept.getChanges().size());
+        assertTrue(fromTheFuture.isReset());
+    }
+
+    @Test
+    void testPoll_NoChangesYet_ShouldCompleteOnNextChange() {
+        // Arrange
+        DeferredResult<StudentChangeFeed.Batch> result = changeFeed.poll(0, Duration.ofSeconds(30));
+        assertFalse(result.hasResult());
+
+        // Act
+        publish(7L);
+
+        // Assert
+        StudentChangeFeed.Batch batch = (StudentChangeFeed.Batch) result.getResult();
+        assertNotNull(batch);
+        assertEquals(1, batch.getChanges().size());
+        assertEquals(7L, batch.getChanges().get(0).getStudentId());
+    }
+
+    @Test
+    void testPoll_ChangesAvailable_ShouldCompleteImmediately() {
+        // Arrange
+        publish(7L);
+
+        // Act
+        DeferredResult<StudentChangeFeed.Batch> result = changeFeed.poll(0, Duration.ofSeconds(30));
+
+        // Assert
+        assertTrue(result.hasResult());
+    }
+
+    @Test
+    void testReadAfter_Tenant_ShouldOnlyReturnThatTenantsChanges() {
+        // Arrange
+        TenantContext.run("riverside", () -> publish(10L));
+        TenantContext.run("hillside", () -> publish(20L));
+        TenantContext.run("riverside", () -> publish(11L));
+
+        // Act
+        StudentChangeFeed.Batch riverside = changeFeed.readAfter(0, 100, "riverside");
+        StudentChangeFeed.Batch hillside = changeFeed.readAfter(0, 100, "hillside");
+
+        // Assert
+        assertEquals(List.of(10L, 11L), riverside.getChanges().stream().map(StudentChange::getStudentId).toList());
+        assertEquals(List.of(20L), hillside.getChanges().stream().map(StudentChange::getStudentId).toList());
+        assertEquals(3, hillside.getLastSequence());
+    }
+
+    @Test
+    void testPoll_OtherTenantChanges_ShouldKeepWaiting() {
+        // Arrange
+        DeferredResult<StudentChangeFeed.Batch> result =
+                TenantContext.call("riverside", () -> changeFeed.poll(0, Duration.ofMinutes(1)));
+
+        // Act
+        TenantContext.run("hillside", () -> publish(20L));
+        boolean completedByOtherTenant = result.hasResult();
+        TenantContext.run("riverside", () -> publish(10L));
+
+        // Assert
+        assertFalse(completedByOtherTenant);
+        StudentChangeFeed.Batch batch = (StudentChangeFeed.Batch) result.getResult();
+        assertEquals(List.of(10L), batch.getChanges().stream().map(StudentChange::getStudentId).toList());
+    }
+
+    @Test
+    void testReadAfter_BusyTenant_ShouldNotPushOtherTenantOutOfItsRing() {
+        // Arrange
+        TenantContext.run("riverside", () -> publish(10L));
+        for (long id = 20; id < 30; id++) {
+            long studentId = id;
+            TenantContext.run("hillside", () -> publish(studentId));
+        }
+
+        // Act
+        StudentChangeFeed.Batch riverside = changeFeed.readAfter(0, 100, "riverside");
+
+        // Assert
+        assertFalse(riverside.isReset());
+        assertEquals(List.of(10L), riverside.getChanges().stream().map(StudentChange::getStudentId).toList());
+    }
+
+    @Test
+    void testOnTenantEvicted_ShouldDropRingAndResetOlderCursors() {
+        // Arrange
+        TenantContext.run("riverside", () -> publish(10L));
+        TenantContext.run("hillside", () -> publish(20L));
+
+        // Act
+        changeFeed.onTenantEvicted(new TenantEvictedEvent("riverside"));
+
+        // Assert
+        assertEquals(1, changeFeed.rings());
+        assertTrue(changeFeed.readAfter(0, 100, "riverside").isReset());
+        assertFalse(changeFeed.readAfter(2, 100, "riverside").isReset());
+    }
+
+    @Test
+    void testSubscribe_SlowSubscriberOverflows_ShouldBeResetWithoutBlockingWriters() throws Exception {
+        // Arrange: queues of two changes, and another tenant's subscriber next to the slow one
+        MeterRegistry meterRegistry = new SimpleMeterRegistry();
+        StudentChangeFeed feed = new StudentChangeFeed(100, 2, 2, Duration.ofMinutes(1), meterRegistry);
+        SseEmitter slow = TenantContext.call("riverside", () -> feed.subscribe(null));
+        TenantContext.call("hillside", () -> feed.subscribe(null));
+
+        // Act: holding the emitter's lock stalls its sends, as a client that stopped reading does
+        synchronized (slow) {
+            for (long id = 1; id <= 4; id++) {
+                long studentId = id;
+                TenantContext.run("riverside", () -> publish(feed, studentId));
+            }
+        }
+
+        // Assert: once its send gets through, the slow subscriber is reset and dropped
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (meterRegistry.get("students.change-feed.subscribers").gauge().value() > 1
+                && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(1.0, meterRegistry.get("students.change-feed.subscribers").gauge().value());
+        feed.destroy();
+    }
+    @Test
+    void testSubscribe_StalledSubscriberHoldsEveryThread_ShouldStillServeOthers() throws Exception {
+        // Arrange: one dispatcher thread, taken by a send to a client that stopped reading
+        MeterRegistry meterRegistry = new SimpleMeterRegistry();
+        StudentChangeFeed feed = new StudentChangeFeed(100, 100, 1, Duration.ofMinutes(1), meterRegistry);
+        SseEmitter stalled = feed.subscribe(null);
+        synchronized (stalled) {
+            publish(feed, 1L);
+
+            // Act: a cursor from the future is answered with a reset, which ends the subscription
+            feed.subscribe(42L);
+
+            // Assert
+            long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+            while (meterRegistry.get("students.change-feed.subscribers").gauge().value() > 1
+                    && System.nanoTime() < deadline) {
+                Thread.sleep(10);
+            }
+            assertEquals(1.0, meterRegistry.get("students.change-feed.subscribers").gauge().value());
+        }
+        feed.destroy();
+    }
+}
@@ -22,7 +22,6 @@ import java.util.Optional;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 
@@ -148,8 +147,7 @@ public class StudentControllerIntegrationTest {
     void testDeleteStudent_ExistingId_ShouldReturnSuccessMessage() throws Exception {
         //Arrange
         Long studentId = 1L;
-        when(studentRepository.existsById(studentId)).thenReturn(true);
-        doNothing().when(studentRepository).deleteById(anyLong());
+        when(studentRepository.deleteStudent(studentId)).thenReturn(1);
 
         //Act
         ResultActions response = mockMvc.perform(
@@ -164,8 +162,7 @@ public class StudentControllerIntegrationTest {
     void testDeleteStudent_NonExistingId_ShouldThrowResourceNotFoundException() throws Exception {
         // Arrange
         long nonExistingId = 1000L;
-        doThrow(new ResourceNotFoundException("Student not found with id: " + nonExistingId))
-                .when(studentRepository).deleteById(nonExistingId);
+        when(studentRepository.deleteStudent(nonExistingId)).thenReturn(0);
 
         // Act
         ResultActions response = mockMvc.perform(
@@ -191,7 +188,7 @@ public class StudentControllerIntegrationTest {
                 "Tomkumar",
                 "Cruise",
                 "tom.cruise@example.com");
-        when(studentRepository.findById(studentId)).thenReturn(Optional.of(oldStudent));
+        when(studentRepository.findByIdForUpdate(studentId)).thenReturn(Optional.of(oldStudent));
         when(studentRepository.save(Mockito.any(Student.class)))
                 .thenAnswer(invocation -> invocation.getArgument(0));
 
@@ -216,7 +213,7 @@ public class StudentControllerIntegrationTest {
                 "Cruise",
                 "tom.cruise@example.com"); // Providing invalid input (name contains digits)
         String requestBody = objectMapper.writeValueAsString(studentDto);
-        when(studentRepository.findById(studentId)).thenReturn(Optional.of(new Student())); // Mocking student found for update
+        when(studentRepository.findByIdForUpdate(studentId)).thenReturn(Optional.of(new Student())); // Mocking student found for update
 
         // Act
         ResultActions response = mockMvc.perform(MockMvcRequestBuilders.patch("/api/students/{studentId}", studentId)
@@ -92,6 +92,35 @@ class StudentControllerTest {
                 .andExpect(jsonPath("$.studentEmail").value("tom.cruise@example.com"));
     }
 
+    @Test
+    void testGetStudentsChangedSince_ValidToken_ShouldReturnDelta() throws Exception {
+        // Arrange
+        StudentDeltaDto delta = new StudentDeltaDto(
+                List.of(new StudentDto(1L, "Tom", "Cruise", "tom.cruise@example.com")), List.of(2L), "9", false);
+        when(studentService.getStudentsChangedSince(5L)).thenReturn(delta);
+
+        // Act
+        ResultActions response = mockMvc.perform(get("/api/students").param("changedSince", "5"));
+
+        // Assert
+        response.andExpect(status().isOk())
+                .andExpect(jsonPath("$.students[0].id", CoreMatchers.is(1)))
+                .andExpect(jsonPath("$.deletedStudentIds[0]", CoreMatchers.is(2)))
+                .andExpect(jsonPath("$.nextToken", CoreMatchers.is("9")))
+                .andExpect(jsonPath("$.fullResync", CoreMatchers.is(false)));
+    }
+
+    @Test
+    void testGetStudentsChangedSince_InvalidToken_ShouldReturnBadRequest() throws Exception {
+        // Act
+        ResultActions response = mockMvc.perform(get("/api/students").param("changedSince", "abc"));
+
+        // Assert
+        response.andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$[0].field", CoreMatchers.is("changedSince")));
+        Mockito.verifyNoInteractions(studentService);
+    }
+
     @Test
     void testGetStudentById_NonExistingId_ShouldReturnNotFound() throws Exception {
         // Arrange
@@ -154,6 +183,22 @@ class StudentControllerTest {
                 .andExpect(jsonPath("$[*].message", Matchers.containsInAnyOrder("First name is required", "Last name is required")));
     }
 
+    @Test
+    void testCreateStudent_UnknownField_ShouldReturnBadRequest() throws Exception {
+        // Arrange
+        String body = "{\"studentFirstName\":\"Tom\",\"studentLastName\":\"Cruise\","
+                + "\"studentEmail\":\"tom@example.com\",\"nickname\":\"Tommy\"}";
+
+        // Act
+        ResultActions response = mockMvc.perform(post("/api/students")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(body));
+
+        // Assert
+        response.andExpect(status().isBadRequest());
+        Mockito.verifyNoInteractions(studentService);
+    }
+
     @Test
     void testDeleteStudent_ExistingId_ShouldReturnSuccessMessage() throws Exception {
         // Arrange
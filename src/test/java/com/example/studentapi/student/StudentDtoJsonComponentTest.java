@@ -0,0 +1,64 @@
+package com.example.studentapi.student;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.exc.MismatchedInputException;
+import com.fasterxml.jackson.databind.exc.UnrecognizedPropertyException;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StudentDtoJsonComponentTest {
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new SimpleModule()
+            .addSerializer(StudentDto.class, new StudentDtoJsonComponent.Serializer())
+            .addDeserializer(StudentDto.class, new StudentDtoJsonComponent.Deserializer()));
+
+    @Test
+    void testSerialize_ShouldMatchBeanSerializerOutput() throws Exception {
+        // Arrange
+        StudentDto student = new StudentDto(1L, "Tom", "Cruise", "tom.cruise@example.com");
+        StudentDto unsaved = new StudentDto(null, "Will", null, "will.smith@example.com");
+
+        // Act and Assert
+        assertEquals(new ObjectMapper().writeValueAsString(student), objectMapper.writeValueAsString(student));
+        assertEquals(new ObjectMapper().writeValueAsString(unsaved), objectMapper.writeValueAsString(unsaved));
+    }
+
+    @Test
+    void testDeserialize_StudentList_ShouldReadAllFields() throws Exception {
+        // Arrange
+        String json = "[{\"id\":1,\"studentFirstName\":\"Tom\",\"studentLastName\":\"Cruise\","
+                + "\"studentEmail\":\"tom.cruise@example.com\"},{\"studentFirstName\":\"Will\",\"id\":null}]";
+
+        // Act
+        List<StudentDto> students = objectMapper.readValue(json, new TypeReference<>() {});
+
+        // Assert
+        assertEquals(List.of(
+                new StudentDto(1L, "Tom", "Cruise", "tom.cruise@example.com"),
+                new StudentDto(null, "Will", null, null)), students);
+    }
+
+    @Test
+    void testDeserialize_UnknownField_ShouldBeRejected() {
+        // Arrange
+        String json = "{\"studentFirstName\":\"Tom\",\"nickname\":{\"value\":\"Tommy\"}}";
+
+        // Act and Assert
+        UnrecognizedPropertyException ex = assertThrows(UnrecognizedPropertyException.class,
+                () -> objectMapper.readValue(json, StudentDto.class));
+        assertEquals("nickname", ex.getPropertyName());
+    }
+
+    @Test
+    void testDeserialize_NonNumericId_ShouldBeRejected() {
+        // Arrange
+        String json = "{\"id\":{}}";
+
+        // Act and Assert
+        assertThrows(MismatchedInputException.class, () -> objectMapper.readValue(json, StudentDto.class));
+    }
+}
@@ -0,0 +1,70 @@
+package com.example.studentapi.student;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Encode/decode cost of a {@code GET /api/students} body in each negotiable format; the payload
+ * size of each format is printed at setup.
+ * <p>
+ * {@code mvn -Pbenchmark test-compile exec:exec -Djmh.args="StudentFormatBenchmark -prof gc"}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class StudentFormatBenchmark {
+
+    private static final TypeReference<List<StudentDto>> STUDENT_LIST = new TypeReference<>() {};
+
+    @Param({"json", "smile", "cbor"})
+    private String format;
+
+    @Param({"100"})
+    private int students;
+
+    private ObjectMapper mapper;
+
+    private List<StudentDto> payload;
+
+    private byte[] encoded;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        mapper = switch (format) {
+            case "smile" -> new SmileMapper();
+            case "cbor" -> new CBORMapper();
+            default -> new ObjectMapper();
+        };
+        mapper.registerModule(new SimpleModule()
+                .addSerializer(StudentDto.class, new StudentDtoJsonComponent.Serializer())
+                .addDeserializer(StudentDto.class, new StudentDtoJsonComponent.Deserializer()));
+        payload = new ArrayList<>();
+        for (long id = 1; id <= students; id++) {
+            payload.add(new StudentDto(id, "First" + id, "Last" + id, "student" + id + "@example.com"));
+        }
+        encoded = mapper.writeValueAsBytes(payload);
+        System.out.printf("%n[%s] payload for %d students: %d bytes%n", format, students, encoded.length);
+    }
+
+    @Benchmark
+    public byte[] encode() throws IOException {
+        return mapper.writeValueAsBytes(payload);
+    }
+
+    @Benchmark
+    public List<StudentDto> decode() throws IOException {
+        return mapper.readValue(encoded, STUDENT_LIST);
+    }
+}
@@ -0,0 +1,54 @@
+package com.example.studentapi.student;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StudentIdsTest {
+    private final StudentIds studentIds = new StudentIds(1);
+
+    @Test
+    void testNext_ShouldBeUniqueIncreasingAndFitIn53Bits() {
+        // Act
+        Set<Long> ids = new HashSet<>();
+        long previous = 0;
+        for (int i = 0; i < 10_000; i++) {
+            long id = studentIds.next();
+            assertTrue(id > previous);
+            assertTrue(id < 1L << 53);
+            ids.add(id);
+            previous = id;
+        }
+
+        // Assert
+        assertEquals(10_000, ids.size());
+    }
+
+    @Test
+    void testAssigning_ShouldHandOutReservedIdOnce() {
+        // Act
+        long[] taken = studentIds.assigning(42L, () -> new long[]{studentIds.take(), studentIds.take()});
+
+        // Assert
+        assertEquals(42L, taken[0]);
+        assertNotEquals(42L, taken[1]);
+    }
+
+    @Test
+    void testConstructor_NodeOutOfRange_ShouldThrow() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> new StudentIds(1 << StudentIds.NODE_BITS));
+    }
+
+    @Test
+    void testStudentIds_ShardingWithoutNodeId_ShouldRefuseToStart() {
+        // Act & Assert
+        IllegalStateException ex = assertThrows(IllegalStateException.class,
+                () -> new StudentIdConfig().studentIds(new MockEnvironment()));
+        assertTrue(ex.getMessage().contains("studentapi.ids.node-id"));
+    }
+}
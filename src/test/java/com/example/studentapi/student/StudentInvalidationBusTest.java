@@ -0,0 +1,115 @@
+package com.example.studentapi.student;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Two instances in one JVM, connected by the loopback transport.
+ */
+class StudentInvalidationBusTest {
+    private final LoopbackInvalidationTransport.Hub hub = new LoopbackInvalidationTransport.Hub();
+
+    private final StudentChangeTracker changeTracker = mock(StudentChangeTracker.class);
+
+    private final List<Object> firstEvents = new CopyOnWriteArrayList<>();
+
+    private final List<Object> secondEvents = new CopyOnWriteArrayList<>();
+
+    private final SimpleMeterRegistry secondMeters = new SimpleMeterRegistry();
+
+    // Configured alike, as instances of one deployment are
+    private final StudentInvalidationBus first = bus(firstEvents, new SimpleMeterRegistry());
+
+    private final StudentInvalidationBus second = bus(secondEvents, secondMeters);
+
+    private StudentInvalidationBus bus(List<Object> events, SimpleMeterRegistry meterRegistry) {
+        when(changeTracker.currentSequence()).thenReturn(0L);
+        StudentInvalidationBus bus = new StudentInvalidationBus(new LoopbackInvalidationTransport(hub), changeTracker,
+                events::add, meterRegistry, Duration.ofHours(1));
+        bus.afterSingletonsInstantiated();
+        return bus;
+    }
+
+    @AfterEach
+    void tearDown() {
+        first.destroy();
+        second.destroy();
+    }
+
+    private static StudentChangedEvent updated(long studentId, long changeSequence) {
+        return new StudentChangedEvent(StudentChangedEvent.Type.UPDATED, studentId,
+                new StudentDto(studentId, "Tom", "Cruise", "tom.cruise@example.com"), changeSequence);
+    }
+
+    @Test
+    void testOnStudentChanged_ShouldInvalidateOnPeersOnly() {
+        // Act
+        first.onStudentChanged(updated(42L, 1));
+
+        // Assert
+        assertEquals(List.of(42L), secondEvents.stream()
+                .map(event -> ((StudentInvalidatedEvent) event).getStudentId()).toList());
+        assertTrue(firstEvents.isEmpty());
+        assertEquals(1, secondMeters.get("students.invalidation.received").counter().count());
+        assertEquals(1, secondMeters.get("students.invalidation.lag").timer().count());
+    }
+
+    @Test
+    void testOnStudentChanged_BothInstancesWriting_ShouldInvalidateEachOther() {
+        // Act
+        first.onStudentChanged(updated(42L, 1));
+        second.onStudentChanged(updated(43L, 2));
+
+        // Assert
+        assertEquals(List.of(43L), firstEvents.stream()
+                .map(event -> ((StudentInvalidatedEvent) event).getStudentId()).toList());
+        assertEquals(List.of(42L), secondEvents.stream()
+                .map(event -> ((StudentInvalidatedEvent) event).getStudentId()).toList());
+    }
+
+    @Test
+    void testOnInvalidation_Redelivered_ShouldApplyOnce() {
+        // Arrange
+        StudentInvalidation invalidation = new StudentInvalidation(42L, 1, 1, System.currentTimeMillis());
+
+        // Act
+        second.onInvalidation(invalidation);
+        second.onInvalidation(invalidation);
+
+        // Assert
+        assertEquals(1, secondEvents.size());
+    }
+
+    @Test
+    void testCheckForLostInvalidations_VersionNeverArrives_ShouldBumpEpoch() throws Exception {
+        // Arrange: version 1 committed on a third instance that crashed before publishing
+        List<Object> events = new CopyOnWriteArrayList<>();
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        StudentInvalidationBus impatient = new StudentInvalidationBus(new LoopbackInvalidationTransport(hub),
+                changeTracker, events::add, meterRegistry, Duration.ofMillis(1));
+        impatient.afterSingletonsInstantiated();
+        first.onStudentChanged(updated(42L, 2));
+
+        // Act: the background check runs every millisecond
+        long deadline = System.currentTimeMillis() + 5000;
+        while (events.stream().noneMatch(event -> ((StudentInvalidatedEvent) event).isAll())
+                && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5);
+        }
+        impatient.destroy();
+
+        // Assert
+        assertEquals(1, impatient.epoch());
+        assertTrue(events.stream().anyMatch(event -> ((StudentInvalidatedEvent) event).isAll()));
+        assertEquals(1, meterRegistry.get("students.invalidation.epoch-bumps").counter().count());
+    }
+}
@@ -0,0 +1,94 @@
+package com.example.studentapi.student;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Outbox transport with the off-heap cache; a second instance is simulated by writing to the
+ * database and the outbox directly.
+ */
+@SpringBootTest(properties = {
+        "studentapi.invalidation.enabled=true",
+        "studentapi.invalidation.poll-interval=20ms",
+        "studentapi.invalidation.gap-timeout=200ms",
+        "studentapi.cache.off-heap.enabled=true"
+})
+class StudentInvalidationIntegrationTest {
+
+    private static final int PEER = 7;
+
+    @Autowired
+    private StudentService studentService;
+
+    @Autowired
+    private StudentInvalidationBus invalidationBus;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    /**
+     * What another instance's update does: bump the counter, write the row and, unless lost, the outbox entry.
+     */
+    private void updateOnPeer(long studentId, String firstName, boolean publish) {
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.update("update student_change_sequence set last_assigned = last_assigned + 1 where id = 1");
+            Long version = jdbcTemplate.queryForObject("select last_assigned from student_change_sequence where id = 1", Long.class);
+            jdbcTemplate.update("update students set first_name = ?, change_sequence = ? where id = ?", firstName, version, studentId);
+            if (publish) {
+                jdbcTemplate.update("insert into student_invalidations (version, student_id, origin, published_at) values (?, ?, ?, ?)",
+                        version, studentId, PEER, System.currentTimeMillis());
+            }
+        });
+    }
+
+    private void awaitFirstName(long studentId, String expected) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!expected.equals(studentService.getStudentById(studentId).getStudentFirstName())
+                && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+        }
+        assertEquals(expected, studentService.getStudentById(studentId).getStudentFirstName());
+    }
+
+    @Test
+    void testPeerUpdate_ShouldEvictCachedStudent() throws Exception {
+        // Arrange: cached after the first read
+        StudentDto student = studentService.createStudent(new StudentDto(null, "Tom", "Cruise", "tom.cruise@example.com"));
+        studentService.getStudentById(student.getId());
+
+        // Act
+        updateOnPeer(student.getId(), "William", true);
+
+        // Assert
+        awaitFirstName(student.getId(), "William");
+        assertTrue(meterRegistry.get("students.invalidation.lag").timer().count() >= 1);
+    }
+
+    @Test
+    void testLostInvalidation_ShouldBumpEpochAndClearCache() throws Exception {
+        // Arrange
+        StudentDto student = studentService.createStudent(new StudentDto(null, "Brad", "Pitt", "brad.pitt@example.com"));
+        studentService.getStudentById(student.getId());
+        long epoch = invalidationBus.epoch();
+
+        // Act
+        updateOnPeer(student.getId(), "William", false);
+
+        // Assert
+        awaitFirstName(student.getId(), "William");
+        assertTrue(invalidationBus.epoch() > epoch);
+    }
+}
@@ -0,0 +1,89 @@
+package com.example.studentapi.student;
+
+import com.example.studentapi.commons.ApiError;
+import com.example.studentapi.commons.ApiErrorJsonComponent;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson's bean (de)serializers versus the hand-written ones in {@link StudentDtoJsonComponent}
+ * and {@link ApiErrorJsonComponent}, on list-sized payloads.
+ * <p>
+ * {@code mvn -Pbenchmark test-compile exec:exec -Djmh.args="StudentJsonBenchmark -prof gc"}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class StudentJsonBenchmark {
+
+    private static final TypeReference<List<StudentDto>> STUDENT_LIST = new TypeReference<>() {};
+    private static final TypeReference<List<ApiError>> ERROR_LIST = new TypeReference<>() {};
+
+    @Param({"bean", "streaming"})
+    private String serializers;
+
+    @Param({"100"})
+    private int students;
+
+    private ObjectMapper objectMapper;
+
+    private List<StudentDto> studentList;
+
+    private byte[] studentListJson;
+
+    private List<ApiError> errorList;
+
+    private byte[] errorListJson;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        objectMapper = new ObjectMapper();
+        if (serializers.equals("streaming")) {
+            objectMapper.registerModule(new SimpleModule()
+                    .addSerializer(StudentDto.class, new StudentDtoJsonComponent.Serializer())
+                    .addDeserializer(StudentDto.class, new StudentDtoJsonComponent.Deserializer())
+                    .addSerializer(ApiError.class, new ApiErrorJsonComponent.Serializer())
+                    .addDeserializer(ApiError.class, new ApiErrorJsonComponent.Deserializer()));
+        }
+        studentList = new ArrayList<>();
+        for (long id = 1; id <= students; id++) {
+            studentList.add(new StudentDto(id, "First" + id, "Last" + id, "student" + id + "@example.com"));
+        }
+        studentListJson = objectMapper.writeValueAsBytes(studentList);
+        errorList = List.of(
+                new ApiError("studentFirstName", "First name is required"),
+                new ApiError("studentLastName", "Last name is required"),
+                new ApiError("studentEmail", "Email should be valid"));
+        errorListJson = objectMapper.writeValueAsBytes(errorList);
+    }
+
+    @Benchmark
+    public byte[] writeStudentList() throws IOException {
+        return objectMapper.writeValueAsBytes(studentList);
+    }
+
+    @Benchmark
+    public List<StudentDto> readStudentList() throws IOException {
+        return objectMapper.readValue(studentListJson, STUDENT_LIST);
+    }
+
+    @Benchmark
+    public byte[] writeErrors() throws IOException {
+        return objectMapper.writeValueAsBytes(errorList);
+    }
+
+    @Benchmark
+    public List<ApiError> readErrors() throws IOException {
+        return objectMapper.readValue(errorListJson, ERROR_LIST);
+    }
+}
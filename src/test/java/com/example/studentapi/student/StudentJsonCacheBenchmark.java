@@ -0,0 +1,63 @@
+package com.example.studentapi.student;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serializing {@code GET /api/students} bodies with Jackson versus concatenating cached fragments
+ * from {@link StudentJsonCache}. Bytes per second = ops/s x the payload size printed at setup.
+ * <p>
+ * {@code mvn -Pbenchmark test-compile exec:exec -Djmh.args="StudentJsonCacheBenchmark -prof gc"}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class StudentJsonCacheBenchmark {
+
+    @Param({"1", "100", "10000"})
+    private int students;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private List<StudentDto> payload;
+
+    private StudentJsonCache jsonCache;
+
+    private ByteArrayOutputStream out;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        payload = new ArrayList<>(students);
+        for (long id = 1; id <= students; id++) {
+            payload.add(new StudentDto(id, "First" + id, "Last" + id, "student" + id + "@example.com"));
+        }
+        jsonCache = new StudentJsonCache(objectMapper, students);
+        out = new ByteArrayOutputStream();
+        jsonCache.writeArray(payload, out);
+        System.out.printf("%npayload: %d bytes%n", out.size());
+    }
+
+    @Benchmark
+    public void jackson(Blackhole blackhole) throws IOException {
+        out.reset();
+        objectMapper.writeValue(out, payload);
+        blackhole.consume(out);
+    }
+
+    @Benchmark
+    public void cachedFragments(Blackhole blackhole) throws IOException {
+        out.reset();
+        jsonCache.writeArray(payload, out);
+        blackhole.consume(out);
+    }
+}
@@ -0,0 +1,50 @@
+package com.example.studentapi.student;
+
+import com.example.studentapi.commons.ExpectedStatements;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The JSON cache as the {@link StudentCache} tier: single-student reads are answered from it
+ * without a query.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:json-cache",
+        "studentapi.sql-statistics.enabled=true",
+        "studentapi.json-cache.enabled=true"
+})
+class StudentJsonCacheIntegrationTest {
+
+    @Autowired
+    private StudentService studentService;
+
+    @Autowired
+    private StudentCache studentCache;
+
+    @Test
+    void testGetStudentById_AfterWrite_ShouldNotQuery() {
+        // Arrange: The committed write makes the entry current
+        StudentDto created = studentService.createStudent(new StudentDto(null, "Tom", "Cruise", "tom.cruise@example.com"));
+
+        // Act
+        StudentDto student = ExpectedStatements.none().call(() -> studentService.getStudentById(created.getId()));
+
+        // Assert
+        assertInstanceOf(StudentJsonCache.class, studentCache);
+        assertEquals(created, student);
+    }
+
+    @Test
+    void testGetStudentById_Evicted_ShouldQueryOnceThenServeFromCache() {
+        // Arrange
+        StudentDto created = studentService.createStudent(new StudentDto(null, "Will", "Smith", "will.smith@example.com"));
+        studentCache.evict(created.getId());
+
+        // Act & Assert
+        ExpectedStatements.none().selects(1).verify(() -> studentService.getStudentById(created.getId()));
+        ExpectedStatements.none().verify(() -> studentService.getStudentById(created.getId()));
+    }
+}
@@ -0,0 +1,147 @@
+package com.example.studentapi.student;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StudentJsonCacheTest {
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final StudentJsonCache jsonCache = new StudentJsonCache(objectMapper, 100);
+
+    @Test
+    void testToJson_SameStudent_ShouldReuseCachedBytes() throws Exception {
+        // Arrange
+        StudentDto student = new StudentDto(1L, "Tom", "Cruise", "tom.cruise@example.com");
+
+        // Act
+        byte[] first = jsonCache.toJson(student);
+        byte[] second = jsonCache.toJson(new StudentDto(1L, "Tom", "Cruise", "tom.cruise@example.com"));
+
+        // Assert
+        assertSame(first, second);
+        assertArrayEquals(objectMapper.writeValueAsBytes(student), first);
+    }
+
+    @Test
+    void testToJson_ChangedStudent_ShouldNotServeStaleBytes() throws Exception {
+        // Arrange
+        jsonCache.toJson(new StudentDto(1L, "Tom", "Cruise", "tom.cruise@example.com"));
+        StudentDto changed = new StudentDto(1L, "Thomas", "Cruise", "tom.cruise@example.com");
+
+        // Act
+        byte[] json = jsonCache.toJson(changed);
+
+        // Assert
+        assertArrayEquals(objectMapper.writeValueAsBytes(changed), json);
+    }
+
+    @Test
+    void testOnStudentChanged_ShouldEvictEntry() throws Exception {
+        // Arrange
+        jsonCache.toJson(new StudentDto(1L, "Tom", "Cruise", "tom.cruise@example.com"));
+
+        // Act
+        jsonCache.onStudentChanged(new StudentChangedEvent(StudentChangedEvent.Type.DELETED, 1L, null));
+
+        // Assert
+        assertEquals(0, jsonCache.size());
+    }
+
+    @Test
+    void testGet_RenderedOnly_ShouldMiss() throws Exception {
+        // Arrange: Rendering alone does not make an entry current
+        jsonCache.toJson(new StudentDto(1L, "Tom", "Cruise", "tom.cruise@example.com"));
+
+        // Act & Assert
+        assertTrue(jsonCache.get(1L).isEmpty());
+    }
+
+    @Test
+    void testPutIfUnchanged_ThenGet_ShouldServeStudentWithRenderedBytes() throws Exception {
+        // Arrange
+        StudentDto student = new StudentDto(1L, "Tom", "Cruise", "tom.cruise@example.com");
+        jsonCache.putIfUnchanged(student, 1, jsonCache.stamp(1L));
+
+        // Act
+        StudentDto cached = jsonCache.get(1L).orElseThrow();
+
+        // Assert: The bytes were rendered when the entry was put
+        assertEquals(student, cached);
+        assertSame(jsonCache.toJson(cached), jsonCache.toJson(jsonCache.get(1L).orElseThrow()));
+        assertArrayEquals(objectMapper.writeValueAsBytes(student), jsonCache.toJson(cached));
+    }
+
+    @Test
+    void testPutIfUnchanged_EvictedSinceStamp_ShouldNotCache() {
+        // Arrange: A read that raced with a committed write
+        long stamp = jsonCache.stamp(1L);
+        jsonCache.evict(1L);
+
+        // Act
+        jsonCache.putIfUnchanged(new StudentDto(1L, "Tom", "Cruise", "tom.cruise@example.com"), 1, stamp);
+
+        // Assert
+        assertTrue(jsonCache.get(1L).isEmpty());
+    }
+
+    @Test
+    void testToJson_StaleStudent_ShouldNotReplaceCurrentEntry() throws Exception {
+        // Arrange
+        StudentDto current = new StudentDto(1L, "Thomas", "Cruise", "tom.cruise@example.com");
+        jsonCache.put(current, 1);
+
+        // Act: A list read before the write renders the older state
+        jsonCache.toJson(new StudentDto(1L, "Tom", "Cruise", "tom.cruise@example.com"));
+
+        // Assert
+        assertEquals(current, jsonCache.get(1L).orElseThrow());
+    }
+
+    @Test
+    void testPut_OlderChangeSequence_ShouldKeepNewerBytes() throws Exception {
+        // Arrange: The after-commit listener of the later write ran first
+        StudentDto newer = new StudentDto(1L, "Thomas", "Cruise", "tom.cruise@example.com");
+        jsonCache.put(newer, 5);
+
+        // Act
+        jsonCache.put(new StudentDto(1L, "Tom", "Cruise", "tom.cruise@example.com"), 4);
+
+        // Assert
+        assertEquals(newer, jsonCache.get(1L).orElseThrow());
+        assertArrayEquals(objectMapper.writeValueAsBytes(newer), jsonCache.toJson(newer));
+    }
+
+    @Test
+    void testPut_OlderThanDelete_ShouldNotBringStudentBack() {
+        // Arrange
+        jsonCache.put(new StudentDto(1L, "Tom", "Cruise", "tom.cruise@example.com"), 4);
+        jsonCache.delete(1L, 6);
+
+        // Act
+        jsonCache.put(new StudentDto(1L, "Thomas", "Cruise", "tom.cruise@example.com"), 5);
+
+        // Assert
+        assertTrue(jsonCache.get(1L).isEmpty());
+    }
+
+    @Test
+    void testWriteArray_ShouldMatchJacksonOutput() throws Exception {
+        // Arrange
+        List<StudentDto> students = List.of(
+                new StudentDto(1L, "Tom", "Cruise", "tom.cruise@example.com"),
+                new StudentDto(2L, "Will", "Smith", "will.smith@example.com"));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // Act
+        jsonCache.writeArray(students, out);
+
+        // Assert
+        assertEquals(objectMapper.writeValueAsString(students), out.toString(StandardCharsets.UTF_8));
+    }
+}
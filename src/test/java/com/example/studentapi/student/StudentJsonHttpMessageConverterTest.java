@@ -0,0 +1,47 @@
+package com.example.studentapi.student;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.mock.http.MockHttpOutputMessage;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StudentJsonHttpMessageConverterTest {
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final StudentJsonHttpMessageConverter converter =
+            new StudentJsonHttpMessageConverter(new StudentJsonCache(objectMapper, 100));
+
+    @Test
+    void testCanWrite_ShouldOnlyAcceptStudentPayloadsAsJson() {
+        // Arrange
+        java.lang.reflect.Type studentList = new TypeReference<List<StudentDto>>() {}.getType();
+        java.lang.reflect.Type stringList = new TypeReference<List<String>>() {}.getType();
+
+        // Act and Assert
+        assertTrue(converter.canWrite(StudentDto.class, StudentDto.class, MediaType.APPLICATION_JSON));
+        assertTrue(converter.canWrite(studentList, List.class, MediaType.APPLICATION_JSON));
+        assertFalse(converter.canWrite(stringList, List.class, MediaType.APPLICATION_JSON));
+        assertFalse(converter.canWrite(StudentDto.class, StudentDto.class, MediaType.APPLICATION_XML));
+        assertFalse(converter.canRead(StudentDto.class, null, MediaType.APPLICATION_JSON));
+    }
+
+    @Test
+    void testWrite_StudentList_ShouldWriteJsonArray() throws Exception {
+        // Arrange
+        List<StudentDto> students = List.of(new StudentDto(1L, "Tom", "Cruise", "tom.cruise@example.com"));
+        MockHttpOutputMessage outputMessage = new MockHttpOutputMessage();
+
+        // Act
+        converter.write(students, new TypeReference<List<StudentDto>>() {}.getType(),
+                MediaType.APPLICATION_JSON, outputMessage);
+
+        // Assert
+        assertEquals(MediaType.APPLICATION_JSON, outputMessage.getHeaders().getContentType());
+        assertEquals(objectMapper.writeValueAsString(students), outputMessage.getBodyAsString());
+    }
+}
@@ -0,0 +1,53 @@
+package com.example.studentapi.student;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StudentMapperTest {
+
+    private final StudentMapper studentMapper = new StudentMapper();
+
+    @Test
+    void testToDto_ShouldMapEntityFieldsToDtoFields() {
+        // Arrange
+        Student student = new Student(1L, "Tom", "Cruise", "tom.cruise@example.com");
+
+        // Act
+        StudentDto studentDto = studentMapper.toDto(student);
+
+        // Assert
+        assertEquals(new StudentDto(1L, "Tom", "Cruise", "tom.cruise@example.com"), studentDto);
+    }
+
+    @Test
+    void testToEntity_ShouldMapDtoFieldsToEntityFields() {
+        // Arrange
+        StudentDto studentDto = new StudentDto(1L, "Tom", "Cruise", "tom.cruise@example.com");
+
+        // Act
+        Student student = studentMapper.toEntity(studentDto);
+
+        // Assert
+        assertEquals(1L, student.getId());
+        assertEquals("Tom", student.getFirstName());
+        assertEquals("Cruise", student.getLastName());
+        assertEquals("tom.cruise@example.com", student.getEmail());
+    }
+
+    @Test
+    void testMergeNonNull_PartialDto_ShouldOnlyOverwriteSetFieldsAndKeepId() {
+        // Arrange
+        Student student = new Student(1L, "Tom", "Cruise", "tom.cruise@example.com");
+        StudentDto update = new StudentDto(2L, null, "Hanks", null);
+
+        // Act
+        studentMapper.mergeNonNull(update, student);
+
+        // Assert
+        assertEquals(1L, student.getId());
+        assertEquals("Tom", student.getFirstName());
+        assertEquals("Hanks", student.getLastName());
+        assertEquals("tom.cruise@example.com", student.getEmail());
+    }
+}
@@ -0,0 +1,123 @@
+package com.example.studentapi.student;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * MySQL plans of the queries behind lookup, name search, the change feed and the list, on the
+ * schema from db/migration with enough rows that the optimizer prefers an index where one fits.
+ * Skipped where Docker is not available.
+ */
+@SpringBootTest(properties = {
+        "spring.flyway.enabled=true",
+        "spring.jpa.hibernate.ddl-auto=validate"
+})
+@Testcontainers(disabledWithoutDocker = true)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class StudentQueryPlanIntegrationTest {
+
+    private static final int STUDENTS = 2000;
+
+    @Container
+    static MySQLContainer<?> mysql = new MySQLContainer<>("mysql:8.3.0");
+
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", mysql::getJdbcUrl);
+        registry.add("spring.datasource.username", mysql::getUsername);
+        registry.add("spring.datasource.password", mysql::getPassword);
+    }
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeAll
+    void seedStudents() {
+        List<Object[]> rows = new ArrayList<>();
+        for (int i = 1; i <= STUDENTS; i++) {
+            rows.add(new Object[]{i, "First" + i, "Last" + (i % 200), "student" + i + "@example.com", i});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO students (id, first_name, last_name, email, change_sequence)"
+                + " VALUES (?, ?, ?, ?, ?)", rows);
+        jdbcTemplate.execute("ANALYZE TABLE students");
+    }
+
+    @Test
+    void testLookupById_ShouldUsePrimaryKey() {
+        // Act
+        Map<String, Object> plan = explain("SELECT * FROM students WHERE id = 42");
+
+        // Assert
+        assertEquals("PRIMARY", plan.get("key"));
+        assertEquals("const", plan.get("type"));
+    }
+
+    @Test
+    void testLookupByEmail_ShouldUseUniqueEmailIndex() {
+        // Act
+        Map<String, Object> plan = explain("SELECT * FROM students WHERE email = 'student42@example.com'");
+
+        // Assert
+        assertEquals("uk_students_email", plan.get("key"));
+        assertEquals("const", plan.get("type"));
+    }
+
+    @Test
+    void testSearchByName_ShouldUseNameIndex() {
+        // Act
+        Map<String, Object> byFullName = explain(
+                "SELECT * FROM students WHERE last_name = 'Last42' AND first_name = 'First42'");
+        Map<String, Object> byLastName = explain(
+                "SELECT * FROM students WHERE last_name = 'Last42' ORDER BY first_name");
+
+        // Assert
+        assertEquals("idx_students_name", byFullName.get("key"));
+        assertEquals("idx_students_name", byLastName.get("key"));
+        assertFalse(String.valueOf(byLastName.get("Extra")).contains("filesort"),
+                "Rows of one last name should come out of the index ordered by first name");
+    }
+
+    @Test
+    void testChangedSince_ShouldRangeScanChangeSequenceIndex() {
+        // Act
+        Map<String, Object> plan = explain("SELECT * FROM students WHERE change_sequence > "
+                + (STUDENTS - 10) + " ORDER BY change_sequence");
+
+        // Assert
+        assertEquals("idx_students_change_sequence", plan.get("key"));
+        assertEquals("range", plan.get("type"));
+        assertFalse(String.valueOf(plan.get("Extra")).contains("filesort"));
+    }
+
+    @Test
+    void testList_ShouldScanTableOnceWithoutTemporaryOrFilesort() {
+        // Act
+        Map<String, Object> plan = explain("SELECT * FROM students");
+
+        // Assert
+        assertEquals("ALL", plan.get("type"));
+        String extra = String.valueOf(plan.get("Extra"));
+        assertFalse(extra.contains("temporary") || extra.contains("filesort"), extra);
+    }
+
+    private Map<String, Object> explain(String sql) {
+        List<Map<String, Object>> plan = jdbcTemplate.queryForList("EXPLAIN " + sql);
+        assertEquals(1, plan.size(), () -> "Expected one table access for " + sql + ": " + plan);
+        return plan.get(0);
+    }
+}
@@ -0,0 +1,129 @@
+package com.example.studentapi.student;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class StudentReadModelTest {
+    @Mock
+    private StudentRepository studentRepository;
+
+    private StudentReadModel readModel;
+
+    @BeforeEach
+    void setUp() {
+        readModel = new StudentReadModel(studentRepository,
+                new StudentMapper(),
+                new SimpleMeterRegistry());
+    }
+
+    @Test
+    void testRebuild_ShouldLoadAllStudentsOrderedById() {
+        // Arrange
+        when(studentRepository.findAll()).thenReturn(List.of(
+                new Student(2L, "Will", "Smith", "will.smith@example.com"),
+                new Student(1L, "Tom", "Cruise", "tom.cruise@example.com")));
+
+        // Act
+        readModel.rebuild();
+
+        // Assert
+        assertTrue(readModel.isLoaded());
+        assertEquals(2, readModel.size());
+        assertEquals(1L, readModel.findAll().get(0).getId());
+        assertEquals("Will", readModel.findById(2L).orElseThrow().getStudentFirstName());
+        assertTrue(readModel.findById(3L).isEmpty());
+    }
+
+    @Test
+    void testOnStudentChanged_ShouldPublishNewVersions() {
+        // Arrange
+        when(studentRepository.findAll()).thenReturn(List.of(
+                new Student(1L, "Tom", "Cruise", "tom.cruise@example.com")));
+        readModel.rebuild();
+        long initialVersion = readModel.version();
+        List<StudentDto> before = readModel.findAll();
+
+        // Act
+        readModel.onStudentChanged(new StudentChangedEvent(StudentChangedEvent.Type.CREATED, 5L,
+                new StudentDto(5L, "Will", "Smith", "will.smith@example.com")));
+        readModel.onStudentChanged(new StudentChangedEvent(StudentChangedEvent.Type.UPDATED, 1L,
+                new StudentDto(1L, "Thomas", "Cruise", "tom.cruise@example.com")));
+        readModel.onStudentChanged(new StudentChangedEvent(StudentChangedEvent.Type.DELETED, 5L, null));
+
+        // Assert
+        assertEquals(initialVersion + 3, readModel.version());
+        assertEquals(1, readModel.size());
+        assertEquals("Thomas", readModel.findById(1L).orElseThrow().getStudentFirstName());
+        // Earlier readers keep their own consistent view
+        assertEquals("Tom", before.get(0).getStudentFirstName());
+    }
+
+    @Test
+    void testOnStudentChanged_OlderThanLoaded_ShouldBeIgnored() {
+        // Arrange: The rebuild already loaded the state of sequence 7
+        when(studentRepository.findAll()).thenReturn(List.of(
+                new Student(1L, "Thomas", "Cruise", "tom.cruise@example.com", 7L)));
+        readModel.rebuild();
+        long loadedVersion = readModel.version();
+
+        // Act: Events of earlier writes arrive late, in any order
+        readModel.onStudentChanged(new StudentChangedEvent(StudentChangedEvent.Type.UPDATED, 1L,
+                new StudentDto(1L, "Tom", "Cruise", "tom.cruise@example.com"), 6L));
+        readModel.onStudentChanged(new StudentChangedEvent(StudentChangedEvent.Type.UPDATED, 1L,
+                new StudentDto(1L, "Tommy", "Cruise", "tom.cruise@example.com"), 9L));
+        readModel.onStudentChanged(new StudentChangedEvent(StudentChangedEvent.Type.UPDATED, 1L,
+                new StudentDto(1L, "Tom", "Cruise", "tom.cruise@example.com"), 8L));
+
+        // Assert
+        assertEquals("Tommy", readModel.findById(1L).orElseThrow().getStudentFirstName());
+        assertEquals(loadedVersion + 1, readModel.version());
+    }
+
+    @Test
+    void testOnStudentChanged_UpdateAfterDeletion_ShouldNotRestoreStudent() {
+        // Arrange
+        when(studentRepository.findAll()).thenReturn(List.of(
+                new Student(1L, "Tom", "Cruise", "tom.cruise@example.com", 3L)));
+        readModel.rebuild();
+
+        // Act: The deletion's listener ran before the listener of the update it followed
+        readModel.onStudentChanged(new StudentChangedEvent(StudentChangedEvent.Type.DELETED, 1L, null, 5L));
+        readModel.onStudentChanged(new StudentChangedEvent(StudentChangedEvent.Type.UPDATED, 1L,
+                new StudentDto(1L, "Thomas", "Cruise", "tom.cruise@example.com"), 4L));
+
+        // Assert
+        assertTrue(readModel.findById(1L).isEmpty());
+    }
+
+    @Test
+    void testVerifyConsistency_ShouldReportDifferencesWithDatabase() {
+        // Arrange
+        when(studentRepository.findAll())
+                .thenReturn(List.of(
+                        new Student(1L, "Tom", "Cruise", "tom.cruise@example.com"),
+                        new Student(2L, "Will", "Smith", "will.smith@example.com")))
+                .thenReturn(List.of(
+                        new Student(1L, "Thomas", "Cruise", "tom.cruise@example.com"),
+                        new Student(3L, "Brad", "Pitt", "brad.pitt@example.com")));
+        readModel.rebuild();
+
+        // Act
+        StudentReadModel.ConsistencyReport report = readModel.verifyConsistency();
+
+        // Assert
+        assertFalse(report.isConsistent());
+        assertEquals(List.of(3L), report.getMissingIds());
+        assertEquals(List.of(1L), report.getStaleIds());
+        assertEquals(List.of(2L), report.getUnexpectedIds());
+    }
+}
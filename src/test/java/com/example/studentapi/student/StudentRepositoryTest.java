@@ -49,6 +49,20 @@ class StudentRepositoryTest {
         assertEquals("Cruise", optionalStudent.get().getLastName());
         assertEquals("tom.cruise@example.com", optionalStudent.get().getEmail());
     }
+
+    @Test
+    void testFindByIdForUpdate_MissingId_ShouldReturnEmpty() {
+        // Arrange
+        Student savedStudent = studentRepository.save(new Student(null, "Tom", "Cruise", "tom.cruise@example.com"));
+
+        // Act
+        Optional<Student> found = studentRepository.findByIdForUpdate(savedStudent.getId());
+        Optional<Student> missing = studentRepository.findByIdForUpdate(Long.MAX_VALUE);
+
+        // Assert
+        assertEquals("Tom", found.orElseThrow().getFirstName());
+        assertTrue(missing.isEmpty());
+    }
     @Test
     void testSave_ShouldSaveStudent() {
         // Arrange
@@ -0,0 +1,91 @@
+package com.example.studentapi.student;
+
+import com.example.studentapi.StudentapiApplication;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of every {@link StudentService} operation through the transactional proxy, on H2
+ * with the schema from the migrations and {@code students} rows to begin with. Run with
+ * {@code -prof gc} for the bytes allocated per operation, which is what
+ * {@code StudentServicePerformanceIT} gates on most tightly.
+ * <p>
+ * A delete needs a student to delete, so {@link #createAndDelete} creates one first; compare it
+ * with {@link #create} for the cost of the delete itself.
+ * <p>
+ * {@code mvn -Pbenchmark test-compile exec:exec -Djmh.args="StudentServiceBenchmark -prof gc"}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class StudentServiceBenchmark {
+
+    @Param({"1000"})
+    private int students;
+
+    private ConfigurableApplicationContext context;
+
+    private StudentService studentService;
+
+    private List<Long> ids;
+
+    private long sequence;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        // A servlet application, as StudentServiceImpl is only created in one; no request goes through the port
+        context = new SpringApplicationBuilder(StudentapiApplication.class)
+                .web(WebApplicationType.SERVLET)
+                .run("--server.port=0", "--spring.datasource.url=jdbc:h2:mem:service-benchmark;DB_CLOSE_DELAY=-1",
+                        "--spring.flyway.enabled=true", "--spring.jpa.hibernate.ddl-auto=validate",
+                        "--logging.level.root=WARN");
+        studentService = context.getBean(StudentService.class);
+        for (int i = 0; i < students; i++) {
+            create();
+        }
+        ids = studentService.getAllStudents().stream().map(StudentDto::getId).toList();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    private Long nextId() {
+        return ids.get((int) (sequence++ % ids.size()));
+    }
+
+    @Benchmark
+    public StudentDto create() {
+        return studentService.createStudent(new StudentDto(null, "Tom", "Cruise",
+                "tom.cruise." + sequence++ + "@example.com"));
+    }
+
+    @Benchmark
+    public StudentDto get() {
+        return studentService.getStudentById(nextId());
+    }
+
+    @Benchmark
+    public List<StudentDto> list() {
+        return studentService.getAllStudents();
+    }
+
+    @Benchmark
+    public StudentDto update() {
+        return studentService.updateStudent(nextId(), new StudentDto(null, null, sequence % 2 == 0 ? "Cruise" : "Hanks", null));
+    }
+
+    @Benchmark
+    public void createAndDelete() {
+        studentService.deleteStudent(create().getId());
+    }
+}
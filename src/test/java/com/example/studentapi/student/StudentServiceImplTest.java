@@ -8,10 +8,12 @@ import jakarta.validation.Validator;
 import org.hibernate.validator.internal.engine.ConstraintViolationImpl;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.modelmapper.ModelMapper;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.util.*;
 
@@ -26,8 +28,17 @@ class StudentServiceImplTest {
     @Mock
     private StudentRepository studentRepository;
 
+    @Spy
+    private StudentMapper studentMapper = new StudentMapper();
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @Mock
-    private ModelMapper modelMapper;
+    private StudentCache studentCache;
+
+    @Mock
+    private StudentChangeTracker changeTracker;
 
     @InjectMocks
     private StudentServiceImpl studentService;
@@ -40,14 +51,6 @@ class StudentServiceImplTest {
                 new Student(2L, "Will", "Smith", "will.smith@example.com")
         );
         when(studentRepository.findAll()).thenReturn(students);
-        when(modelMapper.map(any(Student.class), eq(StudentDto.class))).thenAnswer(
-                invocation -> {
-                    Student student = invocation.getArgument(0);
-                    return new StudentDto(student.getId(),
-                            student.getFirstName(),
-                            student.getLastName(),
-                            student.getEmail());
-                });
 
         // Act
         List<StudentDto> result = studentService.getAllStudents();
@@ -68,11 +71,6 @@ class StudentServiceImplTest {
         Long studentId = 1L;
         Student student = new Student(studentId, "Tom", "Cruise", "tom.cruise@example.com");
         when(studentRepository.findById(studentId)).thenReturn(Optional.of(student));
-        when(modelMapper.map(student, StudentDto.class)).thenReturn(new StudentDto(
-                studentId,
-                "Tom",
-                "Cruise",
-                "tom.cruise@example.com"));
 
         // Act
         StudentDto result = studentService.getStudentById(studentId);
@@ -85,6 +83,40 @@ class StudentServiceImplTest {
         assertEquals("tom.cruise@example.com", result.getStudentEmail());
     }
 
+    @Test
+    void testGetStudentById_CachedId_ShouldNotQueryRepository() {
+        // Arrange
+        Long studentId = 1L;
+        StudentDto cached = new StudentDto(studentId, "Tom", "Cruise", "tom.cruise@example.com");
+        when(studentCache.get(studentId)).thenReturn(Optional.of(cached));
+
+        // Act
+        StudentDto result = studentService.getStudentById(studentId);
+
+        // Assert
+        assertEquals(cached, result);
+        verifyNoInteractions(studentRepository);
+    }
+
+    @Test
+    void testGetStudentById_CacheMiss_ShouldPopulateWithStampTakenBeforeRead() {
+        // Arrange
+        Long studentId = 1L;
+        Student student = new Student(studentId, "Tom", "Cruise", "tom.cruise@example.com");
+        student.setChangeSequence(3L);
+        when(studentCache.stamp(studentId)).thenReturn(7L);
+        when(studentRepository.findById(studentId)).thenReturn(Optional.of(student));
+
+        // Act
+        StudentDto result = studentService.getStudentById(studentId);
+
+        // Assert
+        InOrder inOrder = inOrder(studentCache, studentRepository);
+        inOrder.verify(studentCache).stamp(studentId);
+        inOrder.verify(studentRepository).findById(studentId);
+        inOrder.verify(studentCache).putIfUnchanged(result, 3L, 7L);
+    }
+
     @Test
     void testCreateStudent_WithValidDto_ShouldReturnCreatedStudentDto() {
         // Arrange
@@ -99,22 +131,21 @@ class StudentServiceImplTest {
         studentEntity.setLastName(studentDto.getStudentLastName());
         studentEntity.setEmail(studentDto.getStudentEmail());
 
-        when(modelMapper.map(studentDto, Student.class)).thenReturn(studentEntity);
-        when(studentRepository.save(studentEntity)).thenReturn(studentEntity);
-        when(modelMapper.map(studentEntity, StudentDto.class)).thenReturn(studentDto);
-        when(validator.validate(studentEntity)).thenReturn(Collections.emptySet());
+        when(studentRepository.save(any(Student.class))).thenReturn(studentEntity);
+        when(validator.validate(any(Student.class))).thenReturn(Collections.emptySet());
 
         // Act
         StudentDto createdStudentDto = studentService.createStudent(studentDto);
 
         // Assert
         assertNotNull(createdStudentDto);
-        assertEquals(studentDto, createdStudentDto);
+        assertEquals(1L, createdStudentDto.getId());
         assertEquals(studentDto.getStudentFirstName(), createdStudentDto.getStudentFirstName());
         assertEquals(studentDto.getStudentLastName(), createdStudentDto.getStudentLastName());
         assertEquals(studentDto.getStudentEmail(), createdStudentDto.getStudentEmail());
 
-        verify(studentRepository, times(1)).save(studentEntity);
+        verify(studentRepository, times(1)).save(argThat(student -> student.getId() == null));
+        verify(eventPublisher, times(1)).publishEvent(any(StudentChangedEvent.class));
     }
 
     @Test
@@ -125,14 +156,6 @@ class StudentServiceImplTest {
         invalidStudentDto.setStudentLastName("");
         invalidStudentDto.setStudentEmail("");
 
-        Student invalidStudentEntity = new Student();
-        invalidStudentEntity.setId(1L);
-        invalidStudentEntity.setFirstName(invalidStudentDto.getStudentFirstName());
-        invalidStudentEntity.setLastName(invalidStudentDto.getStudentLastName());
-        invalidStudentEntity.setEmail(invalidStudentDto.getStudentEmail());
-
-        when(modelMapper.map(invalidStudentDto, Student.class)).thenReturn(invalidStudentEntity);
-
         // Mock the behavior of validator
         Validator validatorMock = mock(Validator.class);
         ConstraintViolation<Student> violation = mock(ConstraintViolation.class);
@@ -147,7 +170,7 @@ class StudentServiceImplTest {
         when(validatorMock.validate(any(Student.class))).thenReturn(Collections.singleton(violation));
 
         // Create a StudentServiceImpl instance with the mocked validator
-        StudentServiceImpl studentService = new StudentServiceImpl(validatorMock, studentRepository, modelMapper);
+        StudentServiceImpl studentService = new StudentServiceImpl(validatorMock, studentRepository, studentMapper, eventPublisher, studentCache, changeTracker);
 
         // Act and Assert
         assertThrows(ValidationException.class, () -> studentService.createStudent(invalidStudentDto));
@@ -155,27 +178,67 @@ class StudentServiceImplTest {
 
 
     @Test
-    void testDeleteStudent_ExistingId_ShouldDeleteStudent() {
+    void testDeleteStudent_ExistingId_ShouldTakeSequenceAfterDeleting() {
         // Arrange
         Long studentId = 1L;
-        Student student = new Student(studentId, "Tom", "Cruise", "tom.cruise@example.com");
-        when(studentRepository.existsById(studentId)).thenReturn(true);
+        when(changeTracker.nextSequence()).thenReturn(9L);
+        when(studentRepository.deleteStudent(studentId)).thenReturn(1);
 
         // Act
         studentService.deleteStudent(studentId);
 
+        // Assert: row lock first, as in updateStudent, so the two cannot deadlock
+        InOrder inOrder = inOrder(changeTracker, studentRepository);
+        inOrder.verify(studentRepository).deleteStudent(studentId);
+        inOrder.verify(changeTracker).nextSequence();
+        inOrder.verify(changeTracker).recordDeletion(studentId, 9L);
+        verify(eventPublisher, times(1)).publishEvent(any(StudentChangedEvent.class));
+    }
+
+    @Test
+    void testGetStudentsChangedSince_ShouldReturnChangesDeletionsAndTokenReadFirst() {
+        // Arrange
+        Student student = new Student(1L, "Tom", "Cruise", "tom.cruise@example.com", 7L);
+        StudentDto studentDto = new StudentDto(1L, "Tom", "Cruise", "tom.cruise@example.com");
+        when(changeTracker.currentSequence()).thenReturn(6L);
+        when(studentRepository.findByChangeSequenceGreaterThanOrderByChangeSequence(5L)).thenReturn(List.of(student));
+        when(changeTracker.deletedSince(5L)).thenReturn(List.of(new StudentTombstone(2L, 6L, 0L)));
+
+        // Act
+        StudentDeltaDto result = studentService.getStudentsChangedSince(5L);
+
+        // Assert: Sequence 7 committed after the token was read, so it is returned again next time
+        assertEquals(List.of(studentDto), result.getStudents());
+        assertEquals(List.of(2L), result.getDeletedStudentIds());
+        assertEquals("6", result.getNextToken());
+        assertFalse(result.isFullResync());
+    }
+
+    @Test
+    void testGetStudentsChangedSince_TokenOlderThanPurgedTombstones_ShouldRequestFullResync() {
+        // Arrange
+        when(changeTracker.currentSequence()).thenReturn(9L);
+        when(changeTracker.prunedThrough()).thenReturn(6L);
+
+        // Act
+        StudentDeltaDto result = studentService.getStudentsChangedSince(5L);
+
         // Assert
-        verify(studentRepository, times(1)).deleteById(studentId);
+        assertTrue(result.isFullResync());
+        assertTrue(result.getStudents().isEmpty());
+        assertTrue(result.getDeletedStudentIds().isEmpty());
+        assertEquals("5", result.getNextToken());
     }
 
     @Test
     void testDeleteStudent_NonExistingId_ShouldThrowResourceNotFoundException() {
         // Arrange
         Long studentId = 1L;
-        when(studentRepository.existsById(studentId)).thenReturn(false);
+        when(studentRepository.deleteStudent(studentId)).thenReturn(0);
 
         // Act and Assert
         assertThrows(ResourceNotFoundException.class, () -> studentService.deleteStudent(studentId));
+        verifyNoInteractions(eventPublisher, changeTracker);
     }
 
     @Test
@@ -192,10 +255,8 @@ class StudentServiceImplTest {
                 "Smith",
                 "will.smith@example.com");
 
-        when(studentRepository.findById(studentId)).thenReturn(Optional.of(existingStudent));
-        when(modelMapper.map(studentDto, Student.class)).thenReturn(existingStudent);
+        when(studentRepository.findByIdForUpdate(studentId)).thenReturn(Optional.of(existingStudent));
         when(studentRepository.save(existingStudent)).thenReturn(existingStudent);
-        when(modelMapper.map(existingStudent, StudentDto.class)).thenReturn(studentDto);
 
         // Act
         StudentDto updatedStudentDto = studentService.updateStudent(studentId, studentDto);
@@ -218,7 +279,7 @@ class StudentServiceImplTest {
                 "Cruise",
                 "tom.cruise@example.com");
 
-        when(studentRepository.findById(studentId)).thenReturn(Optional.empty());
+        when(studentRepository.findByIdForUpdate(studentId)).thenReturn(Optional.empty());
 
         // Act and Assert
         assertThrows(ResourceNotFoundException.class,
@@ -240,9 +301,7 @@ class StudentServiceImplTest {
         invalidStudentEntity.setLastName(invalidStudentDto.getStudentLastName());
         invalidStudentEntity.setEmail(invalidStudentDto.getStudentEmail());
 
-        when(modelMapper.map(invalidStudentDto, Student.class)).thenReturn(invalidStudentEntity);
-
-        when(studentRepository.findById(studentId)).thenReturn(Optional.of(invalidStudentEntity));
+        when(studentRepository.findByIdForUpdate(studentId)).thenReturn(Optional.of(invalidStudentEntity));
 
         // Mock the behavior of validator
         Validator validatorMock = mock(Validator.class);
@@ -258,7 +317,7 @@ class StudentServiceImplTest {
         when(validatorMock.validate(any(Student.class))).thenReturn(Collections.singleton(violation));
 
         // Create a StudentServiceImpl instance with the mocked validator
-        StudentServiceImpl studentService = new StudentServiceImpl(validatorMock, studentRepository, modelMapper);
+        StudentServiceImpl studentService = new StudentServiceImpl(validatorMock, studentRepository, studentMapper, eventPublisher, studentCache, changeTracker);
 
         // Act and Assert
         assertThrows(ValidationException.class, () -> studentService.updateStudent(studentId, invalidStudentDto));
@@ -16,6 +16,9 @@ public class StudentServiceIntegrationTest {
     @Autowired
     private StudentService studentService;
 
+    @Autowired
+    private StudentChangeTracker changeTracker;
+
     @Test
     void testCreateStudent_ShouldReturnStudentDto() {
         // Arrange
@@ -128,4 +131,50 @@ public class StudentServiceIntegrationTest {
         assertEquals(updatedStudentDto.getStudentEmail(),
                 updatedStudent.getStudentEmail());
     }
+
+    @Test
+    void testGetStudentsChangedSince_ShouldReturnOnlyLaterChanges() {
+        // Arrange: Sync once, then create, update and delete students
+        StudentDto unchanged = studentService.createStudent(new StudentDto(null, "Tom", "Cruise", "tom.cruise@example.com"));
+        StudentDto updated = studentService.createStudent(new StudentDto(null, "Will", "Smith", "will.smith@example.com"));
+        StudentDto deleted = studentService.createStudent(new StudentDto(null, "Brad", "Pitt", "brad.pitt@example.com"));
+        String token = studentService.getStudentsChangedSince(0).getNextToken();
+        studentService.updateStudent(updated.getId(), new StudentDto(null, "William", null, null));
+        studentService.deleteStudent(deleted.getId());
+        StudentDto created = studentService.createStudent(new StudentDto(null, "Tom", "Hanks", "tom.hanks@example.com"));
+
+        // Act
+        StudentDeltaDto delta = studentService.getStudentsChangedSince(Long.parseLong(token));
+
+        // Assert: Only the changes after the token, in change order
+        assertEquals(List.of(updated.getId(), created.getId()),
+                delta.getStudents().stream().map(StudentDto::getId).toList());
+        assertEquals("William", delta.getStudents().get(0).getStudentFirstName());
+        assertEquals(List.of(deleted.getId()), delta.getDeletedStudentIds());
+        assertFalse(delta.getStudents().stream().anyMatch(student -> student.getId().equals(unchanged.getId())));
+        StudentDeltaDto empty = studentService.getStudentsChangedSince(Long.parseLong(delta.getNextToken()));
+        assertTrue(empty.getStudents().isEmpty());
+        assertTrue(empty.getDeletedStudentIds().isEmpty());
+        assertEquals(delta.getNextToken(), empty.getNextToken());
+    }
+
+    @Test
+    void testGetStudentsChangedSince_TokenOlderThanPurgedTombstones_ShouldRequestFullResync() {
+        // Arrange: A token from before a deletion whose tombstone has since been purged
+        StudentDto kept = studentService.createStudent(new StudentDto(null, "Tom", "Cruise", "tom.cruise@example.com"));
+        StudentDto deleted = studentService.createStudent(new StudentDto(null, "Brad", "Pitt", "brad.pitt@example.com"));
+        long token = Long.parseLong(studentService.getStudentsChangedSince(0).getNextToken());
+        studentService.deleteStudent(deleted.getId());
+        changeTracker.purgeTombstonesBefore(Long.MAX_VALUE);
+
+        // Act
+        StudentDeltaDto delta = studentService.getStudentsChangedSince(token);
+
+        // Assert: The old token gets a resync; starting over from 0 works
+        assertTrue(delta.isFullResync());
+        assertTrue(delta.getStudents().isEmpty());
+        StudentDeltaDto resync = studentService.getStudentsChangedSince(0);
+        assertFalse(resync.isFullResync());
+        assertEquals(List.of(kept.getId()), resync.getStudents().stream().map(StudentDto::getId).toList());
+    }
 }
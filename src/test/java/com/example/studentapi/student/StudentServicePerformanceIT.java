@@ -0,0 +1,71 @@
+package com.example.studentapi.student;
+
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Performance regression gate: runs {@link StudentServiceBenchmark} with the GC profiler and fails
+ * when an operation is slower or allocates more per call than the checked-in baseline, beyond the
+ * tolerances. Writes the comparison to {@code target/performance}. Only runs in the
+ * {@code performance} profile, as it takes a few minutes:
+ * <p>
+ * {@code mvn -Pperformance verify -Dperf.throughput-tolerance=0.25 -Dperf.allocation-tolerance=0.10}
+ * <p>
+ * After an intended change, or on a different machine, {@code -Dperf.update-baseline=true}
+ * records the run as the new baseline, to be committed with the change.
+ */
+class StudentServicePerformanceIT {
+
+    private static final Path BASELINE = Path.of("src/test/resources/performance/student-service-baseline.properties");
+
+    private static final Path REPORT = Path.of("target/performance/student-service-report.txt");
+
+    private static final String ALLOCATION = "gc.alloc.rate.norm";
+
+    @Test
+    void testStudentService_ShouldNotRegressAgainstBaseline() throws Exception {
+        // Arrange
+        Options options = new OptionsBuilder()
+                .include(StudentServiceBenchmark.class.getName())
+                .addProfiler(GCProfiler.class)
+                .build();
+
+        // Act
+        Collection<RunResult> runResults = new Runner(options).run();
+        Map<String, PerformanceBaseline.Result> current = new TreeMap<>();
+        for (RunResult runResult : runResults) {
+            String benchmark = runResult.getParams().getBenchmark();
+            current.put(benchmark.substring(benchmark.lastIndexOf('.') + 1), new PerformanceBaseline.Result(
+                    runResult.getPrimaryResult().getScore(),
+                    runResult.getSecondaryResults().get(ALLOCATION).getScore()));
+        }
+        if (Boolean.getBoolean("perf.update-baseline")) {
+            PerformanceBaseline.store(BASELINE, current, "StudentServiceBenchmark, recorded by StudentServicePerformanceIT"
+                    + " with -Dperf.update-baseline=true; throughput in ops/s, allocation in bytes/op");
+        }
+
+        // Assert
+        List<PerformanceBaseline.Row> rows = PerformanceBaseline.compare(PerformanceBaseline.load(BASELINE), current,
+                Double.parseDouble(System.getProperty("perf.throughput-tolerance", "0.25")),
+                Double.parseDouble(System.getProperty("perf.allocation-tolerance", "0.10")));
+        String report = PerformanceBaseline.format(rows);
+        Files.createDirectories(REPORT.getParent());
+        Files.writeString(REPORT, report);
+        System.out.println(report);
+        assertTrue(rows.stream().noneMatch(PerformanceBaseline.Row::isRegression),
+                "Regressions against " + BASELINE + " (-Dperf.update-baseline=true records this run instead):\n" + report);
+    }
+}
@@ -0,0 +1,98 @@
+package com.example.studentapi.student;
+
+import com.example.studentapi.commons.ExpectedStatements;
+import com.example.studentapi.commons.ResourceNotFoundException;
+import com.example.studentapi.commons.ValidationException;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Exact statement counts of every {@link StudentService} method, so that an extra round trip
+ * fails the build instead of showing up under load.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:query-count",
+        "studentapi.sql-statistics.enabled=true"
+})
+class StudentServiceQueryCountIntegrationTest {
+
+    @Autowired
+    private StudentService studentService;
+
+    private StudentDto createStudent(String firstName) {
+        return studentService.createStudent(new StudentDto(null, firstName, "Cruise",
+                firstName.toLowerCase() + "." + System.nanoTime() + "@example.com"));
+    }
+
+    @Test
+    void testCreateStudent_ShouldAssignSequenceAndInsertOnce() {
+        // Act & Assert: increment and read the change sequence, insert the student
+        StudentDto created = ExpectedStatements.none().selects(1).updates(1).inserts(1)
+                .call(() -> createStudent("Tom"));
+        assertNotNull(created.getId());
+    }
+
+    @Test
+    void testCreateStudent_Invalid_ShouldNotTouchDatabase() {
+        // Act & Assert
+        ExpectedStatements.none().verify(() -> assertThrows(ValidationException.class,
+                () -> studentService.createStudent(new StudentDto(null, "Tom", "Cruise", "not-an-email"))));
+    }
+
+    @Test
+    void testGetAllStudents_ShouldSelectOnce() {
+        // Arrange
+        createStudent("Tom");
+
+        // Act & Assert
+        ExpectedStatements.none().selects(1).verify(() -> studentService.getAllStudents());
+    }
+
+    @Test
+    void testGetStudentById_ShouldSelectOnce() {
+        // Arrange
+        Long id = createStudent("Tom").getId();
+
+        // Act & Assert
+        ExpectedStatements.none().selects(1).verify(() -> studentService.getStudentById(id));
+    }
+
+    @Test
+    void testGetStudentsChangedSince_ShouldReadTokenStudentsAndTombstones() {
+        // Arrange
+        createStudent("Tom");
+
+        // Act & Assert
+        ExpectedStatements.none().selects(3).verify(() -> studentService.getStudentsChangedSince(0));
+    }
+
+    @Test
+    void testUpdateStudent_ShouldLoadAssignSequenceAndUpdate() {
+        // Arrange
+        Long id = createStudent("Tom").getId();
+
+        // Act & Assert: load the student, increment and read the change sequence, update the student
+        ExpectedStatements.none().selects(2).updates(2)
+                .verify(() -> studentService.updateStudent(id, new StudentDto(null, "Will", null, null)));
+    }
+
+    @Test
+    void testDeleteStudent_ShouldDeleteWithoutLoadingFirst() {
+        // Arrange
+        Long id = createStudent("Tom").getId();
+
+        // Act & Assert: delete the student, increment and read the change sequence, insert the tombstone
+        ExpectedStatements.none().deletes(1).selects(1).updates(1).inserts(1)
+                .verify(() -> studentService.deleteStudent(id));
+    }
+
+    @Test
+    void testDeleteStudent_Missing_ShouldNotTouchTheChangeCounter() {
+        // Act & Assert: only the delete, the counter row is never locked
+        ExpectedStatements.none().deletes(1).verify(() -> assertThrows(ResourceNotFoundException.class,
+                () -> studentService.deleteStudent(Long.MAX_VALUE)));
+    }
+}
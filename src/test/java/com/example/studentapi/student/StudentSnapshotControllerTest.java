@@ -0,0 +1,102 @@
+package com.example.studentapi.student;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@ExtendWith(MockitoExtension.class)
+class StudentSnapshotControllerTest {
+    private static final String CONTENT = "{\"id\":1}\n{\"id\":2}\n";
+
+    @Mock
+    private StudentSnapshotWriter snapshotWriter;
+
+    @TempDir
+    private Path directory;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.standaloneSetup(new StudentSnapshotController(snapshotWriter)).build();
+    }
+
+    private void givenSnapshot() throws Exception {
+        Path file = Files.writeString(directory.resolve("students-7.ndjson"), CONTENT, StandardCharsets.UTF_8);
+        when(snapshotWriter.current()).thenReturn(Optional.of(
+                new StudentSnapshotWriter.Snapshot(7, "5e1f", file, Files.size(file), 2)));
+    }
+
+    @Test
+    void testGetSnapshot_ShouldStreamWholeFile() throws Exception {
+        // Arrange
+        givenSnapshot();
+
+        // Act and Assert
+        mockMvc.perform(get("/api/students/snapshot"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(StudentSnapshotController.NDJSON))
+                .andExpect(header().string(HttpHeaders.ETAG, "\"5e1f\""))
+                .andExpect(header().string(HttpHeaders.CONTENT_LENGTH, String.valueOf(CONTENT.length())))
+                .andExpect(content().string(CONTENT));
+    }
+
+    @Test
+    void testGetSnapshot_WithRange_ShouldReturnPartialContent() throws Exception {
+        // Arrange
+        givenSnapshot();
+
+        // Act and Assert
+        mockMvc.perform(get("/api/students/snapshot").header(HttpHeaders.RANGE, "bytes=9-"))
+                .andExpect(status().isPartialContent())
+                .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes 9-17/18"))
+                .andExpect(content().string("{\"id\":2}\n"));
+    }
+
+    @Test
+    void testGetSnapshot_WithUnsatisfiableRange_ShouldReturn416() throws Exception {
+        // Arrange
+        givenSnapshot();
+
+        // Act and Assert
+        mockMvc.perform(get("/api/students/snapshot").header(HttpHeaders.RANGE, "bytes=100-"))
+                .andExpect(status().isRequestedRangeNotSatisfiable())
+                .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes */18"));
+    }
+
+    @Test
+    void testGetSnapshot_WithMatchingEtag_ShouldReturnNotModified() throws Exception {
+        // Arrange
+        givenSnapshot();
+
+        // Act and Assert
+        mockMvc.perform(get("/api/students/snapshot").header(HttpHeaders.IF_NONE_MATCH, "\"5e1f\""))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    void testGetSnapshot_NotWrittenYet_ShouldReturnServiceUnavailable() throws Exception {
+        // Arrange
+        when(snapshotWriter.current()).thenReturn(Optional.empty());
+
+        // Act and Assert
+        mockMvc.perform(get("/api/students/snapshot"))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string(HttpHeaders.RETRY_AFTER, "1"));
+    }
+}
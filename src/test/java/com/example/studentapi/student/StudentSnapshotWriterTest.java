@@ -0,0 +1,138 @@
+package com.example.studentapi.student;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class StudentSnapshotWriterTest {
+    @Mock
+    private StudentRepository studentRepository;
+
+    @TempDir
+    private Path directory;
+
+    private StudentSnapshotWriter newWriter(int retainedVersions) {
+        return new StudentSnapshotWriter(studentRepository, new StudentMapper(),
+                new ObjectMapper(), directory, Duration.ofMillis(10), retainedVersions, 2, Optional.empty());
+    }
+
+    private void givenStudents(Student... students) {
+        when(studentRepository.findByIdGreaterThanOrderById(anyLong(), any())).thenAnswer(invocation -> {
+            long after = invocation.getArgument(0);
+            return Arrays.stream(students).filter(student -> student.getId() > after).limit(2).toList();
+        });
+    }
+
+    @Test
+    void testWriteSnapshot_ShouldWriteOneJsonLinePerStudent() throws Exception {
+        // Arrange
+        givenStudents(
+                new Student(1L, "Tom", "Cruise", "tom.cruise@example.com"),
+                new Student(2L, "Will", "Smith", "will.smith@example.com"),
+                new Student(3L, "Tom", "Hanks", "tom.hanks@example.com"));
+        StudentSnapshotWriter writer = newWriter(3);
+
+        // Act
+        StudentSnapshotWriter.Snapshot snapshot = writer.writeSnapshot();
+
+        // Assert
+        List<String> lines = Files.readAllLines(snapshot.getFile());
+        assertEquals(3, lines.size());
+        assertEquals("{\"id\":1,\"studentFirstName\":\"Tom\",\"studentLastName\":\"Cruise\","
+                + "\"studentEmail\":\"tom.cruise@example.com\"}", lines.get(0));
+        assertTrue(lines.get(2).contains("\"id\":3"));
+        assertEquals(3, snapshot.getStudents());
+        assertEquals(Files.size(snapshot.getFile()), snapshot.getSize());
+        assertSame(snapshot, writer.current().orElseThrow());
+    }
+
+    @Test
+    void testWriteSnapshot_ShouldKeepOnlyRetainedVersions() throws Exception {
+        // Arrange
+        givenStudents();
+        StudentSnapshotWriter writer = newWriter(2);
+
+        // Act
+        Path first = writer.writeSnapshot().getFile();
+        writer.writeSnapshot();
+        StudentSnapshotWriter.Snapshot third = writer.writeSnapshot();
+
+        // Assert
+        assertEquals(3, third.getVersion());
+        assertFalse(Files.exists(first));
+        try (var files = Files.list(directory)) {
+            assertEquals(2, files.count());
+        }
+    }
+
+    @Test
+    void testOnStudentChanged_ShouldWriteDebouncedSnapshot() throws Exception {
+        // Arrange
+        givenStudents();
+        StudentSnapshotWriter writer = newWriter(3);
+
+        // Act
+        for (int i = 0; i < 5; i++) {
+            writer.onStudentChanged(new StudentChangedEvent(StudentChangedEvent.Type.DELETED, 1L, null));
+        }
+
+        // Assert
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (writer.current().isEmpty() && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(1, writer.current().orElseThrow().getVersion());
+        writer.destroy();
+    }
+
+    @Test
+    void testWriteSnapshot_AfterRestart_ShouldIdentifyFilesByContentNotVersion() throws Exception {
+        // Arrange
+        givenStudents(new Student(1L, "Tom", "Cruise", "tom.cruise@example.com"));
+        StudentSnapshotWriter.Snapshot beforeRestart = newWriter(3).writeSnapshot();
+        givenStudents(new Student(1L, "Tom", "Hanks", "tom.cruise@example.com"));
+
+        // Act
+        StudentSnapshotWriter.Snapshot changed = newWriter(3).writeSnapshot();
+        StudentSnapshotWriter.Snapshot unchanged = newWriter(3).writeSnapshot();
+
+        // Assert
+        assertEquals(beforeRestart.getVersion(), changed.getVersion());
+        assertNotEquals(beforeRestart.getContentHash(), changed.getContentHash());
+        assertEquals(changed.getContentHash(), unchanged.getContentHash());
+    }
+
+    @Test
+    void testWriteSnapshot_FirstVersion_ShouldDeleteFilesOfEarlierRuns() throws Exception {
+        // Arrange
+        givenStudents();
+        Path leftover = Files.createFile(directory.resolve("students-41.ndjson"));
+        Path unfinished = Files.createFile(directory.resolve("students-123.ndjson.tmp"));
+        Path unrelated = Files.createFile(directory.resolve("notes.txt"));
+
+        // Act
+        StudentSnapshotWriter.Snapshot snapshot = newWriter(3).writeSnapshot();
+
+        // Assert
+        assertFalse(Files.exists(leftover));
+        assertFalse(Files.exists(unfinished));
+        assertTrue(Files.exists(unrelated));
+        assertTrue(Files.exists(snapshot.getFile()));
+    }
+}
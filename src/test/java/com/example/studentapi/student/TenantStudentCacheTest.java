@@ -0,0 +1,52 @@
+package com.example.studentapi.student;
+
+import com.example.studentapi.datasource.TenantContext;
+import com.example.studentapi.datasource.TenantEvictedEvent;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TenantStudentCacheTest {
+    private final TenantStudentCache cache = new TenantStudentCache(() -> new OffHeapStudentStore(16));
+
+    private static StudentDto student(long id) {
+        return new StudentDto(id, "Tom", "Cruise", "tom.cruise@example.com");
+    }
+
+    @Test
+    void testGet_OtherTenant_ShouldNotSeeEntry() {
+        // Arrange
+        TenantContext.run("riverside", () -> cache.put(student(1L), 1));
+
+        // Act & Assert
+        assertTrue(TenantContext.call("riverside", () -> cache.get(1L)).isPresent());
+        assertTrue(TenantContext.call("hillside", () -> cache.get(1L)).isEmpty());
+    }
+
+    @Test
+    void testOnTenantEvicted_ShouldDropItsStore() {
+        // Arrange
+        TenantContext.run("riverside", () -> cache.put(student(1L), 1));
+        TenantContext.run("hillside", () -> cache.put(student(2L), 1));
+
+        // Act
+        cache.onTenantEvicted(new TenantEvictedEvent("riverside"));
+
+        // Assert
+        assertEquals(1, cache.tenants());
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    void testPutIfUnchanged_StampFromEvictedStore_ShouldNotPopulateNewStore() {
+        // Arrange
+        long stamp = TenantContext.call("riverside", () -> cache.stamp(1L));
+        cache.onTenantEvicted(new TenantEvictedEvent("riverside"));
+
+        // Act
+        TenantContext.run("riverside", () -> cache.putIfUnchanged(student(1L), 1, stamp));
+
+        // Assert
+        assertTrue(TenantContext.call("riverside", () -> cache.get(1L)).isEmpty());
+    }
+}